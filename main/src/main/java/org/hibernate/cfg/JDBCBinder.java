@@ -29,9 +29,13 @@ import org.hibernate.cfg.binder.PrimaryKeyInfo;
 import org.hibernate.cfg.binder.PropertyBinder;
 import org.hibernate.cfg.reveng.AssociationInfo;
 import org.hibernate.cfg.reveng.DatabaseCollector;
+import org.hibernate.cfg.reveng.InstrumentedReverseEngineeringStrategy;
 import org.hibernate.cfg.reveng.JDBCReader;
 import org.hibernate.cfg.reveng.JDBCToHibernateTypeHelper;
 import org.hibernate.cfg.reveng.MappingsDatabaseCollector;
+import org.hibernate.cfg.reveng.MetricsListener;
+import org.hibernate.cfg.reveng.Phase;
+import org.hibernate.cfg.reveng.ProgressListener;
 import org.hibernate.cfg.reveng.RevEngUtils;
 import org.hibernate.cfg.reveng.ReverseEngineeringStrategy;
 import org.hibernate.cfg.reveng.TableIdentifier;
@@ -84,6 +88,8 @@ public class JDBCBinder {
 	private final ServiceRegistry serviceRegistry;
 	private final String defaultCatalog;
 	private final String defaultSchema;
+	
+	private ProgressListener progress = null;
 
 	/**
 	 * @param mappings
@@ -108,8 +114,18 @@ public class JDBCBinder {
 	public void readFromDatabase(String catalog, String schema, Mapping mapping) {
 		try {
 			DatabaseCollector collector = readDatabaseSchema(catalog, schema);
-			createPersistentClasses(collector, mapping); //move this to a different step!
-			((InFlightMetadataCollectorImpl)metadataCollector).processSecondPasses(mdbc);
+			Phase phase = Phase.start(progress, "createPersistentClasses", null);
+			try {
+				createPersistentClasses(collector, mapping); //move this to a different step!
+			} finally {
+				phase.end();
+			}
+			phase = Phase.start(progress, "processSecondPasses", null);
+			try {
+				((InFlightMetadataCollectorImpl)metadataCollector).processSecondPasses(mdbc);
+			} finally {
+				phase.end();
+			}
 		}
 		catch (SQLException e) {
 			JdbcServices jdbcServices = serviceRegistry.getService(JdbcServices.class);
@@ -133,10 +149,26 @@ public class JDBCBinder {
 	     JDBCReader reader = JDBCReaderFactory.newJDBCReader(properties,revengStrategy,serviceRegistry);
 	     DatabaseCollector dbs = new MappingsDatabaseCollector(metadataCollector, reader.getMetaDataDialect());
 
-	     reader.readDatabaseSchema(dbs, catalog, schema);
+	     if(progress==null) {
+	    	 reader.readDatabaseSchema(dbs, catalog, schema);
+	     } else {
+	    	 reader.readDatabaseSchema(dbs, catalog, schema, progress);
+	     }
 	     return dbs;
 	}
 
+	/**
+	 * Tells the listener about the progress of reading the database. If it is a {@link MetricsListener}
+	 * it is also told the time spent in the metadata dialect and, also while creating the classes, 
+	 * in the reverse engineering strategy.
+	 */
+	public void setProgressListener(ProgressListener progress) {
+		this.progress = progress;
+		if(progress instanceof MetricsListener && !(revengStrategy instanceof InstrumentedReverseEngineeringStrategy)) {
+			revengStrategy = new InstrumentedReverseEngineeringStrategy(revengStrategy, (MetricsListener) progress);
+		}
+	}
+
 
 
 	/**
@@ -22,6 +22,8 @@ import org.hibernate.boot.spi.ClassLoaderAccess;
 import org.hibernate.boot.spi.MetadataBuildingContext;
 import org.hibernate.boot.spi.MetadataBuildingOptions;
 import org.hibernate.cfg.reveng.DefaultReverseEngineeringStrategy;
+import org.hibernate.cfg.reveng.MetricsCollector;
+import org.hibernate.cfg.reveng.ProgressListener;
 import org.hibernate.cfg.reveng.ReverseEngineeringStrategy;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
@@ -29,6 +31,7 @@ import org.hibernate.engine.spi.Mapping;
 import org.hibernate.id.factory.IdentifierGeneratorFactory;
 import org.hibernate.mapping.PersistentClass;
 import org.hibernate.mapping.Property;
+import org.hibernate.tool.hbm2x.ExporterSettings;
 import org.hibernate.tool.metadata.MetadataSources;
 import org.hibernate.type.BasicType;
 import org.hibernate.type.BasicTypeRegistry;
@@ -55,6 +58,7 @@ public class JDBCMetaDataConfiguration extends Configuration implements Metadata
 	private MetadataBuildingOptions metadataBuildingOptions = null;
 	private MetadataBuildingContext metadataBuildingContext = null;
 	private Metadata metadata = null;
+	private ProgressListener progressListener = null;
 	
 	public Metadata buildMetadata() {
 		readFromJDBC();
@@ -129,10 +133,30 @@ public class JDBCMetaDataConfiguration extends Configuration implements Metadata
 				getMetadataBuildingContext(), 
 				getReverseEngineeringStrategy(), 
 				preferBasicCompositeIds());
+		ProgressListener listener = progressListener;
+		MetricsCollector metrics = null;
+		if(listener==null && "true".equalsIgnoreCase(getProperty(ExporterSettings.METRICS))) {
+			listener = metrics = new MetricsCollector();
+		}
+		if(listener!=null) {
+			binder.setProgressListener(listener);
+		}
 		binder.readFromDatabase(
 				null, 
 				null, 
 				buildMapping(getMetadata()));		
+		if(metrics!=null) {
+			log.info("Time spent reading the database:\n" + metrics.getSummary());
+		}
+	}
+	
+	/**
+	 * @param progressListener told about the progress of reading the database, 
+	 * if it is a {@link org.hibernate.cfg.reveng.MetricsListener} also about the time spent. 
+	 * If not set and {@link ExporterSettings#METRICS} is true, a summary of the time spent is logged. 
+	 */
+	public void setProgressListener(ProgressListener progressListener) {
+		this.progressListener = progressListener;
 	}
 	
 	@Override 
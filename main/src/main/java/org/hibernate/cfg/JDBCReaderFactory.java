@@ -1,17 +1,24 @@
 package org.hibernate.cfg;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 import org.hibernate.cfg.reveng.JDBCReader;
 import org.hibernate.cfg.reveng.ReverseEngineeringStrategy;
+import org.hibernate.cfg.reveng.dialect.CachedMetaDataDialect;
 import org.hibernate.cfg.reveng.dialect.MetaDataDialect;
+import org.hibernate.cfg.reveng.dialect.PrefetchingMetaDataDialect;
 import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.exception.spi.SQLExceptionConverter;
 import org.hibernate.service.ServiceRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 final public class JDBCReaderFactory {
 
+	private static final Logger log = LoggerFactory.getLogger(JDBCReaderFactory.class);
 	
 	public static JDBCReader newJDBCReader(
 			Properties properties, 
@@ -21,7 +28,38 @@ final public class JDBCReaderFactory {
 				.createMetaDataDialect(
 						serviceRegistry.getService(JdbcServices.class).getDialect(), 
 						properties );
-		return newJDBCReader(properties, revengStrategy, mdd, serviceRegistry);
+		JDBCReader reader = newJDBCReader(properties, revengStrategy, mdd, serviceRegistry);
+		int threads = getMetaDataThreads(properties);
+		if(threads > 1) {
+			if(mdd instanceof PrefetchingMetaDataDialect) {
+				log.warn("Ignoring hibernatetool.metadata.threads as the metadata is already prefetched per schema");
+			} else if(mdd instanceof CachedMetaDataDialect) {
+				log.warn("Ignoring hibernatetool.metadata.threads as the metadata is read from the metadata cache");
+			} else {
+				List<MetaDataDialect> dialects = new ArrayList<MetaDataDialect>();
+				for (int i = 1; i < threads; i++) {
+					dialects.add(MetaDataDialectFactory
+							.createMetaDataDialect(
+									serviceRegistry.getService(JdbcServices.class).getDialect(), 
+									properties ));
+				}
+				reader.setParallelMetaDataDialects(dialects);
+			}
+		}
+		return reader;
+	}
+	
+	private static int getMetaDataThreads(Properties properties) {
+		String property = properties.getProperty( "hibernatetool.metadata.threads" );
+		if(property==null) {
+			return 1;
+		}
+		try {
+			return Integer.parseInt(property.trim());
+		} catch (NumberFormatException e) {
+			throw new JDBCBinderException(
+					"Invalid value for hibernatetool.metadata.threads: " + property, e );
+		}
 	}
 
 	public static JDBCReader newJDBCReader(
@@ -1,13 +1,17 @@
 package org.hibernate.cfg;
 
+import java.io.File;
 import java.util.Properties;
 
+import org.hibernate.cfg.reveng.dialect.CachedMetaDataDialect;
 import org.hibernate.cfg.reveng.dialect.H2MetaDataDialect;
 import org.hibernate.cfg.reveng.dialect.HSQLMetaDataDialect;
 import org.hibernate.cfg.reveng.dialect.JDBCMetaDataDialect;
 import org.hibernate.cfg.reveng.dialect.MetaDataDialect;
+import org.hibernate.cfg.reveng.dialect.MetaDataSnapshotStore;
 import org.hibernate.cfg.reveng.dialect.MySQLMetaDataDialect;
 import org.hibernate.cfg.reveng.dialect.OracleMetaDataDialect;
+import org.hibernate.cfg.reveng.dialect.PrefetchingMetaDataDialect;
 import org.hibernate.cfg.reveng.dialect.SQLServerMetaDataDialect;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.dialect.H2Dialect;
@@ -19,8 +23,28 @@ import org.hibernate.internal.util.ReflectHelper;
 
 public class MetaDataDialectFactory {
 	
+	/** 
+	 * Seconds a metadata snapshot is used when hibernatetool.metadata.cache.ttl is not set.
+	 * Only a {@link org.hibernate.cfg.reveng.dialect.SchemaTimestampMetaDataDialect} notices DDL changes, 
+	 * so without a limit a snapshot of any other database would be used forever. 
+	 */
+	public static final long DEFAULT_CACHE_TTL = 60 * 60;
+	
 	private MetaDataDialectFactory() {}
 
+	/**
+	 * Creates the metadata dialect configured by the properties:
+	 * <ul>
+	 * <li>hibernatetool.metadatadialect - class name of the dialect, chosen from the dialect if not set</li>
+	 * <li>hibernatetool.metadata.prefetch - true to read the metadata of a schema in bulk</li>
+	 * <li>hibernatetool.metadata.cache.dir - directory to keep snapshots of the metadata in between runs, 
+	 * kept apart by connection URL and user name</li>
+	 * <li>hibernatetool.metadata.cache.ttl - seconds a snapshot is used, {@link #DEFAULT_CACHE_TTL} if not set 
+	 * and 0 for no limit. A snapshot is also dropped when a dialect reporting DDL timestamps, as the Oracle one, 
+	 * sees a change in its schema.</li>
+	 * <li>hibernatetool.metadata.cache.refresh - true to read the database again and overwrite the snapshots</li>
+	 * </ul>
+	 */
 	public static MetaDataDialect createMetaDataDialect(Dialect dialect, Properties cfg) {
 		String property = cfg.getProperty( "hibernatetool.metadatadialect" );
 		MetaDataDialect mdd = fromClassName(property);
@@ -33,8 +57,30 @@ public class MetaDataDialectFactory {
 		if(mdd==null) {
 			mdd = new JDBCMetaDataDialect();
 		}
+		if("true".equalsIgnoreCase(cfg.getProperty( "hibernatetool.metadata.prefetch" ))) {
+			mdd = new PrefetchingMetaDataDialect(mdd);
+		}
+		String cacheDir = cfg.getProperty( "hibernatetool.metadata.cache.dir" );
+		if(cacheDir!=null) {
+			mdd = new CachedMetaDataDialect(mdd, createSnapshotStore(cacheDir, cfg));
+		}
 		return mdd;
 	}
+	
+	public static MetaDataSnapshotStore createSnapshotStore(String directory, Properties cfg) {
+		String ttl = cfg.getProperty( "hibernatetool.metadata.cache.ttl" );
+		long timeToLive = DEFAULT_CACHE_TTL * 1000;
+		if(ttl!=null) {
+			try {
+				timeToLive = Long.parseLong(ttl.trim()) * 1000;
+			} catch (NumberFormatException e) {
+				throw new JDBCBinderException(
+						"Invalid value for hibernatetool.metadata.cache.ttl: " + ttl, e );
+			}
+		}
+		boolean refresh = "true".equalsIgnoreCase(cfg.getProperty( "hibernatetool.metadata.cache.refresh" ));
+		return new MetaDataSnapshotStore(new File(directory), timeToLive, refresh);
+	}
 
 	public static MetaDataDialect fromClassName(String property) {
 		if ( property != null ) {
@@ -3,6 +3,7 @@ package org.hibernate.cfg.reveng;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -14,12 +15,12 @@ import org.hibernate.tool.util.TableNameQualifier;
 
 public class DefaultDatabaseCollector extends AbstractDatabaseCollector  {
 
-	private Map<String, Table> tables;		
+	private Map<TableIdentifier, Table> tables;		
 	private Map<String, List<Table>> qualifiers;
 
 	public DefaultDatabaseCollector(MetaDataDialect metaDataDialect) {
 		super(metaDataDialect);
-		tables = new HashMap<String, Table>();
+		tables = new LinkedHashMap<TableIdentifier, Table>();
 		qualifiers = new HashMap<String, List<Table>>();
 	}
 	
@@ -31,7 +32,7 @@ public class DefaultDatabaseCollector extends AbstractDatabaseCollector  {
 			String catalog, 
 			String name) {
 		
-        String key = TableNameQualifier.qualify(quote(catalog), quote(schema), quote(name));
+		TableIdentifier key = createKey(schema, catalog, name);
 		Table table = (Table) tables.get(key);
 		
 		if (table == null) {
@@ -42,7 +43,8 @@ public class DefaultDatabaseCollector extends AbstractDatabaseCollector  {
 			table.setCatalog(catalog);
 			tables.put(key, table);
 			
-			String qualifier = StringHelper.qualifier(key);
+			String qualifier = StringHelper.qualifier(
+					TableNameQualifier.qualify(key.getCatalog(), key.getSchema(), key.getName()));
 			List<Table> schemaList = qualifiers.get(qualifier);
 			if(schemaList==null) {
 				schemaList = new ArrayList<Table>();
@@ -58,13 +60,15 @@ public class DefaultDatabaseCollector extends AbstractDatabaseCollector  {
 	}
 
 	public Table getTable(String schema, String catalog, String name) {
-        String key = TableNameQualifier.qualify(quote(catalog), quote(schema), quote(name));
-		return (Table) tables.get(key);
+		return (Table) tables.get(createKey(schema, catalog, name));
 	}
 
 	public Iterator<Entry<String, List<Table>>> getQualifierEntries() {
 		return qualifiers.entrySet().iterator();
 	}
 	
+	private TableIdentifier createKey(String schema, String catalog, String name) {
+		return new TableIdentifier(quote(catalog), quote(schema), quote(name));
+	}
 	
 }
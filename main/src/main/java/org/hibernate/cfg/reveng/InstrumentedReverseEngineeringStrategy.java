@@ -0,0 +1,316 @@
+package org.hibernate.cfg.reveng;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.hibernate.mapping.Column;
+import org.hibernate.mapping.ForeignKey;
+import org.hibernate.mapping.MetaAttribute;
+import org.hibernate.mapping.Table;
+
+/**
+ * Tells a {@link MetricsListener} the time spent in each method of the delegate.
+ */
+public class InstrumentedReverseEngineeringStrategy extends DelegatingReverseEngineeringStrategy {
+
+	private final MetricsListener metrics;
+
+	public InstrumentedReverseEngineeringStrategy(ReverseEngineeringStrategy delegate, MetricsListener metrics) {
+		super(delegate);
+		this.metrics = metrics;
+	}
+
+	private void called(String method, long start) {
+		metrics.strategyCalled(method, System.nanoTime() - start);
+	}
+
+	public List<ForeignKey> getForeignKeys(TableIdentifier referencedTable) {
+		long start = System.nanoTime();
+		try {
+			return super.getForeignKeys(referencedTable);
+		} finally {
+			called("getForeignKeys", start);
+		}
+	}
+
+	public String columnToPropertyName(TableIdentifier table, String column) {
+		long start = System.nanoTime();
+		try {
+			return super.columnToPropertyName(table, column);
+		} finally {
+			called("columnToPropertyName", start);
+		}
+	}
+
+	public boolean excludeTable(TableIdentifier ti) {
+		long start = System.nanoTime();
+		try {
+			return super.excludeTable(ti);
+		} finally {
+			called("excludeTable", start);
+		}
+	}
+
+	public boolean excludeColumn(TableIdentifier identifier, String columnName) {
+		long start = System.nanoTime();
+		try {
+			return super.excludeColumn(identifier, columnName);
+		} finally {
+			called("excludeColumn", start);
+		}
+	}
+
+	public String foreignKeyToCollectionName(String keyname, TableIdentifier fromTable, List<?> fromColumns, TableIdentifier referencedTable, List<?> referencedColumns, boolean uniqueReference) {
+		long start = System.nanoTime();
+		try {
+			return super.foreignKeyToCollectionName(keyname, fromTable, fromColumns, referencedTable, referencedColumns, uniqueReference);
+		} finally {
+			called("foreignKeyToCollectionName", start);
+		}
+	}
+
+	public String foreignKeyToEntityName(String keyname, TableIdentifier fromTable, List<?> fromColumnNames, TableIdentifier referencedTable, List<?> referencedColumnNames, boolean uniqueReference) {
+		long start = System.nanoTime();
+		try {
+			return super.foreignKeyToEntityName(keyname, fromTable, fromColumnNames, referencedTable, referencedColumnNames, uniqueReference);
+		} finally {
+			called("foreignKeyToEntityName", start);
+		}
+	}
+
+	public String columnToHibernateTypeName(TableIdentifier table, String columnName, int sqlType, int length, int precision, int scale, boolean nullable, boolean generatedIdentifier) {
+		long start = System.nanoTime();
+		try {
+			return super.columnToHibernateTypeName(table, columnName, sqlType, length, precision, scale, nullable, generatedIdentifier);
+		} finally {
+			called("columnToHibernateTypeName", start);
+		}
+	}
+
+	public String tableToClassName(TableIdentifier tableIdentifier) {
+		long start = System.nanoTime();
+		try {
+			return super.tableToClassName(tableIdentifier);
+		} finally {
+			called("tableToClassName", start);
+		}
+	}
+
+	public String getTableIdentifierStrategyName(TableIdentifier tableIdentifier) {
+		long start = System.nanoTime();
+		try {
+			return super.getTableIdentifierStrategyName(tableIdentifier);
+		} finally {
+			called("getTableIdentifierStrategyName", start);
+		}
+	}
+
+	public Properties getTableIdentifierProperties(TableIdentifier identifier) {
+		long start = System.nanoTime();
+		try {
+			return super.getTableIdentifierProperties(identifier);
+		} finally {
+			called("getTableIdentifierProperties", start);
+		}
+	}
+
+	public List<String> getPrimaryKeyColumnNames(TableIdentifier identifier) {
+		long start = System.nanoTime();
+		try {
+			return super.getPrimaryKeyColumnNames(identifier);
+		} finally {
+			called("getPrimaryKeyColumnNames", start);
+		}
+	}
+
+	public String classNameToCompositeIdName(String className) {
+		long start = System.nanoTime();
+		try {
+			return super.classNameToCompositeIdName(className);
+		} finally {
+			called("classNameToCompositeIdName", start);
+		}
+	}
+
+	public void configure(ReverseEngineeringRuntimeInfo runtimeInfo) {
+		long start = System.nanoTime();
+		try {
+			super.configure(runtimeInfo);
+		} finally {
+			called("configure", start);
+		}
+	}
+
+	public void close() {
+		long start = System.nanoTime();
+		try {
+			super.close();
+		} finally {
+			called("close", start);
+		}
+	}
+
+	public String getOptimisticLockColumnName(TableIdentifier identifier) {
+		long start = System.nanoTime();
+		try {
+			return super.getOptimisticLockColumnName(identifier);
+		} finally {
+			called("getOptimisticLockColumnName", start);
+		}
+	}
+
+	public boolean useColumnForOptimisticLock(TableIdentifier identifier, String column) {
+		long start = System.nanoTime();
+		try {
+			return super.useColumnForOptimisticLock(identifier, column);
+		} finally {
+			called("useColumnForOptimisticLock", start);
+		}
+	}
+
+	public List<SchemaSelection> getSchemaSelections() {
+		long start = System.nanoTime();
+		try {
+			return super.getSchemaSelections();
+		} finally {
+			called("getSchemaSelections", start);
+		}
+	}
+
+	public String tableToIdentifierPropertyName(TableIdentifier tableIdentifier) {
+		long start = System.nanoTime();
+		try {
+			return super.tableToIdentifierPropertyName(tableIdentifier);
+		} finally {
+			called("tableToIdentifierPropertyName", start);
+		}
+	}
+
+	public String tableToCompositeIdName(TableIdentifier identifier) {
+		long start = System.nanoTime();
+		try {
+			return super.tableToCompositeIdName(identifier);
+		} finally {
+			called("tableToCompositeIdName", start);
+		}
+	}
+
+	public boolean excludeForeignKeyAsCollection(String keyname, TableIdentifier fromTable, List<Column> fromColumns, TableIdentifier referencedTable, List<Column> referencedColumns) {
+		long start = System.nanoTime();
+		try {
+			return super.excludeForeignKeyAsCollection(keyname, fromTable, fromColumns, referencedTable, referencedColumns);
+		} finally {
+			called("excludeForeignKeyAsCollection", start);
+		}
+	}
+
+	public boolean excludeForeignKeyAsManytoOne(String keyname, TableIdentifier fromTable, List<?> fromColumns, TableIdentifier referencedTable, List<?> referencedColumns) {
+		long start = System.nanoTime();
+		try {
+			return super.excludeForeignKeyAsManytoOne(keyname, fromTable, fromColumns, referencedTable, referencedColumns);
+		} finally {
+			called("excludeForeignKeyAsManytoOne", start);
+		}
+	}
+
+	public boolean isForeignKeyCollectionInverse(String name, TableIdentifier foreignKeyTable, List<?> columns, TableIdentifier foreignKeyReferencedTable, List<?> referencedColumns) {
+		long start = System.nanoTime();
+		try {
+			return super.isForeignKeyCollectionInverse(name, foreignKeyTable, columns, foreignKeyReferencedTable, referencedColumns);
+		} finally {
+			called("isForeignKeyCollectionInverse", start);
+		}
+	}
+
+	public boolean isForeignKeyCollectionLazy(String name, TableIdentifier foreignKeyTable, List<?> columns, TableIdentifier foreignKeyReferencedTable, List<?> referencedColumns) {
+		long start = System.nanoTime();
+		try {
+			return super.isForeignKeyCollectionLazy(name, foreignKeyTable, columns, foreignKeyReferencedTable, referencedColumns);
+		} finally {
+			called("isForeignKeyCollectionLazy", start);
+		}
+	}
+
+	public void setSettings(ReverseEngineeringSettings settings) {
+		long start = System.nanoTime();
+		try {
+			super.setSettings(settings);
+		} finally {
+			called("setSettings", start);
+		}
+	}
+
+	public boolean isManyToManyTable(Table table) {
+		long start = System.nanoTime();
+		try {
+			return super.isManyToManyTable(table);
+		} finally {
+			called("isManyToManyTable", start);
+		}
+	}
+
+	public boolean isOneToOne(ForeignKey foreignKey) {
+		long start = System.nanoTime();
+		try {
+			return super.isOneToOne(foreignKey);
+		} finally {
+			called("isOneToOne", start);
+		}
+	}
+
+	public String foreignKeyToManyToManyName(ForeignKey fromKey, TableIdentifier middleTable, ForeignKey toKey, boolean uniqueReference) {
+		long start = System.nanoTime();
+		try {
+			return super.foreignKeyToManyToManyName(fromKey, middleTable, toKey, uniqueReference);
+		} finally {
+			called("foreignKeyToManyToManyName", start);
+		}
+	}
+
+	public Map<String,MetaAttribute> tableToMetaAttributes(TableIdentifier tableIdentifier) {
+		long start = System.nanoTime();
+		try {
+			return super.tableToMetaAttributes(tableIdentifier);
+		} finally {
+			called("tableToMetaAttributes", start);
+		}
+	}
+
+	public Map<String, MetaAttribute> columnToMetaAttributes(TableIdentifier identifier, String column) {
+		long start = System.nanoTime();
+		try {
+			return super.columnToMetaAttributes(identifier, column);
+		} finally {
+			called("columnToMetaAttributes", start);
+		}
+	}
+
+	public AssociationInfo foreignKeyToAssociationInfo(ForeignKey foreignKey) {
+		long start = System.nanoTime();
+		try {
+			return super.foreignKeyToAssociationInfo(foreignKey);
+		} finally {
+			called("foreignKeyToAssociationInfo", start);
+		}
+	}
+
+	public AssociationInfo foreignKeyToInverseAssociationInfo(ForeignKey foreignKey) {
+		long start = System.nanoTime();
+		try {
+			return super.foreignKeyToInverseAssociationInfo(foreignKey);
+		} finally {
+			called("foreignKeyToInverseAssociationInfo", start);
+		}
+	}
+
+	public String foreignKeyToInverseEntityName(String keyname, TableIdentifier fromTable, List<?> fromColumnNames, TableIdentifier referencedTable, List<?> referencedColumnNames, boolean uniqueReference) {
+		long start = System.nanoTime();
+		try {
+			return super.foreignKeyToInverseEntityName(keyname, fromTable, fromColumnNames, referencedTable, referencedColumnNames, uniqueReference);
+		} finally {
+			called("foreignKeyToInverseEntityName", start);
+		}
+	}
+
+}
@@ -5,6 +5,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -12,7 +13,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.hibernate.cfg.reveng.dialect.InstrumentedMetaDataDialect;
 import org.hibernate.cfg.reveng.dialect.MetaDataDialect;
 import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
 import org.hibernate.exception.spi.SQLExceptionConverter;
@@ -32,6 +40,8 @@ public class JDBCReader {
 	private final String defaultSchema;
 	private final String defaultCatalog;
 	
+	private List<MetaDataDialect> parallelMetaDataDialects = Collections.emptyList();
+	
 	public JDBCReader(MetaDataDialect dialect, ConnectionProvider provider, SQLExceptionConverter sec, String defaultCatalog, String defaultSchema, ReverseEngineeringStrategy reveng) {
 		this.metadataDialect = dialect;
 		this.provider = provider;
@@ -45,6 +55,9 @@ public class JDBCReader {
 	}
 		
 	public List<Table> readDatabaseSchema(DatabaseCollector dbs, String catalog, String schema, ProgressListener progress) {
+		if(progress instanceof MetricsListener && !(metadataDialect instanceof InstrumentedMetaDataDialect)) {
+			return instrument((MetricsListener) progress).readDatabaseSchema(dbs, catalog, schema, progress);
+		}
 		try {
 			ReverseEngineeringRuntimeInfo info = new ReverseEngineeringRuntimeInfo(provider, sec, dbs);
 			getMetaDataDialect().configure(info);
@@ -54,45 +67,204 @@ public class JDBCReader {
 			
 			List<SchemaSelection> schemaSelectors = revengStrategy.getSchemaSelections();
 			List<Table> foundTables = new ArrayList<Table>();
-			if(schemaSelectors==null) {
-				foundTables.addAll(TableProcessor.processTables(getMetaDataDialect(), revengStrategy, defaultSchema, defaultCatalog, dbs, new SchemaSelection(catalog, schema), hasIndices, progress));
-			} else {
-				for (Iterator<SchemaSelection> iter = schemaSelectors.iterator(); iter.hasNext();) {
-					SchemaSelection selection = iter.next();
-					foundTables.addAll(TableProcessor.processTables(getMetaDataDialect(), revengStrategy, defaultSchema, defaultCatalog, dbs, selection, hasIndices, progress));
+			Phase phase = Phase.start(progress, "tables", null);
+			try {
+				if(schemaSelectors==null) {
+					foundTables.addAll(TableProcessor.processTables(getMetaDataDialect(), revengStrategy, defaultSchema, defaultCatalog, dbs, new SchemaSelection(catalog, schema), hasIndices, progress));
+				} else {
+					for (Iterator<SchemaSelection> iter = schemaSelectors.iterator(); iter.hasNext();) {
+						SchemaSelection selection = iter.next();
+						foundTables.addAll(TableProcessor.processTables(getMetaDataDialect(), revengStrategy, defaultSchema, defaultCatalog, dbs, selection, hasIndices, progress));
+					}
 				}
+			} finally {
+				phase.end();
 			}
 			
-			Iterator<Table> tables = foundTables.iterator(); // not dbs.iterateTables() to avoid "double-read" of columns etc.
-			while ( tables.hasNext() ) {
-				Table table = tables.next();
-				BasicColumnProcessor.processBasicColumns(getMetaDataDialect(), revengStrategy, defaultSchema, defaultCatalog, table, progress);
-				PrimaryKeyProcessor.processPrimaryKey(getMetaDataDialect(), revengStrategy, defaultSchema, defaultCatalog, dbs, table);
-				if(hasIndices.contains(table)) {
-					IndexProcessor.processIndices(getMetaDataDialect(), defaultSchema, defaultCatalog, table);
+			List<ForeignKeysInfo> fks;
+			if(parallelMetaDataDialects.isEmpty() || foundTables.size() < 2) {
+				Iterator<Table> tables = foundTables.iterator(); // not dbs.iterateTables() to avoid "double-read" of columns etc.
+				while ( tables.hasNext() ) {
+					processTable(getMetaDataDialect(), dbs, hasIndices, tables.next(), progress);
 				}
+				fks = readForeignKeys( getMetaDataDialect(), dbs, foundTables.iterator(), progress ); //dbs.iterateTables();
+			} else {
+				fks = readDatabaseSchemaInParallel(info, dbs, foundTables, hasIndices, progress);
+			}
+			phase = Phase.start(progress, "resolveForeignKeys", null);
+			Map<String, List<ForeignKey>> oneToManyCandidates;
+			try {
+				oneToManyCandidates = resolveForeignKeys( fks );
+			} finally {
+				phase.end();
 			}
-			
-			tables = foundTables.iterator(); //dbs.iterateTables();
-			Map<String, List<ForeignKey>> oneToManyCandidates = resolveForeignKeys( dbs, tables, progress );
 			
 			dbs.setOneToManyCandidates(oneToManyCandidates);
 			
 			return foundTables;
 		} finally {
 			getMetaDataDialect().close();
+			for (MetaDataDialect dialect : parallelMetaDataDialects) {
+				dialect.close();
+			}
 			revengStrategy.close();
 		}
 	}
+	
+	private void processTable(MetaDataDialect dialect, DatabaseCollector dbs, Set<Table> hasIndices, Table table, ProgressListener progress) {
+		TableIdentifier identifier = progress instanceof MetricsListener ? TableIdentifier.create(table) : null;
+		Phase phase = Phase.start(progress, "columns", identifier);
+		try {
+			BasicColumnProcessor.processBasicColumns(dialect, revengStrategy, defaultSchema, defaultCatalog, table, progress);
+		} finally {
+			phase.end();
+		}
+		phase = Phase.start(progress, "primaryKey", identifier);
+		try {
+			PrimaryKeyProcessor.processPrimaryKey(dialect, revengStrategy, defaultSchema, defaultCatalog, dbs, table);
+		} finally {
+			phase.end();
+		}
+		if(hasIndices.contains(table)) {
+			phase = Phase.start(progress, "indexes", identifier);
+			try {
+				IndexProcessor.processIndices(dialect, defaultSchema, defaultCatalog, table);
+			} finally {
+				phase.end();
+			}
+		}
+	}
+	
+	private ForeignKeysInfo processForeignKeys(MetaDataDialect dialect, DatabaseCollector dbs, Table table, ProgressListener progress) {
+		Phase phase = Phase.start(progress, "foreignKeys", progress instanceof MetricsListener ? TableIdentifier.create(table) : null);
+		try {
+			return ForeignKeyProcessor.processForeignKeys(dialect, revengStrategy, defaultSchema, defaultCatalog, dbs, table, progress);
+		} finally {
+			phase.end();
+		}
+	}
+	
+	/**
+	 * @return a reader whose metadata dialects and strategy tell the listener the time spent in them
+	 */
+	private JDBCReader instrument(MetricsListener metrics) {
+		ReverseEngineeringStrategy strategy = revengStrategy instanceof InstrumentedReverseEngineeringStrategy 
+				? revengStrategy 
+				: new InstrumentedReverseEngineeringStrategy(revengStrategy, metrics);
+		JDBCReader reader = new JDBCReader(
+				new InstrumentedMetaDataDialect(metadataDialect, metrics), 
+				provider, 
+				sec, 
+				defaultCatalog, 
+				defaultSchema, 
+				strategy);
+		List<MetaDataDialect> dialects = new ArrayList<MetaDataDialect>();
+		for (MetaDataDialect dialect : parallelMetaDataDialects) {
+			dialects.add(new InstrumentedMetaDataDialect(dialect, metrics));
+		}
+		reader.setParallelMetaDataDialects(dialects);
+		return reader;
+	}
+	
+	/**
+	 * Reads the columns, primary keys, indexes and foreign keys of the found tables using the 
+	 * metadata dialect of this reader plus the parallel metadata dialects, each from its own thread 
+	 * and hence on its own connection.
+	 * Every table is processed completely by one thread and the foreign keys are returned in the 
+	 * order of the found tables, so the outcome does not depend on the scheduling.
+	 */
+	private List<ForeignKeysInfo> readDatabaseSchemaInParallel(
+			ReverseEngineeringRuntimeInfo info, 
+			DatabaseCollector dbs, 
+			final List<Table> foundTables, 
+			final Set<Table> hasIndices, 
+			ProgressListener progress) {
+		final DatabaseCollector collector = new SynchronizedDatabaseCollector(dbs);
+		// a MetricsListener has to be thread safe anyway, and is then still recognized as such
+		final ProgressListener listener = progress instanceof MetricsListener ? progress : new SynchronizedProgressListener(progress);
+		List<MetaDataDialect> dialects = new ArrayList<MetaDataDialect>();
+		dialects.add(getMetaDataDialect());
+		for (MetaDataDialect dialect : parallelMetaDataDialects) {
+			dialect.configure(info);
+			dialects.add(dialect);
+		}
+		final ForeignKeysInfo[] fks = new ForeignKeysInfo[foundTables.size()];
+		final AtomicInteger nextTable = new AtomicInteger();
+		final AtomicInteger nextForeignKeyTable = new AtomicInteger();
+		final AtomicBoolean failed = new AtomicBoolean();
+		ExecutorService executor = Executors.newFixedThreadPool(dialects.size());
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for (final MetaDataDialect dialect : dialects) {
+				futures.add(executor.submit(new Runnable() {
+					public void run() {
+						try {
+							int i;
+							while(!failed.get() && (i = nextTable.getAndIncrement()) < foundTables.size()) {
+								processTable(dialect, collector, hasIndices, foundTables.get(i), listener);
+							}
+						} catch(RuntimeException e) {
+							failed.set(true);
+							throw e;
+						}
+					}
+				}));
+			}
+			waitFor(futures);
+			futures.clear();
+			// foreign keys need the columns of all the tables, so only start when all are read 
+			for (final MetaDataDialect dialect : dialects) {
+				futures.add(executor.submit(new Runnable() {
+					public void run() {
+						try {
+							int i;
+							while(!failed.get() && (i = nextForeignKeyTable.getAndIncrement()) < foundTables.size()) {
+								fks[i] = processForeignKeys(dialect, collector, foundTables.get(i), listener);
+							}
+						} catch(RuntimeException e) {
+							failed.set(true);
+							throw e;
+						}
+					}
+				}));
+			}
+			waitFor(futures);
+		} finally {
+			executor.shutdownNow();
+		}
+		List<ForeignKeysInfo> result = new ArrayList<ForeignKeysInfo>(fks.length);
+		Collections.addAll(result, fks);
+		return result;
+	}
+	
+	private void waitFor(List<Future<?>> futures) {
+		RuntimeException failure = null;
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				if(failure==null) {
+					failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new RuntimeException(e.getCause());
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while reading database schema", e);
+			}
+		}
+		if(failure!=null) {
+			throw failure;
+		}
+	}
 
 	/**
 	 * Iterates the tables and find all the foreignkeys that refers to something that is available inside the DatabaseCollector.
+	 * @param dialect
 	 * @param dbs
-	 * @param progress
 	 * @param tables
+	 * @param progress
 	 * @return
 	 */
-	private Map<String, List<ForeignKey>> resolveForeignKeys(DatabaseCollector dbs, Iterator<Table> tables, ProgressListener progress) {
+	private List<ForeignKeysInfo> readForeignKeys(MetaDataDialect dialect, DatabaseCollector dbs, Iterator<Table> tables, ProgressListener progress) {
 		List<ForeignKeysInfo> fks = new ArrayList<ForeignKeysInfo>();
 		while ( tables.hasNext() ) {
 			Table table = (Table) tables.next();
@@ -100,10 +272,13 @@ public class JDBCReader {
 			// all referenced tables (this ensure the columns are the same instances througout the basic JDBC derived model.
 			// after this stage it should be "ok" to divert from keeping columns in sync as it can be required if the same 
 			//column is used with different aliases in the ORM mapping.
-			ForeignKeysInfo foreignKeys = ForeignKeyProcessor.processForeignKeys(getMetaDataDialect(), revengStrategy, defaultSchema, defaultCatalog, dbs, table, progress);
+			ForeignKeysInfo foreignKeys = processForeignKeys(dialect, dbs, table, progress);
 			fks.add( foreignKeys );				  	   
 		}
-		
+		return fks;
+	}
+	
+	private Map<String, List<ForeignKey>> resolveForeignKeys(List<ForeignKeysInfo> fks) {
 		Map<String, List<ForeignKey>> oneToManyCandidates = new HashMap<String, List<ForeignKey>>();			
 		for (Iterator<ForeignKeysInfo> iter = fks.iterator(); iter.hasNext();) {
 			ForeignKeysInfo element = iter.next();
@@ -117,6 +292,16 @@ public class JDBCReader {
 		return metadataDialect;
 	}
 	
+	/**
+	 * Additional metadata dialects used to read the columns, keys and indexes of several tables 
+	 * concurrently, each holding its own connection. If empty (the default) all tables are read 
+	 * one after another with {@link #getMetaDataDialect()}.
+	 * Note that the {@link ReverseEngineeringStrategy} will then be called from several threads.
+	 */
+	public void setParallelMetaDataDialects(List<MetaDataDialect> dialects) {
+		this.parallelMetaDataDialects = dialects == null ? Collections.<MetaDataDialect>emptyList() : dialects;
+	}
+	
 	    private void mergeMultiMap(Map<String, List<ForeignKey>> dest, Map<String, List<ForeignKey>> src) {
 	    	Iterator<Entry<String, List<ForeignKey>>> items = src.entrySet().iterator();
 	    	
@@ -139,6 +324,16 @@ public class JDBCReader {
 			}
 		}
 		
+		static class SynchronizedProgressListener implements ProgressListener {
+			private final ProgressListener delegate;
+			SynchronizedProgressListener(ProgressListener delegate) {
+				this.delegate = delegate;
+			}
+			public synchronized void startSubTask(String name) {
+				delegate.startSubTask(name);
+			}
+		}
+		
 		public List<Table> readDatabaseSchema(DatabaseCollector dbs, String catalog, String schema) {
 			return readDatabaseSchema(dbs, catalog, schema, new NoopProgressListener());
 		}
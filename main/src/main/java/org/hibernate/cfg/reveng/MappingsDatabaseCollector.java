@@ -1,6 +1,8 @@
 package org.hibernate.cfg.reveng;
 
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 
 import org.hibernate.boot.spi.InFlightMetadataCollector;
 import org.hibernate.cfg.reveng.dialect.MetaDataDialect;
@@ -10,9 +12,16 @@ public class MappingsDatabaseCollector extends AbstractDatabaseCollector {
 
 	private final InFlightMetadataCollector metadataCollector;
 	
+	// index of the tables known to the metadata collector, keyed on their unquoted names
+	private final Map<TableIdentifier, Table> tables;
+	
 	public MappingsDatabaseCollector(InFlightMetadataCollector metadataCollector, MetaDataDialect metaDataDialect) {
 		super(metaDataDialect);
 		this.metadataCollector = metadataCollector;
+		this.tables = new HashMap<TableIdentifier, Table>();
+		for (Table table : metadataCollector.collectTableMappings()) {
+			index(table);
+		}
 	}
 
 	public Iterator<Table> iterateTables() {
@@ -20,22 +29,17 @@ public class MappingsDatabaseCollector extends AbstractDatabaseCollector {
 	}
 
 	public Table addTable(String schema, String catalog, String name) {
-		return metadataCollector.addTable(quote(schema), quote(catalog), quote(name), null, false);
+		Table table = metadataCollector.addTable(quote(schema), quote(catalog), quote(name), null, false);
+		index(table);
+		return table;
 	}
 
 	public Table getTable(String schema, String catalog, String name) {
-		for (Table table : metadataCollector.collectTableMappings()) {
-			if (equalOrBothNull(schema, table.getSchema()) && 
-				equalOrBothNull(catalog, table.getCatalog()) && 
-				equalOrBothNull(name, table.getName())) {
-				return table;
-			}
-		}		
-		return null;
+		return tables.get(new TableIdentifier(catalog, schema, name));
 	}
 	
-	private boolean equalOrBothNull(String left, String right) {
-		return ((left == null) && (right == null)) || ((left != null) && left.equals(right));
+	private void index(Table table) {
+		tables.put(TableIdentifier.create(table), table);
 	}
 	
 }
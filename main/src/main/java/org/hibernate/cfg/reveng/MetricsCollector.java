@@ -0,0 +1,210 @@
+package org.hibernate.cfg.reveng;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * {@link MetricsListener} that sums up the times per phase, metadata dialect method,
+ * strategy method and template, and per table the time of its phases.
+ *
+ * The durations are also counted in histograms with a bucket per power of two nanoseconds,
+ * {@link #writeHistograms(Writer)} writes them as CSV.
+ */
+public class MetricsCollector implements MetricsListener {
+
+	public static final String PHASE = "phase";
+	public static final String METADATA = "metadata";
+	public static final String STRATEGY = "strategy";
+	public static final String TEMPLATE = "template";
+	public static final String TABLE = "table";
+
+	private static final String[] KINDS = { PHASE, METADATA, STRATEGY, TEMPLATE, TABLE };
+
+	/** how many of the slowest tables the summary shows */
+	private static final int SLOWEST_TABLES = 10;
+
+	private final Map<String, Map<String, Timer>> timers = new LinkedHashMap<String, Map<String, Timer>>();
+
+	public MetricsCollector() {
+		for (String kind : KINDS) {
+			timers.put(kind, new HashMap<String, Timer>());
+		}
+	}
+
+	public void startSubTask(String name) {
+		// the phases tell more
+	}
+
+	public void phaseStarted(String phase, TableIdentifier table) {
+	}
+
+	public synchronized void phaseEnded(String phase, TableIdentifier table, long nanos) {
+		getTimer(PHASE, phase).add(nanos, 0);
+		if(table!=null) {
+			getTimer(TABLE, name(table)).add(nanos, 0);
+		}
+	}
+
+	public synchronized void metaDataRead(String method, int rows, long nanos) {
+		getTimer(METADATA, method).add(nanos, rows);
+	}
+
+	public synchronized void strategyCalled(String method, long nanos) {
+		getTimer(STRATEGY, method).add(nanos, 0);
+	}
+
+	public synchronized void templateProcessed(String exporter, String template, long nanos) {
+		getTimer(TEMPLATE, exporter + " " + template).add(nanos, 0);
+	}
+
+	/**
+	 * @param kind one of {@link #PHASE}, {@link #METADATA}, {@link #STRATEGY}, {@link #TEMPLATE} or {@link #TABLE}
+	 * @return the number of times recorded for the name, 0 if none
+	 */
+	public synchronized long getCount(String kind, String name) {
+		Timer timer = timers.get(kind).get(name);
+		return timer==null ? 0 : timer.count;
+	}
+
+	/**
+	 * @return the sum of the times recorded for the name in nanoseconds
+	 */
+	public synchronized long getTotalNanos(String kind, String name) {
+		Timer timer = timers.get(kind).get(name);
+		return timer==null ? 0 : timer.total;
+	}
+
+	/**
+	 * @return the rows read by the calls of the metadata dialect method
+	 */
+	public synchronized long getRows(String method) {
+		Timer timer = timers.get(METADATA).get(method);
+		return timer==null ? 0 : timer.rows;
+	}
+
+	/**
+	 * Prints a table per kind with the calls, total, mean and maximum time and rows
+	 * of each name, the longest total first. Of the tables only the slowest are shown.
+	 */
+	public synchronized void printSummary(Writer writer) {
+		PrintWriter out = new PrintWriter(writer);
+		for (String kind : KINDS) {
+			List<Entry<String, Timer>> entries = sorted(kind);
+			if(entries.isEmpty()) {
+				continue;
+			}
+			int width = kind.length();
+			for (Entry<String, Timer> entry : entries) {
+				width = Math.max(width, entry.getKey().length());
+			}
+			out.println(String.format("%-" + width + "s %10s %12s %10s %10s %10s", kind, "calls", "total ms", "mean ms", "max ms", "rows"));
+			int shown = 0;
+			for (Entry<String, Timer> entry : entries) {
+				if(TABLE.equals(kind) && shown++==SLOWEST_TABLES) {
+					out.println("... " + (entries.size() - SLOWEST_TABLES) + " more");
+					break;
+				}
+				Timer timer = entry.getValue();
+				out.println(String.format("%-" + width + "s %10d %12.1f %10.3f %10.1f %10d",
+						entry.getKey(),
+						timer.count,
+						timer.total / 1e6,
+						timer.total / 1e6 / timer.count,
+						timer.max / 1e6,
+						timer.rows));
+			}
+			out.println();
+		}
+		out.flush();
+	}
+
+	public String getSummary() {
+		StringWriter writer = new StringWriter();
+		printSummary(writer);
+		return writer.toString();
+	}
+
+	/**
+	 * Writes a line per non empty bucket: kind, name, the upper bound of the bucket in nanoseconds
+	 * and the number of times up to that bound.
+	 */
+	public synchronized void writeHistograms(Writer writer) throws IOException {
+		writer.write("kind,name,upper_bound_nanos,count\n");
+		for (String kind : KINDS) {
+			for (Entry<String, Timer> entry : sorted(kind)) {
+				long[] buckets = entry.getValue().buckets;
+				for (int i = 0; i < buckets.length; i++) {
+					if(buckets[i]>0) {
+						writer.write(kind + "," + csv(entry.getKey()) + "," + (i==63 ? Long.MAX_VALUE : 1L << i) + "," + buckets[i] + "\n");
+					}
+				}
+			}
+		}
+		writer.flush();
+	}
+
+	private Timer getTimer(String kind, String name) {
+		Map<String, Timer> map = timers.get(kind);
+		Timer timer = map.get(name);
+		if(timer==null) {
+			timer = new Timer();
+			map.put(name, timer);
+		}
+		return timer;
+	}
+
+	private List<Entry<String, Timer>> sorted(String kind) {
+		List<Entry<String, Timer>> result = new ArrayList<Entry<String, Timer>>(timers.get(kind).entrySet());
+		Collections.sort(result, new Comparator<Entry<String, Timer>>() {
+			public int compare(Entry<String, Timer> o1, Entry<String, Timer> o2) {
+				int result = Long.compare(o2.getValue().total, o1.getValue().total);
+				return result!=0 ? result : o1.getKey().compareTo(o2.getKey());
+			}
+		});
+		return result;
+	}
+
+	private static String name(TableIdentifier table) {
+		StringBuffer buf = new StringBuffer();
+		if(table.getCatalog()!=null) buf.append(table.getCatalog()).append('.');
+		if(table.getSchema()!=null) buf.append(table.getSchema()).append('.');
+		return buf.append(table.getName()).toString();
+	}
+
+	private static String csv(String value) {
+		if(value.indexOf(',')<0 && value.indexOf('"')<0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+	private static class Timer {
+
+		long count;
+		long total;
+		long max;
+		long rows;
+		/** bucket i counts the times from 2^(i-1) up to 2^i nanoseconds */
+		final long[] buckets = new long[64];
+
+		void add(long nanos, int rowCount) {
+			count++;
+			total += nanos;
+			max = Math.max(max, nanos);
+			rows += rowCount;
+			buckets[Math.min(63, 64 - Long.numberOfLeadingZeros(Math.max(0, nanos - 1)))]++;
+		}
+
+	}
+
+}
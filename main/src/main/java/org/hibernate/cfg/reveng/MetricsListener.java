@@ -0,0 +1,45 @@
+package org.hibernate.cfg.reveng;
+
+/**
+ * A {@link ProgressListener} that is also told where the time goes.
+ * 
+ * When the listener passed to {@link JDBCReader#readDatabaseSchema(DatabaseCollector, String, String, ProgressListener)} 
+ * is a MetricsListener, the reader times the calls of its {@link org.hibernate.cfg.reveng.dialect.MetaDataDialect} 
+ * and {@link ReverseEngineeringStrategy}, and tells when it starts and ends the phases of reading each table. 
+ * Exporters report the time they spend in each template.
+ * 
+ * The methods may be called from several threads at once.
+ * 
+ * @see MetricsCollector
+ */
+public interface MetricsListener extends ProgressListener {
+
+	/**
+	 * @param phase e.g. "columns"
+	 * @param table the table the phase is about, or null
+	 */
+	public void phaseStarted(String phase, TableIdentifier table);
+
+	public void phaseEnded(String phase, TableIdentifier table, long nanos);
+
+	/**
+	 * @param method the name of the {@link org.hibernate.cfg.reveng.dialect.MetaDataDialect} method
+	 * @param rows the number of rows read from the returned iterator, 0 for methods not returning one
+	 * @param nanos the time spent in the method and, for the methods returning an iterator, 
+	 * in reading the iterator until it was closed
+	 */
+	public void metaDataRead(String method, int rows, long nanos);
+
+	/**
+	 * @param method the name of the {@link ReverseEngineeringStrategy} method
+	 */
+	public void strategyCalled(String method, long nanos);
+
+	/**
+	 * @param exporter the name of the exporter
+	 * @param template the name of the template
+	 * @param nanos the time spent processing the template and writing its output
+	 */
+	public void templateProcessed(String exporter, String template, long nanos);
+
+}
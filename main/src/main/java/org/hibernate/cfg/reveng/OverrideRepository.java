@@ -37,6 +37,8 @@ public class OverrideRepository  {
 
 	final private List<TableFilter> tableFilters;
 
+	private TableFilterIndex tableFilterIndex;
+
 	final private List<Table> tables;
 	final private Map<TableIdentifier, List<ForeignKey>> foreignKeys; // key: TableIdentifier element: List of foreignkeys that references the Table
 
@@ -235,42 +237,29 @@ public class OverrideRepository  {
 	}
 
 	protected String getPackageName(TableIdentifier identifier) {
-		Iterator<TableFilter> iterator = tableFilters.iterator();
-		while(iterator.hasNext() ) {
-			TableFilter tf = iterator.next();
-			String value = tf.getPackage(identifier);
-			if(value!=null) {
-				return value;
-			}
-		}
-		return null;
+		return getTableFilterIndex().match(identifier).packageName;
 	}
 
 	protected boolean excludeTable(TableIdentifier identifier) {
-		Iterator<TableFilter> iterator = tableFilters.iterator();
-		boolean hasInclude = false;
-
-		while(iterator.hasNext() ) {
-			TableFilter tf = iterator.next();
-			Boolean value = tf.exclude(identifier);
-			if(value!=null) {
-				return value.booleanValue();
-			}
-			if(!tf.getExclude().booleanValue()) {
-				hasInclude = true;
-			}
-		}
-
-		// can probably be simplified - but like this to be very explicit ;)
-		if(hasInclude) {
-			return true; // exclude all by default when at least one include specified
-		} else {
-			return false; // if nothing specified or just excludes we include everything
-		}
+		// exclude all by default when at least one include specified,
+		// if nothing specified or just excludes we include everything
+		return getTableFilterIndex().match(identifier).exclude;
 	}
 
-	public void addTableFilter(TableFilter filter) {
+	/**
+	 * Adds a filter, which must not be changed afterwards: 
+	 * what the filters tell about a table is only found out once.
+	 */
+	public synchronized void addTableFilter(TableFilter filter) {
 		tableFilters.add(filter);
+		tableFilterIndex = null;
+	}
+
+	private synchronized TableFilterIndex getTableFilterIndex() {
+		if(tableFilterIndex==null) {
+			tableFilterIndex = new TableFilterIndex(tableFilters);
+		}
+		return tableFilterIndex;
 	}
 
 	public ReverseEngineeringStrategy getReverseEngineeringStrategy(ReverseEngineeringStrategy delegate) {
@@ -539,15 +528,7 @@ public class OverrideRepository  {
 	}
 
 	private Map<?,?> findGeneralAttributes(TableIdentifier identifier) {
-		Iterator<TableFilter> iterator = tableFilters.iterator();
-		while(iterator.hasNext() ) {
-			TableFilter tf = iterator.next();
-			Map<?,?> value = tf.getMetaAttributes(identifier);
-			if(value!=null) {
-				return value;
-			}
-		}
-		return null;
+		return getTableFilterIndex().match(identifier).metaAttributes;
 	}
 
 	private Map<String, MetaAttribute> toMetaAttributes(Map<?,?> value) {
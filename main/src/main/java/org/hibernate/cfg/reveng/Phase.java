@@ -0,0 +1,47 @@
+package org.hibernate.cfg.reveng;
+
+/**
+ * Tells a {@link MetricsListener} when a phase starts and ends, 
+ * for any other {@link ProgressListener} it does nothing.
+ * 
+ * <pre>
+ * Phase phase = Phase.start(progress, "columns", table);
+ * try {
+ *     ...
+ * } finally {
+ *     phase.end();
+ * }
+ * </pre>
+ */
+public final class Phase {
+
+	private static final Phase NONE = new Phase(null, null, null, 0);
+
+	private final MetricsListener metrics;
+	private final String name;
+	private final TableIdentifier table;
+	private final long start;
+
+	private Phase(MetricsListener metrics, String name, TableIdentifier table, long start) {
+		this.metrics = metrics;
+		this.name = name;
+		this.table = table;
+		this.start = start;
+	}
+
+	public static Phase start(ProgressListener progress, String name, TableIdentifier table) {
+		if(!(progress instanceof MetricsListener)) {
+			return NONE;
+		}
+		MetricsListener metrics = (MetricsListener) progress;
+		metrics.phaseStarted(name, table);
+		return new Phase(metrics, name, table, System.nanoTime());
+	}
+
+	public void end() {
+		if(metrics!=null) {
+			metrics.phaseEnded(name, table, System.nanoTime() - start);
+		}
+	}
+
+}
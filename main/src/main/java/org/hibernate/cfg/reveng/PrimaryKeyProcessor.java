@@ -10,6 +10,8 @@ import java.util.Map;
 import org.hibernate.JDBCException;
 import org.hibernate.cfg.JDBCBinderException;
 import org.hibernate.cfg.reveng.dialect.MetaDataDialect;
+import org.hibernate.cfg.reveng.dialect.MetaDataRows;
+import org.hibernate.cfg.reveng.dialect.PrimaryKeyRow;
 import org.hibernate.mapping.Column;
 import org.hibernate.mapping.PrimaryKey;
 import org.hibernate.mapping.Table;
@@ -31,10 +33,10 @@ public class PrimaryKeyProcessor {
 				
 		List<Object[]> columns = new ArrayList<Object[]>();
 		PrimaryKey key = null;
-		Iterator<Map<String, Object>> primaryKeyIterator = null;
+		Iterator<PrimaryKeyRow> primaryKeyIterator = null;
 		try {
-			Map<String, Object> primaryKeyRs = null;	
-			primaryKeyIterator = metaDataDialect.getPrimaryKeys(getCatalogForDBLookup(table.getCatalog(), defaultCatalog), getSchemaForDBLookup(table.getSchema(), defaultSchema), table.getName() );		
+			PrimaryKeyRow primaryKeyRs = null;	
+			primaryKeyIterator = MetaDataRows.getPrimaryKeys(metaDataDialect, getCatalogForDBLookup(table.getCatalog(), defaultCatalog), getSchemaForDBLookup(table.getSchema(), defaultSchema), table.getName() );		
 		
 			while (primaryKeyIterator.hasNext() ) {
 				primaryKeyRs = primaryKeyIterator.next();
@@ -43,9 +45,9 @@ public class PrimaryKeyProcessor {
 				 String ownSchema = primaryKeyRs.getString("TABLE_SCHEM");
 				 String ownTable = primaryKeyRs.getString("TABLE_NAME");*/
 				
-				String columnName = (String) primaryKeyRs.get("COLUMN_NAME");
-				short seq = ((Short)primaryKeyRs.get("KEY_SEQ")).shortValue();
-				String name = (String) primaryKeyRs.get("PK_NAME");
+				String columnName = primaryKeyRs.getColumnName();
+				short seq = primaryKeyRs.getKeySeq();
+				String name = primaryKeyRs.getPkName();
 				
 				if(key==null) {
 					key = new PrimaryKey(table);
@@ -67,7 +69,7 @@ public class PrimaryKeyProcessor {
 		} finally {
 			if (primaryKeyIterator!=null) {
 				try {
-					metaDataDialect.close(primaryKeyIterator);
+					MetaDataRows.close(metaDataDialect, primaryKeyIterator);
 				} catch(JDBCException se) {
 					log.warn("Exception when closing resultset for reading primary key information",se);
 				}
@@ -1,10 +1,25 @@
 package org.hibernate.cfg.reveng;
 
+import java.util.regex.Pattern;
+
+import org.hibernate.cfg.reveng.TableFilter.Matcher;
+
+/**
+ * Selects the tables read from the database. The matches are the ones of a {@link TableFilter}, 
+ * with null matching everything. The database is asked for the tables matching 
+ * {@link Matcher#getLikePattern()}, of those only the ones matching the regular expressions 
+ * and globs are selected. As the database folds the case of the patterns it is given, the regular 
+ * expressions and globs ignore the case, unless they say otherwise with (?-i).
+ * A null catalog or schema, as reported by databases without them, is not constrained.
+ */
 public class SchemaSelection {
 
 	String matchCatalog;
 	String matchSchema;
 	String matchTable;
+	
+	private Matcher[] matchers;
+	private Pattern[] patterns;
 
 	public SchemaSelection(String catalog, String schema, String table) {
 		matchCatalog = catalog;
@@ -25,6 +40,7 @@ public class SchemaSelection {
 	
 	public void setMatchCatalog(String catalogPattern) {
 		this.matchCatalog = catalogPattern;
+		matchers = null;
 	}
 	
 	public String getMatchSchema() {
@@ -33,6 +49,7 @@ public class SchemaSelection {
 	
 	public void setMatchSchema(String schemaPattern) {
 		this.matchSchema = schemaPattern;
+		matchers = null;
 	}
 	
 	public String getMatchTable() {
@@ -41,6 +58,73 @@ public class SchemaSelection {
 	
 	public void setMatchTable(String tablePattern) {
 		this.matchTable = tablePattern;
+		matchers = null;
 	}
-	
+
+	public String getCatalogLikePattern() {
+		return getLikePattern(getMatchers()[0]);
+	}
+
+	public String getSchemaLikePattern() {
+		return getLikePattern(getMatchers()[1]);
+	}
+
+	public String getTableLikePattern() {
+		return getLikePattern(getMatchers()[2]);
+	}
+
+	/**
+	 * @return false if a regular expression or glob does not match the table, 
+	 * the other matches are checked by the database
+	 */
+	public boolean isSelected(TableIdentifier identifier) {
+		getMatchers();
+		Pattern[] p = patterns;
+		return isSelected(p[0], identifier.getCatalog(), true) 
+				&& isSelected(p[1], identifier.getSchema(), true) 
+				&& isSelected(p[2], identifier.getName(), false);
+	}
+
+	public String toString() {
+		return matchCatalog + " " + matchSchema + " " + matchTable;
+	}
+
+	private Matcher[] getMatchers() {
+		Matcher[] result = matchers;
+		if(result==null) {
+			result = new Matcher[] { toMatcher(matchCatalog), toMatcher(matchSchema), toMatcher(matchTable) };
+			patterns = new Pattern[] { toPattern(result[0]), toPattern(result[1]), toPattern(result[2]) };
+			matchers = result;
+		}
+		return result;
+	}
+
+	private static Matcher toMatcher(String match) {
+		return match==null ? null : new Matcher(match);
+	}
+
+	/**
+	 * @return the regular expression or glob ignoring the case, null for the matches checked by the database
+	 */
+	private static Pattern toPattern(Matcher matcher) {
+		if(matcher==null || matcher.mode!=Matcher.PATTERN) {
+			return null;
+		}
+		return Pattern.compile(matcher.value, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+	}
+
+	private static String getLikePattern(Matcher matcher) {
+		return matcher==null ? null : matcher.getLikePattern();
+	}
+
+	private static boolean isSelected(Pattern pattern, String value, boolean nullable) {
+		if(pattern==null) {
+			return true;
+		}
+		if(value==null) {
+			return nullable;
+		}
+		return pattern.matcher(value).matches();
+	}
+
 }
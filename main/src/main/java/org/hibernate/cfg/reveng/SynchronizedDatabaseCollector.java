@@ -0,0 +1,50 @@
+package org.hibernate.cfg.reveng;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.mapping.ForeignKey;
+import org.hibernate.mapping.Table;
+
+/**
+ * DatabaseCollector that serializes all access to the collector it wraps, 
+ * used when tables are read from several threads.
+ */
+public class SynchronizedDatabaseCollector implements DatabaseCollector {
+	
+	private final DatabaseCollector delegate;
+	
+	public SynchronizedDatabaseCollector(DatabaseCollector delegate) {
+		this.delegate = delegate;
+	}
+
+	public synchronized Iterator<Table> iterateTables() {
+		return delegate.iterateTables();
+	}
+
+	public synchronized Table addTable(String schema, String catalog, String name) {
+		return delegate.addTable(schema, catalog, name);
+	}
+
+	public synchronized void setOneToManyCandidates(Map<String, List<ForeignKey>> oneToManyCandidates) {
+		delegate.setOneToManyCandidates(oneToManyCandidates);
+	}
+
+	public synchronized Table getTable(String schema, String catalog, String name) {
+		return delegate.getTable(schema, catalog, name);
+	}
+
+	public synchronized Map<String, List<ForeignKey>> getOneToManyCandidates() {
+		return delegate.getOneToManyCandidates();
+	}
+
+	public synchronized void addSuggestedIdentifierStrategy(String catalog, String schema, String name, String strategy) {
+		delegate.addSuggestedIdentifierStrategy(catalog, schema, name, strategy);
+	}
+
+	public synchronized String getSuggestedIdentifierStrategy(String catalog, String schema, String name) {
+		return delegate.getSuggestedIdentifierStrategy(catalog, schema, name);
+	}
+	
+}
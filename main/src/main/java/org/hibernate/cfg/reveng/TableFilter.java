@@ -1,33 +1,59 @@
 package org.hibernate.cfg.reveng;
 
 import java.util.Map;
+import java.util.regex.Pattern;
 
+import org.hibernate.internal.util.StringHelper;
 
 /**
  * 
  * A tablefilter that can tell if a TableIdentifier is included or excluded.
  * Note that all matching is case sensitive since many db's are. 
+ * 
+ * A match is either a name with .* at its start and/or end, 
+ * a regular expression prefixed by regex: (e.g. regex:AUDIT_\d{4}_\d{2}) 
+ * or a glob prefixed by glob: (e.g. glob:AUDIT_*), where * matches any characters and ? one character.
  *  
  * @author max
  *
  */
 public class TableFilter {
 
-	// TODO: very basic substring matching. Possibly include regex functionallity ? (jdk 1.4 dep)
 	public static class Matcher {
 		
-		private static final int EQUALS = 1;
-		private static final int ENDSWITH = 2;
-		private static final int STARTSWITH = 3;
-		private static final int SUBSTRING = 4;
-		private static final int ANY = 5;
+		static final int EQUALS = 1;
+		static final int ENDSWITH = 2;
+		static final int STARTSWITH = 3;
+		static final int SUBSTRING = 4;
+		static final int ANY = 5;
+		static final int PATTERN = 6;
+		
+		static final String REGEX_PREFIX = "regex:";
+		static final String GLOB_PREFIX = "glob:";
+		
+		/** the characters with a special meaning in a regular expression, outside of a character class */
+		private static final String REGEX_SPECIAL = "\\.[]{}()*+?^$|";
 		
 		final int mode;
 		final String value;
 		final String matchValue;
+		final Pattern pattern;
 		
 		Matcher(String match) {
 			matchValue = match;
+			if(match.startsWith(REGEX_PREFIX) ) {
+				mode = PATTERN;
+				value = match.substring(REGEX_PREFIX.length() );
+				pattern = Pattern.compile(value);
+				return;
+			}
+			if(match.startsWith(GLOB_PREFIX) ) {
+				mode = PATTERN;
+				value = globToRegex(match.substring(GLOB_PREFIX.length() ) );
+				pattern = Pattern.compile(value);
+				return;
+			}
+			pattern = null;
 			if(".*".equals(match) ) {
 				mode = ANY;
 				value = null;
@@ -57,11 +83,76 @@ public class TableFilter {
 			case ENDSWITH: return matchEnum.endsWith(this.value);
 			case STARTSWITH: return matchEnum.startsWith(this.value);
 			case SUBSTRING: return matchEnum.indexOf(this.value)>=0;
+			case PATTERN: return pattern.matcher(matchEnum).matches();
 			default:
 				throw new IllegalStateException();				
 			}
 		}
 		
+		/**
+		 * Like {@link #match(String)}, but a null value is only matched by .*
+		 */
+		boolean matchNullable(String matchEnum) {
+			return matchEnum==null ? mode==ANY : match(matchEnum);
+		}
+		
+		/**
+		 * @return the pattern to give to DatabaseMetaData.getTables(): 
+		 * for a regular expression or glob the literal prefix it starts with followed by %, 
+		 * which selects more names than it matches, for the other matches exactly the names it matches.
+		 */
+		public String getLikePattern() {
+			if(mode!=PATTERN) {
+				return StringHelper.replace(matchValue, ".*", "%");
+			}
+			// an alternative may not start with the prefix
+			if(value.indexOf('|')>=0) {
+				return "%";
+			}
+			StringBuffer prefix = new StringBuffer();
+			int i = value.startsWith("^") ? 1 : 0;
+			while(i<value.length() ) {
+				char c = value.charAt(i);
+				int next = i + 1;
+				if(c=='\\' && next<value.length() && !Character.isLetterOrDigit(value.charAt(next) ) ) {
+					c = value.charAt(next++);
+				} 
+				else if(REGEX_SPECIAL.indexOf(c)>=0) {
+					break;
+				}
+				// the character may occur zero times
+				if(next<value.length() && "?*{".indexOf(value.charAt(next) )>=0) {
+					break;
+				}
+				prefix.append(c);
+				i = next;
+			}
+			if(i==value.length() || (i==value.length() - 1 && value.charAt(i)=='$') ) {
+				return prefix.toString();
+			}
+			return prefix.append('%').toString();
+		}
+		
+		private static String globToRegex(String glob) {
+			StringBuffer regex = new StringBuffer();
+			for (int i = 0; i < glob.length(); i++) {
+				char c = glob.charAt(i);
+				if(c=='*') {
+					regex.append(".*");
+				} 
+				else if(c=='?') {
+					regex.append('.');
+				} 
+				else if(Character.isLetterOrDigit(c) || c=='_') {
+					regex.append(c);
+				} 
+				else {
+					regex.append('\\').append(c);
+				}
+			}
+			return regex.toString();
+		}
+		
 		public String toString() {
 			return matchValue;
 		}
@@ -147,6 +238,26 @@ public class TableFilter {
 		return exclude;
 	}
 
+	String getPackage() {
+		return packageName;
+	}
+
+	Map<?,?> getMetaAttributes() {
+		return metaAttributes;
+	}
+
+	Matcher getCatalogMatcher() {
+		return catalogMatcher;
+	}
+
+	Matcher getSchemaMatcher() {
+		return schemaMatcher;
+	}
+
+	Matcher getNameMatcher() {
+		return nameMatcher;
+	}
+
 	public Map<?,?> getMetaAttributes(TableIdentifier identifier) {
 		return isRelevantFor(identifier) ? metaAttributes : null;	
 	}
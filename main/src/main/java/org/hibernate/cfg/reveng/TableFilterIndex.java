@@ -0,0 +1,186 @@
+package org.hibernate.cfg.reveng;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.cfg.reveng.TableFilter.Matcher;
+
+/**
+ * The table filters of an {@link OverrideRepository} indexed by how they match the table name:
+ * exact names are looked up in a map, prefixes and suffixes in a trie each, and only
+ * the substring and match all filters are tried for every table.
+ * Of the filters found the first one relevant for the table wins, as when trying them in order.
+ *
+ * The answers are kept per table, the filters must not be changed once indexed.
+ */
+class TableFilterIndex {
+
+	/** what the filters tell about one table */
+	static class Match {
+
+		final boolean exclude;
+		final String packageName;
+		final Map<?,?> metaAttributes;
+
+		Match(boolean exclude, String packageName, Map<?,?> metaAttributes) {
+			this.exclude = exclude;
+			this.packageName = packageName;
+			this.metaAttributes = metaAttributes;
+		}
+	}
+
+	private static class Node {
+
+		Map<Character, Node> children;
+		List<Integer> filters;
+
+		Node getChild(char c) {
+			return children==null ? null : children.get(Character.valueOf(c) );
+		}
+
+		Node addChild(char c) {
+			if(children==null) {
+				children = new HashMap<Character, Node>();
+			}
+			Node child = children.get(Character.valueOf(c) );
+			if(child==null) {
+				child = new Node();
+				children.put(Character.valueOf(c), child);
+			}
+			return child;
+		}
+
+		void addFilter(int index) {
+			if(filters==null) {
+				filters = new ArrayList<Integer>();
+			}
+			filters.add(Integer.valueOf(index) );
+		}
+	}
+
+	private final TableFilter[] filters;
+
+	/** if there is an include filter, tables no filter is relevant for are excluded */
+	private final boolean hasInclude;
+
+	private final Map<String, List<Integer>> names = new HashMap<String, List<Integer>>();
+	private final Node prefixes = new Node();
+	private final Node suffixes = new Node();
+	private final List<Integer> others = new ArrayList<Integer>();
+
+	private final Map<TableIdentifier, Match> matches = new ConcurrentHashMap<TableIdentifier, Match>();
+
+	TableFilterIndex(List<TableFilter> tableFilters) {
+		filters = tableFilters.toArray(new TableFilter[tableFilters.size()]);
+		boolean include = false;
+		for (int i = 0; i < filters.length; i++) {
+			Matcher matcher = filters[i].getNameMatcher();
+			switch (matcher.mode) {
+			case Matcher.EQUALS:
+				List<Integer> list = names.get(matcher.value);
+				if(list==null) {
+					list = new ArrayList<Integer>();
+					names.put(matcher.value, list);
+				}
+				list.add(Integer.valueOf(i) );
+				break;
+			case Matcher.STARTSWITH:
+				Node node = prefixes;
+				for (int j = 0; j < matcher.value.length(); j++) {
+					node = node.addChild(matcher.value.charAt(j) );
+				}
+				node.addFilter(i);
+				break;
+			case Matcher.ENDSWITH:
+				node = suffixes;
+				for (int j = matcher.value.length() - 1; j >= 0; j--) {
+					node = node.addChild(matcher.value.charAt(j) );
+				}
+				node.addFilter(i);
+				break;
+			default:
+				others.add(Integer.valueOf(i) );
+			}
+			if(Boolean.FALSE.equals(filters[i].getExclude() ) ) {
+				include = true;
+			}
+		}
+		hasInclude = include;
+	}
+
+	Match match(TableIdentifier identifier) {
+		Match result = matches.get(identifier);
+		if(result==null) {
+			result = computeMatch(identifier);
+			matches.put(identifier, result);
+		}
+		return result;
+	}
+
+	private Match computeMatch(TableIdentifier identifier) {
+		BitSet candidates = findCandidates(identifier.getName() );
+		Boolean exclude = null;
+		String packageName = null;
+		Map<?,?> metaAttributes = null;
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1) ) {
+			TableFilter filter = filters[i];
+			if(filter.getCatalogMatcher().matchNullable(identifier.getCatalog() )
+					&& filter.getSchemaMatcher().matchNullable(identifier.getSchema() )
+					&& filter.getNameMatcher().matchNullable(identifier.getName() ) ) {
+				if(exclude==null) {
+					exclude = filter.getExclude();
+				}
+				if(packageName==null) {
+					packageName = filter.getPackage();
+				}
+				if(metaAttributes==null) {
+					metaAttributes = filter.getMetaAttributes();
+				}
+				if(exclude!=null && packageName!=null && metaAttributes!=null) {
+					break;
+				}
+			}
+		}
+		return new Match(exclude==null ? hasInclude : exclude.booleanValue(), packageName, metaAttributes);
+	}
+
+	/**
+	 * @return the filters whose name matcher may match the name, the others don't
+	 */
+	private BitSet findCandidates(String name) {
+		BitSet result = new BitSet(filters.length);
+		add(result, others);
+		if(name==null) {
+			return result;
+		}
+		add(result, names.get(name) );
+		Node node = prefixes;
+		for (int i = 0; i < name.length() && node!=null; i++) {
+			node = node.getChild(name.charAt(i) );
+			if(node!=null) {
+				add(result, node.filters);
+			}
+		}
+		node = suffixes;
+		for (int i = name.length() - 1; i >= 0 && node!=null; i--) {
+			node = node.getChild(name.charAt(i) );
+			if(node!=null) {
+				add(result, node.filters);
+			}
+		}
+		return result;
+	}
+
+	private static void add(BitSet bits, List<Integer> indexes) {
+		if(indexes!=null) {
+			for (int i = 0; i < indexes.size(); i++) {
+				bits.set(indexes.get(i).intValue() );
+			}
+		}
+	}
+
+}
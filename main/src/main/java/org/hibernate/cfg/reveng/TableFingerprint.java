@@ -0,0 +1,105 @@
+package org.hibernate.cfg.reveng;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.hibernate.mapping.Column;
+import org.hibernate.mapping.ForeignKey;
+import org.hibernate.mapping.Index;
+import org.hibernate.mapping.PrimaryKey;
+import org.hibernate.mapping.Table;
+import org.hibernate.mapping.UniqueKey;
+
+/**
+ * Computes a digest of the structure of a {@link Table} as read from the database:
+ * its columns, primary key, foreign keys, indexes and unique keys.
+ * Two reads of an unchanged table give the same fingerprint, so it can be stored
+ * to detect which tables changed between runs.
+ */
+public class TableFingerprint {
+
+	private TableFingerprint() {}
+
+	public static String compute(Table table) {
+		StringBuffer buf = new StringBuffer();
+		buf.append("table ").append(TableIdentifier.create(table)).append(' ').append(table.getComment()).append('\n');
+		Iterator<?> columns = table.getColumnIterator();
+		while (columns.hasNext()) {
+			Column column = (Column) columns.next();
+			buf.append("column ")
+				.append(column.getName()).append(' ')
+				.append(column.getSqlTypeCode()).append(' ')
+				.append(column.getSqlType()).append(' ')
+				.append(column.getLength()).append(' ')
+				.append(column.getPrecision()).append(' ')
+				.append(column.getScale()).append(' ')
+				.append(column.isNullable()).append(' ')
+				.append(column.isUnique()).append(' ')
+				.append(column.getDefaultValue()).append(' ')
+				.append(column.getComment()).append('\n');
+		}
+		PrimaryKey primaryKey = table.getPrimaryKey();
+		if(primaryKey!=null) {
+			buf.append("pk ").append(primaryKey.getName()).append(' ').append(columnNames(primaryKey.getColumnIterator())).append('\n');
+		}
+		List<String> parts = new ArrayList<String>();
+		Iterator<?> foreignKeys = table.getForeignKeyIterator();
+		while (foreignKeys.hasNext()) {
+			ForeignKey foreignKey = (ForeignKey) foreignKeys.next();
+			parts.add("fk " + foreignKey.getName() + " " + columnNames(foreignKey.getColumnIterator())
+					+ " " + (foreignKey.getReferencedTable()==null ? null : TableIdentifier.create(foreignKey.getReferencedTable()))
+					+ " " + columnNames(foreignKey.getReferencedColumns().iterator()));
+		}
+		Iterator<?> indexes = table.getIndexIterator();
+		while (indexes.hasNext()) {
+			Index index = (Index) indexes.next();
+			parts.add("index " + index.getName() + " " + columnNames(index.getColumnIterator()));
+		}
+		Iterator<?> uniqueKeys = table.getUniqueKeyIterator();
+		while (uniqueKeys.hasNext()) {
+			UniqueKey uniqueKey = (UniqueKey) uniqueKeys.next();
+			parts.add("uk " + uniqueKey.getName() + " " + columnNames(uniqueKey.getColumnIterator()));
+		}
+		// the order of keys and indexes depends on the order in which they were read
+		Collections.sort(parts);
+		for (String part : parts) {
+			buf.append(part).append('\n');
+		}
+		return digest(buf.toString());
+	}
+
+	public static String digest(String text) {
+		try {
+			byte[] bytes = MessageDigest.getInstance("SHA-1").digest(text.getBytes("UTF-8"));
+			StringBuffer result = new StringBuffer(bytes.length * 2);
+			for (int i = 0; i < bytes.length; i++) {
+				result.append(Character.forDigit((bytes[i] >> 4) & 0xf, 16));
+				result.append(Character.forDigit(bytes[i] & 0xf, 16));
+			}
+			return result.toString();
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String columnNames(Iterator<?> columns) {
+		StringBuffer buf = new StringBuffer("(");
+		while (columns.hasNext()) {
+			buf.append(((Column) columns.next()).getName());
+			if(columns.hasNext()) {
+				buf.append(',');
+			}
+		}
+		return buf.append(')').toString();
+	}
+
+}
@@ -9,7 +9,6 @@ import java.util.Map;
 import java.util.Set;
 
 import org.hibernate.cfg.reveng.dialect.MetaDataDialect;
-import org.hibernate.internal.util.StringHelper;
 import org.hibernate.mapping.Table;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,9 +35,9 @@ public class TableProcessor {
 		  try {			  
 		     progress.startSubTask("Finding tables in " + schemaSelection);
 		     
-		     String matchCatalog = StringHelper.replace(schemaSelection.getMatchCatalog(),".*", "%");
-		     String matchSchema = StringHelper.replace(schemaSelection.getMatchSchema(),".*", "%");
-		     String matchTable = StringHelper.replace(schemaSelection.getMatchTable(),".*", "%");
+		     String matchCatalog = schemaSelection.getCatalogLikePattern();
+		     String matchSchema = schemaSelection.getSchemaLikePattern();
+		     String matchTable = schemaSelection.getTableLikePattern();
 		     tableIterator = metaDataDialect.getTables(matchCatalog, matchSchema, matchTable);
 		     String[] lastQualifier = null;
 		     String[] foundQualifier = new String[2];
@@ -50,6 +49,10 @@ public class TableProcessor {
 		        String catalogName = (String) tableRs.get("TABLE_CAT");
 		        
 		        TableIdentifier ti = new TableIdentifier(catalogName, schemaName, tableName);		        
+				if(!schemaSelection.isSelected(ti) ) {
+					log.debug("Table " + ti + " not matched by " + schemaSelection);
+					continue;
+				}
 				if(revengStrategy.excludeTable(ti) ) {
 					log.debug("Table " + ti + " excluded by strategy");
 		        	continue;
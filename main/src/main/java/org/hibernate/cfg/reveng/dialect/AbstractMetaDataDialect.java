@@ -128,8 +128,9 @@ public abstract class AbstractMetaDataDialect implements MetaDataDialect {
 	}
 	
 	public void close(Iterator<?> iterator) {
-		if(iterator instanceof ResultSetIterator) {
-			((ResultSetIterator)iterator).close();
+		iterator = MetaDataRows.unwrap(iterator);
+		if(iterator instanceof TypedResultSetIterator) {
+			((TypedResultSetIterator<?>)iterator).close();
 		}
 	}
 	
@@ -0,0 +1,26 @@
+package org.hibernate.cfg.reveng.dialect;
+
+/**
+ * Optional interface for a {@link MetaDataDialect} that can return the metadata
+ * of all tables in a catalog/schema when the table name passed in is null.
+ * 
+ * The JDBC specification only guarantees this for columns; primary keys, indexes
+ * and exported keys normally requires a table name.
+ * 
+ * @see PrefetchingMetaDataDialect
+ */
+public interface BulkMetaDataDialect extends MetaDataDialect {
+
+	/** @return true if {@link #getColumns(String, String, String, String)} accepts a null table */
+	boolean supportsBulkColumns();
+	
+	/** @return true if {@link #getPrimaryKeys(String, String, String)} accepts a null table */
+	boolean supportsBulkPrimaryKeys();
+	
+	/** @return true if {@link #getIndexInfo(String, String, String)} accepts a null table */
+	boolean supportsBulkIndexInfo();
+	
+	/** @return true if {@link #getExportedKeys(String, String, String)} accepts a null table */
+	boolean supportsBulkExportedKeys();
+	
+}
@@ -1,13 +1,27 @@
 package org.hibernate.cfg.reveng.dialect;
 
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import org.hibernate.cfg.reveng.ReverseEngineeringRuntimeInfo;
+import org.hibernate.cfg.reveng.dialect.MetaDataSnapshotStore.Snapshot;
 
+/**
+ * MetaDataDialect that remembers every fully read result of its delegate in memory.
+ * 
+ * If created with a {@link MetaDataSnapshotStore} the cached results are in addition 
+ * written to disk per catalog/schema when the dialect is closed, and replayed from there 
+ * the first time the catalog/schema is asked for in a later run, if it was read from the same 
+ * connection URL and user name.
+ */
 public class CachedMetaDataDialect implements MetaDataDialect {
 	
 	MetaDataDialect delegate;
@@ -17,17 +31,42 @@ public class CachedMetaDataDialect implements MetaDataDialect {
 	private Map<StringKey, List<Map<String, Object>>> cachedPrimaryKeys = new HashMap<StringKey, List<Map<String, Object>>>();
 	private Map<StringKey, List<Map<String, Object>>> cachedIndexInfo = new HashMap<StringKey, List<Map<String, Object>>>();
 	private Map<StringKey, List<Map<String, Object>>> cachedPrimaryKeyStrategyName = new HashMap<StringKey, List<Map<String, Object>>>();
+	
+	// the order in the snapshots, only append to this list
+	private List<Map<StringKey, List<Map<String, Object>>>> categories = Arrays.asList(
+			cachedTables, 
+			cachedColumns, 
+			cachedExportedKeys, 
+			cachedPrimaryKeys, 
+			cachedIndexInfo, 
+			cachedPrimaryKeyStrategyName);
+	
+	private final MetaDataSnapshotStore store;
+	private Map<StringKey, SnapshotInfo> snapshots = new HashMap<StringKey, SnapshotInfo>();
+	private ReverseEngineeringRuntimeInfo runtimeInfo;
+	private String source;
 
 	public CachedMetaDataDialect(MetaDataDialect realMetaData) {
+		this(realMetaData, null);
+	}
+	
+	public CachedMetaDataDialect(MetaDataDialect realMetaData, MetaDataSnapshotStore store) {
 		this.delegate = realMetaData;
+		this.store = store;
 	}
 	
 	public void close() {
-		delegate.close();
+		try {
+			delegate.close();
+		} finally {
+			writeSnapshots();
+		}
 	}
 
 	public void configure(ReverseEngineeringRuntimeInfo info) {
         delegate.configure(info);       
+        this.runtimeInfo = info;
+        this.source = null;
     }
 	
 	public void close(Iterator<?> iterator) {
@@ -44,6 +83,7 @@ public class CachedMetaDataDialect implements MetaDataDialect {
 	
 
 	public Iterator<Map<String, Object>> getColumns(String catalog, String schema, String table, String column) {
+		readSnapshot(catalog, schema);
 		StringKey sk = new StringKey(new String[] { catalog, schema, table, column });
 		List<Map<String, Object>> cached = cachedColumns.get( sk );
 		if(cached==null) {
@@ -55,6 +95,7 @@ public class CachedMetaDataDialect implements MetaDataDialect {
 	}
 
 	public Iterator<Map<String, Object>> getExportedKeys(String catalog, String schema, String table) {
+		readSnapshot(catalog, schema);
 		StringKey sk = new StringKey(new String[] { catalog, schema, table });
 		List<Map<String, Object>> cached = cachedExportedKeys.get( sk );
 		if(cached==null) {
@@ -66,6 +107,7 @@ public class CachedMetaDataDialect implements MetaDataDialect {
 	}
 
 	public Iterator<Map<String, Object>> getIndexInfo(String catalog, String schema, String table) {
+		readSnapshot(catalog, schema);
 		StringKey sk = new StringKey(new String[] { catalog, schema, table });
 		List<Map<String, Object>> cached = cachedIndexInfo.get( sk );
 		if(cached==null) {
@@ -77,6 +119,7 @@ public class CachedMetaDataDialect implements MetaDataDialect {
 	}
 
 	public Iterator<Map<String, Object>> getPrimaryKeys(String catalog, String schema, String name) {
+		readSnapshot(catalog, schema);
 		StringKey sk = new StringKey(new String[] { catalog, schema, name });
 		List<Map<String, Object>> cached = cachedPrimaryKeys .get( sk );
 		if(cached==null) {
@@ -88,6 +131,7 @@ public class CachedMetaDataDialect implements MetaDataDialect {
 	}
 
 	public Iterator<Map<String, Object>> getTables(String catalog, String schema, String table) {
+		readSnapshot(catalog, schema);
 		StringKey sk = new StringKey(new String[] { catalog, schema, table });
 		List<Map<String, Object>> cached = cachedTables.get( sk );
 		if(cached==null) {
@@ -99,6 +143,7 @@ public class CachedMetaDataDialect implements MetaDataDialect {
 	}
 
 	public Iterator<Map<String, Object>> getSuggestedPrimaryKeyStrategyName(String catalog, String schema, String table) {
+		readSnapshot(catalog, schema);
 		StringKey sk = new StringKey(new String[] { catalog, schema, table });
 		List<Map<String, Object>> cached = cachedPrimaryKeyStrategyName.get( sk );
 		if(cached==null) {
@@ -113,6 +158,105 @@ public class CachedMetaDataDialect implements MetaDataDialect {
 		return delegate.needQuote( name );
 	}
 	
+	private void readSnapshot(String catalog, String schema) {
+		if(store==null) {
+			return;
+		}
+		StringKey sk = new StringKey(new String[] { catalog, schema });
+		if(snapshots.containsKey(sk)) {
+			return;
+		}
+		long schemaTimestamp = -1;
+		if(delegate instanceof SchemaTimestampMetaDataDialect) {
+			schemaTimestamp = ((SchemaTimestampMetaDataDialect)delegate).getSchemaTimestamp(catalog, schema);
+		}
+		String source = getSource();
+		Snapshot snapshot = store.read(catalog, schema, source, schemaTimestamp);
+		if(snapshot==null) {
+			snapshots.put(sk, new SnapshotInfo(source, System.currentTimeMillis(), schemaTimestamp));
+		} else {
+			for (int i = 0; i < snapshot.size(); i++) {
+				Map<StringKey, List<Map<String, Object>>> cache = categories.get(snapshot.getCategory(i));
+				StringKey key = new StringKey(snapshot.getKey(i));
+				if(!cache.containsKey(key)) {
+					cache.put(key, snapshot.getRows(i));
+				}
+			}
+			snapshots.put(sk, new SnapshotInfo(source, snapshot.getCreated(), schemaTimestamp));
+		}
+	}
+	
+	/**
+	 * @return the user name and connection URL the metadata is read from, 
+	 * so snapshots of a schema with the same name in another database are not used 
+	 */
+	private String getSource() {
+		if(source==null && runtimeInfo!=null) {
+			Connection connection = null;
+			try {
+				connection = runtimeInfo.getConnectionProvider().getConnection();
+				DatabaseMetaData metaData = connection.getMetaData();
+				source = metaData.getUserName() + "@" + metaData.getURL();
+			} catch (SQLException e) {
+				throw runtimeInfo.getSQLExceptionConverter().convert(e, "Could not get the connection URL for the metadata snapshots", null);
+			} finally {
+				if(connection!=null) {
+					try {
+						runtimeInfo.getConnectionProvider().closeConnection(connection);
+					} catch (SQLException e) {
+						throw runtimeInfo.getSQLExceptionConverter().convert(e, "Problem while closing connection", null);
+					}
+				}
+			}
+		}
+		return source;
+	}
+	
+	private void stored(StringKey sk) {
+		SnapshotInfo info = snapshots.get(new StringKey(new String[] { sk.keys[0], sk.keys[1] }));
+		if(info!=null) {
+			info.dirty = true;
+		}
+	}
+	
+	private void writeSnapshots() {
+		Iterator<Entry<StringKey, SnapshotInfo>> iterator = snapshots.entrySet().iterator();
+		while(iterator.hasNext()) {
+			Entry<StringKey, SnapshotInfo> entry = iterator.next();
+			SnapshotInfo info = entry.getValue();
+			if(!info.dirty) {
+				continue;
+			}
+			String catalog = entry.getKey().keys[0];
+			String schema = entry.getKey().keys[1];
+			Snapshot snapshot = new Snapshot(info.source, info.created, info.schemaTimestamp);
+			for (int i = 0; i < categories.size(); i++) {
+				Iterator<Entry<StringKey, List<Map<String, Object>>>> cached = categories.get(i).entrySet().iterator();
+				while(cached.hasNext()) {
+					Entry<StringKey, List<Map<String, Object>>> element = cached.next();
+					String[] keys = element.getKey().keys;
+					if(StringKey.safeEquals(catalog, keys[0]) && StringKey.safeEquals(schema, keys[1])) {
+						snapshot.add(i, keys, element.getValue());
+					}
+				}
+			}
+			store.write(catalog, schema, snapshot);
+			info.dirty = false;
+		}
+	}
+	
+	private static class SnapshotInfo {
+		final String source;
+		final long created;
+		final long schemaTimestamp;
+		boolean dirty;
+		SnapshotInfo(String source, long created, long schemaTimestamp) {
+			this.source = source;
+			this.created = created;
+			this.schemaTimestamp = schemaTimestamp;
+		}
+	}
+	
 	private static class StringKey {
 		String[] keys;
 		
@@ -151,7 +295,7 @@ public class CachedMetaDataDialect implements MetaDataDialect {
 			return true;
 		}
 		
-		private boolean safeEquals(Object obj1, Object obj2) {
+		static boolean safeEquals(Object obj1, Object obj2) {
 			if ( obj1 == null ) {
 				return obj2 == null;
 			}
@@ -195,6 +339,7 @@ public class CachedMetaDataDialect implements MetaDataDialect {
 		public void store() {
 			destination.put( target, cache );
 			if(realIterator.hasNext()) throw new IllegalStateException("CachedMetaDataDialect have not been fully initialized!");
+			owner.stored( target );
 			cache = null;
 			target = null;
 			destination = null;
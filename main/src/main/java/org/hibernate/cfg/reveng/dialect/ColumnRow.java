@@ -0,0 +1,96 @@
+package org.hibernate.cfg.reveng.dialect;
+
+import java.util.Map;
+
+/**
+ * A row of {@link TypedMetaDataDialect#getColumnRows(String, String, String, String)}.
+ */
+public class ColumnRow extends TableMetaDataRow {
+
+	private String columnName;
+	private int dataType;
+	private String typeName;
+	private int nullable;
+	private int columnSize;
+	private int decimalDigits;
+	private String remarks;
+
+	public String getColumnName() {
+		return columnName;
+	}
+
+	public void setColumnName(String columnName) {
+		this.columnName = columnName;
+	}
+
+	public int getDataType() {
+		return dataType;
+	}
+
+	public void setDataType(int dataType) {
+		this.dataType = dataType;
+	}
+
+	public String getTypeName() {
+		return typeName;
+	}
+
+	public void setTypeName(String typeName) {
+		this.typeName = typeName;
+	}
+
+	public int getNullable() {
+		return nullable;
+	}
+
+	public void setNullable(int nullable) {
+		this.nullable = nullable;
+	}
+
+	public int getColumnSize() {
+		return columnSize;
+	}
+
+	public void setColumnSize(int columnSize) {
+		this.columnSize = columnSize;
+	}
+
+	public int getDecimalDigits() {
+		return decimalDigits;
+	}
+
+	public void setDecimalDigits(int decimalDigits) {
+		this.decimalDigits = decimalDigits;
+	}
+
+	public String getRemarks() {
+		return remarks;
+	}
+
+	public void setRemarks(String remarks) {
+		this.remarks = remarks;
+	}
+
+	public void toMap(Map<String, Object> map) {
+		super.toMap(map);
+		map.put("DATA_TYPE", Integer.valueOf(dataType));
+		map.put("TYPE_NAME", typeName);
+		map.put("COLUMN_NAME", columnName);
+		map.put("NULLABLE", Integer.valueOf(nullable));
+		map.put("COLUMN_SIZE", Integer.valueOf(columnSize));
+		map.put("DECIMAL_DIGITS", Integer.valueOf(decimalDigits));
+		map.put("REMARKS", remarks);
+	}
+
+	public void fromMap(Map<String, Object> map) {
+		super.fromMap(map);
+		dataType = intValue(map.get("DATA_TYPE"));
+		typeName = (String) map.get("TYPE_NAME");
+		columnName = (String) map.get("COLUMN_NAME");
+		nullable = intValue(map.get("NULLABLE"));
+		columnSize = intValue(map.get("COLUMN_SIZE"));
+		decimalDigits = intValue(map.get("DECIMAL_DIGITS"));
+		remarks = (String) map.get("REMARKS");
+	}
+
+}
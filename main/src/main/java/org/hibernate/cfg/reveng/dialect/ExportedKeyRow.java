@@ -0,0 +1,127 @@
+package org.hibernate.cfg.reveng.dialect;
+
+import java.util.Map;
+
+/**
+ * A row of {@link TypedMetaDataDialect#getExportedKeyRows(String, String, String)}.
+ */
+public class ExportedKeyRow extends MetaDataRow {
+
+	private String pkTableCatalog;
+	private String pkTableSchema;
+	private String pkTableName;
+	private String pkColumnName;
+	private String fkTableCatalog;
+	private String fkTableSchema;
+	private String fkTableName;
+	private String fkColumnName;
+	private String fkName;
+	private short keySeq;
+
+	public String getPkTableCatalog() {
+		return pkTableCatalog;
+	}
+
+	public void setPkTableCatalog(String pkTableCatalog) {
+		this.pkTableCatalog = pkTableCatalog;
+	}
+
+	public String getPkTableSchema() {
+		return pkTableSchema;
+	}
+
+	public void setPkTableSchema(String pkTableSchema) {
+		this.pkTableSchema = pkTableSchema;
+	}
+
+	public String getPkTableName() {
+		return pkTableName;
+	}
+
+	public void setPkTableName(String pkTableName) {
+		this.pkTableName = pkTableName;
+	}
+
+	public String getPkColumnName() {
+		return pkColumnName;
+	}
+
+	public void setPkColumnName(String pkColumnName) {
+		this.pkColumnName = pkColumnName;
+	}
+
+	public String getFkTableCatalog() {
+		return fkTableCatalog;
+	}
+
+	public void setFkTableCatalog(String fkTableCatalog) {
+		this.fkTableCatalog = fkTableCatalog;
+	}
+
+	public String getFkTableSchema() {
+		return fkTableSchema;
+	}
+
+	public void setFkTableSchema(String fkTableSchema) {
+		this.fkTableSchema = fkTableSchema;
+	}
+
+	public String getFkTableName() {
+		return fkTableName;
+	}
+
+	public void setFkTableName(String fkTableName) {
+		this.fkTableName = fkTableName;
+	}
+
+	public String getFkColumnName() {
+		return fkColumnName;
+	}
+
+	public void setFkColumnName(String fkColumnName) {
+		this.fkColumnName = fkColumnName;
+	}
+
+	public String getFkName() {
+		return fkName;
+	}
+
+	public void setFkName(String fkName) {
+		this.fkName = fkName;
+	}
+
+	public short getKeySeq() {
+		return keySeq;
+	}
+
+	public void setKeySeq(short keySeq) {
+		this.keySeq = keySeq;
+	}
+
+	public void toMap(Map<String, Object> map) {
+		map.put("PKTABLE_CAT", pkTableCatalog);
+		map.put("PKTABLE_SCHEM", pkTableSchema);
+		map.put("PKTABLE_NAME", pkTableName);
+		map.put("PKCOLUMN_NAME", pkColumnName);
+		map.put("FKTABLE_CAT", fkTableCatalog);
+		map.put("FKTABLE_SCHEM", fkTableSchema);
+		map.put("FKTABLE_NAME", fkTableName);
+		map.put("FKCOLUMN_NAME", fkColumnName);
+		map.put("FK_NAME", fkName);
+		map.put("KEY_SEQ", Short.valueOf(keySeq));
+	}
+
+	public void fromMap(Map<String, Object> map) {
+		pkTableCatalog = (String) map.get("PKTABLE_CAT");
+		pkTableSchema = (String) map.get("PKTABLE_SCHEM");
+		pkTableName = (String) map.get("PKTABLE_NAME");
+		pkColumnName = (String) map.get("PKCOLUMN_NAME");
+		fkTableCatalog = (String) map.get("FKTABLE_CAT");
+		fkTableSchema = (String) map.get("FKTABLE_SCHEM");
+		fkTableName = (String) map.get("FKTABLE_NAME");
+		fkColumnName = (String) map.get("FKCOLUMN_NAME");
+		fkName = (String) map.get("FK_NAME");
+		keySeq = shortValue(map.get("KEY_SEQ"));
+	}
+
+}
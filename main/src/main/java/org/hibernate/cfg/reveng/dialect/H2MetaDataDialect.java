@@ -17,7 +17,7 @@ import org.hibernate.tool.util.ReflectHelper;
  * @author Max Rydahl Andersen
  *
  */
-public class H2MetaDataDialect extends JDBCMetaDataDialect {
+public class H2MetaDataDialect extends JDBCMetaDataDialect implements TypedMetaDataDialect {
 
 	private static boolean understandsCatalogName = true;
 
@@ -42,10 +42,17 @@ public class H2MetaDataDialect extends JDBCMetaDataDialect {
 		}
 	}
 	
-	protected void putExportedKeysPart(Map<String, Object> element, ResultSet rs) throws SQLException {		
-		super.putExportedKeysPart( element, rs );
+	protected void readTablePart(TableMetaDataRow element, ResultSet tableRs) throws SQLException {		
+		super.readTablePart( element, tableRs );
 		if ( !understandsCatalogName ) {
-			element.put( "PKTABLE_CAT", null );
+			element.setTableCatalog( null );
+		}
+	}
+	
+	protected void readExportedKeysPart(ExportedKeyRow element, ResultSet rs) throws SQLException {		
+		super.readExportedKeysPart( element, rs );
+		if ( !understandsCatalogName ) {
+			element.setPkTableCatalog( null );
 		}
 	}
 	
@@ -14,7 +14,7 @@ import org.hibernate.tool.util.TableNameQualifier;
  * @author Dmitry Geraskov
  *
  */
-public class HSQLMetaDataDialect extends JDBCMetaDataDialect {
+public class HSQLMetaDataDialect extends JDBCMetaDataDialect implements TypedMetaDataDialect {
 
 	private String quote(String columnName) {
 		if(columnName==null) return columnName;
@@ -0,0 +1,63 @@
+package org.hibernate.cfg.reveng.dialect;
+
+import java.util.Map;
+
+/**
+ * A row of {@link TypedMetaDataDialect#getIndexRows(String, String, String)}.
+ */
+public class IndexRow extends TableMetaDataRow {
+
+	private String indexName;
+	private String columnName;
+	private boolean nonUnique;
+	private short type;
+
+	public String getIndexName() {
+		return indexName;
+	}
+
+	public void setIndexName(String indexName) {
+		this.indexName = indexName;
+	}
+
+	public String getColumnName() {
+		return columnName;
+	}
+
+	public void setColumnName(String columnName) {
+		this.columnName = columnName;
+	}
+
+	public boolean isNonUnique() {
+		return nonUnique;
+	}
+
+	public void setNonUnique(boolean nonUnique) {
+		this.nonUnique = nonUnique;
+	}
+
+	public short getType() {
+		return type;
+	}
+
+	public void setType(short type) {
+		this.type = type;
+	}
+
+	public void toMap(Map<String, Object> map) {
+		super.toMap(map);
+		map.put("INDEX_NAME", indexName);
+		map.put("COLUMN_NAME", columnName);
+		map.put("NON_UNIQUE", Boolean.valueOf(nonUnique));
+		map.put("TYPE", Short.valueOf(type));
+	}
+
+	public void fromMap(Map<String, Object> map) {
+		super.fromMap(map);
+		indexName = (String) map.get("INDEX_NAME");
+		columnName = (String) map.get("COLUMN_NAME");
+		nonUnique = ((Boolean) map.get("NON_UNIQUE")).booleanValue();
+		type = shortValue(map.get("TYPE"));
+	}
+
+}
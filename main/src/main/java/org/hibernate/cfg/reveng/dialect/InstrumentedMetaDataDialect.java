@@ -0,0 +1,165 @@
+package org.hibernate.cfg.reveng.dialect;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.hibernate.cfg.reveng.MetricsListener;
+import org.hibernate.cfg.reveng.ReverseEngineeringRuntimeInfo;
+
+/**
+ * MetaDataDialect that tells a {@link MetricsListener} the time spent in each method of its delegate.
+ *
+ * For the methods returning an iterator the time includes reading the iterator,
+ * and is reported together with the number of rows read when the iterator is closed.
+ * The typed methods of a {@link TypedMetaDataDialect} delegate are used as is,
+ * for any other delegate they go through {@link MetaDataRows}.
+ */
+public class InstrumentedMetaDataDialect implements TypedMetaDataDialect {
+
+	private final MetaDataDialect delegate;
+	private final MetricsListener metrics;
+
+	public InstrumentedMetaDataDialect(MetaDataDialect delegate, MetricsListener metrics) {
+		this.delegate = delegate;
+		this.metrics = metrics;
+	}
+
+	public MetaDataDialect getDelegate() {
+		return delegate;
+	}
+
+	public void configure(ReverseEngineeringRuntimeInfo info) {
+		long start = System.nanoTime();
+		try {
+			delegate.configure(info);
+		} finally {
+			metrics.metaDataRead("configure", 0, System.nanoTime() - start);
+		}
+	}
+
+	public Iterator<Map<String, Object>> getTables(String catalog, String schema, String table) {
+		long start = System.nanoTime();
+		return new TimedIterator<Map<String, Object>>("getTables", delegate.getTables(catalog, schema, table), start);
+	}
+
+	public Iterator<Map<String, Object>> getIndexInfo(String catalog, String schema, String table) {
+		long start = System.nanoTime();
+		return new TimedIterator<Map<String, Object>>("getIndexInfo", delegate.getIndexInfo(catalog, schema, table), start);
+	}
+
+	public Iterator<Map<String, Object>> getColumns(String catalog, String schema, String table, String column) {
+		long start = System.nanoTime();
+		return new TimedIterator<Map<String, Object>>("getColumns", delegate.getColumns(catalog, schema, table, column), start);
+	}
+
+	public Iterator<Map<String, Object>> getPrimaryKeys(String catalog, String schema, String name) {
+		long start = System.nanoTime();
+		return new TimedIterator<Map<String, Object>>("getPrimaryKeys", delegate.getPrimaryKeys(catalog, schema, name), start);
+	}
+
+	public Iterator<Map<String, Object>> getExportedKeys(String catalog, String schema, String table) {
+		long start = System.nanoTime();
+		return new TimedIterator<Map<String, Object>>("getExportedKeys", delegate.getExportedKeys(catalog, schema, table), start);
+	}
+
+	public Iterator<Map<String, Object>> getSuggestedPrimaryKeyStrategyName(String catalog, String schema, String table) {
+		long start = System.nanoTime();
+		return new TimedIterator<Map<String, Object>>("getSuggestedPrimaryKeyStrategyName", delegate.getSuggestedPrimaryKeyStrategyName(catalog, schema, table), start);
+	}
+
+	public Iterator<ColumnRow> getColumnRows(String catalog, String schema, String table, String column) {
+		long start = System.nanoTime();
+		return new TimedIterator<ColumnRow>("getColumns", MetaDataRows.getColumns(delegate, catalog, schema, table, column), start);
+	}
+
+	public Iterator<PrimaryKeyRow> getPrimaryKeyRows(String catalog, String schema, String table) {
+		long start = System.nanoTime();
+		return new TimedIterator<PrimaryKeyRow>("getPrimaryKeys", MetaDataRows.getPrimaryKeys(delegate, catalog, schema, table), start);
+	}
+
+	public Iterator<IndexRow> getIndexRows(String catalog, String schema, String table) {
+		long start = System.nanoTime();
+		return new TimedIterator<IndexRow>("getIndexInfo", MetaDataRows.getIndexInfo(delegate, catalog, schema, table), start);
+	}
+
+	public Iterator<ExportedKeyRow> getExportedKeyRows(String catalog, String schema, String table) {
+		long start = System.nanoTime();
+		return new TimedIterator<ExportedKeyRow>("getExportedKeys", MetaDataRows.getExportedKeys(delegate, catalog, schema, table), start);
+	}
+
+	public void close(Iterator<?> iterator) {
+		if(iterator instanceof TimedIterator) {
+			TimedIterator<?> timed = (TimedIterator<?>) iterator;
+			long start = System.nanoTime();
+			try {
+				MetaDataRows.close(delegate, timed.delegate);
+			} finally {
+				metrics.metaDataRead(timed.method, timed.rows, timed.nanos + System.nanoTime() - start);
+			}
+		} else {
+			delegate.close(iterator);
+		}
+	}
+
+	public boolean needQuote(String name) {
+		long start = System.nanoTime();
+		try {
+			return delegate.needQuote(name);
+		} finally {
+			metrics.metaDataRead("needQuote", 0, System.nanoTime() - start);
+		}
+	}
+
+	public void close() {
+		long start = System.nanoTime();
+		try {
+			delegate.close();
+		} finally {
+			metrics.metaDataRead("close", 0, System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Sums up the time spent in the delegate and counts the rows,
+	 * starting with the time of the call that returned the delegate.
+	 */
+	private static class TimedIterator<T> implements Iterator<T> {
+
+		final String method;
+		final Iterator<T> delegate;
+		long nanos;
+		int rows;
+
+		TimedIterator(String method, Iterator<T> delegate, long start) {
+			this.method = method;
+			this.delegate = delegate;
+			this.nanos = System.nanoTime() - start;
+		}
+
+		public boolean hasNext() {
+			long start = System.nanoTime();
+			try {
+				return delegate.hasNext();
+			} finally {
+				nanos += System.nanoTime() - start;
+			}
+		}
+
+		public T next() {
+			long start = System.nanoTime();
+			try {
+				T result = delegate.next();
+				rows++;
+				return result;
+			} finally {
+				nanos += System.nanoTime() - start;
+			}
+		}
+
+		public void remove() {
+			delegate.remove();
+		}
+
+	}
+
+}
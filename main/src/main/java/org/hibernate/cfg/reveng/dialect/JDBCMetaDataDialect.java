@@ -11,10 +11,15 @@ import org.hibernate.tool.util.TableNameQualifier;
 /**
  * MetaData dialect that uses standard JDBC for reading metadata.
  * 
+ * The typed methods read the rows with {@link #readTablePart(TableMetaDataRow, ResultSet)} and 
+ * {@link #readExportedKeysPart(ExportedKeyRow, ResultSet)}. They are only used by the reverse engineering 
+ * if a subclass implements {@link TypedMetaDataDialect}, as a subclass overriding the Map based methods 
+ * or {@link #putTablePart(Map, ResultSet)} should. Otherwise the Map based methods are used.
+ * 
  * @author Max Rydahl Andersen
  *
  */
-public class JDBCMetaDataDialect extends AbstractMetaDataDialect {
+public class JDBCMetaDataDialect extends AbstractMetaDataDialect implements BulkMetaDataDialect {
 	
 	public Iterator<Map<String,Object>> getTables(String xcatalog, String xschema, String xtable) {
 		try {			
@@ -63,14 +68,39 @@ public class JDBCMetaDataDialect extends AbstractMetaDataDialect {
 			
 			return new ResultSetIterator(tableRs, getSQLExceptionConverter()) {
 				
+				IndexRow row = new IndexRow();
 				Map<String, Object> element = new HashMap<String, Object>();
 				protected Map<String, Object> convertRow(ResultSet rs) throws SQLException {
+					readIndexPart(row, rs);
 					element.clear();
+					row.toMap(element);
 					putTablePart(element, rs);
-					element.put("INDEX_NAME", rs.getString("INDEX_NAME"));
-					element.put("COLUMN_NAME", rs.getString("COLUMN_NAME"));
-					element.put("NON_UNIQUE", Boolean.valueOf(rs.getBoolean("NON_UNIQUE")));
-					element.put("TYPE", new Short(rs.getShort("TYPE")));					 
+					return element;					
+				}
+				protected Throwable handleSQLException(SQLException e) {
+					throw getSQLExceptionConverter().convert(e, "Exception while getting index info for " + TableNameQualifier.qualify(catalog, schema, table), null);
+				}
+			};
+		} catch (SQLException e) {
+			throw getSQLExceptionConverter().convert(e, "Exception while getting index info for " + TableNameQualifier.qualify(xcatalog, xschema, xtable), null);
+		} 		
+	}
+
+	public Iterator<IndexRow> getIndexRows(final String xcatalog, final String xschema, final String xtable) {
+		try {
+			final String catalog = caseForSearch( xcatalog );
+			final String schema = caseForSearch( xschema );
+			final String table = caseForSearch( xtable );
+			
+			log.debug("getIndexInfo(" + catalog + "." + schema + "." + table + ")");
+			ResultSet tableRs = getMetaData().getIndexInfo(catalog , schema , table, false, true);
+			
+			return new TypedResultSetIterator<IndexRow>(null, tableRs, getSQLExceptionConverter()) {
+				
+				IndexRow element = new IndexRow();
+				protected IndexRow convertRow(ResultSet rs) throws SQLException {
+					readTablePart(element, rs);
+					readIndexPart(element, rs);
 					return element;					
 				}
 				protected Throwable handleSQLException(SQLException e) {
@@ -88,6 +118,35 @@ public class JDBCMetaDataDialect extends AbstractMetaDataDialect {
 		element.put("TABLE_CAT", tableRs.getString("TABLE_CAT"));
 	}
 
+	protected void readTablePart(TableMetaDataRow element, ResultSet tableRs) throws SQLException {
+		element.setTableName(tableRs.getString("TABLE_NAME"));
+		element.setTableSchema(tableRs.getString("TABLE_SCHEM"));
+		element.setTableCatalog(tableRs.getString("TABLE_CAT"));
+	}
+
+	private void readIndexPart(IndexRow element, ResultSet rs) throws SQLException {
+		element.setIndexName(rs.getString("INDEX_NAME"));
+		element.setColumnName(rs.getString("COLUMN_NAME"));
+		element.setNonUnique(rs.getBoolean("NON_UNIQUE"));
+		element.setType(rs.getShort("TYPE"));					 
+	}
+
+	private void readColumnPart(ColumnRow element, ResultSet rs) throws SQLException {
+		element.setDataType(rs.getInt("DATA_TYPE"));
+		element.setTypeName(rs.getString("TYPE_NAME"));
+		element.setColumnName(rs.getString("COLUMN_NAME"));
+		element.setNullable(rs.getInt("NULLABLE"));
+		element.setColumnSize(rs.getInt("COLUMN_SIZE"));
+		element.setDecimalDigits(rs.getInt("DECIMAL_DIGITS"));
+		element.setRemarks(rs.getString("REMARKS"));
+	}
+
+	private void readPrimaryKeyPart(PrimaryKeyRow element, ResultSet rs) throws SQLException {
+		element.setColumnName(rs.getString("COLUMN_NAME"));
+		element.setKeySeq(rs.getShort("KEY_SEQ"));
+		element.setPkName(rs.getString("PK_NAME"));
+	}
+
 	public Iterator<Map<String, Object>> getColumns(final String xcatalog, final String xschema, final String xtable, String xcolumn) {
 		try {			  
 			final String catalog = caseForSearch( xcatalog );
@@ -100,17 +159,40 @@ public class JDBCMetaDataDialect extends AbstractMetaDataDialect {
 			
 			return new ResultSetIterator(tableRs, getSQLExceptionConverter()) {
 				
+				ColumnRow row = new ColumnRow();
 				Map<String, Object> element = new HashMap<String, Object>();
 				protected Map<String, Object> convertRow(ResultSet rs) throws SQLException {
+					readColumnPart(row, rs);
 					element.clear();
+					row.toMap(element);
 					putTablePart(element, rs);
-					element.put("DATA_TYPE", new Integer(rs.getInt("DATA_TYPE")));
-					element.put("TYPE_NAME", rs.getString("TYPE_NAME"));
-					element.put("COLUMN_NAME", rs.getString("COLUMN_NAME"));
-					element.put("NULLABLE", new Integer(rs.getInt("NULLABLE")));
-					element.put("COLUMN_SIZE", new Integer(rs.getInt("COLUMN_SIZE")));
-					element.put("DECIMAL_DIGITS", new Integer(rs.getInt("DECIMAL_DIGITS")));
-					element.put("REMARKS", rs.getString("REMARKS"));
+					return element;					
+				}
+				protected Throwable handleSQLException(SQLException e) {
+					throw getSQLExceptionConverter().convert(e, "Error while reading column meta data for " + TableNameQualifier.qualify(catalog, schema, table), null);
+				}
+			};
+		} catch (SQLException e) {
+			throw getSQLExceptionConverter().convert(e, "Error while reading column meta data for " + TableNameQualifier.qualify(xcatalog, xschema, xtable), null);
+		}	
+	}
+
+	public Iterator<ColumnRow> getColumnRows(final String xcatalog, final String xschema, final String xtable, String xcolumn) {
+		try {			  
+			final String catalog = caseForSearch( xcatalog );
+			final String schema = caseForSearch( xschema );
+			final String table = caseForSearch( xtable );
+			final String column = caseForSearch( xcolumn );
+			
+			log.debug("getColumns(" + catalog + "." + schema + "." + table + "." + column + ")");
+			ResultSet tableRs = getMetaData().getColumns(catalog, schema, table, column);
+			
+			return new TypedResultSetIterator<ColumnRow>(null, tableRs, getSQLExceptionConverter()) {
+				
+				ColumnRow element = new ColumnRow();
+				protected ColumnRow convertRow(ResultSet rs) throws SQLException {
+					readTablePart(element, rs);
+					readColumnPart(element, rs);
 					return element;					
 				}
 				protected Throwable handleSQLException(SQLException e) {
@@ -133,13 +215,39 @@ public class JDBCMetaDataDialect extends AbstractMetaDataDialect {
 			
 			return new ResultSetIterator(tableRs, getSQLExceptionConverter()) {
 				
+				PrimaryKeyRow row = new PrimaryKeyRow();
 				Map<String, Object> element = new HashMap<String, Object>();
 				protected Map<String, Object> convertRow(ResultSet rs) throws SQLException {
+					readPrimaryKeyPart(row, rs);
 					element.clear();
+					row.toMap(element);
 					putTablePart(element, rs);
-					element.put("COLUMN_NAME", rs.getString("COLUMN_NAME"));
-					element.put("KEY_SEQ", new Short(rs.getShort("KEY_SEQ")));
-					element.put("PK_NAME", rs.getString("PK_NAME"));
+					return element;					
+				}
+				protected Throwable handleSQLException(SQLException e) {
+					throw getSQLExceptionConverter().convert(e, "Error while reading primary key meta data for " + TableNameQualifier.qualify(catalog, schema, table), null);
+				}
+			};
+		} catch (SQLException e) {
+			throw getSQLExceptionConverter().convert(e, "Error while reading primary key meta data for " + TableNameQualifier.qualify(xcatalog, xschema, xtable), null);
+		}	
+	}
+
+	public Iterator<PrimaryKeyRow> getPrimaryKeyRows(final String xcatalog, final String xschema, final String xtable) {
+		try {
+			final String catalog = caseForSearch( xcatalog );
+			final String schema = caseForSearch( xschema );
+			final String table = caseForSearch( xtable );
+			
+			log.debug("getPrimaryKeys(" + catalog + "." + schema + "." + table + ")");
+			ResultSet tableRs = getMetaData().getPrimaryKeys(catalog, schema, table);
+			
+			return new TypedResultSetIterator<PrimaryKeyRow>(null, tableRs, getSQLExceptionConverter()) {
+				
+				PrimaryKeyRow element = new PrimaryKeyRow();
+				protected PrimaryKeyRow convertRow(ResultSet rs) throws SQLException {
+					readTablePart(element, rs);
+					readPrimaryKeyPart(element, rs);
 					return element;					
 				}
 				protected Throwable handleSQLException(SQLException e) {
@@ -176,19 +284,72 @@ public class JDBCMetaDataDialect extends AbstractMetaDataDialect {
 			throw getSQLExceptionConverter().convert(e, "Error while reading exported keys meta data for " + TableNameQualifier.qualify(xcatalog, xschema, xtable), null);
 		}	
 	}
+
+	public Iterator<ExportedKeyRow> getExportedKeyRows(final String xcatalog, final String xschema, final String xtable) {
+		try {
+			final String catalog = caseForSearch( xcatalog );
+			final String schema = caseForSearch( xschema );
+			final String table = caseForSearch( xtable );
+			
+			log.debug("getExportedKeys(" + catalog + "." + schema + "." + table + ")");
+			ResultSet tableRs = getMetaData().getExportedKeys(catalog, schema, table);
+			
+			return new TypedResultSetIterator<ExportedKeyRow>(null, tableRs, getSQLExceptionConverter()) {
+				
+				ExportedKeyRow element = new ExportedKeyRow();
+				protected ExportedKeyRow convertRow(ResultSet rs) throws SQLException {
+					readExportedKeysPart( element, rs );					
+					return element;					
+				}
+				protected Throwable handleSQLException(SQLException e) {
+					throw getSQLExceptionConverter().convert(e, "Error while reading exported keys meta data for " + TableNameQualifier.qualify(catalog, schema, table), null);
+				}
+			};
+		} catch (SQLException e) {
+			throw getSQLExceptionConverter().convert(e, "Error while reading exported keys meta data for " + TableNameQualifier.qualify(xcatalog, xschema, xtable), null);
+		}	
+	}
 	
-	protected void putExportedKeysPart(Map<String, Object> element, ResultSet rs) throws SQLException {
-		element.put( "PKTABLE_NAME", rs.getString("PKTABLE_NAME"));
-		element.put( "PKTABLE_SCHEM", rs.getString("PKTABLE_SCHEM"));
-		element.put( "PKTABLE_CAT", rs.getString("PKTABLE_CAT"));
-		element.put( "FKTABLE_CAT", rs.getString("FKTABLE_CAT"));
-		element.put( "FKTABLE_SCHEM",rs.getString("FKTABLE_SCHEM"));
-		element.put( "FKTABLE_NAME", rs.getString("FKTABLE_NAME"));
-		element.put( "FKCOLUMN_NAME", rs.getString("FKCOLUMN_NAME"));
-		element.put( "PKCOLUMN_NAME", rs.getString("PKCOLUMN_NAME"));
-		element.put( "FK_NAME", rs.getString("FK_NAME"));
-		element.put( "KEY_SEQ", new Short(rs.getShort("KEY_SEQ")));
+	protected void readExportedKeysPart(ExportedKeyRow element, ResultSet rs) throws SQLException {
+		element.setPkTableName(rs.getString("PKTABLE_NAME"));
+		element.setPkTableSchema(rs.getString("PKTABLE_SCHEM"));
+		element.setPkTableCatalog(rs.getString("PKTABLE_CAT"));
+		element.setFkTableCatalog(rs.getString("FKTABLE_CAT"));
+		element.setFkTableSchema(rs.getString("FKTABLE_SCHEM"));
+		element.setFkTableName(rs.getString("FKTABLE_NAME"));
+		element.setFkColumnName(rs.getString("FKCOLUMN_NAME"));
+		element.setPkColumnName(rs.getString("PKCOLUMN_NAME"));
+		element.setFkName(rs.getString("FK_NAME"));
+		element.setKeySeq(rs.getShort("KEY_SEQ"));
 	}
 	
+	/**
+	 * Puts the values of an exported key as read by {@link #readExportedKeysPart(ExportedKeyRow, ResultSet)}.
+	 * 
+	 * @deprecated override {@link #readExportedKeysPart(ExportedKeyRow, ResultSet)} instead, which is 
+	 * also used by the typed {@link #getExportedKeyRows(String, String, String)}
+	 */
+	@Deprecated
+	protected void putExportedKeysPart(Map<String, Object> element, ResultSet rs) throws SQLException {
+		ExportedKeyRow row = new ExportedKeyRow();
+		readExportedKeysPart(row, rs);
+		row.toMap(element);
+	}
+
+	public boolean supportsBulkColumns() {
+		return true; // getColumns takes patterns
+	}
+
+	public boolean supportsBulkPrimaryKeys() {
+		return false;
+	}
+
+	public boolean supportsBulkIndexInfo() {
+		return false;
+	}
+
+	public boolean supportsBulkExportedKeys() {
+		return false;
+	}
 	
 }
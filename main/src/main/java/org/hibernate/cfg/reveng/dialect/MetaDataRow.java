@@ -0,0 +1,34 @@
+package org.hibernate.cfg.reveng.dialect;
+
+import java.util.Map;
+
+/**
+ * A row of metadata as returned by a {@link TypedMetaDataDialect}, 
+ * holding the values in plain fields instead of a map with boxed values.
+ * 
+ * The iterators of a dialect are free to return the same instance from every call 
+ * to next(), so callers must copy out the values they want to keep.
+ */
+public abstract class MetaDataRow {
+
+	/**
+	 * Puts the values of this row into the map, keyed by the names used by the
+	 * Map based {@link MetaDataDialect} methods.
+	 */
+	public abstract void toMap(Map<String, Object> map);
+
+	/**
+	 * Sets the values of this row from a map as returned by the Map based 
+	 * {@link MetaDataDialect} methods.
+	 */
+	public abstract void fromMap(Map<String, Object> map);
+
+	protected static int intValue(Object value) {
+		return value == null ? 0 : ((Number) value).intValue();
+	}
+
+	protected static short shortValue(Object value) {
+		return value == null ? 0 : ((Number) value).shortValue();
+	}
+
+}
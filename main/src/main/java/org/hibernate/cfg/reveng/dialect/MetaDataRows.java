@@ -0,0 +1,130 @@
+package org.hibernate.cfg.reveng.dialect;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Adapters between the Map based methods of {@link MetaDataDialect} 
+ * and the {@link MetaDataRow}s of {@link TypedMetaDataDialect}.
+ * 
+ * The get methods return the typed rows of a {@link TypedMetaDataDialect} as is, 
+ * and convert the maps of any other dialect into a single reused row. 
+ * A subclass of {@link JDBCMetaDataDialect} is only read through the typed rows when it 
+ * implements {@link TypedMetaDataDialect} itself, so one overriding the Map based methods 
+ * keeps working as before.
+ * Iterators obtained here must be closed with {@link #close(MetaDataDialect, Iterator)}.
+ */
+public final class MetaDataRows {
+
+	private MetaDataRows() {}
+
+	public static Iterator<ColumnRow> getColumns(MetaDataDialect dialect, String catalog, String schema, String table, String column) {
+		if(dialect instanceof TypedMetaDataDialect) {
+			return ((TypedMetaDataDialect)dialect).getColumnRows(catalog, schema, table, column);
+		} else {
+			return new MapRowIterator<ColumnRow>(dialect.getColumns(catalog, schema, table, column), new ColumnRow());
+		}
+	}
+
+	public static Iterator<PrimaryKeyRow> getPrimaryKeys(MetaDataDialect dialect, String catalog, String schema, String table) {
+		if(dialect instanceof TypedMetaDataDialect) {
+			return ((TypedMetaDataDialect)dialect).getPrimaryKeyRows(catalog, schema, table);
+		} else {
+			return new MapRowIterator<PrimaryKeyRow>(dialect.getPrimaryKeys(catalog, schema, table), new PrimaryKeyRow());
+		}
+	}
+
+	public static Iterator<IndexRow> getIndexInfo(MetaDataDialect dialect, String catalog, String schema, String table) {
+		if(dialect instanceof TypedMetaDataDialect) {
+			return ((TypedMetaDataDialect)dialect).getIndexRows(catalog, schema, table);
+		} else {
+			return new MapRowIterator<IndexRow>(dialect.getIndexInfo(catalog, schema, table), new IndexRow());
+		}
+	}
+
+	public static Iterator<ExportedKeyRow> getExportedKeys(MetaDataDialect dialect, String catalog, String schema, String table) {
+		if(dialect instanceof TypedMetaDataDialect) {
+			return ((TypedMetaDataDialect)dialect).getExportedKeyRows(catalog, schema, table);
+		} else {
+			return new MapRowIterator<ExportedKeyRow>(dialect.getExportedKeys(catalog, schema, table), new ExportedKeyRow());
+		}
+	}
+
+	public static void close(MetaDataDialect dialect, Iterator<?> iterator) {
+		if(iterator instanceof MapRowIterator) {
+			dialect.close(((MapRowIterator<?>)iterator).maps);
+		} else {
+			dialect.close(iterator);
+		}
+	}
+
+	/**
+	 * @return the rows as maps, for implementing the Map based methods on top of the typed ones; 
+	 * the dialect has to unwrap the iterator with {@link #unwrap(Iterator)} when it is closed 
+	 */
+	public static <T extends MetaDataRow> Iterator<Map<String, Object>> toMaps(Iterator<T> rows) {
+		return new RowMapIterator<T>(rows);
+	}
+
+	/**
+	 * @return the typed iterator behind an iterator returned by {@link #toMaps(Iterator)}, 
+	 * or the iterator itself 
+	 */
+	public static Iterator<?> unwrap(Iterator<?> iterator) {
+		if(iterator instanceof RowMapIterator) {
+			return ((RowMapIterator<?>)iterator).rows;
+		} else {
+			return iterator;
+		}
+	}
+
+	private static class MapRowIterator<T extends MetaDataRow> implements Iterator<T> {
+
+		final Iterator<Map<String, Object>> maps;
+		final T row;
+
+		MapRowIterator(Iterator<Map<String, Object>> maps, T row) {
+			this.maps = maps;
+			this.row = row;
+		}
+
+		public boolean hasNext() {
+			return maps.hasNext();
+		}
+
+		public T next() {
+			row.fromMap(maps.next());
+			return row;
+		}
+
+		public void remove() {
+			maps.remove();
+		}
+	}
+
+	private static class RowMapIterator<T extends MetaDataRow> implements Iterator<Map<String, Object>> {
+
+		final Iterator<T> rows;
+		final Map<String, Object> element = new HashMap<String, Object>();
+
+		RowMapIterator(Iterator<T> rows) {
+			this.rows = rows;
+		}
+
+		public boolean hasNext() {
+			return rows.hasNext();
+		}
+
+		public Map<String, Object> next() {
+			element.clear();
+			rows.next().toMap(element);
+			return element;
+		}
+
+		public void remove() {
+			rows.remove();
+		}
+	}
+
+}
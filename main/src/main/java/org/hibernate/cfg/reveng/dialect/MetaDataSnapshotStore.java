@@ -0,0 +1,342 @@
+package org.hibernate.cfg.reveng.dialect;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
+import java.net.URLEncoder;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores the metadata rows cached by {@link CachedMetaDataDialect} on disk,
+ * one compact binary file per catalog/schema and source, so they can be replayed by later runs
+ * without touching the database. The source names the database the rows were read from, 
+ * e.g. the user name and connection URL, and is recorded in the file as well.
+ *
+ * A snapshot is not used when
+ * <ul>
+ * <li>it was read from another source;</li>
+ * <li>refresh is requested, in which case it is read again from the database and overwritten;</li>
+ * <li>it is older than the time to live, if one is given, which 
+ * {@link org.hibernate.cfg.MetaDataDialectFactory} does unless told otherwise;</li>
+ * <li>the delegate is a {@link SchemaTimestampMetaDataDialect} and reports another
+ * DDL timestamp for the catalog/schema than the one recorded in the snapshot.</li>
+ * </ul>
+ * Unreadable snapshots, e.g. written by another version, are ignored as well.
+ */
+public class MetaDataSnapshotStore {
+
+	private static final Logger log = LoggerFactory.getLogger(MetaDataSnapshotStore.class);
+
+	private static final int MAGIC = 0x48544d44; // "HTMD"
+	private static final short VERSION = 2;
+
+	private static final byte NULL = 0;
+	private static final byte STRING = 1;
+	private static final byte INTEGER = 2;
+	private static final byte SHORT = 3;
+	private static final byte LONG = 4;
+	private static final byte BOOLEAN = 5;
+	private static final byte BYTE = 6;
+	private static final byte DECIMAL = 7;
+	private static final byte DOUBLE = 8;
+
+	private final File directory;
+	private final long timeToLive;
+	private final boolean refresh;
+
+	/**
+	 * @param directory where the snapshots are kept
+	 * @param timeToLive maximum age of a snapshot in milliseconds, 0 or less for no limit
+	 * @param refresh if true existing snapshots are never read, only overwritten
+	 */
+	public MetaDataSnapshotStore(File directory, long timeToLive, boolean refresh) {
+		this.directory = directory;
+		this.timeToLive = timeToLive;
+		this.refresh = refresh;
+	}
+
+	public File getDirectory() {
+		return directory;
+	}
+
+	public long getTimeToLive() {
+		return timeToLive;
+	}
+
+	public boolean isRefresh() {
+		return refresh;
+	}
+
+	/**
+	 * @return the snapshot for the catalog/schema of the source, or null if there is none or it is no longer valid
+	 */
+	public Snapshot read(String catalog, String schema, String source, long schemaTimestamp) {
+		File file = getFile(catalog, schema, source);
+		if(refresh || !file.isFile()) {
+			return null;
+		}
+		Snapshot snapshot;
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+			try {
+				snapshot = read(in);
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			log.warn("Ignoring unreadable metadata snapshot " + file + " [" + e.toString() + "]");
+			return null;
+		}
+		if(!safeEquals(source, snapshot.getSource())) {
+			log.debug("Metadata snapshot " + file + " was read from another database");
+			return null;
+		}
+		if(timeToLive > 0 && System.currentTimeMillis() - snapshot.getCreated() > timeToLive) {
+			log.debug("Metadata snapshot " + file + " has expired");
+			return null;
+		}
+		if(schemaTimestamp != snapshot.getSchemaTimestamp()) {
+			log.debug("Metadata snapshot " + file + " is out of date with the database");
+			return null;
+		}
+		log.debug("Using metadata snapshot " + file);
+		return snapshot;
+	}
+
+	/**
+	 * Writes the snapshot to a temporary file that then replaces the existing snapshot,
+	 * so concurrent readers never see a partial file.
+	 * Failures are logged, as the snapshot is only an optimization.
+	 */
+	public void write(String catalog, String schema, Snapshot snapshot) {
+		File file = getFile(catalog, schema, snapshot.getSource());
+		File temp = null;
+		try {
+			if(!directory.isDirectory() && !directory.mkdirs()) {
+				throw new IOException("Could not create directory " + directory);
+			}
+			temp = File.createTempFile("snapshot", ".tmp", directory);
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+			try {
+				write(out, snapshot);
+			} finally {
+				out.close();
+			}
+			try {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			log.debug("Wrote metadata snapshot " + file);
+		} catch (IOException e) {
+			log.warn("Could not write metadata snapshot " + file + " [" + e.toString() + "]");
+			if(temp!=null) {
+				temp.delete();
+			}
+		}
+	}
+
+	File getFile(String catalog, String schema, String source) {
+		String hash = source==null ? "-" : Integer.toHexString(source.hashCode());
+		return new File(directory, encode(catalog) + "." + encode(schema) + "." + hash + ".metadata");
+	}
+
+	private static boolean safeEquals(String left, String right) {
+		return left==null ? right==null : left.equals(right);
+	}
+
+	private String encode(String name) {
+		if(name==null) {
+			return "-";
+		}
+		try {
+			return URLEncoder.encode(name, "UTF-8").replace("*", "%2A");
+		}
+		catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private Snapshot read(DataInputStream in) throws IOException {
+		if(in.readInt()!=MAGIC || in.readShort()!=VERSION) {
+			throw new IOException("Not a metadata snapshot of this version");
+		}
+		String source = (String) readValue(in);
+		Snapshot snapshot = new Snapshot(source, in.readLong(), in.readLong());
+		int entries = in.readInt();
+		for (int i = 0; i < entries; i++) {
+			int category = in.readByte();
+			String[] key = new String[in.readByte()];
+			for (int k = 0; k < key.length; k++) {
+				key[k] = (String) readValue(in);
+			}
+			int rowCount = in.readInt();
+			List<Map<String, Object>> rows = new ArrayList<Map<String, Object>>(rowCount);
+			for (int r = 0; r < rowCount; r++) {
+				int columns = in.readShort();
+				Map<String, Object> row = new HashMap<String, Object>();
+				for (int c = 0; c < columns; c++) {
+					String name = in.readUTF();
+					row.put(name, readValue(in));
+				}
+				rows.add(row);
+			}
+			snapshot.add(category, key, rows);
+		}
+		return snapshot;
+	}
+
+	private void write(DataOutputStream out, Snapshot snapshot) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeShort(VERSION);
+		writeValue(out, snapshot.getSource());
+		out.writeLong(snapshot.getCreated());
+		out.writeLong(snapshot.getSchemaTimestamp());
+		out.writeInt(snapshot.entries.size());
+		for (SnapshotEntry entry : snapshot.entries) {
+			out.writeByte(entry.category);
+			out.writeByte(entry.key.length);
+			for (int k = 0; k < entry.key.length; k++) {
+				writeValue(out, entry.key[k]);
+			}
+			out.writeInt(entry.rows.size());
+			for (Map<String, Object> row : entry.rows) {
+				out.writeShort(row.size());
+				Iterator<Entry<String, Object>> columns = row.entrySet().iterator();
+				while (columns.hasNext()) {
+					Entry<String, Object> column = columns.next();
+					out.writeUTF(column.getKey());
+					writeValue(out, column.getValue());
+				}
+			}
+		}
+	}
+
+	private Object readValue(DataInputStream in) throws IOException {
+		byte type = in.readByte();
+		switch (type) {
+		case NULL: return null;
+		case STRING: return in.readUTF();
+		case INTEGER: return Integer.valueOf(in.readInt());
+		case SHORT: return Short.valueOf(in.readShort());
+		case LONG: return Long.valueOf(in.readLong());
+		case BOOLEAN: return Boolean.valueOf(in.readBoolean());
+		case BYTE: return Byte.valueOf(in.readByte());
+		case DECIMAL: return new BigDecimal(in.readUTF());
+		case DOUBLE: return Double.valueOf(in.readDouble());
+		default: throw new IOException("Unknown value type " + type);
+		}
+	}
+
+	private void writeValue(DataOutputStream out, Object value) throws IOException {
+		if(value==null) {
+			out.writeByte(NULL);
+		} else if(value instanceof String) {
+			out.writeByte(STRING);
+			out.writeUTF((String) value);
+		} else if(value instanceof Integer) {
+			out.writeByte(INTEGER);
+			out.writeInt(((Integer) value).intValue());
+		} else if(value instanceof Short) {
+			out.writeByte(SHORT);
+			out.writeShort(((Short) value).shortValue());
+		} else if(value instanceof Long) {
+			out.writeByte(LONG);
+			out.writeLong(((Long) value).longValue());
+		} else if(value instanceof Boolean) {
+			out.writeByte(BOOLEAN);
+			out.writeBoolean(((Boolean) value).booleanValue());
+		} else if(value instanceof Byte) {
+			out.writeByte(BYTE);
+			out.writeByte(((Byte) value).byteValue());
+		} else if(value instanceof BigDecimal) {
+			out.writeByte(DECIMAL);
+			out.writeUTF(value.toString());
+		} else if(value instanceof Double) {
+			out.writeByte(DOUBLE);
+			out.writeDouble(((Double) value).doubleValue());
+		} else {
+			throw new IOException("Cannot store metadata value of type " + value.getClass().getName());
+		}
+	}
+
+	/**
+	 * The cached rows of one catalog/schema.
+	 * Each entry holds the rows returned for one lookup of a given category.
+	 */
+	public static class Snapshot {
+
+		private final String source;
+		private final long created;
+		private final long schemaTimestamp;
+		private final List<SnapshotEntry> entries = new ArrayList<SnapshotEntry>();
+
+		public Snapshot(String source, long created, long schemaTimestamp) {
+			this.source = source;
+			this.created = created;
+			this.schemaTimestamp = schemaTimestamp;
+		}
+
+		public String getSource() {
+			return source;
+		}
+
+		public long getCreated() {
+			return created;
+		}
+
+		public long getSchemaTimestamp() {
+			return schemaTimestamp;
+		}
+
+		public void add(int category, String[] key, List<Map<String, Object>> rows) {
+			entries.add(new SnapshotEntry(category, key, rows));
+		}
+
+		public int size() {
+			return entries.size();
+		}
+
+		public int getCategory(int index) {
+			return entries.get(index).category;
+		}
+
+		public String[] getKey(int index) {
+			return entries.get(index).key;
+		}
+
+		public List<Map<String, Object>> getRows(int index) {
+			return entries.get(index).rows;
+		}
+	}
+
+	private static class SnapshotEntry {
+		final int category;
+		final String[] key;
+		final List<Map<String, Object>> rows;
+		SnapshotEntry(int category, String[] key, List<Map<String, Object>> rows) {
+			this.category = category;
+			this.key = key;
+			this.rows = rows;
+		}
+	}
+
+}
@@ -7,7 +7,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
-public class MySQLMetaDataDialect extends JDBCMetaDataDialect {
+public class MySQLMetaDataDialect extends JDBCMetaDataDialect implements TypedMetaDataDialect {
 
 	/**
 	 * Based on info from http://dev.mysql.com/doc/refman/5.0/en/show-table-status.html
@@ -66,12 +66,25 @@ public class MySQLMetaDataDialect extends JDBCMetaDataDialect {
 	}
 
 	public Iterator<Map<String, Object>> getColumns(
+			String xcatalog,
+			String xschema,
+			String xtable,
+			String xcolumn) {
+	     // MySql JDBC Driver doesn't like 'null' values for the table and column search patterns, use '%' instead
+		return super.getColumns(
+				xcatalog,
+				xschema,
+				xtable != null ? xtable : "%",
+				xcolumn != null ? xcolumn : "%");
+	}
+
+	public Iterator<ColumnRow> getColumnRows(
 			String xcatalog, 
 			String xschema, 
 			String xtable, 
 			String xcolumn) {
 	     // MySql JDBC Driver doesn't like 'null' values for the table and column search patterns, use '%' instead
-		return super.getColumns(
+		return super.getColumnRows(
 				xcatalog, 
 				xschema, 
 				xtable != null ? xtable : "%",
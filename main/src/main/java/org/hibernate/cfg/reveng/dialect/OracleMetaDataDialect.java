@@ -5,6 +5,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -20,7 +21,7 @@ import org.hibernate.tool.util.TableNameQualifier;
  *  
  */
 
-public class OracleMetaDataDialect extends AbstractMetaDataDialect {
+public class OracleMetaDataDialect extends AbstractMetaDataDialect implements BulkMetaDataDialect, TypedMetaDataDialect, SchemaTimestampMetaDataDialect {
 
 	
 	
@@ -261,7 +262,11 @@ public class OracleMetaDataDialect extends AbstractMetaDataDialect {
 		}
 	}
 	
-	public Iterator<Map<String, Object>> getIndexInfo(final String catalog, final String schema,
+	public Iterator<Map<String, Object>> getIndexInfo(String catalog, String schema, String table) {
+		return MetaDataRows.toMaps(getIndexRows(catalog, schema, table));
+	}
+
+	public Iterator<IndexRow> getIndexRows(final String catalog, final String schema,
 			final String table) {
 		try {
 			log.debug("getIndexInfo(" + catalog + "." + schema + "." + table + ")");
@@ -269,22 +274,20 @@ public class OracleMetaDataDialect extends AbstractMetaDataDialect {
 			ResultSet indexRs;
 			indexRs = getIndexInfoResultSet( schema, table );
 
-			return new ResultSetIterator(null, indexRs,
+			return new TypedResultSetIterator<IndexRow>(null, indexRs,
 					getSQLExceptionConverter()) {
 
-				Map<String, Object> element = new HashMap<String, Object>();
+				IndexRow element = new IndexRow();
 
 				
-				protected Map<String, Object> convertRow(ResultSet rs) throws SQLException {
-					element.clear();
-					element.put("COLUMN_NAME", rs.getString(1));
-					element.put("TYPE", new Short((short) 1)); // CLUSTERED
-																// INDEX
-					element.put("NON_UNIQUE", Boolean.valueOf(rs.getString(2)));
-					element.put("TABLE_SCHEM", rs.getString(3));
-					element.put("INDEX_NAME", rs.getString(4));
-					element.put("TABLE_CAT", null);
-					element.put("TABLE_NAME", rs.getString(5));
+				protected IndexRow convertRow(ResultSet rs) throws SQLException {
+					element.setColumnName(rs.getString(1));
+					element.setType((short) 1); // CLUSTERED INDEX
+					element.setNonUnique(Boolean.valueOf(rs.getString(2)).booleanValue());
+					element.setTableSchema(rs.getString(3));
+					element.setIndexName(rs.getString(4));
+					element.setTableCatalog(null);
+					element.setTableName(rs.getString(5));
 
 					return element;
 				}
@@ -305,7 +308,11 @@ public class OracleMetaDataDialect extends AbstractMetaDataDialect {
 		}
 	}
 
-	public Iterator<Map<String, Object>> getColumns(final String catalog, final String schema,
+	public Iterator<Map<String, Object>> getColumns(String catalog, String schema, String table, String column) {
+		return MetaDataRows.toMaps(getColumnRows(catalog, schema, table, column));
+	}
+
+	public Iterator<ColumnRow> getColumnRows(final String catalog, final String schema,
 			final String table, String column) {
 		
 		try {
@@ -314,24 +321,23 @@ public class OracleMetaDataDialect extends AbstractMetaDataDialect {
 			ResultSet columnRs;
 			columnRs = getColumnsResultSet( schema, table, column );
 
-			return new ResultSetIterator(null, columnRs,
+			return new TypedResultSetIterator<ColumnRow>(null, columnRs,
 					getSQLExceptionConverter()) {
 
-				Map<String, Object> element = new HashMap<String, Object>();
+				ColumnRow element = new ColumnRow();
 
 				
-				protected Map<String, Object> convertRow(ResultSet rs) throws SQLException {
-					element.clear();
-					element.put("COLUMN_NAME", rs.getString(1));
-					element.put("TABLE_SCHEM", rs.getString(2));
-					element.put("NULLABLE", new Integer(rs.getInt(3)));
-					element.put("COLUMN_SIZE", new Integer(rs.getInt(4)));
-					element.put("DATA_TYPE", new Integer(rs.getInt(5)));
-					element.put("TABLE_NAME", rs.getString(6));
-					element.put("TYPE_NAME", rs.getString(7));
-					element.put("DECIMAL_DIGITS", new Integer(rs.getInt(8)));
-					element.put("TABLE_CAT", null);
-					element.put("REMARKS", rs.getString(9));
+				protected ColumnRow convertRow(ResultSet rs) throws SQLException {
+					element.setColumnName(rs.getString(1));
+					element.setTableSchema(rs.getString(2));
+					element.setNullable(rs.getInt(3));
+					element.setColumnSize(rs.getInt(4));
+					element.setDataType(rs.getInt(5));
+					element.setTableName(rs.getString(6));
+					element.setTypeName(rs.getString(7));
+					element.setDecimalDigits(rs.getInt(8));
+					element.setTableCatalog(null);
+					element.setRemarks(rs.getString(9));
 					return element;
 				}
 
@@ -351,7 +357,11 @@ public class OracleMetaDataDialect extends AbstractMetaDataDialect {
 		}
 	}
 
-	public Iterator<Map<String, Object>> getPrimaryKeys(final String catalog, final String schema,
+	public Iterator<Map<String, Object>> getPrimaryKeys(String catalog, String schema, String table) {
+		return MetaDataRows.toMaps(getPrimaryKeyRows(catalog, schema, table));
+	}
+
+	public Iterator<PrimaryKeyRow> getPrimaryKeyRows(final String catalog, final String schema,
 			final String table) {
 		
 		try {
@@ -361,20 +371,19 @@ public class OracleMetaDataDialect extends AbstractMetaDataDialect {
 			ResultSet pkeyRs;
 			pkeyRs = getPrimaryKeysResultSet( schema, table );
 
-			return new ResultSetIterator(null, pkeyRs,
+			return new TypedResultSetIterator<PrimaryKeyRow>(null, pkeyRs,
 					getSQLExceptionConverter()) {
 
-				Map<String, Object> element = new HashMap<String, Object>();
+				PrimaryKeyRow element = new PrimaryKeyRow();
 
 				
-				protected Map<String, Object> convertRow(ResultSet rs) throws SQLException {
-					element.clear();
-					element.put("TABLE_NAME", rs.getString(1));
-					element.put("COLUMN_NAME", rs.getString(2));
-					element.put("KEY_SEQ", new Short(rs.getShort(3)));
-					element.put("PK_NAME", rs.getString(4));
-					element.put("TABLE_SCHEM", rs.getString(5));
-					element.put("TABLE_CAT", null);
+				protected PrimaryKeyRow convertRow(ResultSet rs) throws SQLException {
+					element.setTableName(rs.getString(1));
+					element.setColumnName(rs.getString(2));
+					element.setKeySeq(rs.getShort(3));
+					element.setPkName(rs.getString(4));
+					element.setTableSchema(rs.getString(5));
+					element.setTableCatalog(null);
 					return element;
 				}
 
@@ -394,7 +403,11 @@ public class OracleMetaDataDialect extends AbstractMetaDataDialect {
 		}
 	}
 
-	public Iterator<Map<String, Object>> getExportedKeys(final String catalog, final String schema,
+	public Iterator<Map<String, Object>> getExportedKeys(String catalog, String schema, String table) {
+		return MetaDataRows.toMaps(getExportedKeyRows(catalog, schema, table));
+	}
+
+	public Iterator<ExportedKeyRow> getExportedKeyRows(final String catalog, final String schema,
 			final String table) {
 		
 		try {
@@ -404,24 +417,23 @@ public class OracleMetaDataDialect extends AbstractMetaDataDialect {
 			ResultSet pExportRs;
 			pExportRs = getExportedKeysResultSet( schema, table );
 
-			return new ResultSetIterator(null, pExportRs,
+			return new TypedResultSetIterator<ExportedKeyRow>(null, pExportRs,
 					getSQLExceptionConverter()) {
 
-				Map<String, Object> element = new HashMap<String, Object>();
+				ExportedKeyRow element = new ExportedKeyRow();
 
 				
-				protected Map<String, Object> convertRow(ResultSet rs) throws SQLException {
-					element.clear();
-					element.put("PKTABLE_NAME", rs.getString(1));
-					element.put("PKTABLE_SCHEM", rs.getString(2));
-					element.put("PKTABLE_CAT", null);
-					element.put("FKTABLE_CAT", null);
-					element.put("FKTABLE_SCHEM", rs.getString(3));
-					element.put("FKTABLE_NAME", rs.getString(4));
-					element.put("FKCOLUMN_NAME", rs.getString(5));
-					element.put("PKCOLUMN_NAME", rs.getString(6));
-					element.put("FK_NAME", rs.getString(7));
-					element.put("KEY_SEQ", new Short(rs.getShort(8)));
+				protected ExportedKeyRow convertRow(ResultSet rs) throws SQLException {
+					element.setPkTableName(rs.getString(1));
+					element.setPkTableSchema(rs.getString(2));
+					element.setPkTableCatalog(null);
+					element.setFkTableCatalog(null);
+					element.setFkTableSchema(rs.getString(3));
+					element.setFkTableName(rs.getString(4));
+					element.setFkColumnName(rs.getString(5));
+					element.setPkColumnName(rs.getString(6));
+					element.setFkName(rs.getString(7));
+					element.setKeySeq(rs.getShort(8));
 					return element;
 				}
 
@@ -441,6 +453,54 @@ public class OracleMetaDataDialect extends AbstractMetaDataDialect {
 		}
 	}	
 	
+	/* ****************************** */
+	/* ******* DDL TIMESTAMP ******* */
+	/* ****************************** */
+	private static final String SQL_DDL_TIME_NONE = "select max(last_ddl_time) from all_objects";
+	
+	private static final String SQL_DDL_TIME_SCHEMA = SQL_DDL_TIME_NONE + " where owner like ?";
+	
+	public long getSchemaTimestamp(String catalog, String schema) {
+		try {
+			log.debug("getSchemaTimestamp(" + catalog + "." + schema + ")");
+			PreparedStatement ps;
+			if(schema==null) {
+				ps = getConnection().prepareStatement(SQL_DDL_TIME_NONE);
+			} else {
+				ps = getConnection().prepareStatement(SQL_DDL_TIME_SCHEMA);
+				ps.setString(1, escape(schema));
+			}
+			try {
+				ResultSet rs = ps.executeQuery();
+				Timestamp timestamp = rs.next() ? rs.getTimestamp(1) : null;
+				rs.close();
+				return timestamp == null ? -1 : timestamp.getTime();
+			} finally {
+				ps.close();
+			}
+		} catch (SQLException e) {
+			throw getSQLExceptionConverter().convert(
+					e, 
+					"Error while reading DDL timestamp for " + catalog + "." + schema, null);
+		}
+	}
+	
+	public boolean supportsBulkColumns() {
+		return true;
+	}
+
+	public boolean supportsBulkPrimaryKeys() {
+		return true;
+	}
+
+	public boolean supportsBulkIndexInfo() {
+		return true;
+	}
+
+	public boolean supportsBulkExportedKeys() {
+		return true;
+	}
+
 	public void close() {
 		try {
 			prepTableNone = close( prepTableNone );
@@ -490,7 +550,7 @@ public class OracleMetaDataDialect extends AbstractMetaDataDialect {
 	}
 	
 	private String escape(String str) {
-		return str.replace("_", "\\_");
+		return str == null ? null : str.replace("_", "\\_");
 	}
 
 	private ResultSet getPrimaryKeysResultSet(final String schem, final String tab) throws SQLException {
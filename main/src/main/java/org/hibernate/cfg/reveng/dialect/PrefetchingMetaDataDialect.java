@@ -0,0 +1,232 @@
+package org.hibernate.cfg.reveng.dialect;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.JDBCException;
+import org.hibernate.cfg.reveng.ReverseEngineeringRuntimeInfo;
+import org.hibernate.cfg.reveng.TableIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * MetaDataDialect that replaces the per table reads of columns, primary keys, indexes 
+ * and exported keys with one read per catalog/schema.
+ * 
+ * The first time a table in a given catalog/schema is asked for, the whole catalog/schema 
+ * is read from the delegate and the rows are bucketed by table name; 
+ * that and all following tables in the catalog/schema are then served from memory. 
+ * Only categories the delegate reports as supported through {@link BulkMetaDataDialect} 
+ * are prefetched, everything else is passed on to the delegate as is.
+ * 
+ * The buckets are dropped when the dialect is closed.
+ */
+public class PrefetchingMetaDataDialect implements SchemaTimestampMetaDataDialect {
+
+	private static final Logger log = LoggerFactory.getLogger(PrefetchingMetaDataDialect.class);
+	
+	private final MetaDataDialect delegate;
+	
+	private final Prefetch columns = new Prefetch("columns", "TABLE_NAME") {
+		boolean isSupported(BulkMetaDataDialect bulk) {
+			return bulk.supportsBulkColumns();
+		}
+		Iterator<Map<String, Object>> read(String catalog, String schema, String table) {
+			return delegate.getColumns(catalog, schema, table, null);
+		}
+	};
+
+	private final Prefetch primaryKeys = new Prefetch("primary keys", "TABLE_NAME") {
+		boolean isSupported(BulkMetaDataDialect bulk) {
+			return bulk.supportsBulkPrimaryKeys();
+		}
+		Iterator<Map<String, Object>> read(String catalog, String schema, String table) {
+			return delegate.getPrimaryKeys(catalog, schema, table);
+		}
+	};
+
+	private final Prefetch indexInfo = new Prefetch("indexes", "TABLE_NAME") {
+		boolean isSupported(BulkMetaDataDialect bulk) {
+			return bulk.supportsBulkIndexInfo();
+		}
+		Iterator<Map<String, Object>> read(String catalog, String schema, String table) {
+			return delegate.getIndexInfo(catalog, schema, table);
+		}
+	};
+
+	private final Prefetch exportedKeys = new Prefetch("exported keys", "PKTABLE_NAME") {
+		boolean isSupported(BulkMetaDataDialect bulk) {
+			return bulk.supportsBulkExportedKeys();
+		}
+		Iterator<Map<String, Object>> read(String catalog, String schema, String table) {
+			return delegate.getExportedKeys(catalog, schema, table);
+		}
+	};
+
+	public PrefetchingMetaDataDialect(MetaDataDialect realMetaData) {
+		this.delegate = realMetaData;
+	}
+
+	public void configure(ReverseEngineeringRuntimeInfo info) {
+		delegate.configure(info);
+	}
+
+	public void close() {
+		columns.clear();
+		primaryKeys.clear();
+		indexInfo.clear();
+		exportedKeys.clear();
+		delegate.close();
+	}
+
+	public void close(Iterator<?> iterator) {
+		if(!(iterator instanceof PrefetchedIterator)) {
+			delegate.close(iterator);
+		}
+	}
+
+	public Iterator<Map<String, Object>> getTables(String catalog, String schema, String table) {
+		return delegate.getTables(catalog, schema, table);
+	}
+
+	public Iterator<Map<String, Object>> getColumns(String catalog, String schema, String table, String column) {
+		if(column!=null) {
+			return delegate.getColumns(catalog, schema, table, column);
+		}
+		return columns.get(catalog, schema, table);
+	}
+
+	public Iterator<Map<String, Object>> getPrimaryKeys(String catalog, String schema, String name) {
+		return primaryKeys.get(catalog, schema, name);
+	}
+
+	public Iterator<Map<String, Object>> getIndexInfo(String catalog, String schema, String table) {
+		return indexInfo.get(catalog, schema, table);
+	}
+
+	public Iterator<Map<String, Object>> getExportedKeys(String catalog, String schema, String table) {
+		return exportedKeys.get(catalog, schema, table);
+	}
+
+	public Iterator<Map<String, Object>> getSuggestedPrimaryKeyStrategyName(String catalog, String schema, String table) {
+		return delegate.getSuggestedPrimaryKeyStrategyName(catalog, schema, table);
+	}
+
+	public boolean needQuote(String name) {
+		return delegate.needQuote(name);
+	}
+	
+	public long getSchemaTimestamp(String catalog, String schema) {
+		if(delegate instanceof SchemaTimestampMetaDataDialect) {
+			return ((SchemaTimestampMetaDataDialect)delegate).getSchemaTimestamp(catalog, schema);
+		} else {
+			return -1;
+		}
+	}
+	
+	/**
+	 * The rows of one metadata category, keyed on the catalog and schema used for the lookup 
+	 * plus the table name reported in the row.
+	 */
+	private abstract class Prefetch {
+		
+		private final String description;
+		private final String tableColumn;
+		private final Map<TableIdentifier, List<Map<String, Object>>> buckets = new HashMap<TableIdentifier, List<Map<String, Object>>>();
+		private final Set<TableIdentifier> prefetched = new HashSet<TableIdentifier>();
+		private final Set<TableIdentifier> failed = new HashSet<TableIdentifier>();
+		
+		Prefetch(String description, String tableColumn) {
+			this.description = description;
+			this.tableColumn = tableColumn;
+		}
+		
+		abstract boolean isSupported(BulkMetaDataDialect bulk);
+		
+		abstract Iterator<Map<String, Object>> read(String catalog, String schema, String table);
+		
+		Iterator<Map<String, Object>> get(String catalog, String schema, String table) {
+			if(table==null || !(delegate instanceof BulkMetaDataDialect) || !isSupported((BulkMetaDataDialect) delegate)) {
+				return read(catalog, schema, table);
+			}
+			TableIdentifier scope = new TableIdentifier(catalog, schema, null);
+			if(failed.contains(scope) || (!prefetched.contains(scope) && !prefetch(scope))) {
+				return read(catalog, schema, table);
+			}
+			List<Map<String, Object>> rows = buckets.get(new TableIdentifier(catalog, schema, table));
+			if(rows==null) {
+				rows = Collections.emptyList();
+			}
+			return new PrefetchedIterator(rows.iterator());
+		}
+		
+		private boolean prefetch(TableIdentifier scope) {
+			log.debug("Prefetching " + description + " for " + scope);
+			Iterator<Map<String, Object>> iterator = null;
+			try {
+				iterator = read(scope.getCatalog(), scope.getSchema(), null);
+				while(iterator.hasNext()) {
+					Map<String, Object> row = iterator.next();
+					TableIdentifier key = new TableIdentifier(scope.getCatalog(), scope.getSchema(), (String) row.get(tableColumn));
+					List<Map<String, Object>> rows = buckets.get(key);
+					if(rows==null) {
+						rows = new ArrayList<Map<String, Object>>();
+						buckets.put(key, rows);
+					}
+					rows.add(new HashMap<String, Object>(row)); // need to copy since MetaDataDialect might reuse it.
+				}
+				prefetched.add(scope);
+				return true;
+			} 
+			catch(JDBCException e) {
+				log.warn("Could not prefetch " + description + " for " + scope + ", reading them table by table instead [" + e.toString() + "]");
+				failed.add(scope);
+				return false;
+			} 
+			finally {
+				if(iterator!=null) {
+					try {
+						delegate.close(iterator);
+					} 
+					catch(JDBCException e) {
+						log.warn("Exception while closing iterator for prefetched " + description, e);
+					}
+				}
+			}
+		}
+		
+		void clear() {
+			buckets.clear();
+			prefetched.clear();
+			failed.clear();
+		}
+	}
+	
+	private static class PrefetchedIterator implements Iterator<Map<String, Object>> {
+		
+		private final Iterator<Map<String, Object>> rows;
+		
+		PrefetchedIterator(Iterator<Map<String, Object>> rows) {
+			this.rows = rows;
+		}
+
+		public boolean hasNext() {
+			return rows.hasNext();
+		}
+
+		public Map<String, Object> next() {
+			return rows.next();
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException("remove() not possible on prefetched metadata");
+		}
+	}
+
+}
@@ -0,0 +1,52 @@
+package org.hibernate.cfg.reveng.dialect;
+
+import java.util.Map;
+
+/**
+ * A row of {@link TypedMetaDataDialect#getPrimaryKeyRows(String, String, String)}.
+ */
+public class PrimaryKeyRow extends TableMetaDataRow {
+
+	private String columnName;
+	private short keySeq;
+	private String pkName;
+
+	public String getColumnName() {
+		return columnName;
+	}
+
+	public void setColumnName(String columnName) {
+		this.columnName = columnName;
+	}
+
+	public short getKeySeq() {
+		return keySeq;
+	}
+
+	public void setKeySeq(short keySeq) {
+		this.keySeq = keySeq;
+	}
+
+	public String getPkName() {
+		return pkName;
+	}
+
+	public void setPkName(String pkName) {
+		this.pkName = pkName;
+	}
+
+	public void toMap(Map<String, Object> map) {
+		super.toMap(map);
+		map.put("COLUMN_NAME", columnName);
+		map.put("KEY_SEQ", Short.valueOf(keySeq));
+		map.put("PK_NAME", pkName);
+	}
+
+	public void fromMap(Map<String, Object> map) {
+		super.fromMap(map);
+		columnName = (String) map.get("COLUMN_NAME");
+		keySeq = shortValue(map.get("KEY_SEQ"));
+		pkName = (String) map.get("PK_NAME");
+	}
+
+}
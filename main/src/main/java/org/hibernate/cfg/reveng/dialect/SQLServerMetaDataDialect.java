@@ -12,7 +12,7 @@ import java.util.Map;
  * @author ddukker
  *
  */
-public class SQLServerMetaDataDialect extends JDBCMetaDataDialect {
+public class SQLServerMetaDataDialect extends JDBCMetaDataDialect implements TypedMetaDataDialect {
 
 	public Iterator<Map<String, Object>> getSuggestedPrimaryKeyStrategyName(String catalog, String schema, String table) {
 		String sql = null;
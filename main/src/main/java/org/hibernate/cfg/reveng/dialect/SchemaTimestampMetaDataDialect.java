@@ -0,0 +1,17 @@
+package org.hibernate.cfg.reveng.dialect;
+
+/**
+ * Optional interface for a {@link MetaDataDialect} that can tell when the structure
+ * of a catalog/schema was last changed, e.g. from a DDL timestamp in the data dictionary.
+ *
+ * @see MetaDataSnapshotStore
+ */
+public interface SchemaTimestampMetaDataDialect extends MetaDataDialect {
+
+	/**
+	 * @return the time in milliseconds of the last DDL statement executed in the
+	 * catalog/schema, or -1 if unknown
+	 */
+	long getSchemaTimestamp(String catalog, String schema);
+
+}
@@ -0,0 +1,51 @@
+package org.hibernate.cfg.reveng.dialect;
+
+import java.util.Map;
+
+/**
+ * Base for the metadata rows that belong to a table, 
+ * i.e. have "TABLE_CAT", "TABLE_SCHEM" and "TABLE_NAME" values.
+ */
+public abstract class TableMetaDataRow extends MetaDataRow {
+
+	private String tableCatalog;
+	private String tableSchema;
+	private String tableName;
+
+	public String getTableCatalog() {
+		return tableCatalog;
+	}
+
+	public void setTableCatalog(String tableCatalog) {
+		this.tableCatalog = tableCatalog;
+	}
+
+	public String getTableSchema() {
+		return tableSchema;
+	}
+
+	public void setTableSchema(String tableSchema) {
+		this.tableSchema = tableSchema;
+	}
+
+	public String getTableName() {
+		return tableName;
+	}
+
+	public void setTableName(String tableName) {
+		this.tableName = tableName;
+	}
+
+	public void toMap(Map<String, Object> map) {
+		map.put("TABLE_CAT", tableCatalog);
+		map.put("TABLE_SCHEM", tableSchema);
+		map.put("TABLE_NAME", tableName);
+	}
+
+	public void fromMap(Map<String, Object> map) {
+		tableCatalog = (String) map.get("TABLE_CAT");
+		tableSchema = (String) map.get("TABLE_SCHEM");
+		tableName = (String) map.get("TABLE_NAME");
+	}
+
+}
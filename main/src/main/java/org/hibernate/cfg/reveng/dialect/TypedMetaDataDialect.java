@@ -0,0 +1,28 @@
+package org.hibernate.cfg.reveng.dialect;
+
+import java.util.Iterator;
+
+/**
+ * Optional interface for a {@link MetaDataDialect} that can return the columns, keys and 
+ * indexes as {@link MetaDataRow}s with plain fields rather than as maps with boxed values.
+ * 
+ * The returned iterators must be closed with {@link #close(Iterator)} and may return the 
+ * same row instance from each call to next().
+ * 
+ * @see MetaDataRows
+ */
+public interface TypedMetaDataDialect extends MetaDataDialect {
+
+	/** Same as {@link #getColumns(String, String, String, String)} */
+	Iterator<ColumnRow> getColumnRows(String catalog, String schema, String table, String column);
+
+	/** Same as {@link #getPrimaryKeys(String, String, String)} */
+	Iterator<PrimaryKeyRow> getPrimaryKeyRows(String catalog, String schema, String table);
+
+	/** Same as {@link #getIndexInfo(String, String, String)} */
+	Iterator<IndexRow> getIndexRows(String catalog, String schema, String table);
+
+	/** Same as {@link #getExportedKeys(String, String, String)} */
+	Iterator<ExportedKeyRow> getExportedKeyRows(String catalog, String schema, String table);
+
+}
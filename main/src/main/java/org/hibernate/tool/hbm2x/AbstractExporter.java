@@ -4,16 +4,27 @@
 package org.hibernate.tool.hbm2x;
 
 import java.io.File;
+import java.nio.charset.Charset;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.hibernate.boot.Metadata;
 import org.hibernate.boot.MetadataSources;
 import org.hibernate.boot.registry.StandardServiceRegistry;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.reveng.MetricsCollector;
+import org.hibernate.cfg.reveng.MetricsListener;
+import org.hibernate.cfg.reveng.Phase;
 import org.hibernate.internal.util.ReflectHelper;
 import org.hibernate.internal.util.StringHelper;
+import org.hibernate.tool.hbm2x.pojo.POJOModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,6 +47,7 @@ public abstract class AbstractExporter implements Exporter {
 	private Metadata metadata = null;
 	private MetadataSources metadataSources = null;
 	private StandardServiceRegistry serviceRegistry = null;
+	private MetricsListener metricsListener = null;
 
 	private Iterator<Entry<Object, Object>> iterator;
 
@@ -86,6 +98,18 @@ public abstract class AbstractExporter implements Exporter {
 		this.collector = collector;
 	}
 	
+	/**
+	 * @param metricsListener told the time spent by the exporter and in each template, 
+	 * if not set and {@link ExporterSettings#METRICS} is true a summary of the times is logged
+	 */
+	public void setMetricsListener(MetricsListener metricsListener) {
+		this.metricsListener = metricsListener;
+	}
+	
+	public MetricsListener getMetricsListener() {
+		return metricsListener;
+	}
+	
 	public ArtifactCollector getArtifactCollector() {
 		return collector;
 	}
@@ -103,17 +127,105 @@ public abstract class AbstractExporter implements Exporter {
 	}
 	
 	public void start() {
-		setTemplateHelper( new TemplateHelper() );
-		setupTemplates();
-		setupContext();
-		doStart();
-		cleanUpContext();		
-		setTemplateHelper(null);
-		getArtifactCollector().formatFiles();
+		ArtifactCollector collector = getArtifactCollector();
+		int firstFile = collector.getAllFiles().size();
+		int deletedBefore = collector.getDeletedCount();
+		MetricsListener metrics = metricsListener;
+		MetricsCollector summary = null;
+		if(metrics==null && "true".equalsIgnoreCase((String) getProperties().get(ExporterSettings.METRICS))) {
+			metrics = summary = new MetricsCollector();
+		}
+		Phase phase = Phase.start(metrics, getName(), null);
+		try {
+			setTemplateHelper( new TemplateHelper() );
+			getTemplateHelper().setMetricsListener(metrics, getName());
+			setupTemplates();
+			setupContext();
+			doStart();
+			cleanUpContext();		
+			setTemplateHelper(null);
+			collector.formatFiles(getEncoding());
+		} finally {
+			phase.end();
+		}
+		if(summary!=null) {
+			log.info("Time spent by " + getName() + ":\n" + summary.getSummary());
+		}
+		List<File> generated = collector.getAllFiles();
+		generated = generated.subList(firstFile, generated.size());
+		if(isDeleteStale() && getOutputDirectory()!=null) {
+			new ArtifactManifest(new File(getOutputDirectory(), getStateFilePrefix() + ".manifest"), getOutputDirectory())
+					.update(generated, collector);
+		}
+		int written = collector.countWritten(generated);
+		log.debug(getName() + ": " + written + " files written, " + (generated.size() - written) + " unchanged, " 
+				+ (collector.getDeletedCount() - deletedBefore) + " deleted");
+	}
+	
+	protected boolean isDeleteStale() {
+		return "true".equalsIgnoreCase((String) getProperties().get(ExporterSettings.DELETE_STALE));
+	}
+	
+	/**
+	 * @return the start of the names of the files in the output directory that keep the state of the exporter between runs
+	 */
+	protected String getStateFilePrefix() {
+		return ".hibernatetool-" + getName().replaceAll("[^A-Za-z0-9.-]", "_");
 	}
 	
 	abstract protected void doStart();
 	
+	protected int getRenderThreads() {
+		String threads = (String) getProperties().get(ExporterSettings.RENDER_THREADS);
+		if(StringHelper.isEmpty(threads)) {
+			return 1;
+		}
+		try {
+			return Integer.parseInt(threads.trim());
+		}
+		catch (NumberFormatException e) {
+			throw new ExporterException("Invalid value for " + ExporterSettings.RENDER_THREADS + ": " + threads, e);
+		}
+	}
+	
+	/**
+	 * @return a pool of the given number of threads to render files on, 
+	 * see {@link ExporterSettings#RENDER_THREADS}
+	 */
+	protected ThreadPoolExecutor createRenderExecutor(int threads) {
+		// the queue is bounded so the contexts of files waiting to be rendered don't pile up,
+		// when it is full the submitting thread renders the file itself
+		return new ThreadPoolExecutor(
+				threads, 
+				threads, 
+				0L, 
+				TimeUnit.MILLISECONDS, 
+				new ArrayBlockingQueue<Runnable>(threads * 4), 
+				new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+	
+	/**
+	 * Waits until all futures are done, then rethrows the first failure.
+	 */
+	protected void waitFor(List<Future<?>> futures) {
+		RuntimeException failure = null;
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				if(failure==null) {
+					failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new ExporterException(e.getCause());
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ExporterException("Interrupted while rendering templates", e);
+			}
+		}
+		if(failure!=null) {
+			throw failure;
+		}
+	}
+	
 	protected void cleanUpContext() {
 		if(getProperties()!=null) {
 			iterator = getProperties().entrySet().iterator();
@@ -179,6 +291,7 @@ public abstract class AbstractExporter implements Exporter {
 		}
 		getTemplateHelper().putInContext("artifacts", collector);
         if(getMetadata() != null) {
+        		getCfg2JavaTool().setModel(POJOModel.getModel(metadata));
         		getTemplateHelper().putInContext("md", metadata);
         		getTemplateHelper().putInContext("props", getProperties());
         		getTemplateHelper().putInContext("tables", metadata.collectTableMappings());
@@ -190,6 +303,20 @@ public abstract class AbstractExporter implements Exporter {
 			log.debug(getClass().getName() + " outputdir:" + getOutputDirectory() + " path: " + toString(templatePaths) );
 		}
 		getTemplateHelper().init(getOutputDirectory(), templatePaths);		
+		getTemplateHelper().setEncoding(getEncoding());
+	}
+	
+	protected Charset getEncoding() {
+		String encoding = (String) getProperties().get(ExporterSettings.ENCODING);
+		if(StringHelper.isEmpty(encoding)) {
+			return Charset.defaultCharset();
+		}
+		try {
+			return Charset.forName(encoding.trim());
+		}
+		catch (IllegalArgumentException e) {
+			throw new ExporterException("Invalid value for " + ExporterSettings.ENCODING + ": " + encoding, e);
+		}
 	}
 	
 	protected void setTemplateHelper(TemplateHelper vh) {
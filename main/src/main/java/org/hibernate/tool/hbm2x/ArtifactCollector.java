@@ -2,9 +2,10 @@ package org.hibernate.tool.hbm2x;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -12,33 +13,144 @@ import java.util.Set;
 /**
  * Callback class that all exporters are given to allow better feedback and
  * processing of the output afterwards.
+ * Files can be added concurrently by exporters rendering in parallel.
  * 
  * @author Max Rydahl Andersen
  *
  */
 public class ArtifactCollector {
 
+	private static final String[] FORMATTED_TYPES = new String[] { "xml", "hbm.xml", "cfg.xml" };
+
 	final protected Map<String, List<File>> files = new HashMap<String, List<File>>();
+	
+	final protected Set<File> formattedFiles = new HashSet<File>();
+	
+	final protected Set<File> unchangedFiles = new HashSet<File>();
+	
+	private final List<File> allFiles = new ArrayList<File>();
+	
+	private int deletedCount = 0;
 
 	/**
 	 * Called to inform that a file has been created by the exporter.
 	 */
-	public void addFile(File file, String type) {
+	public synchronized void addFile(File file, String type) {
 		List<File> existing = files.get(type);
 		if (existing == null) {
 			existing = new ArrayList<File>();
 			files.put(type, existing);
 		}
 		existing.add(file);
+		allFiles.add(file);
+	}
+
+	/**
+	 * Called to inform that a file has been created by the exporter, already formatted 
+	 * if it is of a type {@link #formatFiles()} formats.
+	 */
+	public synchronized void addFormattedFile(File file, String type) {
+		addFile(file, type);
+		formattedFiles.add(file);
+	}
+
+	/**
+	 * @return true if files of the type are formatted, see {@link #formatFiles()}
+	 */
+	public static boolean isFormattedType(String type) {
+		for (int i = 0; i < FORMATTED_TYPES.length; i++) {
+			if(FORMATTED_TYPES[i].equals(type)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Called to inform that the exporter generated a file that already existed with the same content, 
+	 * so it was left alone. The file is collected like the written files, but not formatted again.
+	 */
+	public synchronized void addUnchangedFile(File file, String type) {
+		addFile(file, type);
+		unchangedFiles.add(file);
+	}
+
+	/**
+	 * Called to inform that a file generated by a previous run was deleted as it is no longer generated.
+	 */
+	public synchronized void addDeletedFile(File file) {
+		deletedCount++;
+	}
+
+	/**
+	 * Adds the files collected by another collector, e.g. the one of an exporter started by an exporter, 
+	 * in the order they were collected.
+	 */
+	public synchronized void addAll(ArtifactCollector other) {
+		synchronized (other) {
+			Map<File, String> types = new HashMap<File, String>();
+			for (Map.Entry<String, List<File>> entry : other.files.entrySet()) {
+				for (File file : entry.getValue()) {
+					types.put(file, entry.getKey());
+				}
+			}
+			for (File file : other.allFiles) {
+				addFile(file, types.get(file));
+				if(other.isFormatted(file)) {
+					formattedFiles.add(file);
+				}
+				if(other.isUnchanged(file)) {
+					unchangedFiles.add(file);
+				}
+			}
+			deletedCount += other.deletedCount;
+		}
+	}
+
+	public synchronized boolean isFormatted(File file) {
+		return formattedFiles.contains(file);
+	}
+
+	public synchronized boolean isUnchanged(File file) {
+		return unchangedFiles.contains(file);
+	}
+
+	/**
+	 * @return the collected files in the order they were added
+	 */
+	public synchronized List<File> getAllFiles() {
+		return new ArrayList<File>(allFiles);
+	}
+
+	public synchronized int getWrittenCount() {
+		return countWritten(allFiles);
+	}
+
+	public synchronized int getUnchangedCount() {
+		return allFiles.size() - countWritten(allFiles);
 	}
 
-	public int getFileCount(String type) {
+	public synchronized int getDeletedCount() {
+		return deletedCount;
+	}
+
+	synchronized int countWritten(List<File> list) {
+		int result = 0;
+		for (File file : list) {
+			if(!unchangedFiles.contains(file)) {
+				result++;
+			}
+		}
+		return result;
+	}
+
+	public synchronized int getFileCount(String type) {
 		List<File> existing = files.get(type);
 
 		return (existing == null) ? 0 : existing.size();
 	}
 
-	public File[] getFiles(String type) {
+	public synchronized File[] getFiles(String type) {
 		List<File> existing = files.get(type);
 
 		if (existing == null) {
@@ -53,23 +165,32 @@ public class ArtifactCollector {
 	}
 
 	public void formatFiles() {
+		formatFiles(Charset.defaultCharset());
+	}
 
-		formatXml("xml");
-		formatXml("hbm.xml");
-		formatXml("cfg.xml");
+	/**
+	 * Formats the generated XML files, which are written in the given encoding, 
+	 * unless they were formatted before they were written.
+	 */
+	public void formatFiles(Charset encoding) {
+
+		for (int i = 0; i < FORMATTED_TYPES.length; i++) {
+			formatXml(FORMATTED_TYPES[i], encoding);
+		}
 
 	}
 
-	private void formatXml(String type) throws ExporterException {
-		List<File> list = files.get(type);
-		if (list != null && !list.isEmpty()) {
-			for (Iterator<File> iter = list.iterator(); iter.hasNext();) {
-				File xmlFile = iter.next();
-				try {
-					XMLPrettyPrinter.prettyPrintFile(xmlFile);
-				} catch (IOException e) {
-					throw new ExporterException("Could not format XML file: " + xmlFile, e);
-				}
+	private void formatXml(String type, Charset encoding) throws ExporterException {
+		File[] list = getFiles(type);
+		for (int i = 0; i < list.length; i++) {
+			File xmlFile = list[i];
+			if (isUnchanged(xmlFile) || isFormatted(xmlFile)) {
+				continue;
+			}
+			try {
+				XMLPrettyPrinter.prettyPrintFile(xmlFile, encoding);
+			} catch (IOException e) {
+				throw new ExporterException("Could not format XML file: " + xmlFile, e);
 			}
 		}
 	}
@@ -0,0 +1,418 @@
+package org.hibernate.tool.hbm2x;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.cfg.reveng.TableFingerprint;
+import org.hibernate.cfg.reveng.TableIdentifier;
+import org.hibernate.mapping.Any;
+import org.hibernate.mapping.Collection;
+import org.hibernate.mapping.Column;
+import org.hibernate.mapping.Component;
+import org.hibernate.mapping.ForeignKey;
+import org.hibernate.mapping.IdentifierCollection;
+import org.hibernate.mapping.IndexedCollection;
+import org.hibernate.mapping.Join;
+import org.hibernate.mapping.ManyToOne;
+import org.hibernate.mapping.MetaAttribute;
+import org.hibernate.mapping.OneToMany;
+import org.hibernate.mapping.OneToOne;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.Property;
+import org.hibernate.mapping.Selectable;
+import org.hibernate.mapping.SimpleValue;
+import org.hibernate.mapping.Table;
+import org.hibernate.mapping.ToOne;
+import org.hibernate.mapping.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Remembers for each file generated for an entity a fingerprint of what it was generated
+ * from, so an incremental export only regenerates the files whose sources changed.
+ *
+ * The fingerprint of an entity covers its mapping and the one of its superclasses (properties,
+ * their values and meta attributes, so changes made by a reveng.xml or a hbm.xml are seen),
+ * the {@link TableFingerprint} of the tables of its class hierarchy, of the tables related to
+ * those by a foreign key in either direction, and of the tables related to these in turn
+ * (e.g. the other side of a many-to-many table), together with the settings of the exporter.
+ * The contents of the templates used by the previous run are kept as well, if one of them
+ * changed no file is up to date.
+ */
+public class ArtifactFingerprints {
+
+	private static final Logger log = LoggerFactory.getLogger(ArtifactFingerprints.class);
+
+	/** the keys of the templates used and of their fingerprint, not valid file names */
+	private static final String TEMPLATES = ":templates";
+	private static final String TEMPLATES_FINGERPRINT = ":templates.fingerprint";
+
+	private final File file;
+	private final String settings;
+	private final TemplateHelper templateHelper;
+	private final boolean templatesUpToDate;
+	private final Properties previous = new Properties();
+	private final Properties current = new Properties();
+	private final Map<TableIdentifier, String> tableFingerprints = new HashMap<TableIdentifier, String>();
+	private final Map<TableIdentifier, Set<Table>> relatedTables = new HashMap<TableIdentifier, Set<Table>>();
+
+	/**
+	 * @param file where the fingerprints of previous runs are kept
+	 * @param metadata the model the files are generated from
+	 * @param settings a description of everything else the generated files depend on
+	 * @param templateHelper finds the templates and tells which ones were used
+	 */
+	public ArtifactFingerprints(File file, Metadata metadata, String settings, TemplateHelper templateHelper) {
+		this.file = file;
+		this.settings = settings;
+		this.templateHelper = templateHelper;
+		load();
+		String templates = previous.getProperty(TEMPLATES);
+		templatesUpToDate = templates!=null 
+				&& fingerprintTemplates(split(templates)).equals(previous.getProperty(TEMPLATES_FINGERPRINT));
+		if(!templatesUpToDate && !previous.isEmpty()) {
+			log.debug("Regenerating all files of " + file + " as the templates changed");
+		}
+		for (Table table : metadata.collectTableMappings()) {
+			tableFingerprints.put(TableIdentifier.create(table), TableFingerprint.compute(table));
+			Iterator<?> foreignKeys = table.getForeignKeyIterator();
+			while (foreignKeys.hasNext()) {
+				Table referenced = ((ForeignKey) foreignKeys.next()).getReferencedTable();
+				if(referenced!=null) {
+					related(table).add(referenced);
+					related(referenced).add(table);
+				}
+			}
+		}
+	}
+
+	public String fingerprint(PersistentClass persistentClass) {
+		Set<Table> tables = new HashSet<Table>();
+		for (PersistentClass clazz = persistentClass; clazz!=null; clazz = clazz.getSuperclass()) {
+			tables.add(clazz.getTable());
+		}
+		Iterator<?> subclasses = persistentClass.getSubclassIterator();
+		while (subclasses.hasNext()) {
+			tables.add(((PersistentClass) subclasses.next()).getTable());
+		}
+		for (int depth = 0; depth < 2; depth++) {
+			for (Table table : new ArrayList<Table>(tables)) {
+				tables.addAll(related(table));
+			}
+		}
+		List<String> parts = new ArrayList<String>();
+		for (Table table : tables) {
+			TableIdentifier identifier = TableIdentifier.create(table);
+			String fingerprint = tableFingerprints.get(identifier);
+			parts.add(identifier + "=" + (fingerprint==null ? TableFingerprint.compute(table) : fingerprint));
+		}
+		Collections.sort(parts);
+		StringBuffer buf = new StringBuffer(settings);
+		buf.append('\n').append(persistentClass.getEntityName()).append('\n');
+		for (PersistentClass clazz = persistentClass; clazz!=null; clazz = clazz.getSuperclass()) {
+			describe(buf, clazz);
+		}
+		for (String part : parts) {
+			buf.append(part).append('\n');
+		}
+		return TableFingerprint.digest(buf.toString());
+	}
+
+	/**
+	 * @return true if the target exists and was generated from the same fingerprint and templates by a previous run
+	 */
+	public boolean isUpToDate(String filename, String fingerprint, File target) {
+		return templatesUpToDate && target.isFile() && fingerprint.equals(previous.getProperty(filename));
+	}
+
+	public void record(String filename, String fingerprint) {
+		current.setProperty(filename, fingerprint);
+	}
+
+	/**
+	 * Stores the recorded fingerprints, keeping those of files not generated by this run.
+	 * Failures are logged, as the worst outcome is a full regeneration by the next run.
+	 */
+	public void store() {
+		Properties result = new Properties();
+		result.putAll(previous);
+		result.putAll(current);
+		// the files of the previous run kept are still built from the templates it used
+		Set<String> templates = templateHelper.getUsedTemplates();
+		if(templatesUpToDate) {
+			templates.addAll(split(previous.getProperty(TEMPLATES)));
+		}
+		result.setProperty(TEMPLATES, join(templates));
+		result.setProperty(TEMPLATES_FINGERPRINT, fingerprintTemplates(templates));
+		try {
+			File directory = file.getAbsoluteFile().getParentFile();
+			if(!directory.isDirectory() && !directory.mkdirs()) {
+				throw new IOException("Could not create directory " + directory);
+			}
+			OutputStream out = new FileOutputStream(file);
+			try {
+				result.store(out, "Generated by Hibernate Tools, used by incremental exports");
+			} finally {
+				out.close();
+			}
+		} catch (IOException e) {
+			log.warn("Could not write fingerprints " + file + " [" + e.toString() + "]");
+		}
+	}
+
+	private void load() {
+		if(!file.isFile()) {
+			return;
+		}
+		try {
+			InputStream in = new FileInputStream(file);
+			try {
+				previous.load(in);
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			log.warn("Ignoring unreadable fingerprints " + file + " [" + e.toString() + "]");
+			previous.clear();
+		}
+	}
+
+	private String fingerprintTemplates(Set<String> templates) {
+		StringBuffer buf = new StringBuffer();
+		for (String template : templates) {
+			buf.append(template).append('\n').append(templateHelper.getTemplateSource(template)).append('\n');
+		}
+		return TableFingerprint.digest(buf.toString());
+	}
+
+	private static Set<String> split(String names) {
+		Set<String> result = new TreeSet<String>();
+		for (String name : names.split(",")) {
+			if(name.length()>0) {
+				result.add(name);
+			}
+		}
+		return result;
+	}
+
+	private static String join(Set<String> names) {
+		StringBuffer buf = new StringBuffer();
+		for (String name : names) {
+			if(buf.length()>0) {
+				buf.append(',');
+			}
+			buf.append(name);
+		}
+		return buf.toString();
+	}
+
+	/** what the files of the class are generated from, besides its tables and the templates */
+	private static void describe(StringBuffer buf, PersistentClass clazz) {
+		buf.append("class ").append(clazz.getEntityName())
+			.append(' ').append(clazz.getClassName())
+			.append(' ').append(clazz.getProxyInterfaceName())
+			.append(' ').append(clazz.isAbstract())
+			.append(' ').append(clazz.isLazy())
+			.append(' ').append(clazz.isMutable())
+			.append(' ').append(clazz.getDiscriminatorValue())
+			.append(' ').append(clazz.getWhere())
+			.append(' ').append(clazz.getTable()==null ? null : TableIdentifier.create(clazz.getTable()))
+			.append(' ').append(clazz.getSuperclass()==null ? null : clazz.getSuperclass().getEntityName());
+		describe(buf, clazz.getMetaAttributes());
+		buf.append('\n');
+		if(clazz.getSuperclass()==null) {
+			if(clazz.getIdentifierProperty()!=null) {
+				buf.append("id ");
+				describe(buf, clazz.getIdentifierProperty());
+			}
+			else {
+				buf.append("id ");
+				describe(buf, clazz.getIdentifier());
+				buf.append('\n');
+			}
+			if(clazz.getIdentifierMapper()!=null) {
+				buf.append("id-mapper ");
+				describe(buf, clazz.getIdentifierMapper());
+				buf.append('\n');
+			}
+			if(clazz.getDiscriminator()!=null) {
+				buf.append("discriminator ");
+				describe(buf, clazz.getDiscriminator());
+				buf.append('\n');
+			}
+		}
+		Iterator<?> properties = clazz.getPropertyIterator();
+		while (properties.hasNext()) {
+			describe(buf, (Property) properties.next());
+		}
+		Iterator<?> joins = clazz.getJoinIterator();
+		while (joins.hasNext()) {
+			Join join = (Join) joins.next();
+			buf.append("join ").append(TableIdentifier.create(join.getTable())).append('\n');
+		}
+	}
+
+	private static void describe(StringBuffer buf, Property property) {
+		buf.append("property ").append(property.getName())
+			.append(' ').append(property.getPropertyAccessorName())
+			.append(' ').append(property.getCascade())
+			.append(' ').append(property.isInsertable())
+			.append(' ').append(property.isUpdateable())
+			.append(' ').append(property.isOptional())
+			.append(' ').append(property.isLazy())
+			.append(' ').append(property.isNaturalIdentifier());
+		describe(buf, property.getMetaAttributes());
+		buf.append(' ');
+		describe(buf, property.getValue());
+		buf.append('\n');
+	}
+
+	private static void describe(StringBuffer buf, Value value) {
+		if(value==null) {
+			buf.append("null");
+			return;
+		}
+		buf.append(value.getClass().getSimpleName()).append('[');
+		if(value instanceof SimpleValue) {
+			SimpleValue simpleValue = (SimpleValue) value;
+			buf.append(simpleValue.getTypeName())
+				.append(' ').append(strings(simpleValue.getTypeParameters()))
+				.append(' ').append(simpleValue.getIdentifierGeneratorStrategy())
+				.append(' ').append(strings(simpleValue.getIdentifierGeneratorProperties()));
+			Iterator<?> columns = simpleValue.getColumnIterator();
+			while (columns.hasNext()) {
+				buf.append(' ');
+				describe(buf, (Selectable) columns.next());
+			}
+		}
+		if(value instanceof ToOne) {
+			ToOne toOne = (ToOne) value;
+			buf.append(' ').append(toOne.getReferencedEntityName())
+				.append(' ').append(toOne.getReferencedPropertyName())
+				.append(' ').append(toOne.isLazy())
+				.append(' ').append(toOne.getFetchMode());
+		}
+		if(value instanceof ManyToOne) {
+			buf.append(' ').append(((ManyToOne) value).isLogicalOneToOne())
+				.append(' ').append(((ManyToOne) value).isIgnoreNotFound());
+		}
+		if(value instanceof OneToOne) {
+			buf.append(' ').append(((OneToOne) value).isConstrained())
+				.append(' ').append(((OneToOne) value).getForeignKeyType());
+		}
+		if(value instanceof OneToMany) {
+			buf.append(' ').append(((OneToMany) value).getReferencedEntityName());
+		}
+		if(value instanceof Any) {
+			buf.append(' ').append(((Any) value).getIdentifierType())
+				.append(' ').append(((Any) value).getMetaType())
+				.append(' ').append(((Any) value).getMetaValues()==null ? null : new TreeMap<Object, Object>(((Any) value).getMetaValues()));
+		}
+		if(value instanceof Component) {
+			Component component = (Component) value;
+			buf.append(' ').append(component.getComponentClassName())
+				.append(' ').append(component.getParentProperty())
+				.append(' ').append(component.isEmbedded());
+			describe(buf, component.getMetaAttributes());
+			buf.append('\n');
+			Iterator<?> properties = component.getPropertyIterator();
+			while (properties.hasNext()) {
+				describe(buf, (Property) properties.next());
+			}
+		}
+		if(value instanceof Collection) {
+			Collection collection = (Collection) value;
+			buf.append(collection.getRole())
+				.append(' ').append(collection.getTypeName())
+				.append(' ').append(collection.isInverse())
+				.append(' ').append(collection.isLazy())
+				.append(' ').append(collection.isSorted())
+				.append(' ').append(collection.getComparatorClassName())
+				.append(' ').append(collection.getOrderBy())
+				.append(' ').append(collection.getWhere())
+				.append(' ').append(collection.getFetchMode())
+				.append(' ').append(collection.getCollectionTable()==null ? null : TableIdentifier.create(collection.getCollectionTable()))
+				.append(" key ");
+			describe(buf, collection.getKey());
+			buf.append(" element ");
+			describe(buf, collection.getElement());
+			if(value instanceof IndexedCollection) {
+				buf.append(" index ");
+				describe(buf, ((IndexedCollection) value).getIndex());
+			}
+			if(value instanceof IdentifierCollection) {
+				buf.append(" identifier ");
+				describe(buf, ((IdentifierCollection) value).getIdentifier());
+			}
+		}
+		buf.append(']');
+	}
+
+	private static void describe(StringBuffer buf, Selectable selectable) {
+		if(selectable instanceof Column) {
+			Column column = (Column) selectable;
+			buf.append(column.getName())
+				.append(' ').append(column.getSqlType())
+				.append(' ').append(column.getLength())
+				.append(' ').append(column.getPrecision())
+				.append(' ').append(column.getScale())
+				.append(' ').append(column.isNullable())
+				.append(' ').append(column.isUnique());
+		}
+		else {
+			buf.append(selectable.getText());
+		}
+	}
+
+	private static void describe(StringBuffer buf, Map<?, ?> metaAttributes) {
+		if(metaAttributes==null) {
+			return;
+		}
+		Map<String, Object> sorted = new TreeMap<String, Object>();
+		Iterator<?> entries = metaAttributes.entrySet().iterator();
+		while (entries.hasNext()) {
+			Map.Entry<?, ?> entry = (Map.Entry<?, ?>) entries.next();
+			Object metaAttribute = entry.getValue();
+			sorted.put(String.valueOf(entry.getKey()), metaAttribute instanceof MetaAttribute ? ((MetaAttribute) metaAttribute).getValues() : metaAttribute);
+		}
+		buf.append(" meta ").append(sorted);
+	}
+
+	/** only the string entries, others may be objects without a stable description */
+	private static Map<String, String> strings(Properties properties) {
+		Map<String, String> result = new TreeMap<String, String>();
+		if(properties!=null) {
+			for (String name : properties.stringPropertyNames()) {
+				result.put(name, properties.getProperty(name));
+			}
+		}
+		return result;
+	}
+
+	private Set<Table> related(Table table) {
+		TableIdentifier identifier = TableIdentifier.create(table);
+		Set<Table> result = relatedTables.get(identifier);
+		if(result==null) {
+			result = new HashSet<Table>();
+			relatedTables.put(identifier, result);
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,116 @@
+package org.hibernate.tool.hbm2x;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The list of files an exporter generated in its output directory, kept in that directory
+ * so the next run can delete the files it no longer generates, see {@link ExporterSettings#DELETE_STALE}.
+ * Only files listed by the previous run are ever deleted.
+ */
+public class ArtifactManifest {
+
+	private static final Logger log = LoggerFactory.getLogger(ArtifactManifest.class);
+
+	private final File file;
+	private final File directory;
+
+	/**
+	 * @param file where the list is kept
+	 * @param directory the output directory the listed paths are relative to
+	 */
+	public ArtifactManifest(File file, File directory) {
+		this.file = file;
+		this.directory = directory;
+	}
+
+	/**
+	 * Deletes the files listed by the previous run that are not among the generated files,
+	 * reports them to the collector and lists the generated files for the next run.
+	 */
+	public void update(List<File> generated, ArtifactCollector collector) {
+		Set<String> current = new LinkedHashSet<String>();
+		for (File generatedFile : generated) {
+			String path = relativePath(generatedFile);
+			if(path!=null) {
+				current.add(path);
+			}
+		}
+		for (String path : read()) {
+			if(!current.contains(path)) {
+				File stale = new File(directory, path);
+				if(stale.isFile() && stale.delete()) {
+					log.debug("Deleted " + stale + " as it is no longer generated");
+					collector.addDeletedFile(stale);
+				}
+			}
+		}
+		write(current);
+	}
+
+	private String relativePath(File generatedFile) {
+		Path root = directory.getAbsoluteFile().toPath().normalize();
+		Path path = generatedFile.getAbsoluteFile().toPath().normalize();
+		if(!path.startsWith(root) || path.equals(root)) {
+			return null;
+		}
+		return root.relativize(path).toString().replace(File.separatorChar, '/');
+	}
+
+	private Set<String> read() {
+		Set<String> result = new LinkedHashSet<String>();
+		if(!file.isFile()) {
+			return result;
+		}
+		try {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+			try {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					// never follow paths out of the output directory
+					if(line.length()>0 && !line.startsWith("#") && line.indexOf("..")<0) {
+						result.add(line);
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (IOException e) {
+			log.warn("Ignoring unreadable manifest " + file + " [" + e.toString() + "]");
+			result.clear();
+		}
+		return result;
+	}
+
+	private void write(Set<String> paths) {
+		try {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
+			try {
+				writer.write("# Generated by Hibernate Tools, lists the files deleted when no longer generated\n");
+				for (String path : paths) {
+					writer.write(path);
+					writer.write('\n');
+				}
+			} finally {
+				writer.close();
+			}
+		} catch (IOException e) {
+			log.warn("Could not write manifest " + file + " [" + e.toString() + "]");
+		}
+	}
+
+}
@@ -29,6 +29,7 @@ import org.hibernate.tool.hbm2x.pojo.EntityPOJOClass;
 import org.hibernate.tool.hbm2x.pojo.ImportContext;
 import org.hibernate.tool.hbm2x.pojo.NoopImportContext;
 import org.hibernate.tool.hbm2x.pojo.POJOClass;
+import org.hibernate.tool.hbm2x.pojo.POJOModel;
 import org.hibernate.tool.hbm2x.visitor.JavaTypeFromValueVisitor;
 import org.hibernate.type.BasicTypeRegistry;
 import org.hibernate.type.PrimitiveType;
@@ -48,10 +49,23 @@ public class Cfg2JavaTool {
 
 	private static final Logger log = LoggerFactory.getLogger( Cfg2JavaTool.class );	
 			
+	private POJOModel model;
+	
 	public Cfg2JavaTool() {
 
 	}
 
+	/**
+	 * @return the model the POJOClasses take their properties from, null if they derive them themselves
+	 */
+	public POJOModel getModel() {
+		return model;
+	}
+
+	public void setModel(POJOModel model) {
+		this.model = model;
+	}
+
 	public POJOClass getPOJOClass(Component comp) {		
 		return new ComponentPOJOClass(comp, this);
 	}
@@ -382,8 +396,8 @@ public class Cfg2JavaTool {
 		return ( value instanceof Component );
 	}	
 	
-	// TODO: should consult exporter/cfg2java tool for cached POJOEntities....or maybe not since they
-	// have their own state...
+	// the POJOClasses are not cached since they have their own state (the imports), 
+	// what is derived from the mapping is kept by the model
 	public Iterator<POJOClass> getPOJOIterator(
 			final Iterator<PersistentClass> persistentClasses) {
 		return new Iterator<POJOClass>() {		
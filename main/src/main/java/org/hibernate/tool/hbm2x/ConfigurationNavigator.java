@@ -10,7 +10,6 @@ import org.hibernate.mapping.Collection;
 import org.hibernate.mapping.Component;
 import org.hibernate.mapping.PersistentClass;
 import org.hibernate.mapping.Property;
-import org.hibernate.tool.hbm2x.pojo.ComponentPOJOClass;
 import org.hibernate.tool.hbm2x.pojo.POJOClass;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,6 +53,7 @@ public class ConfigurationNavigator {
 		}
 	}
 
+	@SuppressWarnings("unchecked")
 	private static void addComponent(Map<String, Component> components, Component comp) {
 		if(!comp.isDynamic()) {
 			Component existing = (Component) components.put(
@@ -65,9 +65,7 @@ public class ConfigurationNavigator {
 		} else {
 			log.debug("dynamic-component found. Ignoring it as a component, but will collect any embedded components.");
 		}	
-		collectComponents( 
-				components, 
-				new ComponentPOJOClass(comp, new Cfg2JavaTool()).getAllPropertiesIterator());		
+		collectComponents( components, comp.getPropertyIterator() );		
 	}
 	
 }
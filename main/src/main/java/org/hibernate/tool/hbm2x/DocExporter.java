@@ -4,11 +4,20 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.hibernate.HibernateException;
 import org.hibernate.boot.Metadata;
@@ -119,6 +128,21 @@ public class DocExporter extends AbstractExporter {
      */
     private static final String FTL_TABLES_TABLE = "doc/tables/table.ftl";
 
+    /**
+     * Formats dot renders each graph to.
+     */
+    private static final String[] GRAPH_FORMATS = { "png", "svg", "cmap" };
+
+    /**
+     * Number of nodes from which a graph is laid out by dot.largelayout, if set, instead of dot.
+     */
+    private static final String DEFAULT_DOT_MAX_NODES = "1000";
+
+    /**
+     * Seconds a dot conversion may take before it is stopped.
+     */
+    private static final String DEFAULT_DOT_TIMEOUT = "600";
+
     /**
      * Doc helper.
      */
@@ -129,7 +153,19 @@ public class DocExporter extends AbstractExporter {
      */
     private DocFileManager docFileManager;
     
+    /**
+     * Pool the pages are rendered on, null if they are rendered one after the other.
+     */
+    private ThreadPoolExecutor executor;
+    
+    private List<Future<?>> pending;
+    
 	public void doStart() throws ExporterException {
+        int threads = getRenderThreads();
+        if(threads>1) {
+            doStartConcurrently(threads);
+            return;
+        }
         generateCommmonAndAssets();
         
         boolean graphsGenerated = generateDot();
@@ -150,6 +186,49 @@ public class DocExporter extends AbstractExporter {
         generateEntitiesPackageDetailedInfo();
         
         
+    }
+
+    /**
+     * Renders each page as a task of its own, the pages are independent 
+     * except the two summaries, which show the graphs and wait for dot to be done.
+     */
+    private void doStartConcurrently(int threads) {
+        executor = createRenderExecutor(threads);
+        pending = new ArrayList<Future<?>>();
+        try {
+            final boolean[] graphsGenerated = new boolean[1];
+            Future<?> graphs = executor.submit(new Runnable() {
+                public void run() {
+                    graphsGenerated[0] = generateDot();
+                }
+            });
+            
+            generateCommmonAndAssets();
+            
+            generateTablesIndex();
+            generateTablesDetails();
+            generateTablesAllSchemasList();
+            generateTablesAllTablesList();
+            generateTablesSchemaTableList();
+            generateTablesSchemaDetailedInfo();
+            
+            generateEntitiesIndex();
+            generateEntitiesDetails();
+            generateEntitiesAllPackagesList();
+            generateEntitiesAllEntitiesList();
+            generateEntitiesPackageEntityList();
+            generateEntitiesPackageDetailedInfo();
+            
+            waitFor(Collections.<Future<?>>singletonList(graphs));
+            generateTablesSummary(graphsGenerated[0]);
+            generatePackageSummary(graphsGenerated[0]);
+            
+            waitFor(pending);
+        } finally {
+            executor.shutdownNow();
+            executor = null;
+            pending = null;
+        }
     }
 
 	private boolean generateDot() {
@@ -158,9 +237,12 @@ public class DocExporter extends AbstractExporter {
 		
 		if(StringHelper.isNotEmpty( cmd )) {
 			try {
+				// the graphs are collected on their own as the pages may be rendered meanwhile,
+				// they would be taken for files of the graph exporter otherwise
+				ArtifactCollector graphCollector = new ArtifactCollector();
 				GenericExporter exporter = new GenericExporter();
 				exporter.getProperties().putAll( getProperties() );
-				exporter.setArtifactCollector( getArtifactCollector() );
+				exporter.setArtifactCollector( graphCollector );
 				exporter.setMetadata(getMetadata());
 				exporter.setOutputDirectory(getOutputDirectory());
 				exporter.setTemplatePath( getTemplatePath() );
@@ -172,17 +254,21 @@ public class DocExporter extends AbstractExporter {
 				exporter.setTemplateName( "dot/tablegraph.dot.ftl" );
 				exporter.setFilePattern( "tables/tablegraph.dot" );
 				exporter.start();
+				getArtifactCollector().addAll( graphCollector );
 				
 				
 				File entityGraphDot = new File(getOutputDirectory(), "entities/entitygraph.dot");
-				dotToFile( cmd, entityGraphDot.toString(), new File(getOutputDirectory(), "entities/entitygraph.png").toString());
-				dotToFile( cmd, entityGraphDot.toString(), new File(getOutputDirectory(), "entities/entitygraph.svg").toString());
-				dotToFile( cmd, entityGraphDot.toString(), new File(getOutputDirectory(), "entities/entitygraph.cmap").toString());
-				
 				File tableGraphDot = new File(getOutputDirectory(), "tables/tablegraph.dot");
-				dotToFile( cmd, tableGraphDot.toString(), new File(getOutputDirectory(), "tables/tablegraph.png").toString());
-				dotToFile( cmd, tableGraphDot.toString(), new File(getOutputDirectory(), "tables/tablegraph.svg").toString());
-				dotToFile( cmd, tableGraphDot.toString(), new File(getOutputDirectory(), "tables/tablegraph.cmap").toString());
+				String entityLayout = getLayout("entity", getMetadata().getEntityBindings().size());
+				String tableLayout = getLayout("table", getMetadata().collectTableMappings().size());
+				
+				// each dot run is a process of its own, the six of them run side by side
+				List<Callable<Object>> conversions = new ArrayList<Callable<Object>>();
+				for (String format : GRAPH_FORMATS) {
+					conversions.add(dotTask(cmd, entityLayout, entityGraphDot, new File(getOutputDirectory(), "entities/entitygraph." + format)));
+					conversions.add(dotTask(cmd, tableLayout, tableGraphDot, new File(getOutputDirectory(), "tables/tablegraph." + format)));
+				}
+				runAll(conversions);
 			
 				return true;
 
@@ -204,57 +290,120 @@ public class DocExporter extends AbstractExporter {
 	public static final String OS_NAME = System.getProperty("os.name");    
     public static final boolean IS_LINUX = OS_NAME.startsWith("Linux");    
 	
-	private String escape(String fileName){
-		
-		// Linux does not need " " around file names
-		if (IS_LINUX){
-			return fileName;
+	/**
+	 * @return the layout engine to pass to dot for a graph of the given number of nodes, 
+	 * null to use dot itself, which is the case unless dot.largelayout is set (e.g. to sfdp)
+	 */
+	private String getLayout(String graph, int nodes) {
+		String layout = getProperties().getProperty("dot.largelayout");
+		if(StringHelper.isEmpty(layout)) {
+			return null;
 		}
-		
-		// Windows needs " " around file names; actually we do not 
-		// need it always, only when spaces are present;
-		// but it does not hurt to usem them always
-		return "\"" + fileName + "\"";
-		
+		long maxNodes = getDotSetting("dot.maxnodes", DEFAULT_DOT_MAX_NODES);
+		if(maxNodes<=0 || nodes<=maxNodes) {
+			return null;
+		}
+		log.info("Laying out the " + graph + " graph of " + nodes + " nodes with " + layout + " (more than dot.maxnodes=" + maxNodes + ")");
+		return layout;
+	}
+	
+	private Callable<Object> dotTask(final String dotExeFileName, final String layout, final File dotFile, final File outFile) {
+		return new Callable<Object>() {
+			public Object call() throws IOException {
+				dotToFile(dotExeFileName, layout, dotFile.toString(), outFile.toString());
+				return null;
+			}
+		};
 	}
 	
-	private void dotToFile(String dotExeFileName, String dotFileName, String outFileName) throws IOException {
+	private void runAll(List<Callable<Object>> tasks) throws IOException {
+		ExecutorService dotExecutor = Executors.newFixedThreadPool(Math.max(1, Math.min(tasks.size(), Runtime.getRuntime().availableProcessors())));
+		try {
+			List<Future<Object>> futures = dotExecutor.invokeAll(tasks);
+			for (Future<Object> future : futures) {
+				try {
+					future.get();
+				}
+				catch (ExecutionException e) {
+					if(e.getCause() instanceof IOException) {
+						throw (IOException) e.getCause();
+					}
+					throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new ExporterException(e.getCause());
+				}
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ExporterException("Interrupted while running dot", e);
+		}
+		finally {
+			dotExecutor.shutdownNow();
+		}
+	}
+	
+	private void dotToFile(String dotExeFileName, String layout, String dotFileName, String outFileName) throws IOException {
 
 		//
-		// dot.exe works by taking *.dot file and piping 
-		// results into another file, for example:
-		// d:\graphviz-1.12\bin\dot.exe -Tgif c:\temp\ManualDraw.dot > c:\temp\ManualDraw.gif
-		// so we follow that model here and read stdout until EOF
+		// dot.exe works by taking *.dot file and writing the result 
+		// into another file, for example:
+		// d:\graphviz-1.12\bin\dot.exe -Tgif c:\temp\ManualDraw.dot -o c:\temp\ManualDraw.gif
+		// its messages are collected in a temporary file, so dot never blocks on a full pipe
 		// 
-	
-		final String exeCmd = 
-			escape(dotExeFileName) + 
-			" -T" + getFormatForFile(outFileName) + " " + 
-			escape(dotFileName) +
-			" -o " + 
-			escape(outFileName);			
-	
-		Process p = Runtime.getRuntime().exec(exeCmd);
-		//p.getErrorStream().
+		
+		List<String> command = new ArrayList<String>();
+		command.add(dotExeFileName);
+		if(layout!=null) {
+			command.add("-K" + layout);
+		}
+		command.add("-T" + getFormatForFile(outFileName));
+		command.add(dotFileName);
+		command.add("-o");
+		command.add(outFileName);
+		
+		long timeout = getDotSetting("dot.timeout", DEFAULT_DOT_TIMEOUT);
+		File messages = File.createTempFile("hibernatetool-dot", ".log");
 		try {
-			log.debug( "Executing: " + exeCmd );
-//			 Get the input stream and read from it
-	        InputStream in = p.getErrorStream();
-	        int c;
-	        while ((c = in.read()) != -1) {
-	            System.out.print((char)c);
-	        }
-	        in.close();
-			int i = p.waitFor( );
-			if(i!=0) {
-				//TODO: dump system.err
-				log.error("Error " + i + " while executing: " + exeCmd);				
+			log.debug( "Executing: " + command );
+			Process p = new ProcessBuilder(command)
+					.redirectErrorStream(true)
+					.redirectOutput(messages)
+					.start();
+			try {
+				if(timeout>0 && !p.waitFor(timeout, TimeUnit.SECONDS)) {
+					p.destroyForcibly();
+					log.error("Timed out after " + timeout + " seconds (dot.timeout) while executing: " + command);
+					return;
+				}
+				int i = p.waitFor();
+				String output = new String(Files.readAllBytes(messages.toPath())).trim();
+				if(i!=0) {
+					log.error("Error " + i + " while executing: " + command + (output.length()>0 ? "\n" + output : ""));
+				}
+				else if(output.length()>0) {
+					log.warn(command + ": " + output);
+				}
+			}
+			catch (InterruptedException e) {
+				p.destroyForcibly();
+				Thread.currentThread().interrupt();
+				log.error("Interrupted while executing: " + command, e);
 			}
-		} catch(Exception ie){
-			log.error( "Error while executing: " + exeCmd, ie );
+		}
+		finally {
+			messages.delete();
 		}
 	}		
 
+	private long getDotSetting(String name, String defaultValue) {
+		String value = getProperties().getProperty(name, defaultValue);
+		try {
+			return Long.parseLong(value.trim());
+		}
+		catch (NumberFormatException e) {
+			throw new ExporterException("Invalid value for " + name + ": " + value, e);
+		}
+	}
+
 	private String getFormatForFile(String outFileName){
 		int idx = outFileName.lastIndexOf(".");
 		if (idx == -1 || idx == outFileName.length() - 1){
@@ -574,8 +723,8 @@ public class DocExporter extends AbstractExporter {
     }
 
     /**
-     * Generate two files per schema. One with a summary of the tables in the
-     * schema and another one with a list of tables.
+     * Generate a file per schema with a summary of the tables in the schema,
+     * the list of tables is generated by {@link #generateTablesSchemaTableList()}.
      */
     public void generateTablesSchemaDetailedInfo() {
         Iterator<String> schemas = docHelper.getSchemas().iterator();
@@ -590,17 +739,6 @@ public class DocExporter extends AbstractExporter {
 
             processTemplate(parameters, FTL_TABLES_SCHEMA_SUMMARY,
                     summaryDocFile.getFile() );
-
-            DocFile tableListDocFile = docFileManager.getSchemaSummaryDocFile(schemaName);
-
-            parameters = new HashMap<String, Object>();
-            parameters.put("docFile", tableListDocFile);
-            parameters.put("schema", schemaName);
-
-            processTemplate(parameters, FTL_TABLES_SCHEMA_SUMMARY,
-                    tableListDocFile.getFile() );
-            
-            //processTemplate( new HashMap(), templateName, outputFile );
         }
     }
 
@@ -611,11 +749,19 @@ public class DocExporter extends AbstractExporter {
      * @param templateName the template to use.
      * @param outputFile the output file.
      */
-    protected void processTemplate(Map<String, Object> parameters, String templateName,
-            File outputFile) {
-    	
-    	TemplateProducer producer = new TemplateProducer(getTemplateHelper(), getArtifactCollector() );
-    	producer.produce(parameters, templateName, outputFile, templateName);
+    protected void processTemplate(final Map<String, Object> parameters, final String templateName,
+            final File outputFile) {
+    	if(executor==null) {
+    		TemplateProducer producer = new TemplateProducer(getTemplateHelper(), getArtifactCollector() );
+    		producer.produce(parameters, templateName, outputFile, templateName);
+    		return;
+    	}
+    	pending.add(executor.submit(new Runnable() {
+    		public void run() {
+    			TemplateProducer producer = new TemplateProducer(getTemplateHelper(), getArtifactCollector(), true);
+    			producer.produce(parameters, templateName, outputFile, templateName);
+    		}
+    	}));
      }
 
     public String getName() {
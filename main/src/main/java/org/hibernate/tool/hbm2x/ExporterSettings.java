@@ -24,6 +24,48 @@ public interface ExporterSettings {
 	 */
 	public final String TEMPLATE_PATH = PREFIX_KEY + "template_path";
 	
+	/** 
+	 * the name of the charset the generated files are written in, the platform encoding if not set
+	 */
+	public final String ENCODING = PREFIX_KEY + "encoding";
+	
+	/** 
+	 * if true exporters only regenerate the files of entities whose mapping, tables or templates changed since the previous run 
+	 * and whose files still exist, see {@link ArtifactFingerprints}
+	 */
+	public final String INCREMENTAL = PREFIX_KEY + "incremental";
+	
+	/** 
+	 * if true exporters delete the files they generated in a previous run but no longer generate, 
+	 * see {@link ArtifactManifest}
+	 */
+	public final String DELETE_STALE = PREFIX_KEY + "delete_stale";
+	
+	/** 
+	 * number of threads an exporter may use to render the files of entities and components
+	 * or the pages of hbm2doc, 1 (the default) renders them one after the other
+	 */
+	public final String RENDER_THREADS = PREFIX_KEY + "render_threads";
+	
+	/** 
+	 * number of threads hbmlint may use to run its detectors, each thread walking the model once 
+	 * for its share of the detectors; 1 (the default) runs all of them in a single walk
+	 */
+	public final String LINT_THREADS = PREFIX_KEY + "lint_threads";
+	
+	/** 
+	 * format of the hbmlint report: text (the default), jsonl or sarif, 
+	 * the latter two are written while the detectors run
+	 */
+	public final String LINT_FORMAT = PREFIX_KEY + "lint_format";
+	
+	/** 
+	 * if true the time spent in each template is logged when an exporter is done, 
+	 * and the time spent reading the database when reverse engineering, 
+	 * see {@link org.hibernate.cfg.reveng.MetricsCollector}
+	 */
+	public final String METRICS = PREFIX_KEY + "metrics";
+	
 	
 	
 }
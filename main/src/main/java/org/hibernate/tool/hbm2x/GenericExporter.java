@@ -7,11 +7,16 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.TreeMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.mapping.Component;
+import org.hibernate.mapping.PersistentClass;
 import org.hibernate.tool.hbm2x.pojo.ComponentPOJOClass;
 import org.hibernate.tool.hbm2x.pojo.POJOClass;
+import org.hibernate.tool.hbm2x.pojo.POJOModel;
 
 
 public class GenericExporter extends AbstractExporter {
@@ -51,18 +56,9 @@ public class GenericExporter extends AbstractExporter {
 		modelIterators.put("component", new ModelIterator() {
 			
 			void process(GenericExporter ge) {
-				Map<String, Component> components = new HashMap<String, Component>();
-				
-				Iterator<?> iterator = 
-						ge.getCfg2JavaTool().getPOJOIterator(
-								ge.getMetadata().getEntityBindings().iterator());
+				Map<String, Component> components = POJOModel.getModel(ge.getMetadata()).getComponents();
 				Map<String, Object> additionalContext = new HashMap<String, Object>();
-				while ( iterator.hasNext() ) {					
-					POJOClass element = (POJOClass) iterator.next();
-					ConfigurationNavigator.collectComponents(components, element);											
-				}
-						
-				iterator = components.values().iterator();
+				Iterator<?> iterator = components.values().iterator();
 				while ( iterator.hasNext() ) {					
 					Component component = (Component) iterator.next();
 					ComponentPOJOClass element = new ComponentPOJOClass(component,ge.getCfg2JavaTool());
@@ -75,6 +71,9 @@ public class GenericExporter extends AbstractExporter {
 	private String templateName;
 	private String filePattern;
 	private String forEach;
+	private ArtifactFingerprints artifactFingerprints;
+	private ThreadPoolExecutor executor;
+	private List<Future<?>> pending;
 	
 	public String getTemplateName() {
 		return templateName;
@@ -121,11 +120,64 @@ public class GenericExporter extends AbstractExporter {
 			}
 		}
 
-		Iterator<ModelIterator> it = exporters.iterator();
-		while(it.hasNext()) {
-			ModelIterator mit = it.next();
-			mit.process( this );
+		if(isIncremental()) {
+			artifactFingerprints = new ArtifactFingerprints(getFingerprintsFile(), getMetadata(), getSettings(), getTemplateHelper());
+		}
+		int threads = getRenderThreads();
+		if(threads>1) {
+			executor = createRenderExecutor(threads);
+			pending = new ArrayList<Future<?>>();
 		}
+		try {
+			Iterator<ModelIterator> it = exporters.iterator();
+			while(it.hasNext()) {
+				ModelIterator mit = it.next();
+				mit.process( this );
+				if(pending!=null) {
+					waitFor(pending);
+					pending.clear();
+				}
+			}
+			if(artifactFingerprints!=null) {
+				artifactFingerprints.store();
+			}
+		} finally {
+			if(executor!=null) {
+				executor.shutdownNow();
+			}
+			executor = null;
+			pending = null;
+			artifactFingerprints = null;
+		}
+	}
+
+	protected boolean isIncremental() {
+		return "true".equalsIgnoreCase((String) getProperties().get(ExporterSettings.INCREMENTAL));
+	}
+
+	protected File getFingerprintsFile() {
+		return new File(getOutputDirectory(), getStateFilePrefix() + ".fingerprints");
+	}
+
+	protected String getStateFilePrefix() {
+		// several generic exporters with different templates may share the output directory 
+		return ".hibernatetool-" + templateName.replaceAll("[^A-Za-z0-9.-]", "_");
+	}
+
+	private String getSettings() {
+		StringBuffer buf = new StringBuffer();
+		buf.append(templateName).append('\n').append(filePattern).append('\n').append(forEach).append('\n');
+		Map<String, String> properties = new TreeMap<String, String>();
+		Iterator<Map.Entry<Object, Object>> entries = getProperties().entrySet().iterator();
+		while (entries.hasNext()) {
+			Map.Entry<Object, Object> entry = entries.next();
+			if(ExporterSettings.RENDER_THREADS.equals(entry.getKey())) {
+				continue;
+			}
+			properties.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+		}
+		buf.append(properties);
+		return buf.toString();
 	}
 
 	protected void exportComponent(Map<String, Object> additionalContext, POJOClass element) {
@@ -137,14 +189,46 @@ public class GenericExporter extends AbstractExporter {
 	}
 
 	protected void exportPOJO(Map<String, Object> additionalContext, POJOClass element) {
-		TemplateProducer producer = new TemplateProducer(getTemplateHelper(),getArtifactCollector());					
 		additionalContext.put("pojo", element);
 		additionalContext.put("clazz", element.getDecoratedObject());
 		String filename = resolveFilename( element );
 		if(filename.endsWith(".java") && filename.indexOf('$')>=0) {
 			log.warn("Filename for " + getClassNameForFile( element ) + " contains a $. Innerclass generation is not supported.");
 		}
-		producer.produce(additionalContext, getTemplateName(), new File(getOutputDirectory(),filename), templateName, element.toString());
+		final File target = new File(getOutputDirectory(),filename);
+		String fingerprint = null;
+		if(artifactFingerprints!=null && element.getDecoratedObject() instanceof PersistentClass) {
+			fingerprint = artifactFingerprints.fingerprint((PersistentClass) element.getDecoratedObject());
+			if(artifactFingerprints.isUpToDate(filename, fingerprint, target)) {
+				log.debug("Skipping " + filename + " as its tables did not change");
+				String fileType = target.getName();
+				getArtifactCollector().addUnchangedFile(target, fileType.substring(fileType.indexOf('.')+1));
+				return;
+			}
+		}
+		if(executor==null) {
+			TemplateProducer producer = new TemplateProducer(getTemplateHelper(),getArtifactCollector());					
+			producer.produce(additionalContext, getTemplateName(), target, templateName, element.toString());
+			if(fingerprint!=null) {
+				artifactFingerprints.record(filename, fingerprint);
+			}
+		} else {
+			// the additional context is reused for the next element, each file gets its own copy
+			final Map<String, Object> context = new HashMap<String, Object>(additionalContext);
+			final String identifier = element.toString();
+			final ArtifactFingerprints fingerprints = fingerprint==null ? null : artifactFingerprints;
+			final String file = filename;
+			final String hash = fingerprint;
+			pending.add(executor.submit(new Runnable() {
+				public void run() {
+					TemplateProducer producer = new TemplateProducer(getTemplateHelper(),getArtifactCollector(), true);
+					producer.produce(context, getTemplateName(), target, templateName, identifier);
+					if(fingerprints!=null) {
+						fingerprints.record(file, hash);
+					}
+				}
+			}));
+		}
 	}
 
 	protected String resolveFilename(POJOClass element) {
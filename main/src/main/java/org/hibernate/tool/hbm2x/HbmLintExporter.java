@@ -1,6 +1,18 @@
 package org.hibernate.tool.hbm2x;
 
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+
+import org.hibernate.internal.util.StringHelper;
 import org.hibernate.tool.hbmlint.HbmLint;
+import org.hibernate.tool.hbmlint.IssueWriter;
+import org.hibernate.tool.hbmlint.JsonLinesIssueWriter;
+import org.hibernate.tool.hbmlint.SarifIssueWriter;
 
 public class HbmLintExporter extends GenericExporter {
 
@@ -13,12 +25,79 @@ public class HbmLintExporter extends GenericExporter {
     	super.start();
     }
 	protected void setupContext() {
-		HbmLint hbmlint = HbmLint.createInstance();
-		hbmlint.analyze( getMetadata() );
-		getProperties().put("lintissues", hbmlint.getResults());
+		if(isStreamed()) {
+			// the issues are written by doStart()
+			getProperties().put("lintissues", new ArrayList<Object>());
+		} else {
+			HbmLint hbmlint = createHbmLint();
+			hbmlint.analyze( getMetadata() );
+			getProperties().put("lintissues", hbmlint.getResults());
+		}
 		super.setupContext();		
 	}
 	
+	protected void doStart() {
+		if(!isStreamed()) {
+			super.doStart();
+			return;
+		}
+		String format = getLintFormat();
+		File file = new File(getOutputDirectory(), "hbmlint-result." + format);
+		getTemplateHelper().ensureExistence(file);
+		try {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), getEncoding()));
+			IssueWriter issueWriter = null;
+			try {
+				issueWriter = "sarif".equals(format) ? new SarifIssueWriter(writer) : new JsonLinesIssueWriter(writer);
+				createHbmLint().analyze( getMetadata(), issueWriter );
+			} finally {
+				if(issueWriter!=null) {
+					issueWriter.close();
+				} else {
+					writer.close();
+				}
+			}
+			getArtifactCollector().addFile(file, format);
+		} catch (IOException e) {
+			throw new ExporterException("Could not write " + file, e);
+		}
+	}
+	
+	protected HbmLint createHbmLint() {
+		HbmLint hbmlint = HbmLint.createInstance();
+		hbmlint.setThreads( getLintThreads() );
+		return hbmlint;
+	}
+	
+	private boolean isStreamed() {
+		return !"text".equals(getLintFormat());
+	}
+	
+	protected String getLintFormat() {
+		String format = (String) getProperties().get(ExporterSettings.LINT_FORMAT);
+		if(StringHelper.isEmpty(format)) {
+			return "text";
+		}
+		format = format.trim().toLowerCase();
+		if(!"text".equals(format) && !"jsonl".equals(format) && !"sarif".equals(format)) {
+			throw new ExporterException("Invalid value for " + ExporterSettings.LINT_FORMAT + ": " + format);
+		}
+		return format;
+	}
+	
+	protected int getLintThreads() {
+		String threads = (String) getProperties().get(ExporterSettings.LINT_THREADS);
+		if(StringHelper.isEmpty(threads)) {
+			return 1;
+		}
+		try {
+			return Integer.parseInt(threads.trim());
+		}
+		catch (NumberFormatException e) {
+			throw new ExporterException("Invalid value for " + ExporterSettings.LINT_THREADS + ": " + threads, e);
+		}
+	}
+	
 	public String getName() {
 		return "hbmlint";
 	}
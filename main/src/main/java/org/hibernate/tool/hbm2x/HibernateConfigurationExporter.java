@@ -5,9 +5,11 @@
 package org.hibernate.tool.hbm2x;
 
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -52,12 +54,14 @@ public class HibernateConfigurationExporter extends AbstractExporter {
 	public void doStart() throws ExporterException {
 		PrintWriter pw = null;
 		File file = null;
+		StringWriter buffer = null;
 		try  {
         if(output==null) {
             file = new File(getOutputDirectory(), "hibernate.cfg.xml");
             getTemplateHelper().ensureExistence(file);
-			pw = new PrintWriter(new FileWriter(file) );
-			getArtifactCollector().addFile(file, "cfg.xml");
+            // formatted in memory, so the file is written once
+            buffer = new StringWriter();
+			pw = new PrintWriter(buffer);
         } 
         else {
             pw = new PrintWriter(output);
@@ -116,6 +120,17 @@ public class HibernateConfigurationExporter extends AbstractExporter {
 		}
 		pw.println("    </session-factory>\r\n" + 
 				"</hibernate-configuration>");
+		
+		if(file!=null) {
+			pw.flush();
+			Writer writer = new OutputStreamWriter(new FileOutputStream(file), getEncoding());
+			try {
+				writer.write(XMLPrettyPrinter.prettyFormat(buffer.toString()));
+			} finally {
+				writer.close();
+			}
+			getArtifactCollector().addFormattedFile(file, "cfg.xml");
+		}
 				
 		} 
 		
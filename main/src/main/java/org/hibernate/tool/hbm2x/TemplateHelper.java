@@ -7,15 +7,23 @@ package org.hibernate.tool.hbm2x;
 
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.Writer;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
+import org.hibernate.cfg.reveng.MetricsListener;
 import org.hibernate.tool.Version;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,13 +34,17 @@ import freemarker.cache.MultiTemplateLoader;
 import freemarker.cache.TemplateLoader;
 import freemarker.ext.beans.BeansWrapperBuilder;
 import freemarker.template.Configuration;
+import freemarker.template.ObjectWrapper;
 import freemarker.template.SimpleDate;
 import freemarker.template.SimpleHash;
 import freemarker.template.Template;
 import freemarker.template.TemplateDateModel;
 import freemarker.template.TemplateException;
+import freemarker.template.TemplateHashModel;
 import freemarker.template.TemplateModel;
 import freemarker.template.TemplateModelException;
+import freemarker.template.TemplateModelIterator;
+import freemarker.template.TemplateScalarModel;
 
 
 /**
@@ -49,10 +61,18 @@ public class TemplateHelper {
 	
     private String templatePrefix;
 	private File outputDirectory;
+	private Charset encoding = Charset.defaultCharset();
 
 	protected Configuration freeMarkerEngine;
 
 	protected SimpleHash context;
+	
+	private Map<String, TemplateModel> sharedContext;
+	
+	private MetricsListener metrics;
+	private String exporterName;
+	
+	private final Set<String> usedTemplates = Collections.synchronizedSet(new TreeSet<String>());
 
 	public TemplateHelper() {
 		
@@ -81,7 +101,7 @@ public class TemplateHelper {
 		}
         loaders.add(new ClassTemplateLoader(this.getClass(),"/")); // the template names are like pojo/Somewhere so have to be a rooted classpathloader
         
-        freeMarkerEngine.setTemplateLoader(new MultiTemplateLoader((TemplateLoader[]) loaders.toArray(new TemplateLoader[loaders.size()])));
+        freeMarkerEngine.setTemplateLoader(new RecordingTemplateLoader(new MultiTemplateLoader((TemplateLoader[]) loaders.toArray(new TemplateLoader[loaders.size()]))));
         
     }
     
@@ -91,7 +111,7 @@ public class TemplateHelper {
     	public void createFile(String content, String fileName) {
     		Writer fw = null;
     		try {
-    		fw = new BufferedWriter(new FileWriter(new File(getOutputDirectory(), fileName)));
+    		fw = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(new File(getOutputDirectory(), fileName)), getEncoding()));
     		fw.write(content);
     		} catch(IOException io) {
     			throw new ExporterException("Problem when writing to " + fileName, io);
@@ -108,9 +128,29 @@ public class TemplateHelper {
     	}
     }
     
+    /**
+     * @param metrics told the time spent processing each template, or null
+     * @param exporterName the name the times are reported for
+     */
+    public void setMetricsListener(MetricsListener metrics, String exporterName) {
+    	this.metrics = metrics;
+    	this.exporterName = exporterName;
+    }
+    
     public File getOutputDirectory() {
 		return outputDirectory;
 	}
+    
+    /**
+     * @return the encoding of the generated files, the platform encoding unless set otherwise
+     */
+    public Charset getEncoding() {
+    	return encoding;
+    }
+    
+    public void setEncoding(Charset encoding) {
+    	this.encoding = encoding;
+    }
 
 	
 	   
@@ -118,6 +158,7 @@ public class TemplateHelper {
     	log.trace("putInContext " + key + "=" + value);
         if(value == null) throw new IllegalStateException("value must not be null for " + key);
         Object replaced = internalPutInContext(key,value);
+        resetSharedContext();
         if(replaced!=null) {
         	log.warn( "Overwriting " + replaced + " when setting " + key + " to " + value + ".");
         }
@@ -126,6 +167,7 @@ public class TemplateHelper {
 	public void removeFromContext(String key, Object expected) {
     	log.trace("removeFromContext " + key + "=" + expected);
         Object replaced = internalRemoveFromContext(key);
+        resetSharedContext();
         if(replaced==null) throw new IllegalStateException(key + " did not exist in template context.");
         /*if(replaced!=expected) { //FREEMARKER-TODO: how can i validate this ? or maybe not needed to validate since mutation is considered bad ?
         	throw new IllegalStateException("expected " + key + " to be bound to " + expected + " but was to " + replaced);
@@ -139,7 +181,7 @@ public class TemplateHelper {
     		throw new ExporterException("The path: " + dir.getAbsolutePath() + " exists, but is not a directory");
     	} 	// else make the directory and any non-existent parent directories
     	else if ( !dir.exists() ) {
-    		if ( !dir.mkdirs() ) {
+    		if ( !dir.mkdirs() && !dir.isDirectory() ) { // another thread may have created it in the meantime
     			if(dir.getName().equals(".")) { // Workaround that Linux/JVM apparently can't handle mkdirs of File's with current dir references.
     				if(dir.getParentFile().mkdirs()) {
     					return;
@@ -216,6 +258,7 @@ public class TemplateHelper {
     		rootContext = "Unknown context";
     	}
     	
+    	long start = metrics == null ? 0 : System.nanoTime();
     	try {
     		Template template = freeMarkerEngine.getTemplate(templateName);
     		template.process(getContext(), output);            
@@ -229,9 +272,67 @@ public class TemplateHelper {
         catch (Exception e) {
         	throw new ExporterException("Error while processing " + rootContext + " with template " + templateName, e);
         }    	
+    	finally {
+    		if(metrics != null) {
+    			metrics.templateProcessed(exporterName, templateName, System.nanoTime() - start);
+    		}
+    	}
     }
         
     
+    /**
+     * Look up the template named templateName and print the content to the output, 
+     * processed against the additional context layered over a snapshot of the context.
+     * The context itself is not modified, so templates can be processed concurrently 
+     * as long as nothing is put in or removed from the context in the meantime.
+     */
+    public void processTemplate(String templateName, Writer output, String rootContext, Map<String, Object> additionalContext) {
+    	if(rootContext == null) {
+    		rootContext = "Unknown context";
+    	}
+    	
+    	long start = metrics == null ? 0 : System.nanoTime();
+    	try {
+    		Template template = freeMarkerEngine.getTemplate(templateName);
+    		template.process(new LayeredContext(getSharedContext(), additionalContext, getContext().getObjectWrapper()), output);
+    	}
+    	catch (IOException e) {
+    		throw new ExporterException("Error while processing " + rootContext + " with template " + templateName, e);
+    	}
+    	catch (TemplateException te) {        	
+    		throw new ExporterException("Error while processing " + rootContext + " with template " + templateName, te);
+    	}        
+    	catch (Exception e) {
+    		throw new ExporterException("Error while processing " + rootContext + " with template " + templateName, e);
+    	}
+    	finally {
+    		if(metrics != null) {
+    			metrics.templateProcessed(exporterName, templateName, System.nanoTime() - start);
+    		}
+    	}
+    }
+    
+    // SimpleHash wraps its values lazily on lookup and stores the result, so it can't be read concurrently 
+    private synchronized Map<String, TemplateModel> getSharedContext() throws TemplateModelException {
+    	if(sharedContext == null) {
+    		List<String> keys = new ArrayList<String>();
+    		TemplateModelIterator iterator = getContext().keys().iterator();
+    		while(iterator.hasNext()) {
+    			keys.add(((TemplateScalarModel) iterator.next()).getAsString());
+    		}
+    		Map<String, TemplateModel> result = new HashMap<String, TemplateModel>();
+    		for (String key : keys) {
+    			result.put(key, getContext().get(key));
+    		}
+    		sharedContext = result;
+    	}
+    	return sharedContext;
+    }
+    
+    private synchronized void resetSharedContext() {
+    	sharedContext = null;
+    }
+    
     /**
      * Check if the template exists. Tries to search with the templatePrefix first and then secondly without the template prefix.
      *  
@@ -254,6 +355,47 @@ public class TemplateHelper {
 		throw new ExporterException("Could not find template with name: " + name);
     }*/
     
+    /**
+     * @return the names of the templates found so far, including the ones included by others
+     */
+    public Set<String> getUsedTemplates() {
+    	synchronized (usedTemplates) {
+    		return new TreeSet<String>(usedTemplates);
+    	}
+    }
+    
+    /**
+     * @return the source of the template as found via the paths, null if there is no such template
+     */
+    public String getTemplateSource(String templateName) {
+    	TemplateLoader templateLoader = freeMarkerEngine.getTemplateLoader();
+    	try {
+    		Object source = templateLoader.findTemplateSource(templateName);
+    		if(source==null) {
+    			return null;
+    		}
+    		try {
+    			Reader reader = templateLoader.getReader(source, freeMarkerEngine.getDefaultEncoding());
+    			try {
+    				StringBuilder result = new StringBuilder();
+    				char[] buffer = new char[4096];
+    				int read;
+    				while((read = reader.read(buffer))!=-1) {
+    					result.append(buffer, 0, read);
+    				}
+    				return result.toString();
+    			} finally {
+    				reader.close();
+    			}
+    		} finally {
+    			templateLoader.closeTemplateSource(source);
+    		}
+    	}
+    	catch (IOException e) {
+    		throw new ExporterException("Reading template " + templateName + " failed", e);
+    	}
+    }
+    
     public boolean templateExists(String templateName) {
     	TemplateLoader templateLoader = freeMarkerEngine.getTemplateLoader();
     	
@@ -265,4 +407,72 @@ public class TemplateHelper {
 		}
     }
 
+    /**
+     * Remembers the names of the templates found, so it is known which ones the output depends on.
+     */
+    private class RecordingTemplateLoader implements TemplateLoader {
+    	
+    	private final TemplateLoader delegate;
+    	
+    	RecordingTemplateLoader(TemplateLoader delegate) {
+    		this.delegate = delegate;
+    	}
+    	
+    	public Object findTemplateSource(String name) throws IOException {
+    		Object source = delegate.findTemplateSource(name);
+    		if(source!=null) {
+    			usedTemplates.add(name);
+    		}
+    		return source;
+    	}
+    	
+    	public long getLastModified(Object templateSource) {
+    		return delegate.getLastModified(templateSource);
+    	}
+    	
+    	public Reader getReader(Object templateSource, String encoding) throws IOException {
+    		return delegate.getReader(templateSource, encoding);
+    	}
+    	
+    	public void closeTemplateSource(Object templateSource) throws IOException {
+    		delegate.closeTemplateSource(templateSource);
+    	}
+    }
+    
+    /**
+     * The data model of a single template run: the additional context of the run over the shared context.
+     */
+    private static class LayeredContext implements TemplateHashModel {
+    	
+    	private final Map<String, TemplateModel> shared;
+    	private final Map<String, Object> additional;
+    	private final ObjectWrapper wrapper;
+    	private final Map<String, TemplateModel> wrapped = new HashMap<String, TemplateModel>();
+    	
+    	LayeredContext(Map<String, TemplateModel> shared, Map<String, Object> additional, ObjectWrapper wrapper) {
+    		this.shared = shared;
+    		this.additional = additional;
+    		this.wrapper = wrapper;
+    	}
+    	
+    	public TemplateModel get(String key) throws TemplateModelException {
+    		if("ctx".equals(key)) {
+    			return this;
+    		}
+    		if(additional.containsKey(key)) {
+    			TemplateModel model = wrapped.get(key);
+    			if(model == null) {
+    				model = wrapper.wrap(additional.get(key));
+    				wrapped.put(key, model);
+    			}
+    			return model;
+    		}
+    		return shared.get(key);
+    	}
+    	
+    	public boolean isEmpty() {
+    		return additional.isEmpty() && shared.isEmpty();
+    	}
+    }
+
 }
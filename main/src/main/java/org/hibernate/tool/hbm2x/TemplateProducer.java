@@ -1,13 +1,22 @@
 package org.hibernate.tool.hbm2x;
 
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,64 +25,164 @@ import org.slf4j.LoggerFactory;
 public class TemplateProducer {
 
 	private static final Logger log = LoggerFactory.getLogger(TemplateProducer.class);
+	private static final Pattern GENERATED = Pattern.compile("Generated .* by Hibernate Tools");
 	private final TemplateHelper th;
 	private ArtifactCollector ac;
+	private final boolean isolatedContext;
 	
 	public TemplateProducer(TemplateHelper th, ArtifactCollector ac) {
+		this(th, ac, false);
+	}
+	
+	/**
+	 * @param isolatedContext if true the additional context is layered over the context of the 
+	 * template helper instead of being put in it, so several producers can share the helper concurrently
+	 */
+	public TemplateProducer(TemplateHelper th, ArtifactCollector ac, boolean isolatedContext) {
 		this.th = th;
 		this.ac = ac;
+		this.isolatedContext = isolatedContext;
 	}
 	
 	public void produce(Map<String,Object> additionalContext, String templateName, File destination, String identifier, String fileType, String rootContext) {
 		
-		String tempResult = produceToString( additionalContext, templateName, rootContext );
-		
-		if(tempResult.trim().length()==0) {
-			log.warn("Generated output is empty. Skipped creation for file " + destination);
-			return;
-		}
-		FileWriter fileWriter = null;
+		// the output is streamed to a temporary file next to the destination, which replaces 
+		// the destination only if the template produced something 
+		ContentDetectingWriter writer = new ContentDetectingWriter(destination);
+		boolean moved = false;
 		try {
-			
-			th.ensureExistence( destination );    
-	     
-			ac.addFile(destination, fileType);
+			try {
+				if(ArtifactCollector.isFormattedType(fileType)) {
+					// formatted in memory, so the file is written once
+					StringWriter xml = new StringWriter();
+					process( additionalContext, templateName, xml, rootContext );
+					if(xml.toString().trim().length()>0) {
+						writer.write(format(xml.toString(), destination));
+					}
+				} else {
+					process( additionalContext, templateName, writer, rootContext );
+				}
+			} finally {
+				writer.close();
+			}
+			if(!writer.hasContent()) {
+				log.warn("Generated output is empty. Skipped creation for file " + destination);
+				return;
+			}
+			File temp = writer.getFile();
+			if(hasSameContent(temp, destination)) {
+				// leaving the file alone keeps its timestamp, so it is not compiled again
+				ac.addUnchangedFile(destination, fileType);
+				log.debug("Leaving " + destination.getAbsolutePath() + " unchanged for " + identifier );
+				return;
+			}
+			ac.addFormattedFile(destination, fileType);
 			log.debug("Writing " + identifier + " to " + destination.getAbsolutePath() );
-			fileWriter = new FileWriter(destination);
-            fileWriter.write(tempResult);			
+			try {
+				Files.move(temp.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			moved = true;
 		} 
-		catch (Exception e) {
+		catch (IOException e) {
 		    throw new ExporterException("Error while writing result to file", e);	
 		} finally {
-			if(fileWriter!=null) {
-				try {
-					fileWriter.flush();
-					fileWriter.close();
-				}
-				catch (IOException e) {
-					log.warn("Exception while flushing/closing " + destination,e);
-				}				
+			if(!moved && writer.getFile()!=null) {
+				writer.getFile().delete();
 			}
 		}
 		
 	}
 
+	/**
+	 * Compares the files line by line, line terminators included, so a file only differing in its 
+	 * line endings or in its final newline is rewritten. The generation timestamp is masked in both 
+	 * files as the timestamp alone does not make the file change.
+	 */
+	private boolean hasSameContent(File generated, File existing) throws IOException {
+		if(!existing.isFile()) {
+			return false;
+		}
+		BufferedReader left = new BufferedReader(new InputStreamReader(new FileInputStream(generated), th.getEncoding()));
+		try {
+			BufferedReader right = new BufferedReader(new InputStreamReader(new FileInputStream(existing), th.getEncoding()));
+			try {
+				StringBuilder line = new StringBuilder();
+				StringBuilder other = new StringBuilder();
+				while (true) {
+					boolean more = readLine(left, line);
+					boolean otherMore = readLine(right, other);
+					if(!more || !otherMore) {
+						return more==otherMore;
+					}
+					if(!maskGenerated(line).equals(maskGenerated(other))) {
+						return false;
+					}
+				}
+			} finally {
+				right.close();
+			}
+		} finally {
+			left.close();
+		}
+	}
+
+	/**
+	 * Reads the next line including its terminator, \n, \r\n or \r, into the buffer.
+	 * @return false if the end of the stream was reached before any character
+	 */
+	private static boolean readLine(BufferedReader reader, StringBuilder line) throws IOException {
+		line.setLength(0);
+		int c;
+		while ((c = reader.read()) != -1) {
+			line.append((char) c);
+			if(c=='\n') {
+				break;
+			}
+			if(c=='\r') {
+				reader.mark(1);
+				if(reader.read()=='\n') {
+					line.append('\n');
+				} else {
+					reader.reset();
+				}
+				break;
+			}
+		}
+		return line.length()>0;
+	}
 
-	private String produceToString(Map<String,Object> additionalContext, String templateName, String rootContext) {
-		Map<String,Object> contextForFirstPass = additionalContext;
-		putInContext( th, contextForFirstPass );		
-		StringWriter tempWriter = new StringWriter();
-		BufferedWriter bw = new BufferedWriter(tempWriter);
-		// First run - writes to in-memory string
-		th.processTemplate(templateName, bw, rootContext);
-		removeFromContext( th, contextForFirstPass );
+	private static String maskGenerated(CharSequence line) {
+		return GENERATED.matcher(line).replaceFirst("Generated by Hibernate Tools");
+	}
+
+	private String format(String xml, File destination) {
 		try {
-			bw.flush();
+			return XMLPrettyPrinter.prettyFormat(xml);
+		}
+		catch (RuntimeException e) {
+			throw new ExporterException("Could not format XML file: " + destination, e);
+		}
+	}
+
+	private File createTempFile(File destination) {
+		try {
+			return File.createTempFile(".hibernatetool", ".tmp", destination.getAbsoluteFile().getParentFile());
 		}
 		catch (IOException e) {
-			throw new RuntimeException("Error while flushing to string",e);
+			throw new ExporterException("Could not create temporary file for " + destination, e);
+		}
+	}
+
+	private void process(Map<String,Object> additionalContext, String templateName, Writer writer, String rootContext) {
+		if(isolatedContext) {
+			th.processTemplate(templateName, writer, rootContext, additionalContext);
+			return;
 		}
-		return tempWriter.toString();
+		putInContext( th, additionalContext );		
+		th.processTemplate(templateName, writer, rootContext);
+		removeFromContext( th, additionalContext );
 	}
 
 	private void removeFromContext(TemplateHelper templateHelper, Map<String,Object> context) {
@@ -103,4 +212,67 @@ public class TemplateProducer {
 		fileType = fileType.substring(fileType.indexOf('.')+1);
 		produce(additionalContext, templateName, outputFile, identifier, fileType, rootContext);
 	}	
+	/**
+	 * Tells whether anything but whitespace, in the sense of {@link String#trim()}, was written.
+	 * The temporary file, and the directory of the destination, are only created once there is content,
+	 * the whitespace before it is held until then.
+	 */
+	private class ContentDetectingWriter extends Writer {
+		
+		private final File destination;
+		private final StringBuilder whitespace = new StringBuilder();
+		private File file;
+		private Writer out;
+		
+		ContentDetectingWriter(File destination) {
+			this.destination = destination;
+		}
+		
+		boolean hasContent() {
+			return out!=null;
+		}
+		
+		/**
+		 * @return the temporary file written, null if there was no content
+		 */
+		File getFile() {
+			return file;
+		}
+		
+		public void write(char[] cbuf, int off, int len) throws IOException {
+			if(out==null) {
+				int start = off;
+				while(off < start + len && cbuf[off] <= ' ') {
+					off++;
+				}
+				len -= off - start;
+				whitespace.append(cbuf, start, off - start);
+				if(len==0) {
+					return;
+				}
+				open();
+			}
+			out.write(cbuf, off, len);
+		}
+		
+		private void open() throws IOException {
+			th.ensureExistence( destination );
+			file = createTempFile( destination );
+			out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), th.getEncoding()));
+			out.write(whitespace.toString());
+			whitespace.setLength(0);
+		}
+		
+		public void flush() throws IOException {
+			if(out!=null) {
+				out.flush();
+			}
+		}
+		
+		public void close() throws IOException {
+			if(out!=null) {
+				out.close();
+			}
+		}
+	}
 }
@@ -8,6 +8,7 @@ import org.hibernate.tool.hbm2x.xml.XMLPrettyPrinterStrategyFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
@@ -20,9 +21,13 @@ import java.nio.file.Paths;
 public final class XMLPrettyPrinter {
 
 	public static void prettyPrintFile(File file) throws IOException {
-		String input = readFile(file.getAbsolutePath(), Charset.defaultCharset());
+		prettyPrintFile(file, Charset.defaultCharset());
+	}
+
+	public static void prettyPrintFile(File file, Charset encoding) throws IOException {
+		String input = readFile(file.getAbsolutePath(), encoding);
 		String output = prettyFormat(input);
-		PrintWriter writer = new PrintWriter(file);
+		PrintWriter writer = new PrintWriter(new OutputStreamWriter(Files.newOutputStream(file.toPath()), encoding));
 		writer.print(output);
 		writer.flush();
 		writer.close();
@@ -33,7 +38,7 @@ public final class XMLPrettyPrinter {
 		return new String(encoded, encoding);
 	}
 
-	private static String prettyFormat(String input) {
+	static String prettyFormat(String input) {
 	    try {
 			return XMLPrettyPrinterStrategyFactory.newXMLPrettyPrinterStrategy().prettyPrint(input);
 	    } catch (Exception e) {
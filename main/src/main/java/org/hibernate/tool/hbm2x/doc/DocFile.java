@@ -91,38 +91,6 @@ public class DocFile {
         return parentFolder.getPathFolders();
     }
 
-    /**
-     * Return a path-like reference to this file starting on the specified
-     * folder. The folder must be a parent folder.
-     * 
-     * @param folder the folder.
-     * 
-     * @return a path-like reference string.
-     */
-    private String buildRefFromFolder(DocFolder folder) {
-
-        StringBuffer result = new StringBuffer();
-
-        List<DocFolder> folders = getPathFolders();
-
-        int index = folders.indexOf(folder);
-
-        if (index == -1) {
-            throw new IllegalArgumentException(
-                    "The specified folder is not on this file's path: "
-                            + folder);
-        }
-
-        for (index++; index < folders.size(); index++) {
-            DocFolder f = (DocFolder) folders.get(index);
-            result.append(f.getName() + '/');
-        }
-
-        result.append(getName() );
-
-        return result.toString();
-    }
-
     /**
      * Return a path-like reference to the specified file.
      * 
@@ -131,25 +99,7 @@ public class DocFile {
      * @return a path-like reference string.
      */
     public String buildRefTo(DocFile target) {
-
-        List<DocFolder> tgtFileFolders = target.getPathFolders();
-
-        StringBuffer ref = new StringBuffer();
-
-        DocFolder localFolder = this.parentFolder;
-        while (localFolder != null) {
-            if (tgtFileFolders.contains(localFolder) ) {
-                ref.append(target.buildRefFromFolder(localFolder) );
-                String result = ref.toString();
-                return result;
-            } 
-            else {
-                ref.append("../");
-                localFolder = localFolder.getParent();
-            }
-        }
-
-        throw new IllegalArgumentException("No parent folder in common");
+        return parentFolder.buildRefTo(target.parentFolder) + target.getName();
     }
 
     /**
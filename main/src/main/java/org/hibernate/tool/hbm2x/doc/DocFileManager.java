@@ -112,6 +112,12 @@ public class DocFileManager {
      */
     private Map<POJOClass, DocFile> entityDocFiles = new HashMap<POJOClass, DocFile>();
 
+    /**
+     * Map with the DocFile for classes keyed by their qualified declaration name, 
+     * for the POJOClass objects created on the fly.
+     */
+    private Map<String, DocFile> entityDocFilesByDeclarationName = new HashMap<String, DocFile>();
+
     /**
      * Map with the schema summary DocFiles keyed by Schema FQN.
      */
@@ -209,6 +215,9 @@ public class DocFileManager {
         		classFileName = classFileName + ".html";
         		DocFile classDocFile = new DocFile(classFileName, packageFolder);        		
         		entityDocFiles.put(pc, classDocFile);
+        		if(!entityDocFilesByDeclarationName.containsKey(pc.getQualifiedDeclarationName() ) ) {
+        			entityDocFilesByDeclarationName.put(pc.getQualifiedDeclarationName(), classDocFile);
+        		}
         	}        	
         }
 
@@ -387,23 +396,8 @@ public class DocFileManager {
      */
     public DocFile getEntityDocFileByDeclarationName(POJOClass pc){
     	DocFile df = getEntityDocFile(pc);
-    	String pcQualifiedDeclarationName = pc.getQualifiedDeclarationName();
-    	String pojoClassQualifiedDeclarationName ;
-    	//TODO Can we implement equals method in BasicPOJO to avoid this loop?
     	if(df == null){
-    		Iterator<POJOClass> itr = entityDocFiles.keySet().iterator();
-    		while(itr.hasNext()){
-    			POJOClass pojoClass = itr.next();
-    			pojoClassQualifiedDeclarationName = pojoClass.getQualifiedDeclarationName();
-    			
-    			if( pcQualifiedDeclarationName.equals(pojoClassQualifiedDeclarationName )){
-    				df = entityDocFiles.get(pojoClass);
-    				break;
-    			}
-    		}
-    			
-    		
-    		
+    		df = entityDocFilesByDeclarationName.get(pc.getQualifiedDeclarationName() );
     	}
     	return df;
     }    
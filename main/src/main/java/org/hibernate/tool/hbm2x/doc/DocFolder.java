@@ -3,6 +3,8 @@ package org.hibernate.tool.hbm2x.doc;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents a documentation folder.
@@ -31,6 +33,11 @@ public class DocFolder {
      */
     private List<DocFolder> pathFolders = new ArrayList<DocFolder>();
 
+    /**
+     * The references from this folder to other folders, keyed by the target folder.
+     */
+    private Map<DocFolder, String> refs = new ConcurrentHashMap<DocFolder, String>();
+
     /**
      * Constructor for the root folder.
      * 
@@ -126,6 +133,48 @@ public class DocFolder {
         return pathFolders;
     }
 
+    /**
+     * Return a path-like reference from this folder to the specified folder,
+     * empty or ending with a slash. The reference is computed once per target,
+     * as all the pages in a folder refer to the same few folders.
+     * 
+     * @param target the target folder.
+     * 
+     * @return a path-like reference string.
+     */
+    public String buildRefTo(DocFolder target) {
+        String ref = refs.get(target);
+        if (ref == null) {
+            ref = computeRefTo(target);
+            refs.put(target, ref);
+        }
+        return ref;
+    }
+
+    private String computeRefTo(DocFolder target) {
+
+        List<DocFolder> tgtFolders = target.getPathFolders();
+
+        StringBuffer ref = new StringBuffer();
+
+        DocFolder localFolder = this;
+        while (localFolder != null) {
+            int index = tgtFolders.indexOf(localFolder);
+            if (index != -1) {
+                for (index++; index < tgtFolders.size(); index++) {
+                    ref.append(tgtFolders.get(index).getName() ).append('/');
+                }
+                return ref.toString();
+            } 
+            else {
+                ref.append("../");
+                localFolder = localFolder.getParent();
+            }
+        }
+
+        throw new IllegalArgumentException("No parent folder in common");
+    }
+
     /**
      * Return a String representation of this folder.
      * 
@@ -23,9 +23,9 @@ import org.hibernate.mapping.Table;
 import org.hibernate.mapping.Value;
 import org.hibernate.service.ServiceRegistry;
 import org.hibernate.tool.hbm2x.Cfg2JavaTool;
-import org.hibernate.tool.hbm2x.ConfigurationNavigator;
 import org.hibernate.tool.hbm2x.pojo.ComponentPOJOClass;
 import org.hibernate.tool.hbm2x.pojo.POJOClass;
+import org.hibernate.tool.hbm2x.pojo.POJOModel;
 import org.hibernate.type.Type;
 
 /**
@@ -189,14 +189,13 @@ public final class DocHelper {
 			}
 		}
 
-		Map<String, Component> components = new HashMap<String, Component>();
+		POJOModel model = POJOModel.getModel(metadata);
 
 		Iterator<PersistentClass> classesItr = metadata.getEntityBindings().iterator();
 		while (classesItr.hasNext()) {
 			PersistentClass clazz = classesItr.next();
 
 			POJOClass pojoClazz = cfg2JavaTool.getPOJOClass(clazz);
-			ConfigurationNavigator.collectComponents(components, pojoClazz);
 
 			this.processClass(pojoClazz);
 
@@ -213,7 +212,7 @@ public final class DocHelper {
 			}
 		}
 
-		Iterator<Component> iterator = components.values().iterator();
+		Iterator<Component> iterator = model.getComponents().values().iterator();
 		while (iterator.hasNext()) {
 			Component component = (Component) iterator.next();
 			ComponentPOJOClass element =
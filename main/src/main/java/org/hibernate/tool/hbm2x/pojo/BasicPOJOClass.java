@@ -232,9 +232,9 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 		}
 	}
 
-	private boolean usePropertyInEquals(Property property) {
-		boolean hasEqualsMetaAttribute = c2j.hasMetaAttribute(property, "use-in-equals");		
-		boolean useInEquals = c2j.getMetaAsBool( property, "use-in-equals" );
+	static boolean usePropertyInEquals(Property property) {
+		boolean hasEqualsMetaAttribute = property.getMetaAttribute( "use-in-equals" ) != null;		
+		boolean useInEquals = MetaAttributeHelper.getMetaAsBool( property.getMetaAttribute( "use-in-equals" ), false );
 		
 		if(property.isNaturalIdentifier()) {
 			if(hasEqualsMetaAttribute && !useInEquals) {
@@ -289,7 +289,22 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 		return false;
 	}
 
+	/**
+	 * @return the model to take the properties from, null if the properties have to be derived from 
+	 * {@link #getAllPropertiesIterator()} as a subclass may override it
+	 */
+	private POJOModel getStockModel() {
+		if ( getClass() == EntityPOJOClass.class || getClass() == ComponentPOJOClass.class ) {
+			return c2j.getModel();
+		}
+		return null;
+	}
+
 	public boolean needsEqualsHashCode() {
+		POJOModel model = getStockModel();
+		if ( model != null ) {
+			return !model.getEqualsHashCodeProperties( meta ).isEmpty();
+		}
 		Iterator<Property> iter = getAllPropertiesIterator();
 		return needsEqualsHashCode( iter );
 	}
@@ -475,7 +490,15 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 	}
 
 
+	static boolean usePropertyInToString(Property property) {
+		return MetaAttributeHelper.getMetaAsBool( property.getMetaAttribute( "use-in-tostring" ), false );
+	}
+
 	public Iterator<Property> getToStringPropertiesIterator() {
+		POJOModel model = getStockModel();
+		if ( model != null ) {
+			return model.getToStringProperties( meta ).iterator();
+		}
 		Iterator<Property> iter = getAllPropertiesIterator();
 		return getToStringPropertiesIterator( iter );
 	}
@@ -485,7 +508,7 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 
 		while ( iter.hasNext() ) {
 			Property element = (Property) iter.next();
-			if ( c2j.getMetaAsBool( element, "use-in-tostring" ) ) {
+			if ( usePropertyInToString( element ) ) {
 				properties.add( element );
 			}
 		}
@@ -494,6 +517,10 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 	}
 
 	public Iterator<Property> getEqualsHashCodePropertiesIterator() {
+		POJOModel model = getStockModel();
+		if ( model != null ) {
+			return model.getEqualsHashCodeProperties( meta ).iterator();
+		}
 		Iterator<Property> iter = getAllPropertiesIterator();
 		return getEqualsHashCodePropertiesIterator(iter);
 	}
@@ -512,6 +539,10 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 	}
 
 	public boolean needsToString() {
+		POJOModel model = getStockModel();
+		if ( model != null ) {
+			return !model.getToStringProperties( meta ).isEmpty();
+		}
 		Iterator<Property> iter = getAllPropertiesIterator();
 		return needsToString( iter );
 	}
@@ -519,7 +550,7 @@ abstract public class BasicPOJOClass implements POJOClass, MetaAttributeConstant
 	private boolean needsToString(Iterator<Property> iter) {
 		while ( iter.hasNext() ) {
 			Property element = (Property) iter.next();
-			if ( c2j.getMetaAsBool( element, "use-in-tostring" ) ) {
+			if ( usePropertyInToString( element ) ) {
 				return true;
 			}
 		}
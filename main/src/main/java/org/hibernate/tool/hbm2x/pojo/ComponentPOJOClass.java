@@ -75,6 +75,10 @@ public class ComponentPOJOClass extends BasicPOJOClass {
 	
 	@SuppressWarnings("unchecked")
 	public Iterator<Property> getAllPropertiesIterator() {
+		POJOModel model = c2j.getModel();
+		if ( model != null ) {
+			return model.getAllProperties( clazz ).iterator();
+		}
 		return clazz.getPropertyIterator();
 	}
 
@@ -125,8 +125,16 @@ public class EntityPOJOClass extends BasicPOJOClass {
 	}
 
 
-	@SuppressWarnings("unchecked")
 	public Iterator<Property> getAllPropertiesIterator(PersistentClass pc) {
+		POJOModel model = c2j.getModel();
+		if ( model != null ) {
+			return model.getAllProperties( pc ).iterator();
+		}
+		return collectAllProperties( pc );
+	}
+
+	@SuppressWarnings("unchecked")
+	static Iterator<Property> collectAllProperties(PersistentClass pc) {
 		List<Property> properties = new ArrayList<Property>();
 		List<Iterator<Property>> iterators = new ArrayList<Iterator<Property>>();
 		if ( pc.getSuperclass() == null ) {
@@ -0,0 +1,155 @@
+package org.hibernate.tool.hbm2x.pojo;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.mapping.Component;
+import org.hibernate.mapping.MetaAttributable;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.Property;
+import org.hibernate.tool.hbm2x.Cfg2JavaTool;
+import org.hibernate.tool.hbm2x.ConfigurationNavigator;
+
+/**
+ * What the generated classes of a {@link Metadata} are derived from: the properties of each entity and component,
+ * the ones used in equals/hashCode and toString, and the components found in the entities.
+ *
+ * There is one model per metadata, shared by all exporters of it, see {@link #getModel(Metadata)}.
+ * Each part is derived when first asked for, the mappings must not be changed afterwards.
+ * The {@link POJOClass} wrappers themselves are not kept as they collect the imports of the class rendered.
+ */
+public class POJOModel {
+
+	/** 
+	 * The models are only softly reachable from here, as the mappings they hold may refer to their metadata, 
+	 * which would otherwise never become weakly reachable. 
+	 */
+	private static final Map<Metadata, SoftReference<POJOModel>> MODELS = new WeakHashMap<Metadata, SoftReference<POJOModel>>();
+
+	/**
+	 * @return the model of the metadata, created on the first call and kept as long as the metadata is,
+	 * unless the memory is needed
+	 */
+	public static POJOModel getModel(Metadata metadata) {
+		synchronized (MODELS) {
+			SoftReference<POJOModel> reference = MODELS.get(metadata);
+			POJOModel model = reference==null ? null : reference.get();
+			if(model==null) {
+				model = new POJOModel(metadata.getEntityBindings());
+				MODELS.put(metadata, new SoftReference<POJOModel>(model));
+			}
+			return model;
+		}
+	}
+
+	/** the properties of an entity or component */
+	private static class Properties {
+
+		final List<Property> all;
+		final List<Property> toString;
+		final List<Property> equalsHashCode;
+
+		Properties(Iterator<Property> iterator) {
+			List<Property> allList = new ArrayList<Property>();
+			List<Property> toStringList = new ArrayList<Property>();
+			List<Property> equalsHashCodeList = new ArrayList<Property>();
+			while ( iterator.hasNext() ) {
+				Property property = iterator.next();
+				allList.add( property );
+				if ( BasicPOJOClass.usePropertyInToString( property ) ) {
+					toStringList.add( property );
+				}
+				if ( BasicPOJOClass.usePropertyInEquals( property ) ) {
+					equalsHashCodeList.add( property );
+				}
+			}
+			all = Collections.unmodifiableList( allList );
+			toString = Collections.unmodifiableList( toStringList );
+			equalsHashCode = Collections.unmodifiableList( equalsHashCodeList );
+		}
+	}
+
+	private final List<PersistentClass> entities;
+
+	/** keyed by the identity of the entity or component, as components are equal by their values */
+	private final Map<MetaAttributable, Properties> properties =
+			Collections.synchronizedMap( new IdentityHashMap<MetaAttributable, Properties>() );
+
+	private Map<String, Component> components;
+
+	private POJOModel(Collection<PersistentClass> entities) {
+		this.entities = new ArrayList<PersistentClass>( entities );
+	}
+
+	/**
+	 * @return the properties generated for the entity, as {@link EntityPOJOClass#getAllPropertiesIterator()}
+	 */
+	public List<Property> getAllProperties(PersistentClass clazz) {
+		return getProperties( clazz ).all;
+	}
+
+	/**
+	 * @return the properties generated for the component, as {@link ComponentPOJOClass#getAllPropertiesIterator()}
+	 */
+	public List<Property> getAllProperties(Component component) {
+		return getProperties( component ).all;
+	}
+
+	/**
+	 * @param owner an entity or component
+	 */
+	public List<Property> getToStringProperties(MetaAttributable owner) {
+		return getProperties( owner ).toString;
+	}
+
+	/**
+	 * @param owner an entity or component
+	 */
+	public List<Property> getEqualsHashCodeProperties(MetaAttributable owner) {
+		return getProperties( owner ).equalsHashCode;
+	}
+
+	/**
+	 * @return the components of the entities by class name, found as by {@link ConfigurationNavigator#collectComponents(Map, POJOClass)}
+	 */
+	public synchronized Map<String, Component> getComponents() {
+		if ( components==null ) {
+			Map<String, Component> result = new HashMap<String, Component>();
+			Cfg2JavaTool c2j = new Cfg2JavaTool();
+			c2j.setModel( this );
+			for ( PersistentClass clazz : entities ) {
+				ConfigurationNavigator.collectComponents( result, c2j.getPOJOClass( clazz ) );
+			}
+			components = Collections.unmodifiableMap( result );
+		}
+		return components;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Properties getProperties(MetaAttributable owner) {
+		Properties result = properties.get( owner );
+		if ( result==null ) {
+			if ( owner instanceof PersistentClass ) {
+				result = new Properties( EntityPOJOClass.collectAllProperties( (PersistentClass) owner ) );
+			}
+			else if ( owner instanceof Component ) {
+				result = new Properties( ( (Component) owner ).getPropertyIterator() );
+			}
+			else {
+				throw new IllegalArgumentException( "Neither an entity nor a component: " + owner );
+			}
+			properties.put( owner, result );
+		}
+		return result;
+	}
+
+}
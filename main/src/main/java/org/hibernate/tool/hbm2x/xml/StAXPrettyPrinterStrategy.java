@@ -0,0 +1,289 @@
+package org.hibernate.tool.hbm2x.xml;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLResolver;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+
+/**
+ * Pretty prints in a single pass over the events of a {@link XMLStreamReader}, without building a DOM.
+ * The output follows {@link TrAXPrettyPrinterStrategy}, except that attributes keep their order: 
+ * whitespace only text between elements is dropped,
+ * elements are indented by nesting depth, elements holding only text are kept on one line
+ * and the content of elements mixing text and elements is written as is.
+ * External DTDs are not loaded, so no default attributes are added.
+ * The factories are kept per thread, a strategy can be shared by threads.
+ */
+public class StAXPrettyPrinterStrategy implements XMLPrettyPrinterStrategy {
+
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    private static final ThreadLocal<XMLInputFactory> INPUT_FACTORY = new ThreadLocal<XMLInputFactory>() {
+        @Override
+        protected XMLInputFactory initialValue() {
+            final XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+            factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, Boolean.TRUE);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+            factory.setXMLResolver(new XMLResolver() {
+                public Object resolveEntity(String publicID, String systemID, String baseURI, String namespace) {
+                    return new ByteArrayInputStream(new byte[0]);
+                }
+            });
+            return factory;
+        }
+    };
+
+    private int indent = 4;
+    private boolean omitXmlDeclaration;
+
+    @Override
+    public String prettyPrint(String xml) throws Exception {
+        final XMLStreamReader reader = INPUT_FACTORY.get().createXMLStreamReader(new StringReader(xml));
+        try {
+            final Formatter formatter = new Formatter(xml.length() + xml.length() / 4);
+            while (true) {
+                formatter.handle(reader);
+                if (!reader.hasNext()) {
+                    break;
+                }
+                reader.next();
+            }
+            return formatter.toString();
+        } finally {
+            reader.close();
+        }
+    }
+
+    public int getIndent() {
+        return indent;
+    }
+
+    public void setIndent(int indent) {
+        this.indent = indent;
+    }
+
+    public boolean isOmitXmlDeclaration() {
+        return omitXmlDeclaration;
+    }
+
+    public void setOmitXmlDeclaration(boolean omitXmlDeclaration) {
+        this.omitXmlDeclaration = omitXmlDeclaration;
+    }
+
+    private class Formatter {
+
+        private final StringBuilder out;
+        private final StringBuilder text = new StringBuilder();
+
+        /** per open element whether its content mixes text and elements, which is then not indented */
+        private boolean[] mixed = new boolean[16];
+        /** per open element whether it has content other than text */
+        private boolean[] children = new boolean[16];
+        private int depth = 0;
+        /** the start tag of the current element is not closed yet, it becomes an empty element if nothing follows */
+        private boolean openTag = false;
+
+        Formatter(int capacity) {
+            out = new StringBuilder(capacity);
+        }
+
+        void handle(XMLStreamReader reader) throws XMLStreamException {
+            switch (reader.getEventType()) {
+                case XMLStreamConstants.START_DOCUMENT:
+                    if (!isOmitXmlDeclaration()) {
+                        out.append("<?xml version=\"")
+                                .append(reader.getVersion() == null ? "1.0" : reader.getVersion())
+                                .append("\" encoding=\"UTF-8\"");
+                        // like TrAX, which always declares it
+                        out.append(" standalone=\"").append(reader.standaloneSet() && reader.isStandalone() ? "yes" : "no").append('"');
+                        out.append("?>");
+                    }
+                    break;
+                case XMLStreamConstants.DTD:
+                    newLine(0);
+                    out.append(reader.getText());
+                    break;
+                case XMLStreamConstants.START_ELEMENT:
+                    startChild();
+                    out.append('<');
+                    appendName(reader.getPrefix(), reader.getLocalName());
+                    for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                        out.append(" xmlns");
+                        if (reader.getNamespacePrefix(i) != null && reader.getNamespacePrefix(i).length() > 0) {
+                            out.append(':').append(reader.getNamespacePrefix(i));
+                        }
+                        out.append("=\"");
+                        escape(reader.getNamespaceURI(i) == null ? "" : reader.getNamespaceURI(i), true);
+                        out.append('"');
+                    }
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        out.append(' ');
+                        appendName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i));
+                        out.append("=\"");
+                        escape(reader.getAttributeValue(i), true);
+                        out.append('"');
+                    }
+                    openTag = true;
+                    push();
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    if (!isBlank(text) || (mixed[depth] && text.length() > 0)) {
+                        closeTag();
+                        escape(text, false);
+                        mixed[depth] = true;
+                    }
+                    text.setLength(0);
+                    depth--;
+                    if (openTag) {
+                        out.append("/>");
+                        openTag = false;
+                    } else {
+                        if (!mixed[depth + 1] && children[depth + 1]) {
+                            newLine(depth);
+                        }
+                        out.append("</");
+                        appendName(reader.getPrefix(), reader.getLocalName());
+                        out.append('>');
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.SPACE:
+                    if (depth > 0) {
+                        text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    }
+                    break;
+                case XMLStreamConstants.CDATA:
+                    closeTag();
+                    flushText();
+                    mixed[depth] = true;
+                    out.append("<![CDATA[").append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength()).append("]]>");
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    startChild();
+                    out.append("<!--").append(reader.getText()).append("-->");
+                    break;
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    startChild();
+                    out.append("<?").append(reader.getPITarget());
+                    if (reader.getPIData() != null && reader.getPIData().length() > 0) {
+                        out.append(' ').append(reader.getPIData());
+                    }
+                    out.append("?>");
+                    break;
+                case XMLStreamConstants.END_DOCUMENT:
+                    out.append(LINE_SEPARATOR);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /** ends the text before a child of the current element and starts the child on a new line unless the content is mixed */
+        private void startChild() {
+            closeTag();
+            flushText();
+            if (depth > 0) {
+                children[depth] = true;
+            }
+            if (!mixed[depth]) {
+                newLine(depth);
+            }
+        }
+
+        private void closeTag() {
+            if (openTag) {
+                out.append('>');
+                openTag = false;
+            }
+        }
+
+        private void flushText() {
+            if (!isBlank(text)) {
+                mixed[depth] = true;
+            }
+            if (mixed[depth]) {
+                escape(text, false);
+            }
+            text.setLength(0);
+        }
+
+        private void push() {
+            depth++;
+            if (depth == mixed.length) {
+                final boolean[] newMixed = new boolean[depth * 2];
+                System.arraycopy(mixed, 0, newMixed, 0, depth);
+                mixed = newMixed;
+                final boolean[] newChildren = new boolean[depth * 2];
+                System.arraycopy(children, 0, newChildren, 0, depth);
+                children = newChildren;
+            }
+            mixed[depth] = false;
+            children[depth] = false;
+        }
+
+        private void newLine(int level) {
+            if (out.length() > 0) {
+                out.append(LINE_SEPARATOR);
+            }
+            for (int i = level * getIndent(); i > 0; i--) {
+                out.append(' ');
+            }
+        }
+
+        private void appendName(String prefix, String localName) {
+            if (prefix != null && prefix.length() > 0) {
+                out.append(prefix).append(':');
+            }
+            out.append(localName);
+        }
+
+        private void escape(CharSequence value, boolean attribute) {
+            for (int i = 0; i < value.length(); i++) {
+                final char c = value.charAt(i);
+                switch (c) {
+                    case '&':
+                        out.append("&amp;");
+                        break;
+                    case '<':
+                        out.append("&lt;");
+                        break;
+                    case '>':
+                        out.append("&gt;");
+                        break;
+                    case '"':
+                        out.append(attribute ? "&quot;" : "\"");
+                        break;
+                    case '\n':
+                        out.append(attribute ? "&#10;" : "\n");
+                        break;
+                    case '\r':
+                        out.append(attribute ? "&#13;" : "\r");
+                        break;
+                    case '\t':
+                        out.append(attribute ? "&#9;" : "\t");
+                        break;
+                    default:
+                        out.append(c);
+                }
+            }
+        }
+
+        private boolean isBlank(CharSequence value) {
+            for (int i = 0; i < value.length(); i++) {
+                if (!Character.isWhitespace(value.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return out.toString();
+        }
+    }
+}
@@ -5,6 +5,9 @@ public final class XMLPrettyPrinterStrategyFactory {
 
     private static final XMLPrettyPrinterStrategy DEFAULT_STRATEGY = new TrAXPrettyPrinterStrategy();
 
+    /** the class last named by the system property, looked up again only when the property changes */
+    private static volatile StrategyClass strategyClass;
+
     private XMLPrettyPrinterStrategyFactory() {
     }
 
@@ -13,14 +16,17 @@ public final class XMLPrettyPrinterStrategyFactory {
         return strategy == null ? DEFAULT_STRATEGY : strategy;
     }
 
-    @SuppressWarnings("unchecked")
     private static XMLPrettyPrinterStrategy loadFromSystemProperty() {
-        String strategyClass = System.getProperty(PROPERTY_STRATEGY_IMPL);
+        String strategyClassName = System.getProperty(PROPERTY_STRATEGY_IMPL);
 
-        if (strategyClass != null) {
+        if (strategyClassName != null) {
+            StrategyClass current = strategyClass;
+            if (current == null || !current.name.equals(strategyClassName)) {
+                current = new StrategyClass(strategyClassName);
+                strategyClass = current;
+            }
             try {
-                Class<XMLPrettyPrinterStrategy> clazz = (Class<XMLPrettyPrinterStrategy>) Class.forName(strategyClass);
-                return clazz.newInstance();
+                return current.clazz.newInstance();
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
@@ -28,4 +34,18 @@ public final class XMLPrettyPrinterStrategyFactory {
 
         return null;
     }
+
+    private static final class StrategyClass {
+        final String name;
+        final Class<? extends XMLPrettyPrinterStrategy> clazz;
+
+        StrategyClass(String name) {
+            this.name = name;
+            try {
+                this.clazz = Class.forName(name).asSubclass(XMLPrettyPrinterStrategy.class);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
 }
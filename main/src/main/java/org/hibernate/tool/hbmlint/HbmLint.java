@@ -2,40 +2,123 @@ package org.hibernate.tool.hbmlint;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.hibernate.HibernateException;
 import org.hibernate.boot.Metadata;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.Table;
 import org.hibernate.tool.hbmlint.detector.BadCachingDetector;
+import org.hibernate.tool.hbmlint.detector.EntityModelDetector;
 import org.hibernate.tool.hbmlint.detector.InstrumentationDetector;
+import org.hibernate.tool.hbmlint.detector.RelationalModelDetector;
 import org.hibernate.tool.hbmlint.detector.SchemaByMetaDataDetector;
 import org.hibernate.tool.hbmlint.detector.ShadowedIdentifierDetector;
 
+/**
+ * Runs detectors against a model. The tables and entities of the model are walked once, 
+ * and each table or entity is handed to every {@link RelationalModelDetector} or {@link EntityModelDetector} 
+ * in turn; any other detector is visited on its own after the walk. 
+ * With more threads, see {@link #setThreads(int)}, the detectors are split among that many walks run in parallel. 
+ * Each detector reports into its own list, so the results are in the order of the detectors
+ * and, per detector, in the order they were reported, however many threads are used.
+ */
 public class HbmLint implements IssueCollector {
 
 	
 	final Detector[] detectors;
 	
+	private int threads = 1;
+	
 	public HbmLint(Detector[] detectors) {
 		this.detectors = detectors;
 	}
 	
 	List<Issue> results = new ArrayList<Issue>();
 	
+	/**
+	 * @param threads the number of walks over the model run at the same time, 1 runs all detectors in a single walk
+	 */
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+	
+	public int getThreads() {
+		return threads;
+	}
+	
 	public void analyze(Metadata metadata) {
+		analyze(metadata, this);
+	}
+	
+	/**
+	 * Reports the issues found to the given collector instead of keeping them in {@link #getResults()}.
+	 * The collector is only called by the calling thread, with the issues of a detector as soon as its walk 
+	 * and the detectors before it are done.
+	 */
+	public void analyze(Metadata metadata, IssueCollector collector) {
+		List<Table> tables = new ArrayList<Table>(metadata.collectTableMappings());
+		List<PersistentClass> entities = new ArrayList<PersistentClass>(metadata.getEntityBindings());
+		int count = Math.max(1, Math.min(threads, detectors.length));
+		List<ModelWalk> walks = new ArrayList<ModelWalk>(count);
+		for (int i = 0; i < count; i++) {
+			walks.add(new ModelWalk(metadata, tables, entities));
+		}
+		List<List<Issue>> issues = new ArrayList<List<Issue>>(detectors.length);
 		for (int i = 0; i < detectors.length; i++) {
-			detectors[i].initialize(metadata);
-			detectors[i].visit(this);
+			issues.add(new ArrayList<Issue>());
+			walks.get(i % count).add(detectors[i], issues.get(i));
+		}
+		if(count>1) {
+			runInParallel(walks, issues, collector);
+		} else {
+			walks.get(0).run();
+			for (List<Issue> detectorIssues : issues) {
+				report(detectorIssues, collector);
+			}
+		}
+	}
+	
+	private void runInParallel(List<ModelWalk> walks, List<List<Issue>> issues, IssueCollector collector) {
+		ExecutorService executor = Executors.newFixedThreadPool(walks.size());
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>(walks.size());
+			for (ModelWalk walk : walks) {
+				futures.add(executor.submit(walk));
+			}
+			for (int i = 0; i < issues.size(); i++) {
+				try {
+					futures.get(i % walks.size()).get();
+				} catch (ExecutionException e) {
+					throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new HibernateException(e.getCause());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new HibernateException("Interrupted while running detectors", e);
+				}
+				report(issues.get(i), collector);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	private void report(List<Issue> issues, IssueCollector collector) {
+		for (Issue issue : issues) {
+			collector.reportIssue(issue);
 		}
-					
 	}
 	
 	/* (non-Javadoc)
 	 * @see org.hibernate.tool.hbmlint.IssueCollector#reportProblem(org.hibernate.tool.hbmlint.Issue)
 	 */
-	public void reportIssue(Issue analyze) {
+	public synchronized void reportIssue(Issue analyze) {
 		results.add(analyze);
 	}
 	
-	public List<Issue> getResults() {
+	public synchronized List<Issue> getResults() {
 		return results;	
 	}
 
@@ -50,4 +133,65 @@ public class HbmLint implements IssueCollector {
 		
 	}
 
+	/**
+	 * One walk over the tables and entities of the model for some of the detectors. 
+	 * A detector is only ever driven by the thread of its walk, as detectors keep state in between elements.
+	 */
+	private static class ModelWalk implements Runnable {
+		
+		private final Metadata metadata;
+		private final List<Table> tables;
+		private final List<PersistentClass> entities;
+		private final List<Detector> detectors = new ArrayList<Detector>();
+		private final List<IssueCollector> collectors = new ArrayList<IssueCollector>();
+
+		ModelWalk(Metadata metadata, List<Table> tables, List<PersistentClass> entities) {
+			this.metadata = metadata;
+			this.tables = tables;
+			this.entities = entities;
+		}
+		
+		void add(Detector detector, final List<Issue> issues) {
+			detectors.add(detector);
+			collectors.add(new IssueCollector() {
+				public void reportIssue(Issue issue) {
+					issues.add(issue);
+				}
+			});
+		}
+
+		public void run() {
+			for (Detector detector : detectors) {
+				detector.initialize(metadata);
+			}
+			for (Table table : tables) {
+				for (int i = 0; i < detectors.size(); i++) {
+					if(detectors.get(i) instanceof RelationalModelDetector) {
+						((RelationalModelDetector) detectors.get(i)).visitTable(table, collectors.get(i));
+					}
+				}
+			}
+			for (int i = 0; i < detectors.size(); i++) {
+				if(detectors.get(i) instanceof RelationalModelDetector) {
+					((RelationalModelDetector) detectors.get(i)).endTables(collectors.get(i));
+				}
+			}
+			for (PersistentClass entity : entities) {
+				for (int i = 0; i < detectors.size(); i++) {
+					if(detectors.get(i) instanceof EntityModelDetector) {
+						((EntityModelDetector) detectors.get(i)).visitEntity(entity, collectors.get(i));
+					}
+				}
+			}
+			for (int i = 0; i < detectors.size(); i++) {
+				if(detectors.get(i) instanceof EntityModelDetector) {
+					((EntityModelDetector) detectors.get(i)).endEntities(collectors.get(i));
+				} else if(!(detectors.get(i) instanceof RelationalModelDetector)) {
+					detectors.get(i).visit(collectors.get(i));
+				}
+			}
+		}
+
+	}
+	
 }
@@ -10,17 +10,36 @@ public class Issue {
 	private final int priority;
 	
 	private final String description;
+	
+	private final String location;
 
 	public Issue(String type, int priority, String description) {
+		this(type, priority, description, null);
+	}
+	
+	/**
+	 * @param location a key for the element of the model the issue is about that stays the same between runs, 
+	 * e.g. the qualified name of a table or an entity name followed by a property name
+	 */
+	public Issue(String type, int priority, String description, String location) {
 		this.description = description;
 		this.priority = priority;
 		this.type = type;
+		this.location = location;
 	}
 	
 	public String toString() {
 		return type + ":" + description;
 	}
 
+	public String getType() {
+		return type;
+	}
+	
+	public String getLocation() {
+		return location;
+	}
+	
 	public String getDescription() {
 		return description;
 	}
@@ -1,5 +1,10 @@
 package org.hibernate.tool.hbmlint;
 
+/**
+ * Receives the issues found by detectors. {@link HbmLint} only calls the collector passed to 
+ * {@link HbmLint#analyze(org.hibernate.boot.Metadata, IssueCollector)} from the calling thread, 
+ * while {@link HbmLint} itself may be reported to concurrently.
+ */
 public interface IssueCollector {
 
 	public abstract void reportIssue(Issue analyze);
@@ -0,0 +1,82 @@
+package org.hibernate.tool.hbmlint;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+import org.hibernate.HibernateException;
+
+/**
+ * Writes the issues to a report as they are reported, flushing after each, so the report 
+ * can be read while the analysis is still running and no issue is kept in memory. 
+ */
+public abstract class IssueWriter implements IssueCollector, Closeable {
+
+	private final Writer writer;
+	
+	private int count = 0;
+	
+	protected IssueWriter(Writer writer) {
+		this.writer = writer;
+	}
+	
+	public synchronized void reportIssue(Issue issue) {
+		try {
+			writeIssue(writer, issue, count++);
+			writer.flush();
+		}
+		catch (IOException e) {
+			throw new HibernateException("Could not write issue " + issue, e);
+		}
+	}
+	
+	/**
+	 * @return the number of issues written so far
+	 */
+	public synchronized int getCount() {
+		return count;
+	}
+	
+	public synchronized void close() throws IOException {
+		try {
+			writeEnd(writer, count);
+		} finally {
+			writer.close();
+		}
+	}
+	
+	/**
+	 * @param index the number of issues written before this one
+	 */
+	protected abstract void writeIssue(Writer writer, Issue issue, int index) throws IOException;
+	
+	protected void writeEnd(Writer writer, int count) throws IOException {
+	}
+	
+	protected static String quote(String value) {
+		if(value==null) {
+			return "null";
+		}
+		StringBuffer buf = new StringBuffer(value.length() + 2);
+		buf.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+			case '"': buf.append("\\\""); break;
+			case '\\': buf.append("\\\\"); break;
+			case '\n': buf.append("\\n"); break;
+			case '\r': buf.append("\\r"); break;
+			case '\t': buf.append("\\t"); break;
+			default:
+				if(c < ' ') {
+					String hex = Integer.toHexString(c);
+					buf.append("\\u0000", 0, 6 - hex.length()).append(hex);
+				} else {
+					buf.append(c);
+				}
+			}
+		}
+		return buf.append('"').toString();
+	}
+	
+}
@@ -0,0 +1,28 @@
+package org.hibernate.tool.hbmlint;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes each issue as a JSON object on a line of its own (JSON Lines), e.g.
+ * <pre>{"type":"SCHEMA_TABLE_MISSING","priority":100,"location":"PUBLIC.ORDERS","description":"Missing table PUBLIC.ORDERS"}</pre>
+ */
+public class JsonLinesIssueWriter extends IssueWriter {
+
+	public JsonLinesIssueWriter(Writer writer) {
+		super(writer);
+	}
+
+	protected void writeIssue(Writer writer, Issue issue, int index) throws IOException {
+		writer.write("{\"type\":");
+		writer.write(quote(issue.getType()));
+		writer.write(",\"priority\":");
+		writer.write(String.valueOf(issue.getPriority()));
+		writer.write(",\"location\":");
+		writer.write(quote(issue.getLocation()));
+		writer.write(",\"description\":");
+		writer.write(quote(issue.getDescription()));
+		writer.write("}\n");
+	}
+
+}
@@ -0,0 +1,56 @@
+package org.hibernate.tool.hbmlint;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes the issues as a SARIF 2.1.0 log with a single run. The results are written as they are
+ * reported, the document is only complete once the writer is closed. 
+ * The location of an issue is given as a logical location and, together with its type, as 
+ * a partial fingerprint so results can be matched between builds.
+ */
+public class SarifIssueWriter extends IssueWriter {
+
+	public SarifIssueWriter(Writer writer) throws IOException {
+		super(writer);
+		writer.write("{\"$schema\":\"https://json.schemastore.org/sarif-2.1.0.json\",\"version\":\"2.1.0\",\n");
+		writer.write("\"runs\":[{\"tool\":{\"driver\":{\"name\":\"hbmlint\",\"informationUri\":\"http://hibernate.org/tools/\"}},\n");
+		writer.write("\"results\":[\n");
+	}
+
+	protected void writeIssue(Writer writer, Issue issue, int index) throws IOException {
+		if(index>0) {
+			writer.write(",\n");
+		}
+		writer.write("{\"ruleId\":");
+		writer.write(quote(issue.getType()));
+		writer.write(",\"level\":");
+		writer.write(quote(level(issue.getPriority())));
+		writer.write(",\"message\":{\"text\":");
+		writer.write(quote(issue.getDescription()));
+		writer.write("}");
+		if(issue.getLocation()!=null) {
+			writer.write(",\"locations\":[{\"logicalLocations\":[{\"fullyQualifiedName\":");
+			writer.write(quote(issue.getLocation()));
+			writer.write("}]}],\"partialFingerprints\":{\"hbmlintLocation/v1\":");
+			writer.write(quote(issue.getType() + ":" + issue.getLocation()));
+			writer.write("}");
+		}
+		writer.write("}");
+	}
+	
+	protected void writeEnd(Writer writer, int count) throws IOException {
+		writer.write("\n]}]}\n");
+	}
+	
+	private String level(int priority) {
+		if(priority>=Issue.HIGH_PRIORITY) {
+			return "error";
+		} else if(priority>=Issue.NORMAL_PRIORITY) {
+			return "warning";
+		} else {
+			return "note";
+		}
+	}
+
+}
@@ -27,7 +27,7 @@ public class BadCachingDetector extends EntityModelDetector {
 					if(entityName!=null) {
 						PersistentClass classMapping = getMetadata().getEntityBinding(entityName);
 						if(classMapping.getCacheConcurrencyStrategy()==null) {
-							collector.reportIssue( new Issue("CACHE_COLLECTION_NONCACHABLE_TARGET", Issue.HIGH_PRIORITY, "Entity '" + classMapping.getEntityName() +"' is referenced from the cache-enabled collection '" + col.getRole() + "' without the entity being cachable"));
+							collector.reportIssue( new Issue("CACHE_COLLECTION_NONCACHABLE_TARGET", Issue.HIGH_PRIORITY, "Entity '" + classMapping.getEntityName() +"' is referenced from the cache-enabled collection '" + col.getRole() + "' without the entity being cachable", col.getRole()));
 						}
 					}
 				}
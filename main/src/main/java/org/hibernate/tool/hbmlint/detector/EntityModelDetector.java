@@ -9,11 +9,27 @@ import org.hibernate.tool.hbmlint.IssueCollector;
 
 public abstract class EntityModelDetector extends Detector {
 
-	public void visit(IssueCollector collector) {
+	/**
+	 * Visits the entities of the model on their own. {@link org.hibernate.tool.hbmlint.HbmLint} does not call this, 
+	 * it walks the entities once for all detectors through {@link #visitEntity(PersistentClass, IssueCollector)} 
+	 * and {@link #endEntities(IssueCollector)}, so those are the methods to override.
+	 */
+	public final void visit(IssueCollector collector) {
 		for (Iterator<PersistentClass> iter = getMetadata().getEntityBindings().iterator(); iter.hasNext();) {
 			PersistentClass clazz = iter.next();
-			this.visit(clazz, collector);				
+			visitEntity(clazz, collector);				
 		}
+		endEntities(collector);
+	}
+	
+	public void visitEntity(PersistentClass clazz, IssueCollector collector) {
+		this.visit(clazz, collector);
+	}
+	
+	/**
+	 * Called once all entities of the model have been visited.
+	 */
+	public void endEntities(IssueCollector collector) {
 	}
 	
 	protected void visit(PersistentClass clazz, IssueCollector collector) {
@@ -41,7 +41,7 @@ public class InstrumentationDetector extends EntityModelDetector {
 				// ignore
 			}
 			catch (NoSuchMethodException e) {
-				collector.reportIssue(new Issue("LAZY_NO_DEFAULT_CONSTRUCTOR",Issue.NORMAL_PRIORITY, "lazy='true' set for '" + clazz.getEntityName() +"', but class has no default constructor." ));
+				collector.reportIssue(new Issue("LAZY_NO_DEFAULT_CONSTRUCTOR",Issue.NORMAL_PRIORITY, "lazy='true' set for '" + clazz.getEntityName() +"', but class has no default constructor.", clazz.getEntityName() ));
 				return;
 			}
 
@@ -56,7 +56,7 @@ public class InstrumentationDetector extends EntityModelDetector {
 			}
 			
 			if (javassistEnabled && !javaassist) {
-				collector.reportIssue( new Issue("LAZY_NOT_INSTRUMENTED", Issue.HIGH_PRIORITY, "'" + clazz.getEntityName() + "' has lazy='false', but its class '" + mappedClass.getName() + "' has not been instrumented with javaassist") );
+				collector.reportIssue( new Issue("LAZY_NOT_INSTRUMENTED", Issue.HIGH_PRIORITY, "'" + clazz.getEntityName() + "' has lazy='false', but its class '" + mappedClass.getName() + "' has not been instrumented with javaassist", clazz.getEntityName()) );
 				return;
 			} else {
 				// unknown bytecodeprovider...can't really check for that.
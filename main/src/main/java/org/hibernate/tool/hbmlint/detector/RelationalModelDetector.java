@@ -9,11 +9,27 @@ import org.hibernate.tool.hbmlint.IssueCollector;
 
 public abstract class RelationalModelDetector extends Detector {
 
-	public void visit(IssueCollector collector) {
+	/**
+	 * Visits the tables of the model on their own. {@link org.hibernate.tool.hbmlint.HbmLint} does not call this, 
+	 * it walks the tables once for all detectors through {@link #visitTable(Table, IssueCollector)} 
+	 * and {@link #endTables(IssueCollector)}, so those are the methods to override.
+	 */
+	public final void visit(IssueCollector collector) {
 		for (Iterator<Table> iter = getMetadata().collectTableMappings().iterator(); iter.hasNext();) {
 			Table table = (Table) iter.next();
-			this.visit(table, collector);
-		}					
+			visitTable(table, collector);
+		}
+		endTables(collector);
+	}
+	
+	public void visitTable(Table table, IssueCollector collector) {
+		this.visit(table, collector);
+	}
+	
+	/**
+	 * Called once all tables of the model have been visited.
+	 */
+	public void endTables(IssueCollector collector) {
 	}
 	
 	abstract protected void visit(Table table, Column col, IssueCollector collector);
@@ -1,8 +1,15 @@
 package org.hibernate.tool.hbmlint.detector;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeMap;
@@ -22,7 +29,6 @@ import org.hibernate.cfg.reveng.JDBCToHibernateTypeHelper;
 import org.hibernate.cfg.reveng.SchemaSelection;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
-import org.hibernate.engine.spi.Mapping;
 import org.hibernate.id.IdentifierGenerator;
 import org.hibernate.id.PersistentIdentifierGenerator;
 import org.hibernate.internal.util.StringHelper;
@@ -51,10 +57,13 @@ public class SchemaByMetaDataDetector extends RelationalModelDetector {
 
 	private Dialect dialect;
 
-	private Mapping mapping;
-	
 	/** current table as read from the database */
 	Table currentDbTable = null;
+	
+	/** the tables read from the database by upper case name, see {@link #readDatabaseTables()} */
+	private Map<String, List<Table>> dbTables = null;
+	
+	private List<IdentifierGenerator> generators = null;
 
 	public void initialize(Metadata metadata) {
 		super.initialize( metadata);
@@ -70,15 +79,18 @@ public class SchemaByMetaDataDetector extends RelationalModelDetector {
 				tableSelector, 
 				serviceRegistry);
 		dbc = new DefaultDatabaseCollector(reader.getMetaDataDialect());
+		// read again for the new metadata
+		dbTables = null;
+		generators = null;
+		currentDbTable = null;
 	}
 
-	public void visit(IssueCollector collector) {
-		super.visit(collector);		
+	public void endTables(IssueCollector collector) {
 		visitGenerators(collector);				
 	}
 	
 	public void visitGenerators(IssueCollector collector) {
-		Iterator<?> iter = iterateGenerators();
+		Iterator<?> iter = getGenerators().iterator();
 		
 		Set<?> sequences = Collections.EMPTY_SET;
 		if(dialect.supportsSequences()) {
@@ -90,7 +102,7 @@ public class SchemaByMetaDataDetector extends RelationalModelDetector {
 			PersistentIdentifierGenerator generator = (PersistentIdentifierGenerator) iter.next();
 			Object key = generator.generatorKey();
 			if ( !isSequence(key, sequences) && !isTable( key ) ) {
-				collector.reportIssue( new Issue( "MISSING_ID_GENERATOR", Issue.HIGH_PRIORITY, "Missing sequence or table: " + key));
+				collector.reportIssue( new Issue( "MISSING_ID_GENERATOR", Issue.HIGH_PRIORITY, "Missing sequence or table: " + key, String.valueOf(key)));
 			}
 		}
 
@@ -114,41 +126,36 @@ public class SchemaByMetaDataDetector extends RelationalModelDetector {
 	}
 
 	private boolean isTable(Object key) throws HibernateException {
-		// BIG HACK - should probably utilize the table cache before going to the jdbcreader :(
+		String[] strings = splitGeneratorKey(key);
+		return strings!=null && !findDbTables(strings[0], strings[1], strings[2], false).isEmpty();
+	}
+	
+	/**
+	 * @return catalog, schema and name of the table the key of a generator may refer to, or null
+	 */
+	private String[] splitGeneratorKey(Object key) {
 		if(key instanceof String) {
 			String[] strings = StringHelper.split(".", (String) key);
 			if(strings.length==1) {
-				tableSelector.clearSchemaSelections();
-				tableSelector.addSchemaSelection( new SchemaSelection(null,null, strings[0]) );
-				List<?> list = reader.readDatabaseSchema( dbc, null, null );
-				return !list.isEmpty();
+				return new String[] { null, null, strings[0] };
 			} else if(strings.length==3) {
-				tableSelector.clearSchemaSelections();
-				tableSelector.addSchemaSelection( new SchemaSelection(strings[0],strings[1], strings[2]) );
-				List<?> list = reader.readDatabaseSchema( dbc, null, null );
-				return !list.isEmpty();
+				return strings;
 			} else if (strings.length==2) {
-				tableSelector.clearSchemaSelections();
-				tableSelector.addSchemaSelection( new SchemaSelection(null,strings[0], strings[1]) );
-				List<?> list = reader.readDatabaseSchema( dbc, null, null );
-				return !list.isEmpty();
+				return new String[] { null, strings[0], strings[1] };
 			}
 		}
-		return false;
+		return null;
 	}
 	
 	public void visit(Table table, IssueCollector pc) {
 
 		if ( table.isPhysicalTable() ) {
-			setSchemaSelection( table );
-
-			List<?> list = reader.readDatabaseSchema( dbc, null, null );
+			List<?> list = findDbTables( table.getCatalog(), table.getSchema(), table.getName(), table.isQuoted() );
 
 			if ( list.isEmpty() ) {
 				pc.reportIssue( new Issue( "SCHEMA_TABLE_MISSING",
 						Issue.HIGH_PRIORITY, "Missing table "
-								+ TableNameQualifier.qualify( table.getCatalog(), table
-										.getSchema(), table.getName() ) ) );
+								+ table(table), table(table) ) );
 				return;
 			}
 			else if ( list.size() > 1 ) {
@@ -156,8 +163,7 @@ public class SchemaByMetaDataDetector extends RelationalModelDetector {
 						Issue.NORMAL_PRIORITY, "Found "
 								+ list.size()
 								+ " tables for "
-								+ TableNameQualifier.qualify( table.getCatalog(), table
-										.getSchema(), table.getName() ) ) );
+								+ table(table), table(table) ) );
 				return;
 			}
 			else {
@@ -170,6 +176,97 @@ public class SchemaByMetaDataDetector extends RelationalModelDetector {
 		}
 	}
 
+	/**
+	 * Finds the tables read from the database for a table of the model or of a generator.
+	 * Names are compared case insensitively unless quoted, a missing catalog or schema matches any.
+	 */
+	private List<Table> findDbTables(String catalog, String schema, String name, boolean quoted) {
+		List<Table> result = new ArrayList<Table>();
+		List<Table> candidates = getDbTables().get( name.toUpperCase(Locale.ENGLISH) );
+		if ( candidates != null ) {
+			for ( Table candidate : candidates ) {
+				if ( matches( catalog, candidate.getCatalog() ) 
+						&& matches( schema, candidate.getSchema() ) 
+						&& ( !quoted || name.equals( candidate.getName() ) ) ) {
+					result.add( candidate );
+				}
+			}
+		}
+		if ( result.size() > 1 ) {
+			List<Table> exact = new ArrayList<Table>();
+			for ( Table candidate : result ) {
+				if ( name.equals( candidate.getName() ) ) {
+					exact.add( candidate );
+				}
+			}
+			if ( !exact.isEmpty() ) {
+				return exact;
+			}
+		}
+		return result;
+	}
+	
+	private boolean matches(String expected, String actual) {
+		return expected == null || expected.equalsIgnoreCase( actual );
+	}
+
+	private Map<String, List<Table>> getDbTables() {
+		if ( dbTables == null ) {
+			dbTables = readDatabaseTables();
+		}
+		return dbTables;
+	}
+
+	/**
+	 * Reads the tables of the model and of the table based generators from the database in one pass, 
+	 * with a schema selection per catalog/schema that only accepts the names of these tables. 
+	 */
+	private Map<String, List<Table>> readDatabaseTables() {
+		Set<String> names = new HashSet<String>();
+		Set<List<String>> schemas = new LinkedHashSet<List<String>>();
+		for ( Table table : getMetadata().collectTableMappings() ) {
+			if ( table.isPhysicalTable() ) {
+				names.add( table.getName().toUpperCase(Locale.ENGLISH) );
+				schemas.add( Arrays.asList( table.getCatalog(), table.getSchema() ) );
+			}
+		}
+		for ( IdentifierGenerator generator : getGenerators() ) {
+			String[] strings = splitGeneratorKey( ( (PersistentIdentifierGenerator) generator ).generatorKey() );
+			if ( strings != null ) {
+				names.add( strings[2].toUpperCase(Locale.ENGLISH) );
+				schemas.add( Arrays.asList( strings[0], strings[1] ) );
+			}
+		}
+		Map<String, List<Table>> result = new HashMap<String, List<Table>>();
+		if ( names.isEmpty() ) {
+			return result;
+		}
+		tableSelector.clearSchemaSelections();
+		if ( schemas.contains( Arrays.asList( (String) null, (String) null ) ) ) {
+			// already selects every catalog and schema
+			tableSelector.addSchemaSelection( new SchemaSelection( null, null ) );
+		} 
+		else {
+			for ( List<String> schema : schemas ) {
+				tableSelector.addSchemaSelection( new SchemaSelection( schema.get( 0 ), schema.get( 1 ) ) );
+			}
+		}
+		tableSelector.setTableNames( names );
+		reader.readDatabaseSchema( dbc, null, null );
+		Iterator<Table> tables = dbc.iterateTables();
+		while ( tables.hasNext() ) {
+			Table table = tables.next();
+			String key = table.getName().toUpperCase(Locale.ENGLISH);
+			List<Table> list = result.get( key );
+			if ( list == null ) {
+				list = new ArrayList<Table>();
+				result.put( key, list );
+			}
+			list.add( table );
+		}
+		return result;
+	}
+
 	String table(Table t) {
 		return TableNameQualifier.qualify( t.getCatalog(), t.getSchema(), t.getName() );
 	}
@@ -187,29 +284,33 @@ public class SchemaByMetaDataDetector extends RelationalModelDetector {
 
 		if ( dbColumn == null ) {
 			pc.reportIssue( new Issue( "SCHEMA_COLUMN_MISSING",
-					Issue.HIGH_PRIORITY, table(table) + " is missing column: " + col.getName() ) );
+					Issue.HIGH_PRIORITY, table(table) + " is missing column: " + col.getName(), table(table) + "." + col.getName() ) );
 		}
 		else {
 			//TODO: this needs to be able to know if a type is truly compatible or not. Right now it requires an exact match.
-			//String sqlType = col.getSqlType( dialect, mapping );
+			//String sqlType = col.getSqlType( dialect, getMetadata() );
 			int dbTypeCode = dbColumn.getSqlTypeCode().intValue();
 			int modelTypeCode = col
-								.getSqlTypeCode( mapping );
+								.getSqlTypeCode( getMetadata() );
 			// TODO: sqltype name string
 			if ( !(dbTypeCode == modelTypeCode ) ) {
 				pc.reportIssue( new Issue( "SCHEMA_COLUMN_TYPE_MISMATCH",
 						Issue.NORMAL_PRIORITY, table(table) + " has a wrong column type for "
 								+ col.getName() + ", expected: "
-								+ JDBCToHibernateTypeHelper.getJDBCTypeName(modelTypeCode) + " but was " + JDBCToHibernateTypeHelper.getJDBCTypeName(dbTypeCode) + " in db") );
+								+ JDBCToHibernateTypeHelper.getJDBCTypeName(modelTypeCode) + " but was " + JDBCToHibernateTypeHelper.getJDBCTypeName(dbTypeCode) + " in db", table(table) + "." + col.getName()) );
 			}
 		}
 	}
 
-	private void setSchemaSelection(Table table) {
-		tableSelector.clearSchemaSelections();
-		tableSelector.addSchemaSelection( new SchemaSelection( table
-				.getCatalog(), table.getSchema(), table.getName() ) );
-
+	private List<IdentifierGenerator> getGenerators() {
+		if ( generators == null ) {
+			generators = new ArrayList<IdentifierGenerator>();
+			Iterator<IdentifierGenerator> iterator = iterateGenerators();
+			while ( iterator.hasNext() ) {
+				generators.add( iterator.next() );
+			}
+		}
+		return generators;
 	}
 
 	/**
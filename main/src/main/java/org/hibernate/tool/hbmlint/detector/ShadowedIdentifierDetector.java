@@ -15,7 +15,7 @@ public class ShadowedIdentifierDetector extends EntityModelDetector {
 	protected void visitProperty(PersistentClass clazz, Property property, IssueCollector collector) {
 		if(property.getName().equals("id")) {
 			if (property != property.getPersistentClass().getIdentifierProperty()) {
-				collector.reportIssue(new Issue("ID_SHADOWED", Issue.LOW_PRIORITY, property.getPersistentClass().getEntityName() + " has a normal property named 'id'. This can cause issues since HQL queries will always interpret 'id' as the identifier and not the concrete property"));
+				collector.reportIssue(new Issue("ID_SHADOWED", Issue.LOW_PRIORITY, property.getPersistentClass().getEntityName() + " has a normal property named 'id'. This can cause issues since HQL queries will always interpret 'id' as the identifier and not the concrete property", property.getPersistentClass().getEntityName() + "." + property.getName()));
 			}
 		}
 	}
@@ -5,15 +5,20 @@ package org.hibernate.tool.hbmlint.detector;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 import org.hibernate.cfg.reveng.DelegatingReverseEngineeringStrategy;
 import org.hibernate.cfg.reveng.ReverseEngineeringStrategy;
 import org.hibernate.cfg.reveng.SchemaSelection;
+import org.hibernate.cfg.reveng.TableIdentifier;
 
 public class TableSelectorStrategy extends DelegatingReverseEngineeringStrategy {
 	
 	List<SchemaSelection> selections = new ArrayList<SchemaSelection>();
 	
+	Set<String> tableNames = null;
+	
 	public TableSelectorStrategy(ReverseEngineeringStrategy res) {
 		super(res);
 	}
@@ -30,4 +35,19 @@ public class TableSelectorStrategy extends DelegatingReverseEngineeringStrategy
 	public void addSchemaSelection(SchemaSelection selection) {
 		selections.add(selection);
 	}	
+	
+	/**
+	 * Limits the selected tables to the given names, in upper case as they are compared case insensitively.
+	 * Null selects all tables of the schema selections.
+	 */
+	public void setTableNames(Set<String> tableNames) {
+		this.tableNames = tableNames;
+	}
+	
+	public boolean excludeTable(TableIdentifier ti) {
+		if(tableNames!=null && !tableNames.contains(ti.getName().toUpperCase(Locale.ENGLISH))) {
+			return true;
+		}
+		return super.excludeTable(ti);
+	}
 }
\ No newline at end of file
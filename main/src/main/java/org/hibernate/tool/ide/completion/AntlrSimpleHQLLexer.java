@@ -19,7 +19,14 @@ public class AntlrSimpleHQLLexer implements SimpleHQLLexer {
 	private Token token;
 
 	public AntlrSimpleHQLLexer(char[] cs, int length) {
-		lexer = new HqlBaseLexer(new CharArrayReader(cs, 0, length)) {
+		this(cs, 0, length);
+	}
+	
+	/**
+	 * Lexes length characters from offset on, the offsets of the tokens are relative to offset. 
+	 */
+	public AntlrSimpleHQLLexer(char[] cs, int offset, int length) {
+		lexer = new HqlBaseLexer(new CharArrayReader(cs, offset, length)) {
 			public void newline() {
 				//super.newline();
 			}
@@ -0,0 +1,131 @@
+package org.hibernate.tool.ide.completion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.Property;
+import org.hibernate.tool.hbm2x.pojo.POJOModel;
+
+/**
+ * What {@link ConfigurationCompletion} looks up on every keystroke, computed once for a model:
+ * the imports sorted by their lower case names, so the ones starting with a prefix are found
+ * by a binary search, and per entity the properties of its class and superclasses.
+ */
+class CompletionIndex {
+
+	private final String[] imports;
+	private final String[] lowerCaseImports;
+	private final String[] importedNames;
+
+	private final Map<String, EntityProperties[]> hierarchies = new HashMap<String, EntityProperties[]>();
+	private final Map<String, EntityProperties> properties = new HashMap<String, EntityProperties>();
+
+	private final POJOModel model;
+
+	CompletionIndex(Metadata metadata) {
+		model = POJOModel.getModel(metadata);
+		List<Entry<String, String>> entries = new ArrayList<Entry<String, String>>(metadata.getImports().entrySet());
+		final Map<String, String> lowerCase = new HashMap<String, String>();
+		for (Entry<String, String> entry : entries) {
+			lowerCase.put(entry.getKey(), entry.getKey().toLowerCase());
+		}
+		Collections.sort(entries, new Comparator<Entry<String, String>>() {
+			public int compare(Entry<String, String> o1, Entry<String, String> o2) {
+				int result = lowerCase.get(o1.getKey()).compareTo(lowerCase.get(o2.getKey()));
+				return result != 0 ? result : o1.getKey().compareTo(o2.getKey());
+			}
+		});
+		imports = new String[entries.size()];
+		lowerCaseImports = new String[entries.size()];
+		importedNames = new String[entries.size()];
+		for (int i = 0; i < imports.length; i++) {
+			Entry<String, String> entry = entries.get(i);
+			imports[i] = entry.getKey();
+			lowerCaseImports[i] = lowerCase.get(entry.getKey());
+			importedNames[i] = entry.getValue();
+		}
+	}
+
+	/**
+	 * @return the index of the first import whose lower case name starts with the prefix,
+	 * the following imports are checked by {@link #importStartsWith(int, String)}
+	 */
+	int firstImport(String lowerCasePrefix) {
+		int low = 0;
+		int high = lowerCaseImports.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (lowerCaseImports[mid].compareTo(lowerCasePrefix) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	boolean importStartsWith(int i, String lowerCasePrefix) {
+		return i < lowerCaseImports.length && lowerCaseImports[i].startsWith(lowerCasePrefix);
+	}
+
+	String getImport(int i) {
+		return imports[i];
+	}
+
+	String getImportedName(int i) {
+		return importedNames[i];
+	}
+
+	/**
+	 * @return the properties of the class and then those of each of its superclasses
+	 */
+	synchronized EntityProperties[] getHierarchy(PersistentClass clazz) {
+		EntityProperties[] result = hierarchies.get(clazz.getEntityName());
+		if (result == null) {
+			List<EntityProperties> list = new ArrayList<EntityProperties>();
+			for (PersistentClass current = clazz; current != null; current = current.getSuperclass()) {
+				list.add(getProperties(current));
+			}
+			result = list.toArray(new EntityProperties[list.size()]);
+			hierarchies.put(clazz.getEntityName(), result);
+		}
+		return result;
+	}
+
+	private EntityProperties getProperties(PersistentClass clazz) {
+		EntityProperties result = properties.get(clazz.getEntityName());
+		if (result == null) {
+			result = new EntityProperties(clazz, model.getAllProperties(clazz));
+			properties.put(clazz.getEntityName(), result);
+		}
+		return result;
+	}
+
+	/**
+	 * The properties of an entity as generated by hbm2java, i.e. without those of its superclasses.
+	 */
+	static class EntityProperties {
+
+		final PersistentClass clazz;
+		final Property[] properties;
+		final String[] lowerCaseNames;
+
+		EntityProperties(PersistentClass clazz, List<Property> list) {
+			this.clazz = clazz;
+			properties = list.toArray(new Property[list.size()]);
+			lowerCaseNames = new String[properties.length];
+			for (int i = 0; i < properties.length; i++) {
+				lowerCaseNames[i] = properties[i].getName().toLowerCase();
+			}
+		}
+
+	}
+
+}
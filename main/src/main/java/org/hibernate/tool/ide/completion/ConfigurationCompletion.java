@@ -6,7 +6,6 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import org.hibernate.HibernateException;
@@ -18,8 +17,7 @@ import org.hibernate.mapping.PersistentClass;
 import org.hibernate.mapping.Property;
 import org.hibernate.mapping.ToOne;
 import org.hibernate.mapping.Value;
-import org.hibernate.tool.hbm2x.Cfg2JavaTool;
-import org.hibernate.tool.hbm2x.pojo.EntityPOJOClass;
+import org.hibernate.tool.ide.completion.CompletionIndex.EntityProperties;
 
 /**
  * @author Max Rydahl Andersen
@@ -28,6 +26,8 @@ import org.hibernate.tool.hbm2x.pojo.EntityPOJOClass;
 public class ConfigurationCompletion {
 
 	private final Metadata metadata;
+	
+	private CompletionIndex index;
 
 	public ConfigurationCompletion(Metadata md) {
 		this.metadata = md;
@@ -38,22 +38,26 @@ public class ConfigurationCompletion {
 	}
 	
 	public void getMatchingImports(String prefix, int cursorPosition, IHQLCompletionRequestor collector) {
-		Iterator<Entry<String, String>> iterator = metadata.getImports().entrySet().iterator();
-		while ( iterator.hasNext() ) {
-			Entry<String, String> entry = iterator.next();
-			String entityImport = (String) entry.getKey();
-			String entityName = (String) entry.getValue();
+		CompletionIndex index = getIndex();
+		String lowerCasePrefix = prefix.toLowerCase();
+		for (int i = index.firstImport( lowerCasePrefix ); index.importStartsWith( i, lowerCasePrefix ); i++) {
+			String entityImport = index.getImport( i );
+			String entityName = index.getImportedName( i );
 			
-			if(entityImport.toLowerCase().startsWith(prefix.toLowerCase())) {
-				HQLCompletionProposal proposal = createStartWithCompletionProposal( prefix, cursorPosition, HQLCompletionProposal.ENTITY_NAME, entityImport );
-				proposal.setShortEntityName( entityImport );
-				proposal.setEntityName( entityName );
-				collector.accept(proposal);				
-								
-			}
+			HQLCompletionProposal proposal = createStartWithCompletionProposal( prefix, cursorPosition, HQLCompletionProposal.ENTITY_NAME, entityImport );
+			proposal.setShortEntityName( entityImport );
+			proposal.setEntityName( entityName );
+			collector.accept(proposal);				
 		}		
 	}
 	
+	private synchronized CompletionIndex getIndex() {
+		if(index==null) {
+			index = new CompletionIndex( metadata );
+		}
+		return index;
+	}
+	
 	public void getMatchingKeywords(String prefix, int cursorPosition, IHQLCompletionRequestor collector) {
 		findMatchingWords( cursorPosition, prefix, HQLAnalyzer.getHQLKeywords(), HQLCompletionProposal.KEYWORD, collector);
 	}
@@ -167,23 +171,22 @@ public class ConfigurationCompletion {
             prefix = "";
         }
         
+        String lowerCasePrefix = prefix.toLowerCase();
         // Add superclass's properties too
-        while (cmd != null){
-        	EntityPOJOClass pc = new EntityPOJOClass(cmd, new Cfg2JavaTool()); // TODO: we should extract the needed functionallity from this hbm2java class.
-            
-        	Iterator<Property> allPropertiesIterator = pc.getAllPropertiesIterator();
-            while ( allPropertiesIterator.hasNext() ) {
-    			Property property = allPropertiesIterator.next();
+        EntityProperties[] hierarchy = getIndex().getHierarchy( cmd );
+        for (int i = 0; i < hierarchy.length; i++) {
+        	EntityProperties pc = hierarchy[i];
+            for (int j = 0; j < pc.properties.length; j++) {
+    			Property property = pc.properties[j];
     			String candidate = property.getName();
-    		    if (prefix.length() == 0 || candidate.toLowerCase().startsWith(prefix.toLowerCase())) {
+    		    if (prefix.length() == 0 || pc.lowerCaseNames[j].startsWith(lowerCasePrefix)) {
     		    	HQLCompletionProposal proposal = createStartWithCompletionProposal( prefix, cursorPosition, HQLCompletionProposal.PROPERTY, candidate );
-    		    	proposal.setEntityName( cmd.getEntityName() );
+    		    	proposal.setEntityName( pc.clazz.getEntityName() );
     		    	proposal.setProperty( property );
     		    	proposal.setPropertyName( candidate );		    	
     				hcc.accept( proposal);		    	                
                 }
             }
-            cmd = cmd.getSuperclass();
         }
            	
 	}
@@ -3,10 +3,8 @@ package org.hibernate.tool.ide.completion;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
 import org.hibernate.hql.internal.antlr.HqlSqlTokenTypes;
 
@@ -109,7 +107,17 @@ public class HQLAnalyzer {
     }
     
     public boolean shouldShowEntityNames(char chars[], int cursorPosition) {
-    	SimpleHQLLexer lexer = getLexer( chars, cursorPosition );
+    	return shouldShowEntityNames( getLexer( chars, cursorPosition ), cursorPosition );
+    }
+    
+    /**
+     * @param tokens the tokens of the query up to the cursor position
+     */
+    public boolean shouldShowEntityNames(HQLTokenBuffer tokens, int cursorPosition) {
+    	return shouldShowEntityNames( tokens.lexer(), cursorPosition );
+    }
+    
+    private boolean shouldShowEntityNames(SimpleHQLLexer lexer, int cursorPosition) {
         int tokenId = -1;
         boolean show = false;
         while ((tokenId = lexer.nextTokenId()) != HqlSqlTokenTypes.EOF) {
@@ -126,7 +134,14 @@ public class HQLAnalyzer {
     }
     
     public List<SubQuery> getVisibleSubQueries(char[] chars, int position) {
-    	SubQueryList sqList = getSubQueries(chars, position);
+    	return getVisibleSubQueries( lex( chars ), position );
+    }
+    
+    /**
+     * @param tokens the tokens of the whole query
+     */
+    public List<SubQuery> getVisibleSubQueries(HQLTokenBuffer tokens, int position) {
+    	SubQueryList sqList = getSubQueries(tokens, position);
         List<SubQuery> visible = new ArrayList<SubQuery>();
         for (Iterator<SubQuery> iter = sqList.subQueries.iterator(); iter.hasNext();) {
 			SubQuery sq = iter.next();
@@ -138,7 +153,14 @@ public class HQLAnalyzer {
     }
 
     public List<EntityNameReference> getVisibleEntityNames(char[] chars, int position) {
-        List<SubQuery> sqs = getVisibleSubQueries(chars, position);
+        return getVisibleEntityNames( lex( chars ), position );
+    }
+    
+    /**
+     * @param tokens the tokens of the whole query
+     */
+    public List<EntityNameReference> getVisibleEntityNames(HQLTokenBuffer tokens, int position) {
+        List<SubQuery> sqs = getVisibleSubQueries(tokens, position);
         List<EntityNameReference> entityReferences = new ArrayList<EntityNameReference>();
         for (Iterator<SubQuery> iter = sqs.iterator(); iter.hasNext();) {
 			SubQuery sq = iter.next();
@@ -148,34 +170,41 @@ public class HQLAnalyzer {
     }
 
     public SubQueryList getSubQueries(char[] query, int position) {
-    	SimpleHQLLexer syntax = getLexer( query );
+    	return getSubQueries( lex( query ), position );
+    }
+    
+    /**
+     * @param tokens the tokens of the whole query
+     */
+    public SubQueryList getSubQueries(HQLTokenBuffer tokens, int position) {
     	int numericId = -1;
         List<SubQuery> subQueries = new ArrayList<SubQuery>();
         int depth = 0;
         int caretDepth = 0;
-        Map<Integer, SubQuery> level2SubQuery = new HashMap<Integer, SubQuery>();
+        SubQueryStack level2SubQuery = new SubQueryStack();
         SubQuery current = null;
-        while ((numericId = syntax.nextTokenId()) != HqlSqlTokenTypes.EOF) {
+        for (int t = 0; t < tokens.getTokenCount(); t++) {
+        	numericId = tokens.getTokenType(t);
+        	int tokenOffset = tokens.getTokenOffset(t);
             boolean tokenAdded = false;
             if (numericId == HqlSqlTokenTypes.OPEN) {
                 depth++;
-                if (position > syntax.getTokenOffset()) {
+                if (position > tokenOffset) {
                     caretDepth = depth;
                 }
             } else if (numericId == HqlSqlTokenTypes.CLOSE) {
-                SubQuery currentDepthQuery = level2SubQuery.get(new Integer(depth));
+                SubQuery currentDepthQuery = level2SubQuery.get(depth);
                 // We check if we have a query on the current depth.
                 // If yes, we'll have to close it
                 if (currentDepthQuery != null && currentDepthQuery.depth == depth) {
-                    currentDepthQuery.endOffset = syntax.getTokenOffset();
-                    currentDepthQuery.tokenIds.add(new Integer(numericId));
-                    currentDepthQuery.tokenText.add(String.valueOf(query, syntax.getTokenOffset(), syntax.getTokenLength()));
+                    currentDepthQuery.endOffset = tokenOffset;
+                    currentDepthQuery.addToken(t);
                     subQueries.add(currentDepthQuery);
-                    level2SubQuery.remove(new Integer(depth));
+                    level2SubQuery.remove(depth);
                     tokenAdded = true;
                 }
                 depth--;
-                if (position > syntax.getTokenOffset()) {
+                if (position > tokenOffset) {
                     caretDepth = depth;
                 }
             }
@@ -184,34 +213,28 @@ public class HQLAnalyzer {
                 case HqlSqlTokenTypes.UPDATE:
                 case HqlSqlTokenTypes.DELETE:
                 case HqlSqlTokenTypes.SELECT:
-                    if (!level2SubQuery.containsKey(new Integer(depth))) {
-                        current = new SubQuery();
+                    if (level2SubQuery.get(depth) == null) {
+                        current = new SubQuery(tokens);
                         current.depth = depth;
-                        current.startOffset = syntax.getTokenOffset();
-                        level2SubQuery.put(new Integer(depth), current);
+                        current.startOffset = tokenOffset;
+                        level2SubQuery.put(depth, current);
                     }
-                    current.tokenIds.add(new Integer(numericId));
-                    current.tokenText.add(String.valueOf(query, syntax.getTokenOffset(), syntax.getTokenLength()));
+                    current.addToken(t);
                     break;
                 default:
                     if (!tokenAdded) {
-                        SubQuery sq = level2SubQuery.get(new Integer(depth));
+                        SubQuery sq = level2SubQuery.get(depth);
                         int i = depth;
                         while (sq == null && i >= 0) {
-                            sq = level2SubQuery.get(new Integer(i--));
+                            sq = level2SubQuery.get(i--);
                         }
                         if (sq != null) {
-                            sq.tokenIds.add(new Integer(numericId));
-                            sq.tokenText.add(String.valueOf(query, syntax.getTokenOffset(), syntax.getTokenLength()));
+                            sq.addToken(t);
                         }
                     }
             }
         }
-        for (Iterator<SubQuery> iter = level2SubQuery.values().iterator(); iter.hasNext();) {
-			SubQuery sq = iter.next();
-			sq.endOffset = syntax.getTokenOffset() + syntax.getTokenLength();
-            subQueries.add(sq);
-        }
+        level2SubQuery.closeAll(tokens.getEndOffset(), subQueries);
         Collections.sort(subQueries);
         SubQueryList sql = new SubQueryList();
         sql.caretDepth = caretDepth;
@@ -219,6 +242,67 @@ public class HQLAnalyzer {
         return sql;
     }
 
+    private HQLTokenBuffer lex(char[] query) {
+    	return HQLTokenBuffer.lex( query, query.length, getLexer( query ) );
+    }
+    
+    /**
+     * The sub queries not closed yet by their depth, which may become negative on unbalanced parentheses.
+     */
+    private static class SubQueryStack {
+    	
+    	private SubQuery[] atDepth = new SubQuery[8];
+    	private SubQuery[] belowZero = new SubQuery[0];
+    	
+    	SubQuery get(int depth) {
+    		if (depth >= 0) {
+    			return depth < atDepth.length ? atDepth[depth] : null;
+    		} else {
+    			return -depth - 1 < belowZero.length ? belowZero[-depth - 1] : null;
+    		}
+    	}
+    	
+    	void put(int depth, SubQuery sq) {
+    		if (depth >= 0) {
+    			atDepth = ensureCapacity(atDepth, depth);
+    			atDepth[depth] = sq;
+    		} else {
+    			belowZero = ensureCapacity(belowZero, -depth - 1);
+    			belowZero[-depth - 1] = sq;
+    		}
+    	}
+    	
+    	void remove(int depth) {
+    		if (get(depth) != null) {
+    			put(depth, null);
+    		}
+    	}
+    	
+    	/** ends the sub queries not closed by a parenthesis at the end of the query */
+    	void closeAll(int endOffset, List<SubQuery> subQueries) {
+    		close(belowZero, endOffset, subQueries);
+    		close(atDepth, endOffset, subQueries);
+    	}
+    	
+    	private static void close(SubQuery[] array, int endOffset, List<SubQuery> subQueries) {
+    		for (int i = 0; i < array.length; i++) {
+    			if (array[i] != null) {
+    				array[i].endOffset = endOffset;
+    				subQueries.add(array[i]);
+    			}
+    		}
+    	}
+    	
+    	private static SubQuery[] ensureCapacity(SubQuery[] array, int index) {
+    		if (index < array.length) {
+    			return array;
+    		}
+    		SubQuery[] result = new SubQuery[Math.max(index + 1, array.length * 2)];
+    		System.arraycopy(array, 0, result, 0, array.length);
+    		return result;
+    	}
+    }
+
     
     /** Returns reference name found from position and backwards in the array.
      **/
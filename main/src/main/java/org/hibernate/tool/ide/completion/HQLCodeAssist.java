@@ -11,6 +11,10 @@ public class HQLCodeAssist implements IHQLCodeAssist {
 	private ConfigurationCompletion completion;
 	private Metadata metadata;
 	
+	/** the tokens of the previous call, reused for the parts of the query that did not change */
+	private HQLTokenBuffer lastPrefixTokens;
+	private HQLTokenBuffer lastQueryTokens;
+	
 	private static final char[] charSeparators;	
 
 	static {
@@ -30,7 +34,8 @@ public class HQLCodeAssist implements IHQLCodeAssist {
 		
 		boolean showEntityNames;
 		try {
-			showEntityNames = new HQLAnalyzer().shouldShowEntityNames( query, position );
+			char[] chars = query.toCharArray();
+			showEntityNames = new HQLAnalyzer().shouldShowEntityNames( lexPrefix( chars, position ), position );
 		
 		if(showEntityNames) {
 			if(hasMetadata()) {
@@ -39,7 +44,7 @@ public class HQLCodeAssist implements IHQLCodeAssist {
 				collector.completionFailure("Configuration not available nor open");
 			}
 		} else {
-			List<EntityNameReference> visible = new HQLAnalyzer().getVisibleEntityNames( query.toCharArray(), position );
+			List<EntityNameReference> visible = new HQLAnalyzer().getVisibleEntityNames( lexQuery( chars ), position );
 			int dotIndex = prefix.lastIndexOf(".");
             if (dotIndex == -1) {
                 // It's a simple path, not a dot separated one (find aliases that matches)
@@ -81,6 +86,36 @@ public class HQLCodeAssist implements IHQLCodeAssist {
 		
 	}
 	
+	/**
+	 * Lexes the query up to the cursor, only the part edited since the previous call is lexed again.
+	 */
+	private HQLTokenBuffer lexPrefix(char[] chars, int position) {
+		HQLTokenBuffer previous;
+		synchronized (this) {
+			previous = lastPrefixTokens;
+		}
+		HQLTokenBuffer tokens = previous==null ? HQLTokenBuffer.lex( chars, position ) : previous.update( chars, position );
+		synchronized (this) {
+			lastPrefixTokens = tokens;
+		}
+		return tokens;
+	}
+	
+	/**
+	 * Lexes the whole query, only the part edited since the previous call is lexed again.
+	 */
+	private HQLTokenBuffer lexQuery(char[] chars) {
+		HQLTokenBuffer previous;
+		synchronized (this) {
+			previous = lastQueryTokens;
+		}
+		HQLTokenBuffer tokens = previous==null ? HQLTokenBuffer.lex( chars, chars.length ) : previous.update( chars, chars.length );
+		synchronized (this) {
+			lastQueryTokens = tokens;
+		}
+		return tokens;
+	}
+	
 	private boolean hasMetadata() {
 		return metadata!=null;
 	}
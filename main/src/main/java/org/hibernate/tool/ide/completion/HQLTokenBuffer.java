@@ -0,0 +1,215 @@
+package org.hibernate.tool.ide.completion;
+
+import org.hibernate.hql.internal.antlr.HqlSqlTokenTypes;
+
+/**
+ * The tokens of a HQL string, kept as arrays of types, offsets and lengths.
+ *
+ * A buffer is never changed: {@link #update(char[], int)} gives the buffer of an edited string,
+ * reusing the tokens before and after the edited region and only lexing the region itself.
+ *
+ * Should not be used by external clients.
+ */
+public class HQLTokenBuffer {
+
+	/**
+	 * how far beyond its end the lexer may have looked to end a token,
+	 * a token is only reused if the string is unchanged that far
+	 */
+	private static final int LOOKAHEAD = 4;
+
+	private final char[] chars;
+	private final int length;
+
+	private int[] types;
+	private int[] offsets;
+	private int[] lengths;
+	private int count;
+
+	private int eofOffset;
+	private int eofLength;
+
+	private HQLTokenBuffer(char[] chars, int length, int capacity) {
+		this.chars = new char[length];
+		System.arraycopy(chars, 0, this.chars, 0, length);
+		this.length = length;
+		this.types = new int[Math.max(capacity, 8)];
+		this.offsets = new int[types.length];
+		this.lengths = new int[types.length];
+	}
+
+	/**
+	 * Lexes the first length characters.
+	 * @throws SimpleLexerException if they can't be lexed
+	 */
+	public static HQLTokenBuffer lex(char[] chars, int length) {
+		return lex(chars, length, new AntlrSimpleHQLLexer(chars, 0, length));
+	}
+
+	/**
+	 * Keeps the tokens returned by the lexer, which lexes the first length characters.
+	 * @throws SimpleLexerException if they can't be lexed
+	 */
+	public static HQLTokenBuffer lex(char[] chars, int length, SimpleHQLLexer lexer) {
+		HQLTokenBuffer result = new HQLTokenBuffer(chars, length, length / 4);
+		result.lexFrom(lexer, 0, null, 0);
+		return result;
+	}
+
+	/**
+	 * Returns the tokens of the first length characters, which are lexed again only from
+	 * the first token that may have changed until the tokens match the ones of this buffer again.
+	 * @throws SimpleLexerException if they can't be lexed
+	 */
+	public HQLTokenBuffer update(char[] newChars, int newLength) {
+		int prefix = 0;
+		int max = Math.min(length, newLength);
+		while (prefix < max && chars[prefix] == newChars[prefix]) {
+			prefix++;
+		}
+		if (prefix == length && length == newLength) {
+			return this;
+		}
+		int suffix = 0;
+		while (suffix < max - prefix && chars[length - 1 - suffix] == newChars[newLength - 1 - suffix]) {
+			suffix++;
+		}
+		// the tokens that end far enough before the first change are kept, as the text of a token 
+		// may differ from the characters it was lexed from a token is taken to end where the next one starts
+		int kept = 0;
+		while (kept < count && (kept + 1 < count ? offsets[kept + 1] : eofOffset) + LOOKAHEAD <= prefix) {
+			kept++;
+		}
+		if (kept == count && count > 0) {
+			kept--;
+		}
+		HQLTokenBuffer result = new HQLTokenBuffer(newChars, newLength, count + 8);
+		System.arraycopy(types, 0, result.types, 0, kept);
+		System.arraycopy(offsets, 0, result.offsets, 0, kept);
+		System.arraycopy(lengths, 0, result.lengths, 0, kept);
+		result.count = kept;
+		int restart = count == 0 ? 0 : offsets[kept];
+		result.lexFrom(new AntlrSimpleHQLLexer(result.chars, restart, newLength - restart), restart, this, newLength - suffix);
+		return result;
+	}
+
+	/**
+	 * Lexes from the given offset to the end, once a token starts in the unchanged end of the
+	 * string and matches a token of the previous buffer the remaining tokens are taken from there.
+	 */
+	private void lexFrom(SimpleHQLLexer lexer, int start, HQLTokenBuffer previous, int unchangedFrom) {
+		int delta = previous == null ? 0 : length - previous.length;
+		int tokenId;
+		while ((tokenId = lexer.nextTokenId()) != HqlSqlTokenTypes.EOF) {
+			int offset = lexer.getTokenOffset() + start;
+			int tokenLength = lexer.getTokenLength();
+			if (previous != null && offset >= unchangedFrom) {
+				int index = previous.indexOf(offset - delta);
+				if (index >= 0 && previous.types[index] == tokenId && previous.lengths[index] == tokenLength) {
+					for (int i = index; i < previous.count; i++) {
+						add(previous.types[i], previous.offsets[i] + delta, previous.lengths[i]);
+					}
+					eofOffset = previous.eofOffset + delta;
+					eofLength = previous.eofLength;
+					return;
+				}
+			}
+			add(tokenId, offset, tokenLength);
+		}
+		eofOffset = lexer.getTokenOffset() + start;
+		eofLength = lexer.getTokenLength();
+	}
+
+	private int indexOf(int offset) {
+		int low = 0;
+		int high = count - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (offsets[mid] < offset) {
+				low = mid + 1;
+			} else if (offsets[mid] > offset) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	private void add(int type, int offset, int tokenLength) {
+		if (count == types.length) {
+			int[] newTypes = new int[count * 2];
+			System.arraycopy(types, 0, newTypes, 0, count);
+			types = newTypes;
+			int[] newOffsets = new int[count * 2];
+			System.arraycopy(offsets, 0, newOffsets, 0, count);
+			offsets = newOffsets;
+			int[] newLengths = new int[count * 2];
+			System.arraycopy(lengths, 0, newLengths, 0, count);
+			lengths = newLengths;
+		}
+		types[count] = type;
+		offsets[count] = offset;
+		lengths[count] = tokenLength;
+		count++;
+	}
+
+	/**
+	 * @return a lexer returning the tokens of this buffer, followed by EOF
+	 */
+	public SimpleHQLLexer lexer() {
+		return new SimpleHQLLexer() {
+			private int index = -1;
+
+			public int nextTokenId() {
+				if (index < count) {
+					index++;
+				}
+				return index < count ? types[index] : HqlSqlTokenTypes.EOF;
+			}
+
+			public int getTokenOffset() {
+				return index < count ? offsets[index] : eofOffset;
+			}
+
+			public int getTokenLength() {
+				return index < count ? lengths[index] : eofLength;
+			}
+		};
+	}
+
+	/**
+	 * @return the characters the tokens were lexed from
+	 */
+	public char[] getChars() {
+		return chars;
+	}
+
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * @return the offset after the last token, as given by the lexer at the end of the characters
+	 */
+	public int getEndOffset() {
+		return eofOffset + eofLength;
+	}
+
+	public int getTokenCount() {
+		return count;
+	}
+
+	public int getTokenType(int i) {
+		return types[i];
+	}
+
+	public int getTokenOffset(int i) {
+		return offsets[i];
+	}
+
+	public int getTokenLength(int i) {
+		return lengths[i];
+	}
+
+}
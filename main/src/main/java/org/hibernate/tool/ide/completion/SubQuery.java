@@ -1,7 +1,6 @@
 package org.hibernate.tool.ide.completion;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.StringTokenizer;
 
@@ -13,26 +12,48 @@ public class SubQuery implements Comparable<SubQuery> {
         return startOffset - s.startOffset;
     }
     
-    List<Integer> tokenIds = new ArrayList<Integer>();
-
-    List<String> tokenText = new ArrayList<String>();
+    /** the tokens of the whole query, the sub query refers to its tokens by their indexes */
+    private final HQLTokenBuffer tokens;
+    
+    private int[] tokenIndexes = new int[16];
+    
+    private int tokenCount;
 
     int startOffset;
 
     int endOffset;
     
     int depth;
+    
+    /** an empty sub query */
+    public SubQuery() {
+    	this(HQLTokenBuffer.lex(new char[0], 0));
+    }
+    
+    SubQuery(HQLTokenBuffer tokens) {
+    	this.tokens = tokens;
+    }
+
+    void addToken(int tokenIndex) {
+    	if (tokenCount == tokenIndexes.length) {
+    		int[] newIndexes = new int[tokenCount * 2];
+    		System.arraycopy(tokenIndexes, 0, newIndexes, 0, tokenCount);
+    		tokenIndexes = newIndexes;
+    	}
+    	tokenIndexes[tokenCount++] = tokenIndex;
+    }
 
     public int getTokenCount() {
-        return tokenIds.size();
+        return tokenCount;
     }
 
     public int getToken(int i) {
-        return tokenIds.get(i);
+        return tokens.getTokenType(tokenIndexes[i]);
     }
 
     public String getTokenText(int i) {
-        return (String) tokenText.get(i);
+        int index = tokenIndexes[i];
+        return String.valueOf(tokens.getChars(), tokens.getTokenOffset(index), tokens.getTokenLength(index));
     }
 
     public List<EntityNameReference> getEntityNames() {
@@ -43,9 +64,8 @@ public class SubQuery implements Comparable<SubQuery> {
         int i = 0;
         boolean cont = true;
         int lastToken = HqlSqlTokenTypes.EOF;
-        for (Iterator<Integer> iter = tokenIds.iterator(); iter.hasNext();) {
-			Integer typeInteger = (Integer) iter.next();
-			int type = typeInteger.intValue();
+        for (int t = 0; t < tokenCount; t++) {
+			int type = getToken(t);
 			if (!cont) {
                 break;
             }
@@ -79,7 +99,7 @@ public class SubQuery implements Comparable<SubQuery> {
                     	if(lastToken!=HqlSqlTokenTypes.DOT) {
                     		joins.append(" ");
                     	} 
-                        joins.append(tokenText.get(i));
+                        appendTokenText(joins, i);
                         break;
                 }
             } else if (afterFrom) {
@@ -101,7 +121,7 @@ public class SubQuery implements Comparable<SubQuery> {
                     	if(lastToken!=HqlSqlTokenTypes.DOT) {
                     		tableNames.append(" ");
                     	} 
-                        tableNames.append(tokenText.get(i));
+                        appendTokenText(tableNames, i);
                         break;
                     case HqlSqlTokenTypes.JOIN:
                     	tableNames.append(",");
@@ -120,6 +140,11 @@ public class SubQuery implements Comparable<SubQuery> {
         return tables;
     }
 
+    private void appendTokenText(StringBuffer buf, int i) {
+    	int index = tokenIndexes[i];
+    	buf.append(tokens.getChars(), tokens.getTokenOffset(index), tokens.getTokenLength(index));
+    }
+
     private void addEntityReferences(final List<EntityNameReference> tables, final StringBuffer tableNames) {
         StringTokenizer tableTokenizer = new StringTokenizer(tableNames.toString(), ",");
         while (tableTokenizer.hasMoreTokens()) {
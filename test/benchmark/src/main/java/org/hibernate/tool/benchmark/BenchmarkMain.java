@@ -0,0 +1,28 @@
+package org.hibernate.tool.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * Runs the benchmarks like the JMH launcher, but unless a result format is given with -rf
+ * the results are also written as JSON to benchmark-results.json, so runs can be compared by tools.
+ */
+public class BenchmarkMain {
+
+	public static void main(String[] args) throws Exception {
+		List<String> arguments = new ArrayList<String>(Arrays.asList(args));
+		if (!arguments.contains("-rf")) {
+			arguments.add(0, "-rf");
+			arguments.add(1, "json");
+			if (!arguments.contains("-rff")) {
+				arguments.add(2, "-rff");
+				arguments.add(3, "benchmark-results.json");
+			}
+		}
+		Main.main(arguments.toArray(new String[arguments.size()]));
+	}
+
+}
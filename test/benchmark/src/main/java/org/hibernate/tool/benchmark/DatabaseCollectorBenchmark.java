@@ -0,0 +1,99 @@
+package org.hibernate.tool.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.boot.internal.InFlightMetadataCollectorImpl;
+import org.hibernate.boot.internal.MetadataBuilderImpl.MetadataBuildingOptionsImpl;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.reveng.DatabaseCollector;
+import org.hibernate.cfg.reveng.DefaultDatabaseCollector;
+import org.hibernate.cfg.reveng.MappingsDatabaseCollector;
+import org.hibernate.cfg.reveng.dialect.JDBCMetaDataDialect;
+import org.hibernate.cfg.reveng.dialect.MetaDataDialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.type.TypeResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Adds the given number of tables to a database collector and looks each of them up,
+ * once found and once missing, as the foreign key processing does.
+ * The time per table should stay about the same as the table count grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DatabaseCollectorBenchmark {
+
+	@Param({ "default", "mappings" })
+	public String collector;
+	
+	@Param({ "2000", "32000" })
+	public int tables;
+	
+	private StandardServiceRegistry serviceRegistry;
+	
+	private MetaDataDialect metaDataDialect;
+	
+	@Setup
+	public void setUp() {
+		serviceRegistry = new StandardServiceRegistryBuilder()
+				.applySetting(AvailableSettings.DIALECT, H2Dialect.class.getName())
+				.build();
+		metaDataDialect = new JDBCMetaDataDialect();
+	}
+	
+	@TearDown
+	public void tearDown() {
+		StandardServiceRegistryBuilder.destroy(serviceRegistry);
+	}
+	
+	@Benchmark
+	public DatabaseCollector addAndLookUp() {
+		DatabaseCollector dc = createCollector();
+		for (int i = 0; i < tables; i++) {
+			dc.addTable(schemaName(i), catalogName(i), "TABLE_" + i);
+		}
+		for (int i = 0; i < tables; i++) {
+			dc.getTable(schemaName(i), catalogName(i), "TABLE_" + i);
+			dc.getTable(schemaName(i), catalogName(i), "MISSING_" + i);
+		}
+		return dc;
+	}
+	
+	private DatabaseCollector createCollector() {
+		if("mappings".equals(collector)) {
+			return new MappingsDatabaseCollector(
+					new InFlightMetadataCollectorImpl(
+							new MetadataBuildingOptionsImpl(serviceRegistry), 
+							new TypeResolver()), 
+					metaDataDialect);
+		} else {
+			return new DefaultDatabaseCollector(metaDataDialect);
+		}
+	}
+	
+	private static String schemaName(int i) {
+		return "SCHEMA_" + (i % 7);
+	}
+	
+	private static String catalogName(int i) {
+		return i % 2 == 0 ? null : "CATALOG";
+	}
+	
+}
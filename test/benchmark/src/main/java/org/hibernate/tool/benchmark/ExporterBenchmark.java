@@ -0,0 +1,130 @@
+package org.hibernate.tool.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.cfg.Environment;
+import org.hibernate.cfg.reveng.DefaultReverseEngineeringStrategy;
+import org.hibernate.cfg.reveng.ReverseEngineeringSettings;
+import org.hibernate.tool.hbm2x.DocExporter;
+import org.hibernate.tool.hbm2x.Exporter;
+import org.hibernate.tool.hbm2x.HibernateMappingExporter;
+import org.hibernate.tool.hbm2x.POJOExporter;
+import org.hibernate.tool.hbm2x.xml.StAXPrettyPrinterStrategy;
+import org.hibernate.tool.hbm2x.xml.XMLPrettyPrinterStrategyFactory;
+import org.hibernate.tool.metadata.MetadataSourcesFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs the exporters on the {@link Metadata} reverse engineered once 
+ * from a {@link SyntheticSchema}. Each invocation writes to a new temporary directory, 
+ * as unchanged files would not be written again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExporterBenchmark {
+
+	@Param({ "50", "200" })
+	public int tables;
+	
+	@Param({ "10" })
+	public int columns;
+	
+	@Param({ "0.5" })
+	public double foreignKeys;
+	
+	@Param({ "0.1" })
+	public double compositeKeys;
+	
+	private SyntheticSchema schema;
+	
+	private Properties properties;
+	
+	private Metadata metadata;
+	
+	private File outputDir;
+	
+	@Setup
+	public void setUp() throws SQLException, IOException {
+		if (System.getProperty(XMLPrettyPrinterStrategyFactory.PROPERTY_STRATEGY_IMPL) == null) {
+			// the default strategy loads the DTD of the mapping files, which would be timed as well
+			System.setProperty(XMLPrettyPrinterStrategyFactory.PROPERTY_STRATEGY_IMPL, StAXPrettyPrinterStrategy.class.getName());
+		}
+		properties = Environment.getProperties();
+		schema = new SyntheticSchema(tables, columns, foreignKeys, compositeKeys);
+		schema.create(properties);
+		DefaultReverseEngineeringStrategy strategy = new DefaultReverseEngineeringStrategy();
+		strategy.setSettings(new ReverseEngineeringSettings(strategy).setDefaultPackageName("org.benchmark"));
+		metadata = MetadataSourcesFactory
+				.createJdbcSources(strategy, null, true)
+				.buildMetadata();
+	}
+	
+	@Setup(Level.Invocation)
+	public void createOutputDir() throws IOException {
+		outputDir = Files.createTempDirectory("hibernate-tools-benchmark").toFile();
+	}
+	
+	@TearDown(Level.Invocation)
+	public void deleteOutputDir() {
+		delete(outputDir);
+	}
+	
+	@TearDown
+	public void tearDown() throws SQLException {
+		schema.drop(properties);
+	}
+	
+	@Benchmark
+	public void pojoExporter() {
+		export(new POJOExporter());
+	}
+	
+	@Benchmark
+	public void hibernateMappingExporter() {
+		export(new HibernateMappingExporter());
+	}
+	
+	@Benchmark
+	public void docExporter() {
+		export(new DocExporter());
+	}
+	
+	private void export(Exporter exporter) {
+		exporter.setMetadata(metadata);
+		exporter.setOutputDirectory(outputDir);
+		exporter.start();
+	}
+	
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+	
+}
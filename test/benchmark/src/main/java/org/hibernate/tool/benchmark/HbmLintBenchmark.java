@@ -0,0 +1,81 @@
+package org.hibernate.tool.benchmark;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.cfg.Environment;
+import org.hibernate.tool.hbmlint.HbmLint;
+import org.hibernate.tool.hbmlint.Issue;
+import org.hibernate.tool.metadata.MetadataSourcesFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lints the {@link Metadata} reverse engineered once from a {@link SyntheticSchema}, 
+ * including the comparison with the database schema.
+ * The schema has no composite keys, as the identifier generators of composite ids 
+ * can only be created from their classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HbmLintBenchmark {
+
+	@Param({ "50", "200" })
+	public int tables;
+	
+	@Param({ "10" })
+	public int columns;
+	
+	@Param({ "0.5" })
+	public double foreignKeys;
+	
+	@Param({ "1", "4" })
+	public int threads;
+	
+	private SyntheticSchema schema;
+	
+	private Properties properties;
+	
+	private Metadata metadata;
+	
+	@Setup
+	public void setUp() throws SQLException {
+		properties = Environment.getProperties();
+		schema = new SyntheticSchema(tables, columns, foreignKeys, 0);
+		schema.create(properties);
+		metadata = MetadataSourcesFactory
+				.createJdbcSources(null, null, true)
+				.buildMetadata();
+	}
+	
+	@TearDown
+	public void tearDown() throws SQLException {
+		schema.drop(properties);
+	}
+	
+	@Benchmark
+	public List<Issue> analyze() {
+		HbmLint hbmlint = HbmLint.createInstance();
+		hbmlint.setThreads(threads);
+		hbmlint.analyze(metadata);
+		return hbmlint.getResults();
+	}
+	
+}
@@ -0,0 +1,95 @@
+package org.hibernate.tool.benchmark;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Environment;
+import org.hibernate.cfg.JDBCReaderFactory;
+import org.hibernate.cfg.reveng.DefaultDatabaseCollector;
+import org.hibernate.cfg.reveng.DefaultReverseEngineeringStrategy;
+import org.hibernate.cfg.reveng.JDBCReader;
+import org.hibernate.mapping.Table;
+import org.hibernate.tool.metadata.MetadataSourcesFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads a {@link SyntheticSchema} with the {@link JDBCReader} only, 
+ * and into a {@link Metadata} as done by the JDBCBinder for the reverse engineering exporters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReverseEngineeringBenchmark {
+
+	@Param({ "50", "200" })
+	public int tables;
+	
+	@Param({ "10" })
+	public int columns;
+	
+	@Param({ "0.5" })
+	public double foreignKeys;
+	
+	@Param({ "0.1" })
+	public double compositeKeys;
+	
+	private SyntheticSchema schema;
+	
+	private Properties properties;
+	
+	private StandardServiceRegistry serviceRegistry;
+	
+	@Setup
+	public void setUp() throws SQLException {
+		properties = Environment.getProperties();
+		schema = new SyntheticSchema(tables, columns, foreignKeys, compositeKeys);
+		schema.create(properties);
+		serviceRegistry = new StandardServiceRegistryBuilder().applySettings(properties).build();
+	}
+	
+	@TearDown
+	public void tearDown() throws SQLException {
+		StandardServiceRegistryBuilder.destroy(serviceRegistry);
+		schema.drop(properties);
+	}
+	
+	@Benchmark
+	public List<Table> readDatabaseSchema() {
+		JDBCReader reader = JDBCReaderFactory.newJDBCReader(
+				properties, 
+				new DefaultReverseEngineeringStrategy(), 
+				serviceRegistry);
+		return reader.readDatabaseSchema(
+				new DefaultDatabaseCollector(reader.getMetaDataDialect()), 
+				properties.getProperty(AvailableSettings.DEFAULT_CATALOG), 
+				properties.getProperty(AvailableSettings.DEFAULT_SCHEMA));
+	}
+	
+	@Benchmark
+	public Metadata buildMetadata() {
+		return MetadataSourcesFactory
+				.createJdbcSources(null, null, true)
+				.buildMetadata();
+	}
+	
+}
@@ -0,0 +1,104 @@
+package org.hibernate.tool.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.Random;
+
+import org.hibernate.cfg.AvailableSettings;
+
+/**
+ * Creates a schema of the given size in the database configured by hibernate.properties.
+ * Each table has an identifier and the given number of columns of varying types,
+ * a share of the tables has a composite key and a share has a foreign key to one of the tables before it.
+ * The tables only depend on the parameters, the same schema is created on every run.
+ */
+public class SyntheticSchema {
+
+	private static final String[] TYPES = { "VARCHAR(50)", "INTEGER", "DECIMAL(12,2)", "DATE", "BIGINT", "VARCHAR(255)" };
+
+	private final int tables;
+	private final int columns;
+	private final double foreignKeys;
+	private final double compositeKeys;
+
+	/**
+	 * @param foreignKeys the share of the tables with a foreign key, from 0 to 1
+	 * @param compositeKeys the share of the tables with a composite key, from 0 to 1
+	 */
+	public SyntheticSchema(int tables, int columns, double foreignKeys, double compositeKeys) {
+		this.tables = tables;
+		this.columns = columns;
+		this.foreignKeys = foreignKeys;
+		this.compositeKeys = compositeKeys;
+	}
+
+	public void create(Properties properties) throws SQLException {
+		Random random = new Random(tables * 31 + columns);
+		boolean[] composite = new boolean[tables];
+		Connection connection = getConnection(properties);
+		try {
+			Statement statement = connection.createStatement();
+			try {
+				for (int i = 0; i < tables; i++) {
+					composite[i] = random.nextDouble() < compositeKeys;
+					StringBuffer sql = new StringBuffer("CREATE TABLE ").append(tableName(i)).append(" (ID BIGINT NOT NULL");
+					if (composite[i]) {
+						sql.append(", REVISION INTEGER NOT NULL");
+					}
+					for (int j = 0; j < columns; j++) {
+						sql.append(", COL").append(j).append(' ').append(TYPES[j % TYPES.length]);
+					}
+					int parent = -1;
+					if (i > 0 && random.nextDouble() < foreignKeys) {
+						parent = random.nextInt(i);
+						sql.append(", PARENT_ID BIGINT");
+						if (composite[parent]) {
+							sql.append(", PARENT_REVISION INTEGER");
+						}
+					}
+					sql.append(", PRIMARY KEY (ID").append(composite[i] ? ", REVISION)" : ")");
+					if (parent >= 0) {
+						sql.append(", CONSTRAINT FK_").append(tableName(i))
+							.append(composite[parent] ? " FOREIGN KEY (PARENT_ID, PARENT_REVISION)" : " FOREIGN KEY (PARENT_ID)")
+							.append(" REFERENCES ").append(tableName(parent));
+					}
+					sql.append(")");
+					statement.execute(sql.toString());
+				}
+			} finally {
+				statement.close();
+			}
+		} finally {
+			connection.close();
+		}
+	}
+
+	public void drop(Properties properties) throws SQLException {
+		Connection connection = getConnection(properties);
+		try {
+			Statement statement = connection.createStatement();
+			try {
+				statement.execute("DROP ALL OBJECTS");
+			} finally {
+				statement.close();
+			}
+		} finally {
+			connection.close();
+		}
+	}
+
+	private String tableName(int i) {
+		return "TABLE" + i;
+	}
+
+	private Connection getConnection(Properties properties) throws SQLException {
+		return DriverManager.getConnection(
+				properties.getProperty(AvailableSettings.URL),
+				properties.getProperty(AvailableSettings.USER),
+				properties.getProperty(AvailableSettings.PASS));
+	}
+
+}
@@ -0,0 +1,75 @@
+package org.hibernate.tool.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.tool.hbm2x.xml.DOM3LSPrettyPrinterStrategy;
+import org.hibernate.tool.hbm2x.xml.StAXPrettyPrinterStrategy;
+import org.hibernate.tool.hbm2x.xml.TrAXPrettyPrinterStrategy;
+import org.hibernate.tool.hbm2x.xml.XMLPrettyPrinterStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Formats a mapping file as rendered by the hbm.xml template, with the given number of properties,
+ * using each of the pretty printing strategies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XMLPrettyPrinterBenchmark {
+
+	@Param({ "trax", "dom3ls", "stax" })
+	public String strategy;
+	
+	@Param({ "10", "100" })
+	public int properties;
+	
+	private XMLPrettyPrinterStrategy prettyPrinter;
+	
+	private String xml;
+	
+	@Setup
+	public void setUp() {
+		if("trax".equals(strategy)) {
+			prettyPrinter = new TrAXPrettyPrinterStrategy();
+		} else if("dom3ls".equals(strategy)) {
+			prettyPrinter = new DOM3LSPrettyPrinterStrategy();
+		} else {
+			prettyPrinter = new StAXPrettyPrinterStrategy();
+		}
+		StringBuffer buf = new StringBuffer();
+		buf.append("<?xml version=\"1.0\"?>\n");
+		buf.append("<hibernate-mapping>\n");
+		buf.append("  <class name=\"org.benchmark.Entity\" table=\"ENTITY\" schema=\"PUBLIC\">\n");
+		buf.append("        <id name=\"id\" type=\"long\">\n");
+		buf.append("            <column name=\"ID\" />\n");
+		buf.append("            <generator class=\"assigned\" />\n");
+		buf.append("        </id>\n");
+		for (int i = 0; i < properties; i++) {
+			buf.append("        <property name=\"property").append(i).append("\" type=\"string\">\n\n");
+			buf.append("            <column name=\"PROPERTY").append(i).append("\" length=\"20\" />\n");
+			buf.append("        </property>\n");
+		}
+		buf.append("  </class>\n");
+		buf.append("</hibernate-mapping>\n");
+		xml = buf.toString();
+	}
+	
+	@Benchmark
+	public String prettyPrint() throws Exception {
+		return prettyPrinter.prettyPrint(xml);
+	}
+	
+}
@@ -4,6 +4,7 @@
  */
 package org.hibernate.tool.hbm2x.CachedMetaData;
 
+import java.io.File;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Properties;
@@ -20,6 +21,7 @@ import org.hibernate.cfg.reveng.JDBCReader;
 import org.hibernate.cfg.reveng.ReverseEngineeringRuntimeInfo;
 import org.hibernate.cfg.reveng.dialect.CachedMetaDataDialect;
 import org.hibernate.cfg.reveng.dialect.MetaDataDialect;
+import org.hibernate.cfg.reveng.dialect.MetaDataSnapshotStore;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.mapping.Table;
 import org.hibernate.service.ServiceRegistry;
@@ -28,7 +30,9 @@ import org.hibernate.tools.test.util.JdbcUtil;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 
 
@@ -121,6 +125,9 @@ public class TestCase {
 		
 	}
 	
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+	
 	@Before
 	public void setUp() {
 		JdbcUtil.createDatabase(this);
@@ -167,6 +174,92 @@ public class TestCase {
 		validate(dc);
 	}
 
+	@Test
+	public void testSnapshot() throws Exception {
+		StandardServiceRegistryBuilder builder = new StandardServiceRegistryBuilder();
+		ServiceRegistry serviceRegistry = builder.build();		
+		File directory = temporaryFolder.newFolder("snapshots");
+		MockedMetaDataDialect mock = createMockedMetaDataDialect(serviceRegistry);
+		validate(readDatabaseSchema(
+				new CachedMetaDataDialect(mock, new MetaDataSnapshotStore(directory, 0, false)), 
+				serviceRegistry));
+		Assert.assertTrue(directory.list().length > 0);
+		// a new dialect, as in a new run, is served from the snapshot
+		mock = createMockedMetaDataDialect(serviceRegistry);
+		mock.setFailOnDelegateAccess(true);
+		validate(readDatabaseSchema(
+				new CachedMetaDataDialect(mock, new MetaDataSnapshotStore(directory, 0, false)), 
+				serviceRegistry));
+		// unless asked to refresh
+		try {
+			readDatabaseSchema(
+					new CachedMetaDataDialect(mock, new MetaDataSnapshotStore(directory, 0, true)), 
+					serviceRegistry);
+			Assert.fail("refresh should not use the snapshot");
+		} catch (IllegalStateException e) {
+			Assert.assertEquals("delegate not accessible", e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testExpiredSnapshot() throws Exception {
+		StandardServiceRegistryBuilder builder = new StandardServiceRegistryBuilder();
+		ServiceRegistry serviceRegistry = builder.build();		
+		File directory = temporaryFolder.newFolder("snapshots");
+		validate(readDatabaseSchema(
+				new CachedMetaDataDialect(
+						createMockedMetaDataDialect(serviceRegistry), 
+						new MetaDataSnapshotStore(directory, 0, false)), 
+				serviceRegistry));
+		Thread.sleep(10);
+		MockedMetaDataDialect mock = createMockedMetaDataDialect(serviceRegistry);
+		mock.setFailOnDelegateAccess(true);
+		try {
+			readDatabaseSchema(
+					new CachedMetaDataDialect(mock, new MetaDataSnapshotStore(directory, 5, false)), 
+					serviceRegistry);
+			Assert.fail("an expired snapshot should not be used");
+		} catch (IllegalStateException e) {
+			Assert.assertEquals("delegate not accessible", e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testSnapshotProperty() throws Exception {
+		StandardServiceRegistryBuilder builder = new StandardServiceRegistryBuilder();
+		ServiceRegistry serviceRegistry = builder.build();		
+		File directory = temporaryFolder.newFolder("snapshots");
+		Properties p = new Properties();
+		p.setProperty("hibernatetool.metadata.cache.dir", directory.getAbsolutePath());
+		MetaDataDialect dialect = MetaDataDialectFactory.createMetaDataDialect( 
+				serviceRegistry.getService(JdbcServices.class).getDialect(), 
+				p );
+		Assert.assertSame(CachedMetaDataDialect.class, dialect.getClass());
+		validate(readDatabaseSchema(dialect, serviceRegistry));
+		Assert.assertTrue(directory.list().length > 0);
+	}
+	
+	private MockedMetaDataDialect createMockedMetaDataDialect(ServiceRegistry serviceRegistry) {
+		return new MockedMetaDataDialect(MetaDataDialectFactory.createMetaDataDialect( 
+				serviceRegistry.getService(JdbcServices.class).getDialect(), 
+				new Properties() ));
+	}
+	
+	private DatabaseCollector readDatabaseSchema(MetaDataDialect dialect, ServiceRegistry serviceRegistry) {
+		Properties properties = Environment.getProperties();
+		JDBCReader reader = JDBCReaderFactory.newJDBCReader( 
+				properties, 
+				new DefaultReverseEngineeringStrategy(), 
+				dialect, 
+				serviceRegistry );
+		DatabaseCollector dc = new DefaultDatabaseCollector(reader.getMetaDataDialect());
+		reader.readDatabaseSchema( 
+				dc, 
+				properties.getProperty(AvailableSettings.DEFAULT_CATALOG), 
+				properties.getProperty(AvailableSettings.DEFAULT_SCHEMA) );
+		return dc;
+	}
+
 	private void validate(DatabaseCollector dc) {
 		Iterator<Table> iterator = dc.iterateTables();
 		Table table = iterator.next();
@@ -0,0 +1,184 @@
+package org.hibernate.tool.hbm2x.IncrementalExport;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.cfg.reveng.DefaultReverseEngineeringStrategy;
+import org.hibernate.cfg.reveng.ReverseEngineeringSettings;
+import org.hibernate.cfg.reveng.TableIdentifier;
+import org.hibernate.tool.hbm2x.ExporterSettings;
+import org.hibernate.tool.hbm2x.POJOExporter;
+import org.hibernate.tool.metadata.MetadataSourcesFactory;
+import org.hibernate.tools.test.util.JdbcUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestCase {
+
+	private static final String MARKER = "// not regenerated";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File outputDir = null;
+
+	@Before
+	public void setUp() {
+		JdbcUtil.createDatabase(this);
+		outputDir = temporaryFolder.getRoot();
+	}
+
+	@After
+	public void tearDown() {
+		JdbcUtil.dropDatabase(this);
+	}
+
+	@Test
+	public void testOnlyChangedTablesAreRegenerated() throws IOException {
+		export(true);
+		markAll();
+		export(true);
+		Assert.assertTrue(isMarked("Alpha"));
+		Assert.assertTrue(isMarked("Beta"));
+		Assert.assertTrue(isMarked("Gamma"));
+
+		JdbcUtil.executeSql(this, new String[] { "ALTER TABLE BETA ADD COLUMN CODE VARCHAR(10)" });
+		export(true);
+		Assert.assertTrue("unrelated table should not be regenerated", isMarked("Alpha"));
+		Assert.assertFalse("changed table should be regenerated", isMarked("Beta"));
+		Assert.assertFalse("table referencing the changed table should be regenerated", isMarked("Gamma"));
+		Assert.assertTrue(read("Beta").contains("code"));
+		JdbcUtil.executeSql(this, new String[] { "ALTER TABLE BETA DROP COLUMN CODE" });
+	}
+
+	@Test
+	public void testMissingFilesAreRegenerated() throws IOException {
+		export(true);
+		markAll();
+		Assert.assertTrue(file("Alpha").delete());
+		export(true);
+		Assert.assertTrue(file("Alpha").isFile());
+		Assert.assertFalse(isMarked("Alpha"));
+		Assert.assertTrue(isMarked("Beta"));
+	}
+
+	@Test
+	public void testChangedSettingsRegenerateAll() throws IOException {
+		export(true);
+		markAll();
+		POJOExporter exporter = newExporter(true);
+		exporter.getProperties().setProperty("ejb3", "true");
+		exporter.start();
+		Assert.assertFalse(isMarked("Alpha"));
+		Assert.assertFalse(isMarked("Beta"));
+		Assert.assertFalse(isMarked("Gamma"));
+	}
+
+	@Test
+	public void testChangedMappingsAreRegenerated() throws IOException {
+		export(true);
+		markAll();
+		DefaultReverseEngineeringStrategy strategy = new DefaultReverseEngineeringStrategy() {
+			public String columnToPropertyName(TableIdentifier table, String column) {
+				if("BETA".equalsIgnoreCase(table.getName()) && "NAME".equalsIgnoreCase(column)) {
+					return "title";
+				}
+				return super.columnToPropertyName(table, column);
+			}
+		};
+		POJOExporter exporter = newExporter(true);
+		exporter.setMetadata(buildMetadata(strategy));
+		exporter.start();
+		Assert.assertTrue("unchanged mapping should not be regenerated", isMarked("Alpha"));
+		Assert.assertFalse("changed mapping should be regenerated", isMarked("Beta"));
+		Assert.assertTrue(read("Beta").contains("title"));
+	}
+
+	@Test
+	public void testChangedTemplatesRegenerateAll() throws IOException {
+		File templatePath = temporaryFolder.newFolder("templates");
+		File toString = new File(templatePath, "pojo/PojoToString.ftl");
+		toString.getParentFile().mkdirs();
+		Files.write(toString.toPath(), "// first toString\n".getBytes("UTF-8"));
+		exportWithTemplates(templatePath);
+		markAll();
+		exportWithTemplates(templatePath);
+		Assert.assertTrue(isMarked("Alpha"));
+		Assert.assertTrue(isMarked("Beta"));
+
+		Files.write(toString.toPath(), "// second toString\n".getBytes("UTF-8"));
+		exportWithTemplates(templatePath);
+		Assert.assertFalse(isMarked("Alpha"));
+		Assert.assertFalse(isMarked("Beta"));
+		Assert.assertFalse(isMarked("Gamma"));
+		Assert.assertTrue(read("Alpha").contains("// second toString"));
+	}
+
+	@Test
+	public void testNotIncremental() throws IOException {
+		export(false);
+		markAll();
+		export(false);
+		Assert.assertFalse(isMarked("Alpha"));
+		Assert.assertFalse(isMarked("Beta"));
+		Assert.assertFalse(isMarked("Gamma"));
+	}
+
+	private void export(boolean incremental) {
+		newExporter(incremental).start();
+	}
+
+	private void exportWithTemplates(File templatePath) {
+		POJOExporter exporter = newExporter(true);
+		exporter.setTemplatePath(new String[] { templatePath.getPath() });
+		exporter.start();
+	}
+
+	private POJOExporter newExporter(boolean incremental) {
+		POJOExporter exporter = new POJOExporter();
+		exporter.setMetadata(buildMetadata());
+		exporter.setOutputDirectory(outputDir);
+		exporter.getProperties().setProperty(ExporterSettings.INCREMENTAL, String.valueOf(incremental));
+		return exporter;
+	}
+
+	private Metadata buildMetadata() {
+		return buildMetadata(new DefaultReverseEngineeringStrategy());
+	}
+
+	private Metadata buildMetadata(DefaultReverseEngineeringStrategy strategy) {
+		strategy.setSettings(new ReverseEngineeringSettings(strategy).setDefaultPackageName("org.reveng"));
+		return MetadataSourcesFactory
+				.createJdbcSources(strategy, null, true)
+				.buildMetadata();
+	}
+
+	private void markAll() throws IOException {
+		mark("Alpha");
+		mark("Beta");
+		mark("Gamma");
+	}
+
+	private void mark(String className) throws IOException {
+		Files.write(file(className).toPath(), (read(className) + MARKER).getBytes("UTF-8"));
+	}
+
+	private boolean isMarked(String className) throws IOException {
+		return read(className).endsWith(MARKER);
+	}
+
+	private String read(String className) throws IOException {
+		return new String(Files.readAllBytes(file(className).toPath()), "UTF-8");
+	}
+
+	private File file(String className) {
+		return new File(outputDir, "org/reveng/" + className + ".java");
+	}
+
+}
@@ -0,0 +1,249 @@
+package org.hibernate.tool.hbm2x.ParallelMetaData;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Environment;
+import org.hibernate.cfg.JDBCReaderFactory;
+import org.hibernate.cfg.MetaDataDialectFactory;
+import org.hibernate.cfg.reveng.DatabaseCollector;
+import org.hibernate.cfg.reveng.DefaultDatabaseCollector;
+import org.hibernate.cfg.reveng.DefaultReverseEngineeringStrategy;
+import org.hibernate.cfg.reveng.JDBCReader;
+import org.hibernate.cfg.reveng.ReverseEngineeringRuntimeInfo;
+import org.hibernate.cfg.reveng.dialect.MetaDataDialect;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.mapping.Column;
+import org.hibernate.mapping.ForeignKey;
+import org.hibernate.mapping.Table;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.tools.test.util.JdbcUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestCase {
+
+	public class CountingMetaDataDialect implements MetaDataDialect {
+
+		MetaDataDialect delegate;
+		AtomicInteger columnCalls;
+		boolean closed;
+
+		public CountingMetaDataDialect(MetaDataDialect realMetaData, AtomicInteger columnCalls) {
+			delegate = realMetaData;
+			this.columnCalls = columnCalls;
+		}
+
+		public void close() {
+			closed = true;
+			delegate.close();
+		}
+
+		public void close(Iterator<?> iterator) {
+			delegate.close( iterator );
+		}
+
+		public void configure(ReverseEngineeringRuntimeInfo info) {
+			delegate.configure(info);
+		}
+
+		public Iterator<Map<String, Object>> getColumns(String catalog, String schema, String table, String column) {
+			columnCalls.incrementAndGet();
+			return delegate.getColumns( catalog, schema, table, column );
+		}
+
+		public Iterator<Map<String, Object>> getExportedKeys(String catalog, String schema, String table) {
+			return delegate.getExportedKeys( catalog, schema, table );
+		}
+
+		public Iterator<Map<String, Object>> getIndexInfo(String catalog, String schema, String table) {
+			return delegate.getIndexInfo( catalog, schema, table );
+		}
+
+		public Iterator<Map<String, Object>> getPrimaryKeys(String catalog, String schema, String name) {
+			return delegate.getPrimaryKeys( catalog, schema, name );
+		}
+
+		public Iterator<Map<String, Object>> getTables(String catalog, String schema, String table) {
+			return delegate.getTables( catalog, schema, table );
+		}
+
+		public boolean needQuote(String name) {
+			return delegate.needQuote( name );
+		}
+
+		public Iterator<Map<String, Object>> getSuggestedPrimaryKeyStrategyName(String catalog, String schema, String name) {
+			return delegate.getSuggestedPrimaryKeyStrategyName(catalog, schema, name);
+		}
+
+	}
+
+	public class FailingMetaDataDialect extends CountingMetaDataDialect {
+
+		public FailingMetaDataDialect(MetaDataDialect realMetaData) {
+			super(realMetaData, new AtomicInteger());
+		}
+
+		public Iterator<Map<String, Object>> getColumns(String catalog, String schema, String table, String column) {
+			throw new IllegalStateException("cannot read columns of " + table);
+		}
+
+	}
+
+	private ServiceRegistry serviceRegistry;
+	private Properties properties;
+
+	@Before
+	public void setUp() {
+		JdbcUtil.createDatabase(this);
+		serviceRegistry = new StandardServiceRegistryBuilder().build();
+		properties = Environment.getProperties();
+	}
+
+	@After
+	public void tearDown() {
+		JdbcUtil.dropDatabase(this);
+	}
+
+	@Test
+	public void testParallelDialects() {
+		DatabaseCollector expected = readDatabaseSchema(newJDBCReader());
+		AtomicInteger columnCalls = new AtomicInteger();
+		CountingMetaDataDialect main = new CountingMetaDataDialect(createMetaDataDialect(), columnCalls);
+		CountingMetaDataDialect first = new CountingMetaDataDialect(createMetaDataDialect(), columnCalls);
+		CountingMetaDataDialect second = new CountingMetaDataDialect(createMetaDataDialect(), columnCalls);
+		JDBCReader reader = JDBCReaderFactory.newJDBCReader(
+				properties,
+				new DefaultReverseEngineeringStrategy(),
+				main,
+				serviceRegistry );
+		reader.setParallelMetaDataDialects(Arrays.<MetaDataDialect>asList(first, second));
+		DatabaseCollector actual = readDatabaseSchema(reader);
+		Assert.assertEquals("columns should be read once per table", 5, columnCalls.get());
+		Assert.assertTrue(main.closed);
+		Assert.assertTrue(first.closed);
+		Assert.assertTrue(second.closed);
+		assertSameTables(expected, actual);
+	}
+
+	@Test
+	public void testThreadsProperty() {
+		Properties p = new Properties();
+		p.putAll(properties);
+		p.setProperty("hibernatetool.metadata.threads", "3");
+		JDBCReader reader = JDBCReaderFactory.newJDBCReader(
+				p,
+				new DefaultReverseEngineeringStrategy(),
+				serviceRegistry );
+		assertSameTables(readDatabaseSchema(newJDBCReader()), readDatabaseSchema(reader));
+	}
+
+	@Test
+	public void testFailureIsRethrown() {
+		JDBCReader reader = JDBCReaderFactory.newJDBCReader(
+				properties,
+				new DefaultReverseEngineeringStrategy(),
+				new FailingMetaDataDialect(createMetaDataDialect()),
+				serviceRegistry );
+		reader.setParallelMetaDataDialects(Arrays.<MetaDataDialect>asList(
+				new FailingMetaDataDialect(createMetaDataDialect())));
+		try {
+			readDatabaseSchema(reader);
+			Assert.fail("failure of a parallel dialect should be reported");
+		} catch (IllegalStateException e) {
+			Assert.assertTrue(e.getMessage().startsWith("cannot read columns of "));
+		}
+	}
+
+	private MetaDataDialect createMetaDataDialect() {
+		return MetaDataDialectFactory.createMetaDataDialect(
+				serviceRegistry.getService(JdbcServices.class).getDialect(),
+				new Properties() );
+	}
+
+	private JDBCReader newJDBCReader() {
+		return JDBCReaderFactory.newJDBCReader(
+				properties,
+				new DefaultReverseEngineeringStrategy(),
+				createMetaDataDialect(),
+				serviceRegistry );
+	}
+
+	private DatabaseCollector readDatabaseSchema(JDBCReader reader) {
+		DatabaseCollector dc = new DefaultDatabaseCollector(reader.getMetaDataDialect());
+		reader.readDatabaseSchema(
+				dc,
+				properties.getProperty(AvailableSettings.DEFAULT_CATALOG),
+				properties.getProperty(AvailableSettings.DEFAULT_SCHEMA) );
+		return dc;
+	}
+
+	private void assertSameTables(DatabaseCollector expected, DatabaseCollector actual) {
+		Assert.assertEquals(tableNames(expected), tableNames(actual));
+		Iterator<Table> tables = expected.iterateTables();
+		while (tables.hasNext()) {
+			Table expectedTable = tables.next();
+			Table actualTable = actual.getTable(
+					expectedTable.getSchema(),
+					expectedTable.getCatalog(),
+					expectedTable.getName());
+			Assert.assertNotNull(expectedTable.getName() + " should be found", actualTable);
+			Assert.assertEquals(columnNames(expectedTable), columnNames(actualTable));
+			Assert.assertEquals(
+					expectedTable.getPrimaryKey().getColumns().size(),
+					actualTable.getPrimaryKey().getColumns().size());
+			Assert.assertEquals(foreignKeyNames(expectedTable), foreignKeyNames(actualTable));
+			Assert.assertEquals(size(expectedTable.getIndexIterator()), size(actualTable.getIndexIterator()));
+		}
+		Assert.assertEquals(5, tableNames(actual).size());
+		Assert.assertEquals(
+				expected.getOneToManyCandidates().keySet(),
+				actual.getOneToManyCandidates().keySet());
+	}
+
+	private List<String> tableNames(DatabaseCollector dc) {
+		List<String> result = new ArrayList<String>();
+		Iterator<Table> tables = dc.iterateTables();
+		while (tables.hasNext()) {
+			result.add(tables.next().getName());
+		}
+		return result;
+	}
+
+	private List<String> columnNames(Table table) {
+		List<String> result = new ArrayList<String>();
+		Iterator<?> columns = table.getColumnIterator();
+		while (columns.hasNext()) {
+			result.add(((Column)columns.next()).getName());
+		}
+		return result;
+	}
+
+	private List<String> foreignKeyNames(Table table) {
+		List<String> result = new ArrayList<String>();
+		Iterator<?> foreignKeys = table.getForeignKeyIterator();
+		while (foreignKeys.hasNext()) {
+			result.add(((ForeignKey)foreignKeys.next()).getName());
+		}
+		return result;
+	}
+
+	private int size(Iterator<?> iterator) {
+		int result = 0;
+		while (iterator.hasNext()) {
+			iterator.next();
+			result++;
+		}
+		return result;
+	}
+
+}
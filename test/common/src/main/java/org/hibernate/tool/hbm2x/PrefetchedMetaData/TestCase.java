@@ -0,0 +1,202 @@
+package org.hibernate.tool.hbm2x.PrefetchedMetaData;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Environment;
+import org.hibernate.cfg.JDBCReaderFactory;
+import org.hibernate.cfg.MetaDataDialectFactory;
+import org.hibernate.cfg.reveng.DatabaseCollector;
+import org.hibernate.cfg.reveng.DefaultDatabaseCollector;
+import org.hibernate.cfg.reveng.DefaultReverseEngineeringStrategy;
+import org.hibernate.cfg.reveng.JDBCReader;
+import org.hibernate.cfg.reveng.ReverseEngineeringRuntimeInfo;
+import org.hibernate.cfg.reveng.dialect.BulkMetaDataDialect;
+import org.hibernate.cfg.reveng.dialect.MetaDataDialect;
+import org.hibernate.cfg.reveng.dialect.PrefetchingMetaDataDialect;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.mapping.Column;
+import org.hibernate.mapping.Table;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.tools.test.util.JdbcUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestCase {
+
+	public class CountingMetaDataDialect implements BulkMetaDataDialect {
+
+		MetaDataDialect delegate;
+		int columnCalls, bulkColumnCalls;
+
+		public CountingMetaDataDialect(MetaDataDialect realMetaData) {
+			delegate = realMetaData;
+		}
+
+		public void close() {
+			delegate.close();
+		}
+
+		public void close(Iterator<?> iterator) {
+			delegate.close( iterator );
+		}
+
+		public void configure(ReverseEngineeringRuntimeInfo info) {
+			delegate.configure(info);			
+		}
+		
+		public Iterator<Map<String, Object>> getColumns(String catalog, String schema, String table, String column) {
+			if(table==null) {
+				bulkColumnCalls++;
+			} else {
+				columnCalls++;
+			}
+			return delegate.getColumns( catalog, schema, table, column );
+		}
+
+		public Iterator<Map<String, Object>> getExportedKeys(String catalog, String schema, String table) {
+			return delegate.getExportedKeys( catalog, schema, table );
+		}
+
+		public Iterator<Map<String, Object>> getIndexInfo(String catalog, String schema, String table) {
+			return delegate.getIndexInfo( catalog, schema, table );
+		}
+
+		public Iterator<Map<String, Object>> getPrimaryKeys(String catalog, String schema, String name) {
+			return delegate.getPrimaryKeys( catalog, schema, name );
+		}
+
+		public Iterator<Map<String, Object>> getTables(String catalog, String schema, String table) {
+			return delegate.getTables( catalog, schema, table );
+		}
+
+		public boolean needQuote(String name) {
+			return delegate.needQuote( name );
+		}
+
+		public Iterator<Map<String, Object>> getSuggestedPrimaryKeyStrategyName(String catalog, String schema, String name) {
+			return delegate.getSuggestedPrimaryKeyStrategyName(catalog, schema, name);
+		}
+
+		public boolean supportsBulkColumns() {
+			return true;
+		}
+
+		public boolean supportsBulkPrimaryKeys() {
+			return false;
+		}
+
+		public boolean supportsBulkIndexInfo() {
+			return false;
+		}
+
+		public boolean supportsBulkExportedKeys() {
+			return false;
+		}
+		
+	}
+	
+	private ServiceRegistry serviceRegistry;
+	private Properties properties;
+	
+	@Before
+	public void setUp() {
+		JdbcUtil.createDatabase(this);
+		serviceRegistry = new StandardServiceRegistryBuilder().build();
+		properties = Environment.getProperties();
+	}
+	
+	@After
+	public void tearDown() {
+		JdbcUtil.dropDatabase(this);
+	}
+	
+	@Test
+	public void testPrefetchingDialect() {
+		DatabaseCollector expected = readDatabaseSchema(createMetaDataDialect());
+		CountingMetaDataDialect counting = new CountingMetaDataDialect(createMetaDataDialect());
+		DatabaseCollector actual = readDatabaseSchema(new PrefetchingMetaDataDialect(counting));
+		Assert.assertEquals("columns should be read once for the whole schema", 1, counting.bulkColumnCalls);
+		Assert.assertEquals("columns should not be read table by table", 0, counting.columnCalls);
+		assertSameTables(expected, actual);
+	}
+	
+	@Test
+	public void testPrefetchProperty() {
+		Properties p = new Properties();
+		p.setProperty("hibernatetool.metadata.prefetch", "true");
+		MetaDataDialect dialect = MetaDataDialectFactory.createMetaDataDialect(
+				serviceRegistry.getService(JdbcServices.class).getDialect(), 
+				p);
+		Assert.assertSame(PrefetchingMetaDataDialect.class, dialect.getClass());
+		assertSameTables(readDatabaseSchema(createMetaDataDialect()), readDatabaseSchema(dialect));
+	}
+	
+	private MetaDataDialect createMetaDataDialect() {
+		return MetaDataDialectFactory.createMetaDataDialect( 
+				serviceRegistry.getService(JdbcServices.class).getDialect(), 
+				new Properties() );
+	}
+	
+	private DatabaseCollector readDatabaseSchema(MetaDataDialect dialect) {
+		JDBCReader reader = JDBCReaderFactory.newJDBCReader( 
+				properties, 
+				new DefaultReverseEngineeringStrategy(), 
+				dialect, 
+				serviceRegistry );
+		DatabaseCollector dc = new DefaultDatabaseCollector(reader.getMetaDataDialect());
+		reader.readDatabaseSchema( 
+				dc, 
+				properties.getProperty(AvailableSettings.DEFAULT_CATALOG), 
+				properties.getProperty(AvailableSettings.DEFAULT_SCHEMA) );
+		return dc;
+	}
+	
+	private void assertSameTables(DatabaseCollector expected, DatabaseCollector actual) {
+		int count = 0;
+		Iterator<Table> tables = expected.iterateTables();
+		while (tables.hasNext()) {
+			Table expectedTable = tables.next();
+			Table actualTable = actual.getTable(
+					expectedTable.getSchema(), 
+					expectedTable.getCatalog(), 
+					expectedTable.getName());
+			Assert.assertNotNull(expectedTable.getName() + " should be found", actualTable);
+			Assert.assertEquals(columnNames(expectedTable), columnNames(actualTable));
+			Assert.assertEquals(
+					expectedTable.getPrimaryKey().getColumns().size(), 
+					actualTable.getPrimaryKey().getColumns().size());
+			Assert.assertEquals(size(expectedTable.getForeignKeyIterator()), size(actualTable.getForeignKeyIterator()));
+			Assert.assertEquals(size(expectedTable.getIndexIterator()), size(actualTable.getIndexIterator()));
+			count++;
+		}
+		Assert.assertEquals(3, count);
+		Assert.assertEquals(count, size(actual.iterateTables()));
+	}
+	
+	private List<String> columnNames(Table table) {
+		List<String> result = new ArrayList<String>();
+		Iterator<?> columns = table.getColumnIterator();
+		while (columns.hasNext()) {
+			result.add(((Column)columns.next()).getName());
+		}
+		return result;
+	}
+	
+	private int size(Iterator<?> iterator) {
+		int result = 0;
+		while (iterator.hasNext()) {
+			iterator.next();
+			result++;
+		}
+		return result;
+	}
+
+}
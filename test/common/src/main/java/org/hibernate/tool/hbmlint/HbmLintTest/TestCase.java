@@ -1,9 +1,22 @@
 package org.hibernate.tool.hbmlint.HbmLintTest;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.hibernate.boot.Metadata;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.tool.hbm2x.ExporterSettings;
 import org.hibernate.tool.hbm2x.HbmLintExporter;
 import org.hibernate.tool.hbmlint.Detector;
 import org.hibernate.tool.hbmlint.HbmLint;
+import org.hibernate.tool.hbmlint.Issue;
+import org.hibernate.tool.hbmlint.IssueCollector;
+import org.hibernate.tool.hbmlint.JsonLinesIssueWriter;
+import org.hibernate.tool.hbmlint.SarifIssueWriter;
 import org.hibernate.tool.hbmlint.detector.BadCachingDetector;
 import org.hibernate.tool.hbmlint.detector.InstrumentationDetector;
 import org.hibernate.tool.hbmlint.detector.ShadowedIdentifierDetector;
@@ -40,6 +53,51 @@ public class TestCase {
 		exporter.start();
 	}
 	
+	@Test
+	public void testJsonLinesExporter() throws IOException {	
+		HbmLintExporter exporter = new HbmLintExporter();		
+		exporter.setMetadata(metadata);
+		exporter.setOutputDirectory(temporaryFolder.getRoot());
+		exporter.getProperties().setProperty(ExporterSettings.LINT_FORMAT, "jsonl");
+		exporter.start();
+		File report = new File(temporaryFolder.getRoot(), "hbmlint-result.jsonl");
+		List<String> lines = Files.readAllLines(report.toPath());
+		Assert.assertFalse(lines.isEmpty());
+		for (String line : lines) {
+			Assert.assertTrue(line, line.startsWith("{\"type\":") && line.endsWith("}"));
+		}
+		Assert.assertFalse(new File(temporaryFolder.getRoot(), "hbmlint-result.txt").exists());
+	}
+	
+	@Test
+	public void testJsonLinesWriter() throws IOException {
+		StringWriter out = new StringWriter();
+		JsonLinesIssueWriter writer = new JsonLinesIssueWriter(out);
+		HbmLint analyzer = new HbmLint(new Detector[] { new ShadowedIdentifierDetector() });		
+		analyzer.analyze(metadata, writer);
+		Assert.assertEquals(1, writer.getCount());
+		Assert.assertTrue("issues should not be kept", analyzer.getResults().isEmpty());
+		String line = out.toString();
+		Assert.assertTrue(line, line.startsWith("{\"type\":\"ID_SHADOWED\",\"priority\":0,\"location\":\""));
+		Assert.assertTrue(line, line.contains(".id\",\"description\":\""));
+		Assert.assertTrue(line, line.endsWith("\"}\n"));
+		writer.close();
+	}
+	
+	@Test
+	public void testSarifWriter() throws IOException {
+		StringWriter out = new StringWriter();
+		SarifIssueWriter writer = new SarifIssueWriter(out);
+		HbmLint analyzer = new HbmLint(new Detector[] { new BadCachingDetector(), new ShadowedIdentifierDetector() });		
+		analyzer.analyze(metadata, writer);
+		writer.close();
+		String sarif = out.toString();
+		Assert.assertTrue(sarif, sarif.contains("\"version\":\"2.1.0\""));
+		Assert.assertTrue(sarif, sarif.contains("{\"ruleId\":\"CACHE_COLLECTION_NONCACHABLE_TARGET\",\"level\":\"error\""));
+		Assert.assertTrue(sarif, sarif.contains("{\"ruleId\":\"ID_SHADOWED\",\"level\":\"note\""));
+		Assert.assertTrue(sarif, sarif.trim().endsWith("]}]}"));
+	}
+	
 	@Test
 	public void testValidateCache() {	
 		HbmLint analyzer = new HbmLint(new Detector[] { new BadCachingDetector() });		
@@ -54,6 +112,62 @@ public class TestCase {
 		Assert.assertEquals(1,analyzer.getResults().size());
 	}
 	
+	@Test
+	public void testSharedWalk() {
+		final List<String> visited = new ArrayList<String>();
+		HbmLint analyzer = new HbmLint(new Detector[] { 
+				new BadCachingDetector() {
+					public void visitEntity(PersistentClass clazz, IssueCollector collector) {
+						visited.add("first " + clazz.getEntityName());
+						super.visitEntity(clazz, collector);
+					}
+					public void endEntities(IssueCollector collector) {
+						collector.reportIssue(new Issue("CUSTOM", Issue.NORMAL_PRIORITY, "reported after the entities"));
+					}
+				}, 
+				new ShadowedIdentifierDetector() {
+					public void visitEntity(PersistentClass clazz, IssueCollector collector) {
+						visited.add("second " + clazz.getEntityName());
+						super.visitEntity(clazz, collector);
+					}
+				},
+				new Detector() {
+					public void visit(IssueCollector collector) {
+						collector.reportIssue(new Issue("OTHER", Issue.LOW_PRIORITY, "reported by visit"));
+					}
+					public String getName() {
+						return "other";
+					}
+				} });
+		analyzer.analyze(metadata);
+		// each entity is handed to both detectors before the next one
+		Assert.assertEquals(2 * metadata.getEntityBindings().size(), visited.size());
+		for (int i = 0; i < visited.size(); i += 2) {
+			Assert.assertTrue(visited.get(i), visited.get(i).startsWith("first "));
+			Assert.assertEquals(visited.get(i).substring(6), visited.get(i + 1).substring(7));
+		}
+		// but the results are still in the order of the detectors
+		List<Issue> results = analyzer.getResults();
+		Assert.assertEquals(results.toString(), 4, results.size());
+		Assert.assertEquals("CACHE_COLLECTION_NONCACHABLE_TARGET", results.get(0).getType());
+		Assert.assertEquals("CUSTOM", results.get(1).getType());
+		Assert.assertEquals("ID_SHADOWED", results.get(2).getType());
+		Assert.assertEquals("OTHER", results.get(3).getType());
+	}
+	
+	@Test
+	public void testParallelDetectors() {
+		HbmLint sequential = new HbmLint(new Detector[] { 
+				new BadCachingDetector(), new InstrumentationDetector(), new ShadowedIdentifierDetector() });
+		sequential.analyze(metadata);
+		HbmLint parallel = new HbmLint(new Detector[] { 
+				new BadCachingDetector(), new InstrumentationDetector(), new ShadowedIdentifierDetector() });
+		parallel.setThreads(3);
+		parallel.analyze(metadata);
+		Assert.assertEquals(4, parallel.getResults().size());
+		Assert.assertEquals(sequential.getResults().toString(), parallel.getResults().toString());
+	}
+	
 	@Test
 	public void testBytecodeRestrictions() {		
 		HbmLint analyzer = new HbmLint(new Detector[] { new InstrumentationDetector() });		
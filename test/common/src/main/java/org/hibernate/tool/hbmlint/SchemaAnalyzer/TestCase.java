@@ -5,6 +5,7 @@
 package org.hibernate.tool.hbmlint.SchemaAnalyzer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -83,6 +84,92 @@ public class TestCase {
 
 	}
 			
+	@Test
+	public void testAllIssuesFromOneRead() {
+		SchemaByMetaDataDetector analyzer = new SchemaByMetaDataDetector();
+		analyzer.initialize( buildMetadata() );
+		MockCollector mc = new MockCollector();
+		analyzer.visit( mc );
+		List<String> descriptions = descriptions( mc );
+		Assert.assertEquals( descriptions.toString(), 6, descriptions.size() );
+		assertContains( descriptions, "Missing table ", "MISSING_TABLE" );
+		assertContains( descriptions, "Missing table ", "does_not_exist" );
+		assertContains( descriptions, "CATEGORY is missing column: name" );
+		assertContains( descriptions, "BAD_TYPE has a wrong column type for name, expected: LONGVARCHAR but was VARCHAR" );
+		assertContains( descriptions, "Missing sequence or table: ", "does_not_exist" );
+		assertContains( descriptions, "Missing sequence or table: ", "missing_sequence" );
+		// the table of a generator is found when it is a table of the model as well
+		for ( String description : descriptions ) {
+			Assert.assertTrue( description, description.indexOf( "HILO_TABLE" ) < 0 );
+		}
+	}
+	
+	@Test
+	public void testInitializeReadsAgain() {
+		Metadata metadata = buildMetadata();
+		SchemaByMetaDataDetector analyzer = new SchemaByMetaDataDetector();
+		analyzer.initialize( metadata );
+		MockCollector mc = new MockCollector();
+		analyzer.visit( mc );
+		assertContains( descriptions( mc ), "Missing table ", "MISSING_TABLE" );
+		JdbcUtil.executeSql( this, new String[] { "CREATE TABLE MISSING_TABLE (ID BIGINT)" } );
+		try {
+			analyzer.initialize( metadata );
+			mc = new MockCollector();
+			analyzer.visit( mc );
+			List<String> descriptions = descriptions( mc );
+			Assert.assertEquals( descriptions.toString(), 5, descriptions.size() );
+			for ( String description : descriptions ) {
+				Assert.assertTrue( description, description.indexOf( "MISSING_TABLE" ) < 0 );
+			}
+		} 
+		finally {
+			JdbcUtil.executeSql( this, new String[] { "DROP TABLE MISSING_TABLE" } );
+		}
+	}
+	
+	@Test
+	public void testManyToOne() {
+		MetadataSources metadataSources = new MetadataSources();
+		metadataSources.addResource("org/hibernate/tool/hbmlint/SchemaAnalyzer/ManyToOne.hbm.xml");
+		SchemaByMetaDataDetector analyzer = new SchemaByMetaDataDetector();
+		analyzer.initialize( metadataSources.buildMetadata() );
+		MockCollector mc = new MockCollector();
+		analyzer.visit( mc );
+		List<String> descriptions = descriptions( mc );
+		// the type of the foreign key is the one of the referenced id
+		Assert.assertEquals( descriptions.toString(), 1, descriptions.size() );
+		assertContains( descriptions, "CATEGORY has a wrong column type for PARENT_ID, expected: INTEGER but was" );
+	}
+	
+	private Metadata buildMetadata() {
+		MetadataSources metadataSources = new MetadataSources();
+		metadataSources.addResource("org/hibernate/tool/hbmlint/SchemaAnalyzer/SchemaIssues.hbm.xml");
+		metadataSources.addResource("org/hibernate/tool/hbmlint/SchemaAnalyzer/SequenceIssues.hbm.xml");
+		return metadataSources.buildMetadata();
+	}
+	
+	private List<String> descriptions(MockCollector mc) {
+		List<String> result = new ArrayList<String>();
+		for ( Issue issue : mc.problems ) {
+			result.add( issue.getDescription() );
+		}
+		return result;
+	}
+	
+	private void assertContains(List<String> descriptions, String... expected) {
+		for ( String description : descriptions ) {
+			boolean found = true;
+			for ( String part : expected ) {
+				found &= description.indexOf( part ) >= 0;
+			}
+			if ( found ) {
+				return;
+			}
+		}
+		Assert.fail( Arrays.asList( expected ) + " not in " + descriptions );
+	}
+			
 	static class MockCollector implements IssueCollector {
 		List<Issue> problems = new ArrayList<Issue>();		
 		public void reportIssue(Issue analyze) {			
@@ -0,0 +1,84 @@
+package org.hibernate.tool.jdbc2cfg.Metrics;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.util.Properties;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.cfg.reveng.MetricsCollector;
+import org.hibernate.tool.hbm2x.POJOExporter;
+import org.hibernate.tool.metadata.JdbcMetadataSources;
+import org.hibernate.tools.test.util.JdbcUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestCase {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Before
+	public void setUp() {
+		JdbcUtil.createDatabase(this);
+	}
+
+	@After
+	public void tearDown() {
+		JdbcUtil.dropDatabase(this);
+	}
+
+	@Test
+	public void testReverseEngineering() throws Exception {
+		MetricsCollector metrics = new MetricsCollector();
+		buildMetadata(new Properties(), metrics);
+		assertReverseEngineering(metrics);
+		Assert.assertTrue(metrics.getSummary().contains("getColumns"));
+		StringWriter csv = new StringWriter();
+		metrics.writeHistograms(csv);
+		Assert.assertTrue(csv.toString().startsWith("kind,name,upper_bound_nanos,count\n"));
+		Assert.assertTrue(csv.toString().contains("\nmetadata,getColumns,"));
+	}
+
+	@Test
+	public void testParallelReverseEngineering() {
+		Properties properties = new Properties();
+		properties.setProperty("hibernatetool.metadata.threads", "2");
+		MetricsCollector metrics = new MetricsCollector();
+		buildMetadata(properties, metrics);
+		assertReverseEngineering(metrics);
+	}
+
+	@Test
+	public void testExporter() {
+		Metadata metadata = buildMetadata(new Properties(), null);
+		MetricsCollector metrics = new MetricsCollector();
+		POJOExporter exporter = new POJOExporter();
+		exporter.setMetadata(metadata);
+		exporter.setOutputDirectory(new File(temporaryFolder.getRoot(), "output"));
+		exporter.setMetricsListener(metrics);
+		exporter.start();
+		Assert.assertEquals(1, metrics.getCount(MetricsCollector.PHASE, "hbm2java"));
+		Assert.assertEquals(2, metrics.getCount(MetricsCollector.TEMPLATE, "hbm2java pojo/Pojo.ftl"));
+	}
+
+	private Metadata buildMetadata(Properties properties, MetricsCollector metrics) {
+		JdbcMetadataSources sources = new JdbcMetadataSources(null, properties, true);
+		sources.setProgressListener(metrics);
+		return sources.buildMetadata();
+	}
+
+	private void assertReverseEngineering(MetricsCollector metrics) {
+		Assert.assertEquals(2, metrics.getCount(MetricsCollector.PHASE, "columns"));
+		Assert.assertEquals(2, metrics.getCount(MetricsCollector.PHASE, "foreignKeys"));
+		Assert.assertEquals(1, metrics.getCount(MetricsCollector.PHASE, "createPersistentClasses"));
+		Assert.assertEquals(2, metrics.getCount(MetricsCollector.METADATA, "getColumns"));
+		Assert.assertTrue(metrics.getRows("getColumns") >= 5);
+		Assert.assertTrue(metrics.getCount(MetricsCollector.STRATEGY, "tableToClassName") >= 2);
+		Assert.assertTrue(metrics.getTotalNanos(MetricsCollector.PHASE, "tables") > 0);
+	}
+
+}
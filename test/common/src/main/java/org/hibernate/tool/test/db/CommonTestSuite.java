@@ -33,6 +33,9 @@ import org.junit.runners.Suite.SuiteClasses;
 	org.hibernate.tool.hbm2x.GenerateFromJDBC.TestCase.class,
 	org.hibernate.tool.hbm2x.GenerateFromJDBCWithJavaKeyword.TestCase.class,
 	org.hibernate.tool.hbm2x.JdbcHbm2JavaEjb3.TestCase.class,
+	org.hibernate.tool.hbm2x.PrefetchedMetaData.TestCase.class,
+	org.hibernate.tool.hbm2x.ParallelMetaData.TestCase.class,
+	org.hibernate.tool.hbm2x.IncrementalExport.TestCase.class,
 	org.hibernate.tool.hbm2x.IncrementalSchemaReading.TestCase.class,
 	org.hibernate.tool.hbm2x.query.QueryExporterTest.TestCase.class,
 	org.hibernate.tool.hbmlint.HbmLintTest.TestCase.class,
@@ -47,6 +50,7 @@ import org.junit.runners.Suite.SuiteClasses;
 	org.hibernate.tool.jdbc2cfg.KeyPropertyCompositeId.TestCase.class,
 	org.hibernate.tool.jdbc2cfg.ManyToMany.TestCase.class,
 	org.hibernate.tool.jdbc2cfg.MetaData.TestCase.class,
+	org.hibernate.tool.jdbc2cfg.Metrics.TestCase.class,
 	org.hibernate.tool.jdbc2cfg.NoPrimaryKey.TestCase.class,
 	org.hibernate.tool.jdbc2cfg.OneToOne.TestCase.class,
 	org.hibernate.tool.jdbc2cfg.OverrideBinder.TestCase.class,
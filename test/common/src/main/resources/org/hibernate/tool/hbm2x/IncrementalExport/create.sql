@@ -0,0 +1,3 @@
+CREATE TABLE ALPHA ( ID INTEGER NOT NULL, NAME VARCHAR(20), PRIMARY KEY (ID) )
+CREATE TABLE BETA ( ID INTEGER NOT NULL, NAME VARCHAR(20), PRIMARY KEY (ID) )
+CREATE TABLE GAMMA ( ID INTEGER NOT NULL, BETAREF INTEGER, PRIMARY KEY (ID), FOREIGN KEY (BETAREF) REFERENCES BETA(ID) )
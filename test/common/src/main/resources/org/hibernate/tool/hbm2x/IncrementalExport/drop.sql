@@ -0,0 +1,3 @@
+DROP TABLE GAMMA
+DROP TABLE BETA
+DROP TABLE ALPHA
@@ -0,0 +1,7 @@
+CREATE TABLE MASTER ( ID CHAR NOT NULL, NAME VARCHAR(20), PRIMARY KEY (ID) )
+CREATE TABLE CHILD  ( CHILDID CHAR NOT NULL, MASTERREF CHAR, PRIMARY KEY (CHILDID), FOREIGN KEY (MASTERREF) REFERENCES MASTER(ID) )
+CREATE TABLE ITEM ( CHILDREF CHAR NOT NULL, POS INTEGER NOT NULL, NOTE VARCHAR(100), PRIMARY KEY (CHILDREF, POS), FOREIGN KEY (CHILDREF) REFERENCES CHILD(CHILDID) )
+CREATE TABLE OWNER ( OWNERID INTEGER NOT NULL, MASTERREF CHAR, PRIMARY KEY (OWNERID), FOREIGN KEY (MASTERREF) REFERENCES MASTER(ID) )
+CREATE TABLE ADDRESS ( ADDRESSID INTEGER NOT NULL, OWNERREF INTEGER, STREET VARCHAR(50), PRIMARY KEY (ADDRESSID), FOREIGN KEY (OWNERREF) REFERENCES OWNER(OWNERID) )
+CREATE INDEX ITEM_NOTE ON ITEM(NOTE)
+CREATE INDEX ADDRESS_STREET ON ADDRESS(STREET)
\ No newline at end of file
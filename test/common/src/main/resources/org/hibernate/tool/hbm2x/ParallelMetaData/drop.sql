@@ -0,0 +1,5 @@
+DROP TABLE ADDRESS
+DROP TABLE OWNER
+DROP TABLE ITEM
+DROP TABLE CHILD
+DROP TABLE MASTER
\ No newline at end of file
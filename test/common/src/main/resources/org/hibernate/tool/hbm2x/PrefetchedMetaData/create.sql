@@ -0,0 +1,4 @@
+CREATE TABLE MASTER ( ID CHAR NOT NULL, NAME VARCHAR(20), PRIMARY KEY (ID) )
+CREATE TABLE CHILD  ( CHILDID CHAR NOT NULL, MASTERREF CHAR, PRIMARY KEY (CHILDID), FOREIGN KEY (MASTERREF) REFERENCES MASTER(ID) )
+CREATE TABLE ITEM ( CHILDREF CHAR NOT NULL, POS INTEGER NOT NULL, NOTE VARCHAR(100), PRIMARY KEY (CHILDREF, POS), FOREIGN KEY (CHILDREF) REFERENCES CHILD(CHILDID) )
+CREATE INDEX ITEM_NOTE ON ITEM(NOTE)
\ No newline at end of file
@@ -0,0 +1,3 @@
+DROP TABLE ITEM
+DROP TABLE CHILD
+DROP TABLE MASTER
\ No newline at end of file
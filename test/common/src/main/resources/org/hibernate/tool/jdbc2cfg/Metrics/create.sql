@@ -0,0 +1,2 @@
+CREATE TABLE TEAM ( ID INTEGER NOT NULL, NAME VARCHAR(20), PRIMARY KEY (ID) )
+CREATE TABLE PLAYER ( ID INTEGER NOT NULL, NAME VARCHAR(20), TEAM_ID INTEGER, PRIMARY KEY (ID), FOREIGN KEY (TEAM_ID) REFERENCES TEAM(ID) )
@@ -0,0 +1,2 @@
+DROP TABLE PLAYER
+DROP TABLE TEAM
@@ -7,6 +7,7 @@ import org.hibernate.cfg.MetaDataDialectFactory;
 import org.hibernate.cfg.reveng.dialect.H2MetaDataDialect;
 import org.hibernate.cfg.reveng.dialect.HSQLMetaDataDialect;
 import org.hibernate.cfg.reveng.dialect.JDBCMetaDataDialect;
+import org.hibernate.cfg.reveng.dialect.MetaDataSnapshotStore;
 import org.hibernate.cfg.reveng.dialect.MySQLMetaDataDialect;
 import org.hibernate.cfg.reveng.dialect.OracleMetaDataDialect;
 import org.hibernate.dialect.Dialect;
@@ -71,6 +72,32 @@ public class TestCase {
 		}
 	}
 
+	@Test
+	public void testCreateSnapshotStore() {
+		Properties p = new Properties();
+		MetaDataSnapshotStore store = MetaDataDialectFactory.createSnapshotStore("snapshots", p);
+		Assert.assertEquals("snapshots", store.getDirectory().getPath());
+		Assert.assertEquals(
+				"snapshots should expire unless told otherwise", 
+				MetaDataDialectFactory.DEFAULT_CACHE_TTL * 1000, 
+				store.getTimeToLive());
+		Assert.assertFalse(store.isRefresh());
+		p.setProperty("hibernatetool.metadata.cache.ttl", "60");
+		p.setProperty("hibernatetool.metadata.cache.refresh", "true");
+		store = MetaDataDialectFactory.createSnapshotStore("snapshots", p);
+		Assert.assertEquals(60000, store.getTimeToLive());
+		Assert.assertTrue(store.isRefresh());
+		p.setProperty("hibernatetool.metadata.cache.ttl", "0");
+		Assert.assertEquals(0, MetaDataDialectFactory.createSnapshotStore("snapshots", p).getTimeToLive());
+		p.setProperty("hibernatetool.metadata.cache.ttl", "an hour");
+		try {
+			MetaDataDialectFactory.createSnapshotStore("snapshots", p);
+			Assert.fail();
+		} catch (JDBCBinderException jbe) {
+			// expected
+		}
+	}
+
 	@Test
 	public void testFromDialect() {
 		assertSameClass(
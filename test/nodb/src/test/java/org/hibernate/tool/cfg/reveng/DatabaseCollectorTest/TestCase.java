@@ -0,0 +1,131 @@
+package org.hibernate.tool.cfg.reveng.DatabaseCollectorTest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import org.hibernate.boot.internal.InFlightMetadataCollectorImpl;
+import org.hibernate.boot.internal.MetadataBuilderImpl.MetadataBuildingOptionsImpl;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.reveng.DatabaseCollector;
+import org.hibernate.cfg.reveng.DefaultDatabaseCollector;
+import org.hibernate.cfg.reveng.MappingsDatabaseCollector;
+import org.hibernate.cfg.reveng.dialect.JDBCMetaDataDialect;
+import org.hibernate.cfg.reveng.dialect.MetaDataDialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.mapping.Table;
+import org.hibernate.type.TypeResolver;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestCase {
+	
+	private StandardServiceRegistry serviceRegistry;
+	private MetaDataDialect metaDataDialect;
+	
+	@Before
+	public void setUp() {
+		serviceRegistry = new StandardServiceRegistryBuilder()
+				.applySetting(AvailableSettings.DIALECT, H2Dialect.class.getName())
+				.build();
+		metaDataDialect = new JDBCMetaDataDialect();
+	}
+	
+	@After
+	public void tearDown() {
+		StandardServiceRegistryBuilder.destroy(serviceRegistry);
+	}
+	
+	@Test
+	public void testDefaultDatabaseCollectorLookup() {
+		assertLookups(new DefaultDatabaseCollector(metaDataDialect), 100);
+	}
+	
+	@Test
+	public void testMappingsDatabaseCollectorLookup() {
+		assertLookups(createMappingsDatabaseCollector(), 100);
+	}
+	
+	@Test
+	public void testQuotedNames() {
+		DatabaseCollector dc = new DefaultDatabaseCollector(metaDataDialect);
+		Table table = dc.addTable("my-schema", null, "my table");
+		Assert.assertSame(table, dc.getTable("my-schema", null, "my table"));
+		Assert.assertSame(table, dc.getTable("`my-schema`", null, "`my table`"));
+		dc = createMappingsDatabaseCollector();
+		table = dc.addTable("my-schema", null, "my table");
+		Assert.assertSame(table, dc.getTable("my-schema", null, "my table"));
+	}
+	
+	@Test
+	public void testMappingsDatabaseCollectorIndex() {
+		final int[] scans = new int[1];
+		InFlightMetadataCollectorImpl metadataCollector = new InFlightMetadataCollectorImpl(
+				new MetadataBuildingOptionsImpl(serviceRegistry), 
+				new TypeResolver()) {
+			public Collection<Table> collectTableMappings() {
+				scans[0]++;
+				return super.collectTableMappings();
+			}
+		};
+		Table existing = metadataCollector.addTable("SCHEMA", null, "EXISTING", null, false);
+		DatabaseCollector dc = new MappingsDatabaseCollector(metadataCollector, metaDataDialect);
+		Assert.assertEquals("the existing tables should be indexed once", 1, scans[0]);
+		Assert.assertSame(existing, dc.getTable("SCHEMA", null, "EXISTING"));
+		assertLookups(dc, 1000);
+		Assert.assertEquals("lookups should not scan the table mappings", 1, scans[0]);
+	}
+	
+	@Test
+	public void testDefaultDatabaseCollectorOrder() {
+		DatabaseCollector dc = new DefaultDatabaseCollector(metaDataDialect);
+		List<Table> added = new ArrayList<Table>();
+		for (int i = 100; i > 0; i--) {
+			added.add(dc.addTable(schemaName(i), catalogName(i), tableName(i)));
+		}
+		List<Table> iterated = new ArrayList<Table>();
+		for (Iterator<Table> iterator = dc.iterateTables(); iterator.hasNext();) {
+			iterated.add(iterator.next());
+		}
+		Assert.assertEquals("tables should be iterated in the order they were read", added, iterated);
+	}
+	
+	private DatabaseCollector createMappingsDatabaseCollector() {
+		return new MappingsDatabaseCollector(
+				new InFlightMetadataCollectorImpl(
+						new MetadataBuildingOptionsImpl(serviceRegistry), 
+						new TypeResolver()), 
+				metaDataDialect);
+	}
+	
+	private void assertLookups(DatabaseCollector dc, int tableCount) {
+		Table[] tables = new Table[tableCount];
+		for (int i = 0; i < tableCount; i++) {
+			tables[i] = dc.addTable(schemaName(i), catalogName(i), tableName(i));
+		}
+		for (int i = 0; i < tableCount; i++) {
+			Assert.assertSame(tables[i], dc.getTable(schemaName(i), catalogName(i), tableName(i)));
+			Assert.assertSame(tables[i], dc.addTable(schemaName(i), catalogName(i), tableName(i)));
+			Assert.assertNull(dc.getTable(schemaName(i), catalogName(i), "MISSING_" + i));
+			Assert.assertNull(dc.getTable(catalogName(i), schemaName(i), tableName(i)));
+		}
+	}
+
+	private static String tableName(int i) {
+		return "TABLE_" + i;
+	}
+	
+	private static String schemaName(int i) {
+		return "SCHEMA_" + (i % 7);
+	}
+	
+	private static String catalogName(int i) {
+		return i % 2 == 0 ? null : "CATALOG";
+	}
+
+}
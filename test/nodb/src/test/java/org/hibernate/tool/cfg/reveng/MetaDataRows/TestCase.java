@@ -0,0 +1,201 @@
+package org.hibernate.tool.cfg.reveng.MetaDataRows;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.cfg.reveng.dialect.AbstractMetaDataDialect;
+import org.hibernate.cfg.reveng.dialect.ColumnRow;
+import org.hibernate.cfg.reveng.dialect.ExportedKeyRow;
+import org.hibernate.cfg.reveng.dialect.IndexRow;
+import org.hibernate.cfg.reveng.dialect.JDBCMetaDataDialect;
+import org.hibernate.cfg.reveng.dialect.MetaDataDialect;
+import org.hibernate.cfg.reveng.dialect.MetaDataRows;
+import org.hibernate.cfg.reveng.dialect.PrimaryKeyRow;
+import org.hibernate.cfg.reveng.dialect.TypedMetaDataDialect;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestCase {
+
+	private List<Iterator<?>> closed = new ArrayList<Iterator<?>>();
+
+	@Test
+	public void testColumnRowFromMap() {
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("TABLE_CAT", "CAT");
+		map.put("TABLE_SCHEM", "SCHEMA");
+		map.put("TABLE_NAME", "TAB");
+		map.put("COLUMN_NAME", "COL");
+		map.put("DATA_TYPE", Integer.valueOf(12));
+		map.put("TYPE_NAME", "VARCHAR");
+		map.put("NULLABLE", Integer.valueOf(1));
+		map.put("COLUMN_SIZE", Integer.valueOf(20));
+		map.put("DECIMAL_DIGITS", Integer.valueOf(0));
+		map.put("REMARKS", "a column");
+		Iterator<ColumnRow> rows = MetaDataRows.getColumns(dialect(map), "CAT", "SCHEMA", "TAB", null);
+		ColumnRow row = rows.next();
+		Assert.assertEquals("CAT", row.getTableCatalog());
+		Assert.assertEquals("SCHEMA", row.getTableSchema());
+		Assert.assertEquals("TAB", row.getTableName());
+		Assert.assertEquals("COL", row.getColumnName());
+		Assert.assertEquals(12, row.getDataType());
+		Assert.assertEquals("VARCHAR", row.getTypeName());
+		Assert.assertEquals(1, row.getNullable());
+		Assert.assertEquals(20, row.getColumnSize());
+		Assert.assertEquals(0, row.getDecimalDigits());
+		Assert.assertEquals("a column", row.getRemarks());
+		Assert.assertFalse(rows.hasNext());
+		Map<String, Object> roundTrip = new HashMap<String, Object>();
+		row.toMap(roundTrip);
+		Assert.assertEquals(map, roundTrip);
+		MetaDataRows.close(dialect(map), rows);
+		Assert.assertEquals("the map iterator of the dialect should be closed", 1, closed.size());
+		Assert.assertNotSame(rows, closed.get(0));
+	}
+
+	@Test
+	public void testKeyRowsFromMap() {
+		Map<String, Object> pk = new HashMap<String, Object>();
+		pk.put("TABLE_NAME", "TAB");
+		pk.put("COLUMN_NAME", "ID");
+		pk.put("KEY_SEQ", Short.valueOf((short) 1));
+		pk.put("PK_NAME", "PK_TAB");
+		PrimaryKeyRow pkRow = MetaDataRows.getPrimaryKeys(dialect(pk), null, null, "TAB").next();
+		Assert.assertEquals("ID", pkRow.getColumnName());
+		Assert.assertEquals(1, pkRow.getKeySeq());
+		Assert.assertEquals("PK_TAB", pkRow.getPkName());
+
+		Map<String, Object> index = new HashMap<String, Object>();
+		index.put("TABLE_NAME", "TAB");
+		index.put("INDEX_NAME", "IDX");
+		index.put("COLUMN_NAME", "NAME");
+		index.put("NON_UNIQUE", Boolean.TRUE);
+		index.put("TYPE", Short.valueOf((short) 3));
+		IndexRow indexRow = MetaDataRows.getIndexInfo(dialect(index), null, null, "TAB").next();
+		Assert.assertEquals("IDX", indexRow.getIndexName());
+		Assert.assertTrue(indexRow.isNonUnique());
+		Assert.assertEquals(3, indexRow.getType());
+
+		Map<String, Object> fk = new HashMap<String, Object>();
+		fk.put("PKTABLE_NAME", "TAB");
+		fk.put("PKCOLUMN_NAME", "ID");
+		fk.put("FKTABLE_NAME", "OTHER");
+		fk.put("FKCOLUMN_NAME", "TABREF");
+		fk.put("FK_NAME", "FK_OTHER");
+		fk.put("KEY_SEQ", Short.valueOf((short) 1));
+		ExportedKeyRow fkRow = MetaDataRows.getExportedKeys(dialect(fk), null, null, "TAB").next();
+		Assert.assertEquals("TAB", fkRow.getPkTableName());
+		Assert.assertEquals("OTHER", fkRow.getFkTableName());
+		Assert.assertEquals("TABREF", fkRow.getFkColumnName());
+		Assert.assertEquals("FK_OTHER", fkRow.getFkName());
+		Assert.assertNull(fkRow.getFkTableSchema());
+		Assert.assertEquals(1, fkRow.getKeySeq());
+	}
+
+	@Test
+	public void testRowsToMaps() {
+		List<ColumnRow> rows = new ArrayList<ColumnRow>();
+		ColumnRow row = new ColumnRow();
+		row.setTableName("TAB");
+		row.setColumnName("COL");
+		row.setDataType(4);
+		rows.add(row);
+		Iterator<ColumnRow> iterator = rows.iterator();
+		Iterator<Map<String, Object>> maps = MetaDataRows.toMaps(iterator);
+		Map<String, Object> map = maps.next();
+		Assert.assertEquals("TAB", map.get("TABLE_NAME"));
+		Assert.assertEquals("COL", map.get("COLUMN_NAME"));
+		Assert.assertEquals(Integer.valueOf(4), map.get("DATA_TYPE"));
+		Assert.assertFalse(maps.hasNext());
+		Assert.assertSame(iterator, MetaDataRows.unwrap(maps));
+	}
+
+	@Test
+	public void testOverriddenMapMethods() {
+		final Map<String, Object> column = new HashMap<String, Object>();
+		column.put("TABLE_NAME", "TAB");
+		column.put("COLUMN_NAME", "FROM_MAP");
+		column.put("DATA_TYPE", Integer.valueOf(12));
+		// a dialect written against the Map based methods only
+		JDBCMetaDataDialect mapDialect = new JDBCMetaDataDialect() {
+			public Iterator<Map<String, Object>> getColumns(String catalog, String schema, String table, String name) {
+				return singleton(column);
+			}
+			public void close(Iterator<?> iterator) {
+				closed.add(iterator);
+			}
+		};
+		Iterator<ColumnRow> rows = MetaDataRows.getColumns(mapDialect, null, null, "TAB", null);
+		Assert.assertEquals("FROM_MAP", rows.next().getColumnName());
+		MetaDataRows.close(mapDialect, rows);
+		Assert.assertEquals(1, closed.size());
+
+		ColumnRow row = new ColumnRow();
+		row.setTableName("TAB");
+		row.setColumnName("FROM_ROW");
+		// overriding the typed method without opting in, the maps are still read
+		JDBCMetaDataDialect untypedDialect = new RowDialect(row) {
+			public Iterator<Map<String, Object>> getColumns(String catalog, String schema, String table, String name) {
+				return singleton(column);
+			}
+		};
+		Assert.assertEquals("FROM_MAP", MetaDataRows.getColumns(untypedDialect, null, null, "TAB", null).next().getColumnName());
+		Assert.assertSame(row, MetaDataRows.getColumns(new TypedRowDialect(row), null, null, "TAB", null).next());
+	}
+
+	private static class RowDialect extends JDBCMetaDataDialect {
+		
+		private final ColumnRow row;
+		
+		RowDialect(ColumnRow row) {
+			this.row = row;
+		}
+		
+		public Iterator<ColumnRow> getColumnRows(String catalog, String schema, String table, String name) {
+			List<ColumnRow> result = new ArrayList<ColumnRow>();
+			result.add(row);
+			return result.iterator();
+		}
+	}
+
+	private static class TypedRowDialect extends RowDialect implements TypedMetaDataDialect {
+		
+		TypedRowDialect(ColumnRow row) {
+			super(row);
+		}
+	}
+
+	private MetaDataDialect dialect(final Map<String, Object> row) {
+		// a dialect that only provides maps
+		return new AbstractMetaDataDialect() {
+			public Iterator<Map<String, Object>> getTables(String catalog, String schema, String table) {
+				return new ArrayList<Map<String, Object>>().iterator();
+			}
+			public Iterator<Map<String, Object>> getColumns(String catalog, String schema, String table, String column) {
+				return singleton(row);
+			}
+			public Iterator<Map<String, Object>> getPrimaryKeys(String catalog, String schema, String table) {
+				return singleton(row);
+			}
+			public Iterator<Map<String, Object>> getIndexInfo(String catalog, String schema, String table) {
+				return singleton(row);
+			}
+			public Iterator<Map<String, Object>> getExportedKeys(String catalog, String schema, String table) {
+				return singleton(row);
+			}
+			public void close(Iterator<?> iterator) {
+				closed.add(iterator);
+			}
+		};
+	}
+
+	private Iterator<Map<String, Object>> singleton(Map<String, Object> row) {
+		List<Map<String, Object>> result = new ArrayList<Map<String, Object>>();
+		result.add(row);
+		return result.iterator();
+	}
+
+}
@@ -0,0 +1,80 @@
+package org.hibernate.tool.cfg.reveng.MetaDataSnapshotStore;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.cfg.reveng.dialect.MetaDataSnapshotStore;
+import org.hibernate.cfg.reveng.dialect.MetaDataSnapshotStore.Snapshot;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestCase {
+
+	private static final String SOURCE = "sa@jdbc:h2:mem:first";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private MetaDataSnapshotStore store;
+
+	@Before
+	public void setUp() throws Exception {
+		store = new MetaDataSnapshotStore(temporaryFolder.newFolder("snapshots"), 0, false);
+	}
+
+	@Test
+	public void testReadWrittenSnapshot() {
+		store.write("CAT", "SCHEMA", createSnapshot(SOURCE));
+		Snapshot snapshot = store.read("CAT", "SCHEMA", SOURCE, -1);
+		Assert.assertNotNull(snapshot);
+		Assert.assertEquals(SOURCE, snapshot.getSource());
+		Assert.assertEquals(1, snapshot.size());
+		Assert.assertEquals("TAB", snapshot.getRows(0).get(0).get("TABLE_NAME"));
+		Assert.assertNull(store.read("CAT", "OTHER", SOURCE, -1));
+	}
+
+	@Test
+	public void testSnapshotOfOtherDatabase() {
+		store.write("CAT", "SCHEMA", createSnapshot(SOURCE));
+		Assert.assertNull(
+				"a schema of the same name in another database is a miss",
+				store.read("CAT", "SCHEMA", "sa@jdbc:h2:mem:second", -1));
+		Assert.assertNull(
+				"the same database read by another user is a miss",
+				store.read("CAT", "SCHEMA", "other@jdbc:h2:mem:first", -1));
+		Assert.assertNull(store.read("CAT", "SCHEMA", null, -1));
+		// both databases keep their own snapshot
+		store.write("CAT", "SCHEMA", createSnapshot("sa@jdbc:h2:mem:second"));
+		Assert.assertEquals(SOURCE, store.read("CAT", "SCHEMA", SOURCE, -1).getSource());
+		Assert.assertEquals(
+				"sa@jdbc:h2:mem:second",
+				store.read("CAT", "SCHEMA", "sa@jdbc:h2:mem:second", -1).getSource());
+	}
+
+	@Test
+	public void testSnapshotWithOtherSchemaTimestamp() {
+		Snapshot snapshot = new Snapshot(SOURCE, System.currentTimeMillis(), 42);
+		store.write("CAT", "SCHEMA", snapshot);
+		Assert.assertNotNull(store.read("CAT", "SCHEMA", SOURCE, 42));
+		Assert.assertNull(store.read("CAT", "SCHEMA", SOURCE, 43));
+	}
+
+	private Snapshot createSnapshot(String source) {
+		Snapshot snapshot = new Snapshot(source, System.currentTimeMillis(), -1);
+		Map<String, Object> row = new HashMap<String, Object>();
+		row.put("TABLE_NAME", "TAB");
+		row.put("TABLE_SCHEM", "SCHEMA");
+		row.put("TABLE_CAT", "CAT");
+		List<Map<String, Object>> rows = new ArrayList<Map<String, Object>>();
+		rows.add(row);
+		snapshot.add(0, new String[] { "CAT", "SCHEMA", null }, rows);
+		return snapshot;
+	}
+
+}
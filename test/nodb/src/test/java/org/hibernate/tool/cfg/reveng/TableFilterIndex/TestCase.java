@@ -0,0 +1,111 @@
+package org.hibernate.tool.cfg.reveng.TableFilterIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.hibernate.cfg.reveng.DefaultReverseEngineeringStrategy;
+import org.hibernate.cfg.reveng.OverrideRepository;
+import org.hibernate.cfg.reveng.ReverseEngineeringStrategy;
+import org.hibernate.cfg.reveng.TableFilter;
+import org.hibernate.cfg.reveng.TableIdentifier;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestCase {
+
+	private static final String[] NAMES = { "ORDER", "ORDERS", "ORDER_LINE", "LINE", "CUSTOMER", "CUST", "X", "AUDIT_ORDER" };
+	private static final String[] SCHEMAS = { "PUBLIC", "SALES", "AUDIT" };
+
+	@Test
+	public void testFirstRelevantFilterWins() {
+		OverrideRepository repository = new OverrideRepository();
+		repository.addTableFilter(filter(".*", ".*", "ORDER.*", Boolean.TRUE, null));
+		repository.addTableFilter(filter(".*", ".*", "ORDER", Boolean.FALSE, "orders"));
+		repository.addTableFilter(filter(".*", "SALES", ".*LINE", Boolean.FALSE, "lines"));
+		repository.addTableFilter(filter(".*", ".*", ".*", Boolean.FALSE, "all"));
+		ReverseEngineeringStrategy strategy = repository.getReverseEngineeringStrategy(new DefaultReverseEngineeringStrategy());
+		Assert.assertTrue(strategy.excludeTable(new TableIdentifier("C", "SALES", "ORDER")));
+		Assert.assertEquals("orders.Order", strategy.tableToClassName(new TableIdentifier("C", "SALES", "ORDER")));
+		Assert.assertFalse(strategy.excludeTable(new TableIdentifier("C", "SALES", "LINE")));
+		Assert.assertEquals("lines.Line", strategy.tableToClassName(new TableIdentifier("C", "SALES", "LINE")));
+		Assert.assertEquals("all.Line", strategy.tableToClassName(new TableIdentifier("C", "PUBLIC", "LINE")));
+	}
+
+	@Test
+	public void testSameAsTryingEachFilter() {
+		Random random = new Random(42);
+		for (int run = 0; run < 50; run++) {
+			List<TableFilter> filters = new ArrayList<TableFilter>();
+			OverrideRepository repository = new OverrideRepository();
+			int count = random.nextInt(20);
+			for (int i = 0; i < count; i++) {
+				TableFilter filter = filter(
+						".*",
+						random.nextInt(3) == 0 ? SCHEMAS[random.nextInt(SCHEMAS.length)] : ".*",
+						randomMatch(random),
+						Boolean.valueOf(random.nextBoolean()),
+						random.nextBoolean() ? "p" + i : null);
+				filters.add(filter);
+				repository.addTableFilter(filter);
+			}
+			ReverseEngineeringStrategy strategy = repository.getReverseEngineeringStrategy(new DefaultReverseEngineeringStrategy());
+			for (String schema : SCHEMAS) {
+				for (String name : NAMES) {
+					TableIdentifier identifier = new TableIdentifier("CATALOG", schema, name);
+					String unqualified = new DefaultReverseEngineeringStrategy().tableToClassName(identifier);
+					String packageName = expectedPackage(filters, identifier);
+					for (int i = 0; i < 2; i++) {
+						Assert.assertEquals(filters + " " + identifier, expectedExclude(filters, identifier), strategy.excludeTable(identifier));
+						Assert.assertEquals(filters + " " + identifier, packageName == null ? unqualified : packageName + "." + unqualified, strategy.tableToClassName(identifier));
+					}
+				}
+			}
+		}
+	}
+
+	private static String randomMatch(Random random) {
+		String name = NAMES[random.nextInt(NAMES.length)];
+		String part = name.substring(0, 1 + random.nextInt(name.length()));
+		switch (random.nextInt(5)) {
+		case 0: return ".*";
+		case 1: return name;
+		case 2: return part + ".*";
+		case 3: return ".*" + name.substring(name.length() - part.length());
+		default: return ".*" + part + ".*";
+		}
+	}
+
+	private static TableFilter filter(String catalog, String schema, String name, Boolean exclude, String packageName) {
+		TableFilter filter = new TableFilter();
+		filter.setMatchCatalog(catalog);
+		filter.setMatchSchema(schema);
+		filter.setMatchName(name);
+		filter.setExclude(exclude);
+		filter.setPackage(packageName);
+		return filter;
+	}
+
+	private static boolean expectedExclude(List<TableFilter> filters, TableIdentifier identifier) {
+		boolean hasInclude = false;
+		for (TableFilter filter : filters) {
+			Boolean value = filter.exclude(identifier);
+			if (value != null) {
+				return value.booleanValue();
+			}
+			hasInclude |= !filter.getExclude().booleanValue();
+		}
+		return hasInclude;
+	}
+
+	private static String expectedPackage(List<TableFilter> filters, TableIdentifier identifier) {
+		for (TableFilter filter : filters) {
+			String value = filter.getPackage(identifier);
+			if (value != null) {
+				return value;
+			}
+		}
+		return null;
+	}
+
+}
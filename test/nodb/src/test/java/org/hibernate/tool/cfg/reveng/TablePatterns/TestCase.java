@@ -0,0 +1,148 @@
+package org.hibernate.tool.cfg.reveng.TablePatterns;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.cfg.reveng.DefaultDatabaseCollector;
+import org.hibernate.cfg.reveng.DefaultReverseEngineeringStrategy;
+import org.hibernate.cfg.reveng.ProgressListener;
+import org.hibernate.cfg.reveng.SchemaSelection;
+import org.hibernate.cfg.reveng.TableFilter;
+import org.hibernate.cfg.reveng.TableIdentifier;
+import org.hibernate.cfg.reveng.TableProcessor;
+import org.hibernate.cfg.reveng.dialect.JDBCMetaDataDialect;
+import org.hibernate.mapping.Table;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestCase {
+
+	private static class TablesMetaDataDialect extends JDBCMetaDataDialect {
+
+		String[] tableNames;
+		String tablePattern;
+
+		public Iterator<Map<String, Object>> getTables(String catalog, String schema, String table) {
+			tablePattern = table;
+			List<Map<String, Object>> result = new ArrayList<Map<String, Object>>();
+			for (String name : tableNames) {
+				Map<String, Object> row = new HashMap<String, Object>();
+				row.put("TABLE_NAME", name);
+				row.put("TABLE_TYPE", "TABLE");
+				result.add(row);
+			}
+			return result.iterator();
+		}
+
+		public void close(Iterator<?> iterator) {
+		}
+	}
+
+	@Test
+	public void testRegex() {
+		TableFilter tf = new TableFilter();
+		tf.setMatchName("regex:AUDIT_\\d{4}_\\d{2}");
+		tf.setExclude(Boolean.TRUE);
+		Assert.assertTrue(tf.exclude(new TableIdentifier("AUDIT_2017_03")).booleanValue());
+		Assert.assertNull(tf.exclude(new TableIdentifier("AUDIT_2017_3")));
+		Assert.assertNull(tf.exclude(new TableIdentifier("AUDIT_LOG")));
+		Assert.assertNull(tf.exclude(new TableIdentifier("XAUDIT_2017_03")));
+	}
+
+	@Test
+	public void testGlob() {
+		TableFilter tf = new TableFilter();
+		tf.setMatchName("glob:AUDIT_????.*");
+		tf.setExclude(Boolean.TRUE);
+		Assert.assertTrue(tf.exclude(new TableIdentifier("AUDIT_2017.03")).booleanValue());
+		Assert.assertTrue(tf.exclude(new TableIdentifier("AUDIT_2017.")).booleanValue());
+		Assert.assertNull(tf.exclude(new TableIdentifier("AUDIT_2017X03")));
+		Assert.assertNull(tf.exclude(new TableIdentifier("AUDIT_17.03")));
+	}
+
+	@Test
+	public void testLikePatterns() {
+		Assert.assertEquals("%", likePattern(".*"));
+		Assert.assertEquals("ORDER%", likePattern("ORDER.*"));
+		Assert.assertEquals("%ORDER%", likePattern(".*ORDER.*"));
+		Assert.assertEquals("ORDER", likePattern("ORDER"));
+		Assert.assertEquals("AUDIT_%", likePattern("regex:AUDIT_\\d{4}_\\d{2}"));
+		Assert.assertEquals("AUDIT_%", likePattern("regex:^AUDIT_[0-9]+"));
+		Assert.assertEquals("AUDIT%", likePattern("regex:AUDITS?"));
+		Assert.assertEquals("AUDIT.LOG", likePattern("regex:AUDIT\\.LOG$"));
+		Assert.assertEquals("AUDITS%", likePattern("regex:AUDITS+"));
+		Assert.assertEquals("%", likePattern("regex:AUDIT|LOG"));
+		Assert.assertEquals("%", likePattern("regex:(?i)audit"));
+		Assert.assertEquals("AUDIT_%", likePattern("glob:AUDIT_*"));
+		Assert.assertEquals("AUDIT-%", likePattern("glob:AUDIT-?"));
+		Assert.assertEquals("AUDIT-LOG", likePattern("glob:AUDIT-LOG"));
+		Assert.assertNull(new SchemaSelection().getTableLikePattern());
+	}
+
+	@Test
+	public void testSchemaSelection() {
+		TablesMetaDataDialect dialect = new TablesMetaDataDialect();
+		dialect.tableNames = new String[] { "AUDIT_2017_01", "AUDIT_2017_02", "AUDIT_LOG", "AUDIT_2017_1" };
+		Assert.assertEquals(
+				"[AUDIT_2017_01, AUDIT_2017_02]", 
+				select(dialect, new SchemaSelection(null, null, "regex:AUDIT_\\d{4}_\\d{2}")).toString());
+		Assert.assertEquals("AUDIT_%", dialect.tablePattern);
+	}
+
+	@Test
+	public void testSchemaSelectionIgnoresCase() {
+		TablesMetaDataDialect dialect = new TablesMetaDataDialect();
+		dialect.tableNames = new String[] { "AUDIT_2017_01", "AUDIT_LOG" };
+		Assert.assertEquals(
+				"[AUDIT_2017_01]", 
+				select(dialect, new SchemaSelection(null, null, "regex:audit_\\d{4}_\\d{2}")).toString());
+		Assert.assertEquals(
+				"[AUDIT_LOG]", 
+				select(dialect, new SchemaSelection(null, null, "glob:audit_l*")).toString());
+		Assert.assertEquals(
+				"[]", 
+				select(dialect, new SchemaSelection(null, null, "regex:(?-i)audit_l.*")).toString());
+	}
+
+	@Test
+	public void testSchemaSelectionWithoutCatalogsAndSchemas() {
+		TablesMetaDataDialect dialect = new TablesMetaDataDialect();
+		dialect.tableNames = new String[] { "AUDIT_LOG", "ORDERS" };
+		Assert.assertEquals(
+				"[AUDIT_LOG, ORDERS]", 
+				select(dialect, new SchemaSelection("regex:CAT.*", "glob:PUBLIC*", null)).toString());
+		Assert.assertTrue(new SchemaSelection("regex:CAT.*", "regex:PUBLIC", null).isSelected(new TableIdentifier(null, null, "ORDERS")));
+		Assert.assertTrue(new SchemaSelection("regex:CAT.*", "regex:PUBLIC", null).isSelected(new TableIdentifier("cat1", "public", "ORDERS")));
+		Assert.assertFalse(new SchemaSelection("regex:CAT.*", "regex:PUBLIC", null).isSelected(new TableIdentifier("CAT1", "OTHER", "ORDERS")));
+	}
+
+	private static List<String> select(TablesMetaDataDialect dialect, SchemaSelection selection) {
+		Collection<Table> tables = TableProcessor.processTables(
+				dialect,
+				new DefaultReverseEngineeringStrategy(),
+				null,
+				null,
+				new DefaultDatabaseCollector(dialect),
+				selection,
+				new HashSet<Table>(),
+				new ProgressListener() {
+					public void startSubTask(String name) {
+					}
+				});
+		List<String> names = new ArrayList<String>();
+		for (Table table : tables) {
+			names.add(table.getName());
+		}
+		return names;
+	}
+
+	private static String likePattern(String match) {
+		return new SchemaSelection(null, null, match).getTableLikePattern();
+	}
+
+}
@@ -4,6 +4,10 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.StringReader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 
 import javax.xml.parsers.SAXParserFactory;
@@ -11,10 +15,15 @@ import javax.xml.parsers.SAXParserFactory;
 import org.hibernate.boot.Metadata;
 import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.tool.hbm2x.DocExporter;
+import org.hibernate.tool.hbm2x.ExporterException;
+import org.hibernate.tool.hbm2x.ExporterSettings;
+import org.hibernate.tool.hbm2x.doc.DocFile;
+import org.hibernate.tool.hbm2x.doc.DocFolder;
 import org.hibernate.tools.test.util.FileUtil;
 import org.hibernate.tools.test.util.HibernateUtil;
 import org.hibernate.tools.test.util.JUnitUtil;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -44,17 +53,26 @@ public class TestCase {
 	@Rule
 	public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
+	@Rule
+	public TemporaryFolder otherFolder = new TemporaryFolder();
+
 	private File outputDir;
 	
+	private DocExporter exporter;
+	
+	private Metadata metadata;
+	
+	private Properties properties;
+	
 	private boolean ignoreDot;
 
 	@Before
 	public void setUp() throws Exception {
-		Metadata metadata = 
+		metadata = 
 				HibernateUtil.initializeMetadata(this, HBM_XML_FILES);
 		outputDir = temporaryFolder.getRoot();
-		DocExporter exporter = new DocExporter();
-		Properties properties = new Properties();
+		exporter = new DocExporter();
+		properties = new Properties();
 		properties.put( "jdk5", "true"); // test generics
 		properties.put(AvailableSettings.DIALECT, HibernateUtil.Dialect.class.getName());
 		if(File.pathSeparator.equals(";")) { // to work around windows/jvm not seeming to respect executing just "dot"
@@ -124,6 +142,170 @@ public class TestCase {
 				FileUtil.findFirstString("firstName", entityFile));
 	}
 
+	@Test
+	public void testSchemaSummaryRenderedOnce() {
+		File summaryFile = new File(outputDir, "tables/default/summary.html");
+		Assert.assertEquals(
+				1, 
+				Collections.frequency(exporter.getArtifactCollector().getAllFiles(), summaryFile));
+	}
+
+	@Test
+	public void testRenderThreads() throws IOException {
+		File parallelDir = otherFolder.getRoot();
+		DocExporter exporter = new DocExporter();
+		exporter.getProperties().putAll(properties);
+		exporter.getProperties().setProperty(ExporterSettings.RENDER_THREADS, "4");
+		exporter.setMetadata(metadata);
+		exporter.setOutputDirectory(parallelDir);
+		exporter.start();
+		assertSameFiles(outputDir, parallelDir);
+	}
+
+	@Test
+	public void testDeleteStaleOnRenderThreads() throws IOException {
+		// the graph takes long to render, so the pages are rendered meanwhile
+		File templates = otherFolder.newFolder("templates");
+		File graph = new File(templates, "dot/entitygraph.dot.ftl");
+		Assert.assertTrue(graph.getParentFile().mkdirs());
+		Files.write(graph.toPath(), "<#list 1..3000000 as i></#list>digraph EntityGraph {}\n".getBytes());
+		File dir = otherFolder.newFolder("output");
+		List<File> pages = exportDeletingStale(dir, templates).getArtifactCollector().getAllFiles();
+		Assert.assertTrue(pages.contains(new File(dir, "tables/default/summary.html")));
+		// the exporter of the graph lists its own files only
+		File graphManifest = new File(dir, ".hibernatetool-dot_entitygraph.dot.ftl.manifest");
+		String graphFiles = new String(Files.readAllBytes(graphManifest.toPath()), "UTF-8");
+		Assert.assertTrue(graphFiles.contains("entities/entitygraph.dot"));
+		Assert.assertFalse(graphFiles, graphFiles.contains(".html"));
+		DocExporter exporter = exportDeletingStale(dir, templates);
+		Assert.assertEquals(0, exporter.getArtifactCollector().getDeletedCount());
+		Assert.assertEquals(pages.size(), exporter.getArtifactCollector().getAllFiles().size());
+		for (File page : pages) {
+			JUnitUtil.assertIsNonEmptyFile(page);
+		}
+	}
+
+	@Test
+	public void testDotRunsConcurrentlyWithTimeout() throws IOException {
+		Assume.assumeFalse(File.pathSeparator.equals(";"));
+		File dot = createDotScript();
+		File output = otherFolder.newFolder("output");
+		DocExporter exporter = new DocExporter();
+		exporter.getProperties().putAll(properties);
+		exporter.getProperties().setProperty("dot.executable", dot.getAbsolutePath());
+		exporter.getProperties().setProperty("dot.timeout", "2");
+		exporter.getProperties().setProperty("dot.maxnodes", "1");
+		exporter.getProperties().setProperty("dot.largelayout", "sfdp");
+		exporter.setMetadata(metadata);
+		exporter.setOutputDirectory(output);
+		long start = System.currentTimeMillis();
+		exporter.start();
+		Assert.assertTrue(System.currentTimeMillis() - start < 20000);
+		File png = new File(output, "entities/entitygraph.png");
+		JUnitUtil.assertIsNonEmptyFile(png);
+		Assert.assertNotNull(FileUtil.findFirstString("-Ksfdp -Tpng", png));
+		JUnitUtil.assertIsNonEmptyFile(new File(output, "tables/tablegraph.cmap"));
+		Assert.assertFalse(new File(output, "tables/tablegraph.svg").exists());
+		Assert.assertNotNull(FileUtil.findFirstString("entitygraph", new File(output, "entities/summary.html")));
+	}
+
+	@Test
+	public void testDotSettings() throws IOException {
+		Assume.assumeFalse(File.pathSeparator.equals(";"));
+		File dot = createDotScript();
+		File output = otherFolder.newFolder("output");
+		DocExporter exporter = new DocExporter();
+		exporter.getProperties().putAll(properties);
+		exporter.getProperties().setProperty("dot.executable", dot.getAbsolutePath());
+		exporter.getProperties().setProperty("dot.timeout", "2");
+		exporter.getProperties().setProperty("dot.maxnodes", "1");
+		exporter.setMetadata(metadata);
+		exporter.setOutputDirectory(output);
+		exporter.start();
+		// large graphs are laid out by dot unless another layout is asked for
+		File png = new File(output, "entities/entitygraph.png");
+		Assert.assertNotNull(FileUtil.findFirstString("-Tpng", png));
+		Assert.assertNull(FileUtil.findFirstString("-K", png));
+		exporter.getProperties().setProperty("dot.largelayout", "sfdp");
+		exporter.getProperties().setProperty("dot.maxnodes", "many");
+		try {
+			exporter.start();
+			Assert.fail();
+		} catch (ExporterException e) {
+			Assert.assertEquals("Invalid value for dot.maxnodes: many", e.getMessage());
+		}
+		exporter.getProperties().setProperty("dot.maxnodes", "1");
+		exporter.getProperties().setProperty("dot.timeout", "1m");
+		try {
+			exporter.start();
+			Assert.fail();
+		} catch (ExporterException e) {
+			Assert.assertEquals("Invalid value for dot.timeout: 1m", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testRefs() {
+		DocFolder root = new DocFolder(otherFolder.getRoot());
+		DocFolder b = new DocFolder("b", new DocFolder("a", root));
+		DocFolder c = new DocFolder("c", root);
+		DocFile x = new DocFile("x.html", b);
+		DocFile y = new DocFile("y.html", c);
+		DocFile z = new DocFile("z.html", b);
+		for (int i = 0; i < 2; i++) {
+			Assert.assertEquals("../../c/y.html", x.buildRefTo(y));
+			Assert.assertEquals("../../c/y.html", z.buildRefTo(y));
+			Assert.assertEquals("../a/b/x.html", y.buildRefTo(x));
+			Assert.assertEquals("z.html", x.buildRefTo(z));
+			Assert.assertEquals("b/z.html", new DocFile("w.html", b.getParent()).buildRefTo(z));
+		}
+	}
+
+	/**
+	 * @return a dot replacement that writes its arguments to the output file and takes long for svg
+	 */
+	private File createDotScript() throws IOException {
+		File dot = new File(otherFolder.getRoot(), "dot.sh");
+		Files.write(dot.toPath(), (
+				"#!/bin/sh\n" +
+				"for last; do true; done\n" +
+				"case \"$*\" in *-Tsvg*) sleep 30;; esac\n" +
+				"echo \"$*\" > \"$last\"\n").getBytes());
+		Assert.assertTrue(dot.setExecutable(true));
+		return dot;
+	}
+
+	private DocExporter exportDeletingStale(File dir, File templates) {
+		DocExporter exporter = new DocExporter();
+		exporter.setTemplatePath(new String[] { templates.getAbsolutePath() });
+		exporter.getProperties().putAll(properties);
+		exporter.getProperties().setProperty(ExporterSettings.RENDER_THREADS, "4");
+		exporter.getProperties().setProperty(ExporterSettings.DELETE_STALE, "true");
+		exporter.setMetadata(metadata);
+		exporter.setOutputDirectory(dir);
+		exporter.start();
+		return exporter;
+	}
+
+	private void assertSameFiles(File expected, File actual) throws IOException {
+		String[] names = expected.list();
+		Arrays.sort(names);
+		String[] actualNames = actual.list();
+		Arrays.sort(actualNames);
+		Assert.assertArrayEquals(actual.toString(), names, actualNames);
+		for (String name : names) {
+			File file = new File(expected, name);
+			if (file.isDirectory()) {
+				assertSameFiles(file, new File(actual, name));
+			} else {
+				Assert.assertArrayEquals(
+						name,
+						Files.readAllBytes(file.toPath()),
+						Files.readAllBytes(new File(actual, name).toPath()));
+			}
+		}
+	}
+
 	private void checkHtml(File file) {
 		if (file.isDirectory()) {
 			for (File child : file.listFiles()) {
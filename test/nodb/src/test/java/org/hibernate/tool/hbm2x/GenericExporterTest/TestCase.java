@@ -7,12 +7,17 @@ package org.hibernate.tool.hbm2x.GenericExporterTest;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FilenameFilter;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.Properties;
+import java.util.TreeMap;
 
 import org.hibernate.boot.Metadata;
+import org.hibernate.cfg.reveng.MetricsCollector;
 import org.hibernate.tool.Version;
 import org.hibernate.tool.hbm2x.ExporterException;
+import org.hibernate.tool.hbm2x.ExporterSettings;
 import org.hibernate.tool.hbm2x.GenericExporter;
 import org.hibernate.tools.test.util.FileUtil;
 import org.hibernate.tools.test.util.HibernateUtil;
@@ -197,4 +202,195 @@ public class TestCase {
 		Assert.assertEquals(generated.getProperty("refproperty"), "proptest=A value");	
 	}
 	
+	@Test
+	public void testParallelRendering() throws IOException {
+		File sequentialDir = temporaryFolder.newFolder("sequential");
+		File parallelDir = temporaryFolder.newFolder("parallel");
+		exportClasses(sequentialDir, null);
+		exportClasses(parallelDir, "4");
+		TreeMap<String, String> expected = readFiles(sequentialDir, "");
+		Assert.assertEquals(5, expected.size());
+		Assert.assertEquals(expected, readFiles(parallelDir, ""));
+	}
+
+	@Test
+	public void testParallelRenderingWithException() {
+		GenericExporter ge = new GenericExporter();
+		ge.getProperties().setProperty(ExporterSettings.RENDER_THREADS, "4");
+		ge.setMetadata(metadata);
+		ge.setOutputDirectory(outputDir);
+		ge.setTemplateName(resourcesLocation + "generic-exception.ftl");
+		ge.setFilePattern("{package-name}/generic{class-name}.txt");
+		ge.setForEach("entity");
+		try {
+			ge.start();
+			Assert.fail();
+		} catch(ExporterException e) {
+			Assert.assertTrue(e.getMessage().startsWith("Error while processing Entity:"));			
+		}
+	}
+
+	@Test
+	public void testMetricsWithException() {
+		MetricsCollector metrics = new MetricsCollector();
+		GenericExporter ge = new GenericExporter();
+		ge.setMetricsListener(metrics);
+		ge.setMetadata(metadata);
+		ge.setOutputDirectory(outputDir);
+		ge.setTemplateName(resourcesLocation + "generic-exception.ftl");
+		ge.setFilePattern("{package-name}/generic{class-name}.txt");
+		ge.setForEach("entity");
+		try {
+			ge.start();
+			Assert.fail();
+		} catch(ExporterException e) {
+			// expected
+		}
+		Assert.assertEquals(
+				"the phase of the exporter should end when it fails", 
+				1, 
+				metrics.getCount(MetricsCollector.PHASE, ge.getName()));
+	}
+
+	@Test
+	public void testEncoding() throws IOException {
+		GenericExporter ge = new GenericExporter();
+		ge.getProperties().setProperty(ExporterSettings.ENCODING, "UTF-16");
+		ge.setMetadata(metadata);
+		ge.setOutputDirectory(outputDir);
+		ge.setTemplateName(resourcesLocation + "generic-class.ftl");
+		ge.setFilePattern("generic{class-name}.txt");
+		ge.start();
+		byte[] bytes = Files.readAllBytes(new File(outputDir, "genericAuthor.txt").toPath());
+		Assert.assertTrue(new String(bytes, "UTF-16").contains("pojo=Author"));
+		Assert.assertFalse(new String(bytes, "UTF-8").contains("pojo=Author"));
+	}
+
+	@Test
+	public void testEmptyOutput() {
+		GenericExporter ge = new GenericExporter();
+		ge.setMetadata(metadata);
+		ge.setOutputDirectory(outputDir);
+		ge.setTemplateName(resourcesLocation + "generic-empty.ftl");
+		ge.setFilePattern("{package-name}/generic{class-name}.txt");
+		ge.start();
+		Assert.assertArrayEquals("no directory should be created for empty output", new String[0], outputDir.list());
+		Assert.assertEquals(0, ge.getArtifactCollector().getFileCount("txt"));
+	}
+
+	@Test
+	public void testUnchangedFilesAreLeftAlone() throws IOException {
+		exportClasses(outputDir, null);
+		File author = new File(outputDir, "org/hibernate/tool/hbm2x/genericAuthor.txt");
+		File article = new File(outputDir, "org/hibernate/tool/hbm2x/genericArticle.txt");
+		Assert.assertTrue(author.setLastModified(1000000000000L));
+		Files.write(article.toPath(), "changed".getBytes());
+		GenericExporter ge = exportClasses(outputDir, null);
+		Assert.assertEquals(1000000000000L, author.lastModified());
+		Assert.assertTrue(new String(Files.readAllBytes(article.toPath())).contains("pojo=Article"));
+		Assert.assertEquals(5, ge.getArtifactCollector().getFileCount("txt"));
+		Assert.assertEquals(1, ge.getArtifactCollector().getWrittenCount());
+		Assert.assertEquals(4, ge.getArtifactCollector().getUnchangedCount());
+		Assert.assertTrue(ge.getArtifactCollector().isUnchanged(author));
+	}
+
+	@Test
+	public void testLineEndingsAreRewritten() throws IOException {
+		exportClasses(outputDir, null);
+		File author = new File(outputDir, "org/hibernate/tool/hbm2x/genericAuthor.txt");
+		File article = new File(outputDir, "org/hibernate/tool/hbm2x/genericArticle.txt");
+		String expected = new String(Files.readAllBytes(author.toPath()), "UTF-8");
+		Assert.assertTrue(expected.endsWith("\n"));
+		Files.write(author.toPath(), expected.replace("\n", "\r\n").getBytes("UTF-8"));
+		String articleContent = new String(Files.readAllBytes(article.toPath()), "UTF-8");
+		Files.write(article.toPath(), articleContent.substring(0, articleContent.length() - 1).getBytes("UTF-8"));
+		GenericExporter ge = exportClasses(outputDir, null);
+		Assert.assertEquals(expected, new String(Files.readAllBytes(author.toPath()), "UTF-8"));
+		Assert.assertEquals(articleContent, new String(Files.readAllBytes(article.toPath()), "UTF-8"));
+		Assert.assertEquals(2, ge.getArtifactCollector().getWrittenCount());
+		Assert.assertEquals(3, ge.getArtifactCollector().getUnchangedCount());
+	}
+
+	@Test
+	public void testDeleteStaleFiles() throws IOException {
+		Properties p = new Properties();
+		p.setProperty(ExporterSettings.DELETE_STALE, "true");
+		exportClasses(outputDir, null, p);
+		File[] manifests = outputDir.listFiles(new FilenameFilter() {
+			public boolean accept(File dir, String name) {
+				return name.endsWith(".manifest");
+			}
+		});
+		Assert.assertEquals(1, manifests.length);
+		String manifest = new String(Files.readAllBytes(manifests[0].toPath()), "UTF-8");
+		Assert.assertTrue(manifest.contains("org/hibernate/tool/hbm2x/genericAuthor.txt\n"));
+		File stale = new File(outputDir, "org/hibernate/tool/hbm2x/genericRemoved.txt");
+		File unlisted = new File(outputDir, "org/hibernate/tool/hbm2x/notGenerated.txt");
+		Files.write(stale.toPath(), "stale".getBytes());
+		Files.write(unlisted.toPath(), "mine".getBytes());
+		Files.write(manifests[0].toPath(), (manifest + "org/hibernate/tool/hbm2x/genericRemoved.txt\n").getBytes("UTF-8"));
+		GenericExporter ge = exportClasses(outputDir, null, p);
+		Assert.assertFalse(stale.exists());
+		Assert.assertTrue(unlisted.exists());
+		Assert.assertEquals(1, ge.getArtifactCollector().getDeletedCount());
+		Assert.assertFalse(new String(Files.readAllBytes(manifests[0].toPath()), "UTF-8").contains("genericRemoved"));
+	}
+
+	@Test
+	public void testXmlIsFormattedBeforeWriting() throws IOException {
+		GenericExporter ge = exportXml();
+		File author = new File(outputDir, "genericAuthor.xml");
+		String xml = new String(Files.readAllBytes(author.toPath()), "UTF-8");
+		Assert.assertTrue(xml, xml.contains("\n    <class name=\"Author\">"));
+		Assert.assertTrue(ge.getArtifactCollector().isFormatted(author));
+		Assert.assertTrue(author.setLastModified(1000000000000L));
+		ge = exportXml();
+		Assert.assertEquals(1000000000000L, author.lastModified());
+		Assert.assertEquals(0, ge.getArtifactCollector().getWrittenCount());
+	}
+
+	private GenericExporter exportXml() {
+		GenericExporter ge = new GenericExporter();
+		ge.setMetadata(metadata);
+		ge.setOutputDirectory(outputDir);
+		ge.setTemplateName(resourcesLocation + "generic-xml.ftl");
+		ge.setFilePattern("generic{class-name}.xml");
+		ge.setForEach("entity");
+		ge.start();
+		return ge;
+	}
+
+	private GenericExporter exportClasses(File dir, String threads) {
+		return exportClasses(dir, threads, new Properties());
+	}
+
+	private GenericExporter exportClasses(File dir, String threads, Properties properties) {
+		GenericExporter ge = new GenericExporter();
+		ge.getProperties().putAll(properties);
+		ge.getProperties().setProperty("proptest", "A value");
+		ge.getProperties().setProperty("refproperty", "proptest=${proptest}");
+		ge.getProperties().setProperty("hibernatetool.booleanProperty", "true");
+		if(threads!=null) {
+			ge.getProperties().setProperty(ExporterSettings.RENDER_THREADS, threads);
+		}
+		ge.setMetadata(metadata);
+		ge.setOutputDirectory(dir);
+		ge.setTemplateName(resourcesLocation + "generic-class.ftl");
+		ge.setFilePattern("{package-name}/generic{class-name}.txt");
+		ge.start();
+		return ge;
+	}
+
+	private TreeMap<String, String> readFiles(File dir, String path) throws IOException {
+		TreeMap<String, String> result = new TreeMap<String, String>();
+		for (File file : dir.listFiles()) {
+			if(file.isDirectory()) {
+				result.putAll(readFiles(file, path + file.getName() + "/"));
+			} else {
+				result.put(path + file.getName(), new String(Files.readAllBytes(file.toPath()), "UTF-8"));
+			}
+		}
+		return result;
+	}
+	
 }
@@ -0,0 +1,115 @@
+package org.hibernate.tool.hbm2x.Hbm2JavaRenderThreadsTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.tool.hbm2x.ArtifactCollector;
+import org.hibernate.tool.hbm2x.ExporterSettings;
+import org.hibernate.tool.hbm2x.POJOExporter;
+import org.hibernate.tools.test.util.HibernateUtil;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Renders the mappings of the hbm2java tests on one thread, whose output is the golden file,
+ * and on several render threads, which have to write the same bytes. Only the line telling when 
+ * the file was generated may differ as the runs may not be in the same second.
+ */
+public class TestCase {
+
+	private static final String[][] MAPPINGS = {
+		{ "Hbm2JavaTest", "Customer.hbm.xml", "Order.hbm.xml", "LineItem.hbm.xml", "Product.hbm.xml", "HelloWorld.hbm.xml", "Train.hbm.xml", "Passenger.hbm.xml" },
+		{ "Hbm2JavaEjb3Test", "Author.hbm.xml", "Article.hbm.xml", "Train.hbm.xml", "Passenger.hbm.xml" },
+		{ "Hbm2JavaConstructorTest", "Constructors.hbm.xml" },
+		{ "Hbm2JavaDidirectionalIndexedCollectionMappingTest", "GenericModel.hbm.xml" },
+		{ "HashcodeEqualsTest", "HashEquals.hbm.xml" },
+		{ "DocExporterTest", "Customer.hbm.xml", "Order.hbm.xml", "LineItem.hbm.xml", "Product.hbm.xml", "HelloWorld.hbm.xml", "UnionSubclass.hbm.xml", "DependentValue.hbm.xml" },
+		{ "POJOModelTest", "Customer.hbm.xml" }
+	};
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testSameOutputOnRenderThreads() throws IOException {
+		int files = 0;
+		for (String[] mapping : MAPPINGS) {
+			Metadata metadata = buildMetadata(mapping);
+			for (int i = 0; i < 4; i++) {
+				boolean ejb3 = i % 2 == 1;
+				boolean jdk5 = i / 2 == 1;
+				String name = mapping[0] + (ejb3 ? "-ejb3" : "") + (jdk5 ? "-jdk5" : "");
+				File sequential = export(metadata, name + "-sequential", ejb3, jdk5, "1");
+				File parallel = export(metadata, name + "-parallel", ejb3, jdk5, "4");
+				files += assertSameFiles(name, sequential, parallel);
+			}
+		}
+		Assert.assertTrue(files > 100);
+	}
+
+	private Metadata buildMetadata(String[] mapping) {
+		StandardServiceRegistryBuilder ssrb = new StandardServiceRegistryBuilder();
+		ssrb.applySetting(AvailableSettings.DIALECT, HibernateUtil.Dialect.class.getName());
+		MetadataSources sources = new MetadataSources(ssrb.build());
+		for (int i = 1; i < mapping.length; i++) {
+			sources.addResource("/org/hibernate/tool/hbm2x/" + mapping[0] + "/" + mapping[i]);
+		}
+		return sources.buildMetadata();
+	}
+
+	private File export(Metadata metadata, String name, boolean ejb3, boolean jdk5, String threads) throws IOException {
+		File outputDir = temporaryFolder.newFolder(name);
+		POJOExporter exporter = new POJOExporter();
+		exporter.setMetadata(metadata);
+		exporter.setOutputDirectory(outputDir);
+		exporter.getProperties().setProperty("ejb3", String.valueOf(ejb3));
+		exporter.getProperties().setProperty("jdk5", String.valueOf(jdk5));
+		exporter.getProperties().setProperty(ExporterSettings.RENDER_THREADS, threads);
+		exporter.setArtifactCollector(new ArtifactCollector());
+		exporter.start();
+		return outputDir;
+	}
+
+	private int assertSameFiles(String name, File expectedDir, File actualDir) throws IOException {
+		List<String> expected = list(expectedDir, "");
+		Assert.assertEquals(name, expected, list(actualDir, ""));
+		for (String path : expected) {
+			Assert.assertEquals(
+					name + " " + path,
+					withoutDate(new File(expectedDir, path)),
+					withoutDate(new File(actualDir, path)));
+		}
+		return expected.size();
+	}
+
+	private String withoutDate(File file) throws IOException {
+		String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+		return content.replaceFirst("// Generated .* by Hibernate Tools", "// Generated by Hibernate Tools");
+	}
+
+	private List<String> list(File dir, String prefix) {
+		List<String> result = new ArrayList<String>();
+		File[] children = dir.listFiles();
+		for (File child : children) {
+			if (child.isDirectory()) {
+				result.addAll(list(child, prefix + child.getName() + "/"));
+			} else {
+				result.add(prefix + child.getName());
+			}
+		}
+		Collections.sort(result);
+		return result;
+	}
+
+}
@@ -0,0 +1,152 @@
+package org.hibernate.tool.hbm2x.POJOModelTest;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.mapping.Component;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.Property;
+import org.hibernate.tool.hbm2x.ArtifactCollector;
+import org.hibernate.tool.hbm2x.Cfg2JavaTool;
+import org.hibernate.tool.hbm2x.DAOExporter;
+import org.hibernate.tool.hbm2x.POJOExporter;
+import org.hibernate.tool.hbm2x.pojo.EntityPOJOClass;
+import org.hibernate.tool.hbm2x.pojo.POJOClass;
+import org.hibernate.tool.hbm2x.pojo.POJOModel;
+import org.hibernate.tools.test.util.HibernateUtil;
+import org.hibernate.tools.test.util.JUnitUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestCase {
+
+	private static final String[] HBM_XML_FILES = new String[] {
+			"Customer.hbm.xml"
+	};
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private Metadata metadata = null;
+
+	@Before
+	public void setUp() throws Exception {
+		metadata = HibernateUtil.initializeMetadata(this, HBM_XML_FILES);
+	}
+
+	@Test
+	public void testOneModelPerMetadata() {
+		POJOModel model = POJOModel.getModel(metadata);
+		Assert.assertSame(model, POJOModel.getModel(metadata));
+		Assert.assertNotSame(model, POJOModel.getModel(HibernateUtil.initializeMetadata(this, HBM_XML_FILES)));
+	}
+
+	@Test
+	public void testPropertiesAsDerivedByTheWrappers() {
+		POJOModel model = POJOModel.getModel(metadata);
+		Cfg2JavaTool withModel = new Cfg2JavaTool();
+		withModel.setModel(model);
+		Cfg2JavaTool withoutModel = new Cfg2JavaTool();
+		PersistentClass customer = metadata.getEntityBinding("org.hibernate.tool.hbm2x.Customer");
+		assertSameProperties(withoutModel.getPOJOClass(customer), withModel.getPOJOClass(customer));
+		Assert.assertEquals(
+				Arrays.asList("id", "code", "name", "address", "lines"),
+				names(model.getAllProperties(customer)));
+		Assert.assertEquals(Arrays.asList("name"), names(model.getToStringProperties(customer)));
+		Assert.assertEquals(Arrays.asList("code"), names(model.getEqualsHashCodeProperties(customer)));
+		Assert.assertSame(model.getAllProperties(customer), model.getAllProperties(customer));
+		Component address = (Component) customer.getProperty("address").getValue();
+		assertSameProperties(withoutModel.getPOJOClass(address), withModel.getPOJOClass(address));
+		Assert.assertEquals(Arrays.asList("street"), names(model.getToStringProperties(address)));
+		Assert.assertEquals(Arrays.asList("street"), names(model.getEqualsHashCodeProperties(address)));
+	}
+
+	@Test
+	public void testOverriddenAllProperties() {
+		Cfg2JavaTool c2j = new Cfg2JavaTool();
+		c2j.setModel(POJOModel.getModel(metadata));
+		PersistentClass customer = metadata.getEntityBinding("org.hibernate.tool.hbm2x.Customer");
+		// a wrapper leaving out the name, the only property in toString
+		POJOClass withoutName = new EntityPOJOClass(customer, c2j) {
+			public Iterator<Property> getAllPropertiesIterator() {
+				List<Property> result = new ArrayList<Property>();
+				for (Iterator<Property> iterator = super.getAllPropertiesIterator(); iterator.hasNext();) {
+					Property property = iterator.next();
+					if (!"name".equals(property.getName())) {
+						result.add(property);
+					}
+				}
+				return result.iterator();
+			}
+		};
+		Assert.assertFalse(withoutName.needsToString());
+		Assert.assertFalse(withoutName.getToStringPropertiesIterator().hasNext());
+		Assert.assertTrue(withoutName.needsEqualsHashCode());
+		Assert.assertEquals(Arrays.asList("code"), names(list(withoutName.getEqualsHashCodePropertiesIterator())));
+		Assert.assertTrue(c2j.getPOJOClass(customer).needsToString());
+	}
+
+	@Test
+	public void testComponents() {
+		Map<String, Component> components = POJOModel.getModel(metadata).getComponents();
+		Assert.assertEquals(
+				new TreeSet<String>(Arrays.asList("org.hibernate.tool.hbm2x.Address", "org.hibernate.tool.hbm2x.OrderLine")),
+				new TreeSet<String>(components.keySet()));
+		Assert.assertSame(components, POJOModel.getModel(metadata).getComponents());
+	}
+
+	@Test
+	public void testSharedByExporters() {
+		File outputDir = temporaryFolder.getRoot();
+		POJOExporter pojoExporter = new POJOExporter();
+		pojoExporter.setMetadata(metadata);
+		pojoExporter.setOutputDirectory(outputDir);
+		pojoExporter.setArtifactCollector(new ArtifactCollector());
+		pojoExporter.start();
+		DAOExporter daoExporter = new DAOExporter();
+		daoExporter.setMetadata(metadata);
+		daoExporter.setOutputDirectory(outputDir);
+		daoExporter.setArtifactCollector(new ArtifactCollector());
+		daoExporter.start();
+		Assert.assertSame(POJOModel.getModel(metadata), pojoExporter.getCfg2JavaTool().getModel());
+		Assert.assertSame(POJOModel.getModel(metadata), daoExporter.getCfg2JavaTool().getModel());
+		JUnitUtil.assertIsNonEmptyFile(new File(outputDir, "org/hibernate/tool/hbm2x/Customer.java"));
+		JUnitUtil.assertIsNonEmptyFile(new File(outputDir, "org/hibernate/tool/hbm2x/Address.java"));
+		JUnitUtil.assertIsNonEmptyFile(new File(outputDir, "org/hibernate/tool/hbm2x/OrderLine.java"));
+		JUnitUtil.assertIsNonEmptyFile(new File(outputDir, "org/hibernate/tool/hbm2x/CustomerHome.java"));
+	}
+
+	private void assertSameProperties(POJOClass expected, POJOClass actual) {
+		Assert.assertEquals(list(expected.getAllPropertiesIterator()), list(actual.getAllPropertiesIterator()));
+		Assert.assertEquals(list(expected.getToStringPropertiesIterator()), list(actual.getToStringPropertiesIterator()));
+		Assert.assertEquals(list(expected.getEqualsHashCodePropertiesIterator()), list(actual.getEqualsHashCodePropertiesIterator()));
+		Assert.assertEquals(expected.needsToString(), actual.needsToString());
+		Assert.assertEquals(expected.needsEqualsHashCode(), actual.needsEqualsHashCode());
+	}
+
+	private List<Property> list(Iterator<Property> iterator) {
+		List<Property> result = new ArrayList<Property>();
+		while (iterator.hasNext()) {
+			result.add(iterator.next());
+		}
+		return result;
+	}
+
+	private List<String> names(List<Property> properties) {
+		List<String> result = new ArrayList<String>();
+		for (Property property : properties) {
+			result.add(property.getName());
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,92 @@
+package org.hibernate.tool.hbm2x.XMLPrettyPrinterTest;
+
+import org.hibernate.tool.hbm2x.xml.StAXPrettyPrinterStrategy;
+import org.hibernate.tool.hbm2x.xml.TrAXPrettyPrinterStrategy;
+import org.hibernate.tool.hbm2x.xml.XMLPrettyPrinterStrategyFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestCase {
+	
+	private static final String NL = System.getProperty("line.separator");
+	
+	private static final String XML = 
+			"<?xml version=\"1.0\"?>\n" +
+			"<hibernate-mapping package=\"org.test\">  <!-- a comment -->\n" +
+			"  <class name=\"Item\"   table=\"ITEM\">\n" +
+			"\n" +
+			"    <id name=\"id\"><generator class=\"native\"/></id>\n" +
+			"    <property formula=\"x &lt; 1\" name=\"a&amp;b\"/>\n" +
+			"    <sql-query name=\"q\">select * from ITEM</sql-query>\n" +
+			"    <meta attribute=\"class-description\">mixed <b>content</b> here</meta>\n" +
+			"  </class>\n" +
+			"</hibernate-mapping>\n";
+
+	@Test
+	public void testStAXPrettyPrint() throws Exception {
+		String expected = 
+				"<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>" + NL +
+				"<hibernate-mapping package=\"org.test\">" + NL +
+				"    <!-- a comment -->" + NL +
+				"    <class name=\"Item\" table=\"ITEM\">" + NL +
+				"        <id name=\"id\">" + NL +
+				"            <generator class=\"native\"/>" + NL +
+				"        </id>" + NL +
+				"        <property formula=\"x &lt; 1\" name=\"a&amp;b\"/>" + NL +
+				"        <sql-query name=\"q\">select * from ITEM</sql-query>" + NL +
+				"        <meta attribute=\"class-description\">mixed <b>content</b> here</meta>" + NL +
+				"    </class>" + NL +
+				"</hibernate-mapping>" + NL;
+		Assert.assertEquals(expected, new StAXPrettyPrinterStrategy().prettyPrint(XML));
+	}
+	
+	@Test
+	public void testDoctypeIsKeptWithoutLoadingIt() throws Exception {
+		String xml = 
+				"<!DOCTYPE hibernate-mapping PUBLIC \"-//Hibernate/Hibernate Mapping DTD 3.0//EN\" " +
+				"\"http://localhost:1/does-not-exist.dtd\"><hibernate-mapping/>";
+		String result = new StAXPrettyPrinterStrategy().prettyPrint(xml);
+		Assert.assertTrue(result, result.contains(NL + "<!DOCTYPE hibernate-mapping PUBLIC \"-//Hibernate/Hibernate Mapping DTD 3.0//EN\" "));
+		Assert.assertTrue(result, result.endsWith("<hibernate-mapping/>" + NL));
+	}
+	
+	@Test
+	public void testSameContentAsTrAX() throws Exception {
+		// the attributes are in alphabetical order, TrAX sorts them while StAX keeps their order
+		StAXPrettyPrinterStrategy stax = new StAXPrettyPrinterStrategy();
+		String result = stax.prettyPrint(XML);
+		Assert.assertEquals("formatting is stable", result, stax.prettyPrint(result));
+		// how TrAX indents mixed content depends on the JDK
+		Assert.assertEquals(normalize(result), normalize(new TrAXPrettyPrinterStrategy().prettyPrint(XML)));
+	}
+	
+	@Test
+	public void testCarriageReturns() throws Exception {
+		String xml = "<class name=\"a&#13;b\">x&#13;y</class>";
+		Assert.assertTrue(new StAXPrettyPrinterStrategy().prettyPrint(xml).contains("<class name=\"a&#13;b\">x\ry</class>"));
+	}
+	
+	private String normalize(String xml) {
+		return xml.replaceAll("\\s+", " ").replaceAll(" ?([<>]) ?", "$1").trim();
+	}
+	
+	@Test
+	public void testStrategyFromSystemProperty() {
+		String previous = System.getProperty(XMLPrettyPrinterStrategyFactory.PROPERTY_STRATEGY_IMPL);
+		try {
+			System.setProperty(XMLPrettyPrinterStrategyFactory.PROPERTY_STRATEGY_IMPL, StAXPrettyPrinterStrategy.class.getName());
+			Assert.assertTrue(XMLPrettyPrinterStrategyFactory.newXMLPrettyPrinterStrategy() instanceof StAXPrettyPrinterStrategy);
+			System.setProperty(XMLPrettyPrinterStrategyFactory.PROPERTY_STRATEGY_IMPL, TrAXPrettyPrinterStrategy.class.getName());
+			Assert.assertTrue(XMLPrettyPrinterStrategyFactory.newXMLPrettyPrinterStrategy() instanceof TrAXPrettyPrinterStrategy);
+			System.clearProperty(XMLPrettyPrinterStrategyFactory.PROPERTY_STRATEGY_IMPL);
+			Assert.assertTrue(XMLPrettyPrinterStrategyFactory.newXMLPrettyPrinterStrategy() instanceof TrAXPrettyPrinterStrategy);
+		} finally {
+			if(previous==null) {
+				System.clearProperty(XMLPrettyPrinterStrategyFactory.PROPERTY_STRATEGY_IMPL);
+			} else {
+				System.setProperty(XMLPrettyPrinterStrategyFactory.PROPERTY_STRATEGY_IMPL, previous);
+			}
+		}
+	}
+
+}
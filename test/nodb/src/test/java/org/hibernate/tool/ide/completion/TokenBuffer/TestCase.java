@@ -0,0 +1,137 @@
+package org.hibernate.tool.ide.completion.TokenBuffer;
+
+import org.hibernate.hql.internal.antlr.HqlSqlTokenTypes;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.tool.ide.completion.EntityNameReference;
+import org.hibernate.tool.ide.completion.HQLAnalyzer;
+import org.hibernate.tool.ide.completion.HQLTokenBuffer;
+import org.hibernate.tool.ide.completion.SimpleHQLLexer;
+import org.hibernate.tool.ide.completion.SimpleLexerException;
+import org.hibernate.tool.ide.completion.SubQuery;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestCase {
+	
+	private static final String QUERY = 
+			"select p.name, (select max(o.total) from Order o where o.product = p) " +
+			"from Product as p join p.category c where p.code like 'A ''quoted'' code' and p.price > 10.5 order by p.name";
+
+	@Test
+	public void testTyping() {
+		HQLTokenBuffer tokens = HQLTokenBuffer.lex(new char[0], 0);
+		for (int i = 1; i <= QUERY.length(); i++) {
+			tokens = assertUpdate(tokens, QUERY.substring(0, i));
+		}
+	}
+	
+	@Test
+	public void testEditing() {
+		HQLTokenBuffer tokens = HQLTokenBuffer.lex(QUERY.toCharArray(), QUERY.length());
+		tokens = assertUpdate(tokens, QUERY.replace("Product as p", "Product as prod"));
+		tokens = assertUpdate(tokens, QUERY.replace("Product as p", "Pro as p"));
+		tokens = assertUpdate(tokens, QUERY.replace("''quoted''", "''quo ted''"));
+		tokens = assertUpdate(tokens, QUERY.replace("10.5", "10.55e3"));
+		tokens = assertUpdate(tokens, QUERY.replace("join", "left join"));
+		tokens = assertUpdate(tokens, QUERY.replace("(select", "select"));
+		tokens = assertUpdate(tokens, "from Product p where p.name=:n");
+		tokens = assertUpdate(tokens, QUERY);
+		Assert.assertSame(tokens, tokens.update(QUERY.toCharArray(), QUERY.length()));
+	}
+	
+	@Test
+	public void testPrefix() {
+		HQLTokenBuffer tokens = HQLTokenBuffer.lex(QUERY.toCharArray(), 10);
+		for (int i = 11; i < QUERY.length(); i += 7) {
+			tokens = assertUpdate(tokens, QUERY.substring(0, i));
+		}
+	}
+	
+	@Test
+	public void testSubQueries() {
+		HQLAnalyzer analyzer = new HQLAnalyzer();
+		String query = "select p.name from Product as p where p.price > (select max(o.total) from Purchase o where o.product = p) order by p.name";
+		HQLTokenBuffer tokens = HQLTokenBuffer.lex(new char[0], 0);
+		tokens = tokens.update(query.toCharArray(), query.length());
+		List<SubQuery> subQueries = analyzer.getSubQueries(tokens, 0).subQueries;
+		Assert.assertEquals(2, subQueries.size());
+		Assert.assertEquals("select p . name from Product as p where p . price > ( order by p . name", text(subQueries.get(0)));
+		Assert.assertEquals("select max ( o . total ) from Purchase o where o . product = p )", text(subQueries.get(1)));
+		Assert.assertEquals("[Product p, Purchase o]", names(analyzer.getVisibleSubQueries(tokens, query.indexOf("max"))));
+		Assert.assertEquals("[Product p]", names(analyzer.getVisibleSubQueries(tokens, query.indexOf("order"))));
+
+		String unclosed = "from Product p where p.id in (select o.product.id from Purchase o";
+		tokens = tokens.update(unclosed.toCharArray(), unclosed.length());
+		subQueries = analyzer.getSubQueries(tokens, 0).subQueries;
+		Assert.assertEquals(2, subQueries.size());
+		Assert.assertEquals("from Product p where p . id in (", text(subQueries.get(0)));
+		Assert.assertEquals("select o . product . id from Purchase o", text(subQueries.get(1)));
+		Assert.assertEquals("[Product p, Purchase o]", names(analyzer.getVisibleSubQueries(tokens, unclosed.length())));
+
+		// the extra parenthesis closes the outer query, the rest is one below depth 0
+		String unbalanced = "from Product p where p.id in (select o.id from Purchase o)) from Line l";
+		tokens = tokens.update(unbalanced.toCharArray(), unbalanced.length());
+		subQueries = analyzer.getSubQueries(tokens, 0).subQueries;
+		Assert.assertEquals(3, subQueries.size());
+		Assert.assertEquals("from Product p where p . id in ( )", text(subQueries.get(0)));
+		Assert.assertEquals("select o . id from Purchase o )", text(subQueries.get(1)));
+		Assert.assertEquals("from Line l", text(subQueries.get(2)));
+		Assert.assertEquals("[Line l]", names(analyzer.getVisibleSubQueries(tokens, unbalanced.length())));
+	}
+	
+	private String text(SubQuery subQuery) {
+		StringBuilder text = new StringBuilder();
+		for (int t = 0; t < subQuery.getTokenCount(); t++) {
+			if (t > 0) {
+				text.append(' ');
+			}
+			text.append(subQuery.getTokenText(t));
+		}
+		return text.toString();
+	}
+	
+	private String names(List<SubQuery> subQueries) {
+		List<String> names = new ArrayList<String>();
+		for (SubQuery subQuery : subQueries) {
+			for (EntityNameReference reference : subQuery.getEntityNames()) {
+				names.add(reference.getEntityName() + " " + reference.getAlias());
+			}
+		}
+		return names.toString();
+	}
+	
+	private HQLTokenBuffer assertUpdate(HQLTokenBuffer previous, String query) {
+		HQLTokenBuffer expected;
+		try {
+			expected = HQLTokenBuffer.lex(query.toCharArray(), query.length());
+		} catch (SimpleLexerException e) {
+			// e.g. an unterminated string
+			try {
+				previous.update(query.toCharArray(), query.length());
+				Assert.fail("should not lex " + query);
+			} catch (SimpleLexerException expectedException) {
+			}
+			return previous;
+		}
+		HQLTokenBuffer updated = previous.update(query.toCharArray(), query.length());
+		assertSameTokens(expected, updated);
+		return updated;
+	}
+
+	private void assertSameTokens(HQLTokenBuffer expected, HQLTokenBuffer actual) {
+		String text = new String(actual.getChars());
+		Assert.assertEquals(text, expected.getTokenCount(), actual.getTokenCount());
+		SimpleHQLLexer expectedLexer = expected.lexer();
+		SimpleHQLLexer actualLexer = actual.lexer();
+		int tokenId;
+		do {
+			tokenId = expectedLexer.nextTokenId();
+			Assert.assertEquals(text, tokenId, actualLexer.nextTokenId());
+			Assert.assertEquals(text, expectedLexer.getTokenOffset(), actualLexer.getTokenOffset());
+			Assert.assertEquals(text, expectedLexer.getTokenLength(), actualLexer.getTokenLength());
+		} while (tokenId != HqlSqlTokenTypes.EOF);
+	}
+	
+}
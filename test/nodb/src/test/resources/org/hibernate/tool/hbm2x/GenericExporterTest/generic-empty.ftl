@@ -0,0 +1,3 @@
+
+  <#-- produces nothing but whitespace -->
+
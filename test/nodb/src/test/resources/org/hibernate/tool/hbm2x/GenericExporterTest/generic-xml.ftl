@@ -0,0 +1 @@
+<?xml version="1.0" encoding="UTF-8"?><root><class name="${pojo.getDeclarationName()}"><property name="id"/></class></root>